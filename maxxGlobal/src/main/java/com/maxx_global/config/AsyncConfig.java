@@ -1,22 +1,48 @@
 // src/main/java/com/maxx_global/config/AsyncConfig.java
 package com.maxx_global.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor; // ✅ Bu import'u eklememiz gerekiyor
+import java.util.logging.Logger;
 
 @Configuration
 @EnableAsync
 @EnableRetry
 public class AsyncConfig {
 
+    private static final Logger logger = Logger.getLogger(AsyncConfig.class.getName());
+
+    private final Environment environment;
+
+    public AsyncConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Mail ve sipariş bildirimleri için executor.
+     * spring.threads.virtual.enabled (Java 21+) açıksa her iş kendi virtual thread'inde başlar: kuyruk ve
+     * CallerRunsPolicy yoktur, commit eden istek thread'i hiçbir zaman mail göndermez. Resend'e giden eşzamanlı
+     * istekler ResendEmailService içindeki semaphore ile sınırlanır.
+     */
     @Bean(name = "mailTaskExecutor")
     public Executor mailTaskExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-virtual-");
+            executor.setVirtualThreads(true);
+            logger.info("Mail task executor running on virtual threads");
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(3);
         executor.setMaxPoolSize(8);
@@ -29,4 +55,137 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * Dashboard rollup güncellemeleri için tek thread'li executor
+     * Aynı günün eşzamanlı yeniden hesaplanmasını engeller
+     * Günler OrderAnalyticsRollupJob'da birleştirildiği için kuyrukta en fazla bir boşaltma işi bulunur
+     */
+    @Bean(name = "analyticsTaskExecutor")
+    public Executor analyticsTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("analytics-async-");
+
+        // Reddedilen iş sessizce atılmaz; bekleyen günler OrderAnalyticsRollupJob'da kalır ve tekrar denenir
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Excel export gibi StreamingResponseBody yanıtları için executor
+     * İstek thread'i hemen serbest kalır, dosya bu havuzda yazılır
+     */
+    @Bean(name = "exportTaskExecutor")
+    public ThreadPoolTaskExecutor exportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("export-async-");
+
+        // Kuyruk dolarsa istek thread'inde yaz - export reddedilmez
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Arka plan Excel import job'ları için tek thread'li executor
+     * Job'lar sırayla işlenir; kuyruk dolarsa job QUEUED kalır ve resume ile tekrar başlatılabilir
+     */
+    @Bean(name = "importTaskExecutor")
+    public Executor importTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("import-async-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Ürün resmi türevleri (küçük resim, orta boy, WebP) için sınırlı executor.
+     * Büyük resimlerin decode'u bellek yoğun olduğundan eşzamanlı iş sayısı düşük tutulur;
+     * kuyruk dolarsa iş atılır, türevi eksik resimleri açılıştaki backfill job'ı tamamlar.
+     */
+    @Bean(name = "imageTaskExecutor")
+    public Executor imageTaskExecutor(@Value("${app.file.derivatives.workers:2}") int workers,
+                                      @Value("${app.file.derivatives.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-async-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bildirim SSE akışına yazım için executor.
+     * Yazımlar kısa sürer ama istemci soketi yavaşsa bloklanabilir; kuyruk dolarsa commit eden thread
+     * kendisi yazar, bildirim atılmaz.
+     */
+    @Bean(name = "notificationStreamTaskExecutor")
+    public Executor notificationStreamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("notification-stream-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Büyük kitleli toplu bildirimlerin INSERT ... SELECT'i için tek thread'li executor.
+     * Aynı anda tek toplu yazım çalışır; kuyruk dolarsa yazım çağıran thread'de yapılır.
+     */
+    @Bean(name = "notificationBroadcastTaskExecutor")
+    public Executor notificationBroadcastTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("notification-broadcast-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * İndirim uygunluk indeksinin arka plan derlemesi için tek thread'li executor.
+     * Rollup boşaltmasıyla paylaşılmaz; art arda gelen derlemeler DiscountEligibilityIndexCache içinde birleştiği
+     * için kuyruk kısa kalır, yine de dolarsa derleme commit eden thread'de yapılır, atılmaz.
+     */
+    @Bean(name = "discountIndexTaskExecutor")
+    public Executor discountIndexTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("discount-index-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+}
@@ -127,8 +127,7 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
      * Kullanıcının direkt permission'ı var mı kontrol eder
      */
     private boolean hasDirectPermission(CustomUserDetails userDetails, String permissionName) {
-        boolean result = userDetails.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals(permissionName));
+        boolean result = userDetails.hasAuthority(permissionName);
 
          return result;
     }
@@ -7,6 +7,7 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
@@ -42,6 +43,19 @@ public class GlobalExceptionHandler {
                 .body(BaseResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
     }
 
+    /**
+     * Yeniden denemelere rağmen süren sürüm çakışması (ör. varyant stoğu aynı anda değişti) - istemci tekrar deneyebilir
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<BaseResponse<Void>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        String message = localizationService.resolveText(null,
+                "Kayıt aynı anda başka bir işlemle güncellendi, lütfen tekrar deneyin",
+                "The record was updated by another operation at the same time, please try again");
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(BaseResponse.error(message, HttpStatus.CONFLICT.value()));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<BaseResponse<Void>> handleBadCredentials(BadCredentialsException ex) {
         return ResponseEntity
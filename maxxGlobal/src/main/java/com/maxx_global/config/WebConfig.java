@@ -1,12 +1,19 @@
 package com.maxx_global.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 @Configuration
@@ -23,6 +30,28 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${app.file.cache-period:3600}")
     private Integer cachePeriod;
 
+    @Value("${app.file.derived-images-dir:derived}")
+    private String derivedImagesDir;
+
+    @Value("${app.file.blob-dir:blobs}")
+    private String blobDir;
+
+    @Value("${app.excel.export-timeout-ms:300000}")
+    private long exportTimeoutMs;
+
+    private final ThreadPoolTaskExecutor exportTaskExecutor;
+
+    public WebConfig(@Qualifier("exportTaskExecutor") ThreadPoolTaskExecutor exportTaskExecutor) {
+        this.exportTaskExecutor = exportTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // StreamingResponseBody (Excel export) yanıtları bu havuzda ve bu süre sınırıyla yazılır
+        configurer.setTaskExecutor(exportTaskExecutor);
+        configurer.setDefaultTimeout(exportTimeoutMs);
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         try {
@@ -36,6 +65,16 @@ public class WebConfig implements WebMvcConfigurer {
             String absolutePath = uploadDirectory.getAbsolutePath();
             String resourceLocation = "file:" + absolutePath + "/";
 
+            // Türev resimlerin ve içerik adresli orijinallerin adı içerik özetini taşır: içerik değişmez,
+            // süresiz önbelleklenebilir. ETag dosya adının kendisidir (güçlü ETag), dosya okumadan üretilir.
+            for (String contentAddressedDir : List.of(derivedImagesDir, blobDir)) {
+                registry.addResourceHandler("/uploads/" + contentAddressedDir + "/**")
+                        .addResourceLocations(resourceLocation + contentAddressedDir + "/")
+                        .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                        .setEtagGenerator(Resource::getFilename)
+                        .resourceChain(true);
+            }
+
             // Static resource handler ekle
             registry.addResourceHandler(staticUrlPattern)
                     .addResourceLocations(resourceLocation)
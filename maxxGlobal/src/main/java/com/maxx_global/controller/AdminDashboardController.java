@@ -2,16 +2,20 @@ package com.maxx_global.controller;
 
 import com.maxx_global.dto.dashboard.*;
 import com.maxx_global.entity.AppUser;
+import com.maxx_global.job.OrderAnalyticsRollupJob;
 import com.maxx_global.service.AdminDashboardService;
 import com.maxx_global.service.AppUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/admin/dashboard")
 @Tag(name = "Admin Dashboard", description = "Admin dashboard API'leri")
@@ -20,11 +24,14 @@ public class AdminDashboardController {
 
     private final AdminDashboardService adminDashboardService;
     private final AppUserService appUserService;
+    private final OrderAnalyticsRollupJob orderAnalyticsRollupJob;
 
     public AdminDashboardController(AdminDashboardService adminDashboardService,
-                                    AppUserService appUserService) {
+                                    AppUserService appUserService,
+                                    OrderAnalyticsRollupJob orderAnalyticsRollupJob) {
         this.adminDashboardService = adminDashboardService;
         this.appUserService = appUserService;
+        this.orderAnalyticsRollupJob = orderAnalyticsRollupJob;
     }
 
     @GetMapping("/overview")
@@ -215,4 +222,29 @@ public class AdminDashboardController {
         adminDashboardService.refreshDashboardCache();
         return ResponseEntity.ok("Dashboard verileri başarıyla yenilendi");
     }
+
+    @PostMapping("/analytics/rebuild")
+    @Operation(summary = "Sipariş rollup verilerini yeniden oluştur",
+            description = "Günlük sipariş özet tablolarını siparişlerden yeniden hesaplar. " +
+                    "Tarih verilmezse tüm sipariş geçmişi işlenir (backfill)")
+    public ResponseEntity<String> rebuildAnalytics(
+            @Parameter(description = "Başlangıç tarihi (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Bitiş tarihi (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+        AppUser currentUser = appUserService.getCurrentUser(authentication);
+
+        int rows;
+        if (from == null && to == null) {
+            rows = orderAnalyticsRollupJob.rebuildAll();
+        } else {
+            rows = orderAnalyticsRollupJob.rebuild(
+                    from != null ? from : to,
+                    to != null ? to : LocalDate.now());
+        }
+
+        adminDashboardService.refreshDashboardCache();
+        return ResponseEntity.ok("Sipariş rollup verileri yeniden oluşturuldu (" + rows + " günlük kayıt)");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.maxx_global.controller;
+
+import com.maxx_global.dto.BaseResponse;
+import com.maxx_global.dto.excelImport.ExcelImportJobErrorResponse;
+import com.maxx_global.dto.excelImport.ExcelImportJobResponse;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.service.AppUserService;
+import com.maxx_global.service.ExcelImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.logging.Logger;
+
+@RestController
+@RequestMapping("/api/excel/import-jobs")
+@Validated
+@Tag(name = "Excel Import Jobs", description = "Büyük Excel dosyaları için arka plan import işlemleri")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ExcelImportJobController {
+
+    private static final Logger logger = Logger.getLogger(ExcelImportJobController.class.getName());
+    private final ExcelImportJobService excelImportJobService;
+    private final AppUserService appUserService;
+
+    public ExcelImportJobController(ExcelImportJobService excelImportJobService, AppUserService appUserService) {
+        this.excelImportJobService = excelImportJobService;
+        this.appUserService = appUserService;
+    }
+
+    @PostMapping("/products")
+    @Operation(
+            summary = "Ürün import job'ı başlat",
+            description = "Excel dosyasını arka planda parça parça işler. İlerleme job endpoint'inden takip edilir"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job kuyruğa alındı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz Excel dosyası"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null,'PRODUCT_CREATE') or hasPermission(null,'PRODUCT_UPDATE')")
+    public ResponseEntity<BaseResponse<ExcelImportJobResponse>> submitProductImport(
+            @Parameter(description = "Excel dosyası", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Mevcut ürünleri güncelle", example = "true")
+            @RequestParam(defaultValue = "true") boolean updateExisting,
+            @Parameter(description = "Hatalı satırları atla", example = "false")
+            @RequestParam(defaultValue = "false") boolean skipErrors,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        try {
+            ResponseEntity<BaseResponse<ExcelImportJobResponse>> invalidFile = validateFile(file);
+            if (invalidFile != null) {
+                return invalidFile;
+            }
+
+            AppUser currentUser = appUserService.getCurrentUser(authentication);
+            ExcelImportJobResponse job = excelImportJobService.submitProductImport(
+                    file, updateExisting, skipErrors, currentUser);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new BaseResponse<>(true, "Import job kuyruğa alındı", job, HttpStatus.ACCEPTED.value()));
+
+        } catch (Exception e) {
+            logger.severe("Error submitting product import job: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Import job oluşturulamadı: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
+    @PostMapping("/prices/{dealerId}")
+    @Operation(
+            summary = "Fiyat import job'ı başlat",
+            description = "Bayi fiyat Excel dosyasını arka planda parça parça işler"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job kuyruğa alındı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz Excel dosyası"),
+            @ApiResponse(responseCode = "404", description = "Bayi bulunamadı"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null,'PRICE_CREATE') or hasPermission(null,'PRICE_UPDATE')")
+    public ResponseEntity<BaseResponse<ExcelImportJobResponse>> submitPriceImport(
+            @Parameter(description = "Bayi ID'si", example = "1", required = true)
+            @PathVariable @Min(1) Long dealerId,
+            @Parameter(description = "Excel dosyası", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Mevcut fiyatları güncelle", example = "true")
+            @RequestParam(defaultValue = "true") boolean updateExisting,
+            @Parameter(description = "Hatalı satırları atla", example = "false")
+            @RequestParam(defaultValue = "false") boolean skipErrors,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        try {
+            ResponseEntity<BaseResponse<ExcelImportJobResponse>> invalidFile = validateFile(file);
+            if (invalidFile != null) {
+                return invalidFile;
+            }
+
+            AppUser currentUser = appUserService.getCurrentUser(authentication);
+            ExcelImportJobResponse job = excelImportJobService.submitPriceImport(
+                    dealerId, file, updateExisting, skipErrors, currentUser);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new BaseResponse<>(true, "Import job kuyruğa alındı", job, HttpStatus.ACCEPTED.value()));
+
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+
+        } catch (Exception e) {
+            logger.severe("Error submitting price import job: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Import job oluşturulamadı: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Import job durumu",
+            description = "İşlenen parça/satır sayıları, ilerleme yüzdesi ve işleme hızını döner"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job durumu getirildi"),
+            @ApiResponse(responseCode = "404", description = "Job bulunamadı")
+    })
+    @PreAuthorize("hasPermission(null,'PRODUCT_CREATE') or hasPermission(null,'PRODUCT_UPDATE') or " +
+            "hasPermission(null,'PRICE_CREATE') or hasPermission(null,'PRICE_UPDATE')")
+    public ResponseEntity<BaseResponse<ExcelImportJobResponse>> getJob(
+            @Parameter(description = "Job ID'si", example = "1", required = true)
+            @PathVariable @Min(1) Long jobId) {
+
+        try {
+            return ResponseEntity.ok(BaseResponse.success(excelImportJobService.getJob(jobId)));
+
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+        }
+    }
+
+    @GetMapping("/{jobId}/errors")
+    @Operation(
+            summary = "Import job hataları",
+            description = "Job'ın satır hatalarını satır numarasına göre sayfalı döner"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hatalar getirildi"),
+            @ApiResponse(responseCode = "404", description = "Job bulunamadı")
+    })
+    @PreAuthorize("hasPermission(null,'PRODUCT_CREATE') or hasPermission(null,'PRODUCT_UPDATE') or " +
+            "hasPermission(null,'PRICE_CREATE') or hasPermission(null,'PRICE_UPDATE')")
+    public ResponseEntity<BaseResponse<Page<ExcelImportJobErrorResponse>>> getJobErrors(
+            @Parameter(description = "Job ID'si", example = "1", required = true)
+            @PathVariable @Min(1) Long jobId,
+            @Parameter(description = "Sayfa numarası (0'dan başlar)", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Sayfa boyutu", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size) {
+
+        try {
+            return ResponseEntity.ok(BaseResponse.success(excelImportJobService.getJobErrors(jobId, page, size)));
+
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+        }
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(
+            summary = "Import job'ı devam ettir",
+            description = "Başarısız job'ı commit edilmiş son parçadan itibaren yeniden kuyruğa alır"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job yeniden kuyruğa alındı"),
+            @ApiResponse(responseCode = "404", description = "Job bulunamadı"),
+            @ApiResponse(responseCode = "409", description = "Job devam ettirilebilir durumda değil")
+    })
+    @PreAuthorize("hasPermission(null,'PRODUCT_CREATE') or hasPermission(null,'PRODUCT_UPDATE') or " +
+            "hasPermission(null,'PRICE_CREATE') or hasPermission(null,'PRICE_UPDATE')")
+    public ResponseEntity<BaseResponse<ExcelImportJobResponse>> resumeJob(
+            @Parameter(description = "Job ID'si", example = "1", required = true)
+            @PathVariable @Min(1) Long jobId) {
+
+        try {
+            ExcelImportJobResponse job = excelImportJobService.resumeJob(jobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new BaseResponse<>(true, "Import job yeniden kuyruğa alındı", job, HttpStatus.ACCEPTED.value()));
+
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.CONFLICT.value()));
+        }
+    }
+
+    private ResponseEntity<BaseResponse<ExcelImportJobResponse>> validateFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(BaseResponse.error("Excel dosyası boş", HttpStatus.BAD_REQUEST.value()));
+        }
+
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || !originalFilename.toLowerCase().endsWith(".xlsx")) {
+            return ResponseEntity.badRequest()
+                    .body(BaseResponse.error("Geçersiz dosya formatı. Sadece .xlsx dosyaları kabul edilir",
+                            HttpStatus.BAD_REQUEST.value()));
+        }
+        return null;
+    }
+}
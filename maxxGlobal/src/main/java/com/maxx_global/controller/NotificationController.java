@@ -1,12 +1,13 @@
 package com.maxx_global.controller;
 
 import com.maxx_global.dto.BaseResponse;
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.notification.*;
 import com.maxx_global.entity.AppUser;
 import com.maxx_global.enums.NotificationType;
-import com.maxx_global.repository.AppUserRepository;
 import com.maxx_global.service.AppUserService;
 import com.maxx_global.service.NotificationService;
+import com.maxx_global.service.NotificationStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,11 +18,14 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
@@ -38,13 +42,14 @@ public class NotificationController {
     private static final Logger logger = Logger.getLogger(NotificationController.class.getName());
 
     private final AppUserService appUserService;
-    private final AppUserRepository appUserRepository;
     private final NotificationService notificationService;
+    private final NotificationStreamHub notificationStreamHub;
 
-    public NotificationController(AppUserService appUserService, AppUserRepository appUserRepository, NotificationService notificationService) {
+    public NotificationController(AppUserService appUserService, NotificationService notificationService,
+                                  NotificationStreamHub notificationStreamHub) {
         this.appUserService = appUserService;
-        this.appUserRepository = appUserRepository;
         this.notificationService = notificationService;
+        this.notificationStreamHub = notificationStreamHub;
     }
 
     @GetMapping("/settings")
@@ -100,9 +105,9 @@ public class NotificationController {
 
             AppUser currentUser = appUserService.getCurrentUser(authentication);
 
-            // ✅ Direkt repository kullanarak güncelle
+            // ✅ Servis üzerinden kaydet (principal cache'i de düşürülür)
             currentUser.setEmailNotifications(enabled);
-            AppUser updatedUser = appUserRepository.save(currentUser);
+            AppUser updatedUser = appUserService.saveUser(currentUser);
 
             Map<String, Boolean> settings = Map.of(
                     "emailNotifications", updatedUser.isEmailNotificationsEnabled()
@@ -146,8 +151,8 @@ public class NotificationController {
                 currentUser.setEmailNotifications(emailNotifications);
             }
 
-            // ✅ Direkt repository kullanarak kaydet
-            AppUser updatedUser = appUserRepository.save(currentUser);
+            // ✅ Servis üzerinden kaydet (principal cache'i de düşürülür)
+            AppUser updatedUser = appUserService.saveUser(currentUser);
 
             Map<String, Boolean> settings = Map.of(
                     "emailNotifications", updatedUser.isEmailNotificationsEnabled()
@@ -214,6 +219,61 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "Kullanıcının bildirimlerini imleçle listele",
+            description = "Bildirimleri en yeniden eskiye keyset sayfalama ile getirir. Toplam sayı hesaplanmaz; " +
+                    "sonraki sayfa için cevaptaki nextCursor gönderilir"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bildirimler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç veya filtre"),
+            @ApiResponse(responseCode = "401", description = "Giriş yapılmamış"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null,'NOTIFICATION_READ')")
+    public ResponseEntity<BaseResponse<CursorSlice<NotificationResponse>>> getUserNotificationsByCursor(
+            @Parameter(description = "Önceki cevaptaki nextCursor (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (en fazla 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sadece okunmamışlar", example = "false")
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @Parameter(description = "Bildirim tipi filtresi", example = "ORDER_CREATED")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Öncelik filtresi", example = "HIGH")
+            @RequestParam(required = false) String priority,
+            Authentication authentication) {
+
+        try {
+            AppUser currentUser = appUserService.getCurrentUser(authentication);
+
+            NotificationFilterRequest filter = new NotificationFilterRequest(
+                    null, // notificationStatus - unreadOnly ile handle edilecek
+                    type != null ? NotificationType.valueOf(type) : null,
+                    priority,
+                    null, // startDate
+                    null, // endDate
+                    null, // category
+                    unreadOnly
+            );
+
+            CursorSlice<NotificationResponse> notifications = notificationService.getUserNotificationsByCursor(
+                    currentUser.getId(), cursor, size, filter);
+
+            return ResponseEntity.ok(BaseResponse.success(notifications));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        } catch (Exception e) {
+            logger.severe("Error fetching user notifications by cursor: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Bildirimler getirilirken bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @GetMapping("/unread-count")
     @Operation(
             summary = "Okunmamış bildirim sayısı",
@@ -239,6 +299,29 @@ public class NotificationController {
         }
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Anlık bildirim akışı (SSE)",
+            description = "Yeni bildirimleri 'notification', okunmamış sayısını 'unread-count' event'i olarak iletir. " +
+                    "Bağlantı açılınca güncel sayı gönderilir; unread-count ve recent için polling gerekmez."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Akış açıldı"),
+            @ApiResponse(responseCode = "503", description = "Bağlantı sınırına ulaşıldı, Retry-After sonra tekrar denenmeli")
+    })
+    @PreAuthorize("hasPermission(null,'NOTIFICATION_READ')")
+    public ResponseEntity<SseEmitter> streamNotifications(Authentication authentication) {
+        AppUser currentUser = appUserService.getCurrentUser(authentication);
+        try {
+            return ResponseEntity.ok(notificationStreamHub.connect(currentUser.getId()));
+        } catch (IllegalStateException e) {
+            logger.warning("Notification stream rejected for user " + currentUser.getId() + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
     @GetMapping("/recent")
     @Operation(
             summary = "Son bildirimleri getir",
@@ -494,7 +577,8 @@ public class NotificationController {
     @PostMapping("/admin/broadcast")
     @Operation(
             summary = "Admin - Toplu bildirim gönder",
-            description = "Tüm kullanıcılara, belirli role sahip kullanıcılara, belirli dealer(lar) kullanıcılarına veya seçilen kullanıcılara toplu bildirim gönderir"
+            description = "Tüm kullanıcılara, belirli role sahip kullanıcılara, belirli dealer(lar) kullanıcılarına veya seçilen kullanıcılara toplu bildirim gönderir. " +
+                    "Tüm kullanıcı ve rol hedeflerinde yanıt yalnızca bildirim ID'si ve alıcı sayısıdır; büyük kitlelerde alıcılar arka planda yazılır (queued=true)"
     )
     @PreAuthorize("hasPermission(null, 'NOTIFICATION_ADMIN')")
     public ResponseEntity<BaseResponse<Object>> broadcastNotification(
@@ -532,6 +616,10 @@ public class NotificationController {
 
             return ResponseEntity.ok(BaseResponse.success(result));
 
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+
         } catch (Exception e) {
             logger.severe("Error broadcasting notification: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,6 +1,7 @@
 package com.maxx_global.controller;
 
 import com.maxx_global.dto.BaseResponse;
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.discount.DiscountInfo;
 import com.maxx_global.dto.order.*;
 import com.maxx_global.entity.AppUser;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.apache.coyote.BadRequestException;
 import org.springframework.data.domain.Page;
@@ -508,6 +510,48 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/admin/all/cursor")
+    @Operation(
+            summary = "Tüm siparişleri imleçle listele (Admin)",
+            description = "Siparişleri en yeniden eskiye keyset sayfalama ile getirir. Toplam sayı hesaplanmaz; " +
+                    "sonraki sayfa için cevaptaki nextCursor gönderilir"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Siparişler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç veya filtre"),
+            @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null, 'ORDER_MANAGE')")
+    public ResponseEntity<BaseResponse<CursorSlice<OrderResponse>>> getAllOrdersByCursor(
+            @Parameter(description = "Önceki cevaptaki nextCursor (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @Parameter(description = "Sipariş durumu filtresi", example = "PENDING")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Bayi ID filtresi", example = "1")
+            @RequestParam(required = false) Long dealerId,
+            @Parameter(description = "Kullanıcı ID filtresi", example = "5")
+            @RequestParam(required = false) Long userId) {
+
+        try {
+            CursorSlice<OrderResponse> orders = orderService.getAllOrdersForAdminByCursor(
+                    cursor, size, status, dealerId, userId);
+
+            return ResponseEntity.ok(BaseResponse.success(orders));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        } catch (Exception e) {
+            logger.severe("Error fetching orders by cursor for admin: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Siparişler getirilirken bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @PutMapping("/admin/{orderId}/approve")
     @Operation(
             summary = "Siparişi onayla (Admin)",
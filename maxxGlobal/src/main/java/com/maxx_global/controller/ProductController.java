@@ -1,7 +1,10 @@
 package com.maxx_global.controller;
 
 import com.maxx_global.dto.BaseResponse;
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.product.*;
+import com.maxx_global.dto.productImage.ImageHashLookupRequest;
+import com.maxx_global.dto.productImage.ProductImageHashAttachRequest;
 import com.maxx_global.dto.productImage.ProductImageInfo;
 import com.maxx_global.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -79,6 +82,41 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "Tüm ürünleri imleçle listele",
+            description = "Ürünleri ada göre keyset sayfalama ile getirir. Toplam sayı hesaplanmaz; " +
+                    "sonraki sayfa için cevaptaki nextCursor gönderilir"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ürünler başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç"),
+            @ApiResponse(responseCode = "403", description = "Yetki yok"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null, 'PRODUCT_READ')")
+    public ResponseEntity<BaseResponse<CursorSlice<ProductSummary>>> getAllProductsByCursor(
+            @Parameter(description = "Önceki cevaptaki nextCursor (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (1-100)", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        try {
+            CursorSlice<ProductSummary> products = productService.getAllProductsByCursor(cursor, size, authentication);
+            return ResponseEntity.ok(BaseResponse.success(products));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        } catch (Exception e) {
+            logger.severe("Error fetching products by cursor: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Ürünler getirilirken bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "ID ile ürün getir",
@@ -214,7 +252,8 @@ public class ProductController {
     @GetMapping("/search")
     @Operation(
             summary = "Ürün arama",
-            description = "Ürün adı, kodu ve açıklamasında arama yapar. Kısmi eşleşmeleri destekler (summary format)"
+            description = "Ürün adı, kodu, açıklaması ve varyant SKU'sunda arama yapar (Türkçe/İngilizce tam metin, " +
+                    "kod/SKU için kısmi ve benzerlik eşleşmesi). Varsayılan sıralama alakaya göredir (summary format)"
     )
     @PreAuthorize("hasPermission(null, 'PRODUCT_READ')")
     public ResponseEntity<BaseResponse<Page<ProductSummary>>> searchProducts(
@@ -224,8 +263,8 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Sayfa boyutu", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sıralama alanı", example = "name")
-            @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sıralama alanı (relevance = alaka)", example = "relevance")
+            @RequestParam(defaultValue = "relevance") String sortBy,
             @Parameter(description = "Sıralama yönü", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDirection) {
 
@@ -241,6 +280,30 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Ürün önerileri (typeahead)",
+            description = "Arama kutusuna yazılırken ad/kod kelime öneki ve kod/SKU önekine göre ilk N ürünü getirir"
+    )
+    @PreAuthorize("hasPermission(null, 'PRODUCT_READ')")
+    public ResponseEntity<BaseResponse<List<ProductSuggestion>>> suggestProducts(
+            @Parameter(description = "Yazılan metin (minimum 2 karakter)", example = "tit", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Öneri sayısı", example = "8")
+            @RequestParam(defaultValue = "8") @Min(1) @Max(20) int limit) {
+
+        try {
+            List<ProductSuggestion> suggestions = productService.suggestProducts(q, limit);
+            return ResponseEntity.ok(BaseResponse.success(suggestions));
+
+        } catch (Exception e) {
+            logger.severe("Error fetching product suggestions: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Ürün önerileri getirilirken bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @GetMapping("/in-stock")
     @Operation(
             summary = "Stokta olan ürünleri listele",
@@ -427,8 +490,8 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Sayfa boyutu", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sıralama alanı", example = "name")
-            @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sıralama alanı (relevance = alaka, arama terimi varsa)", example = "relevance")
+            @RequestParam(defaultValue = "relevance") String sortBy,
             @Parameter(description = "Sıralama yönü", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDirection) {
 
@@ -549,6 +612,70 @@ public class ProductController {
         }
     }
 
+    @PostMapping("/images/known-hashes")
+    @Operation(
+            summary = "Sunucudaki resimleri özetle sorgula",
+            description = "Verilen SHA-256 özetlerinden sunucuda zaten kayıtlı olanları döndürür. " +
+                    "İstemci yalnızca listede olmayan dosyaları yükler, diğerlerini özetle ekler."
+    )
+    @PreAuthorize("hasPermission(null,'PRODUCT_UPDATE')")
+    public ResponseEntity<BaseResponse<List<String>>> findKnownImageHashes(
+            @Valid @RequestBody ImageHashLookupRequest request) {
+
+        try {
+            List<String> knownHashes = productService.findStoredImageHashes(request.contentHashes());
+            return ResponseEntity.ok(BaseResponse.success(knownHashes));
+
+        } catch (Exception e) {
+            logger.severe("Error looking up image hashes: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Resim sorgulama sırasında bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
+    @PostMapping("/{productId}/images/by-hash")
+    @Operation(
+            summary = "Sunucudaki resimleri ürüne ekle",
+            description = "Sunucuda zaten bulunan resimleri SHA-256 özetleriyle, dosya yüklemeden ürüne ekler"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resimler başarıyla eklendi"),
+            @ApiResponse(responseCode = "400", description = "Sunucuda bulunmayan özet veya geçersiz istek"),
+            @ApiResponse(responseCode = "404", description = "Ürün bulunamadı"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null,'PRODUCT_UPDATE')")
+    public ResponseEntity<BaseResponse<ProductResponse>> attachProductImagesByHash(
+            @Parameter(description = "Ürün ID'si", example = "6")
+            @PathVariable Long productId,
+
+            @Valid @RequestBody ProductImageHashAttachRequest request) {
+
+        try {
+            request.validate();
+
+            ProductResponse product = productService.addProductImagesByHash(
+                    productId, request.contentHashes(), request.primaryImageIndex());
+            return ResponseEntity.ok(BaseResponse.success(product));
+
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
+
+        } catch (IllegalArgumentException e) {
+            logger.warning("Image attach validation error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+
+        } catch (Exception e) {
+            logger.severe("Error attaching images by hash: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Resim ekleme sırasında bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @PutMapping("/{productId}/images/{imageId}/primary")
     @Operation(
             summary = "Ana resmi değiştir",
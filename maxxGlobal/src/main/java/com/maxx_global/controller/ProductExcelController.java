@@ -17,10 +17,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.logging.Logger;
 
@@ -80,7 +82,7 @@ public class ProductExcelController {
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     @PreAuthorize("hasPermission(null,'PRODUCT_READ')")
-    public ResponseEntity<Resource> exportProducts(
+    public ResponseEntity<StreamingResponseBody> exportProducts(
             @Parameter(description = "Kategori ID'si (opsiyonel)", example = "1")
             @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Sadece aktif ürünler", example = "true")
@@ -92,17 +94,22 @@ public class ProductExcelController {
             logger.info("Exporting products - categoryId: " + categoryId +
                     ", activeOnly: " + activeOnly + ", inStockOnly: " + inStockOnly);
 
-            byte[] excelData = excelService.exportProducts(categoryId, activeOnly, inStockOnly);
+            // Yanıt akışı başlamadan önce kontrol - sonrasında hata durumu dönülemez
+            excelService.validateExportCategory(categoryId);
 
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            StreamingResponseBody body = outputStream ->
+                    excelService.exportProducts(categoryId, activeOnly, inStockOnly, outputStream);
 
             String filename = "urunler_" + System.currentTimeMillis() + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .body(body);
+
+        } catch (EntityNotFoundException e) {
+            logger.warning("Category not found: " + categoryId);
+            return ResponseEntity.notFound().build();
 
         } catch (Exception e) {
             logger.severe("Error exporting products: " + e.getMessage());
@@ -121,7 +128,7 @@ public class ProductExcelController {
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     @PreAuthorize("hasPermission(null,'PRODUCT_READ')")
-    public ResponseEntity<Resource> exportProductsByCategory(
+    public ResponseEntity<StreamingResponseBody> exportProductsByCategory(
             @Parameter(description = "Kategori ID'si", example = "1", required = true)
             @PathVariable @Min(1) Long categoryId,
             @Parameter(description = "Sadece aktif ürünler", example = "true")
@@ -130,17 +137,17 @@ public class ProductExcelController {
         try {
             logger.info("Exporting products by category: " + categoryId + ", activeOnly: " + activeOnly);
 
-            byte[] excelData = excelService.exportProducts(categoryId, activeOnly, false);
+            excelService.validateExportCategory(categoryId);
 
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            StreamingResponseBody body = outputStream ->
+                    excelService.exportProducts(categoryId, activeOnly, false, outputStream);
 
             String filename = "kategori_" + categoryId + "_urunler.xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .body(body);
 
         } catch (EntityNotFoundException e) {
             logger.warning("Category not found: " + categoryId);
@@ -195,6 +202,10 @@ public class ProductExcelController {
 
             return ResponseEntity.ok(BaseResponse.success(result));
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Yeniden denemeler tükendi - GlobalExceptionHandler 409 döner
+            throw e;
+
         } catch (IllegalArgumentException e) {
             logger.warning("Validation error during Excel import: " + e.getMessage());
             return ResponseEntity.badRequest()
@@ -269,12 +280,10 @@ public class ProductExcelController {
     }
 
     /**
-     * Excel dosya formatı validasyonu
+     * Excel dosya formatı validasyonu (streaming okuyucu sadece .xlsx destekler)
      */
     private boolean isValidExcelFile(MultipartFile file) {
         String originalFilename = file.getOriginalFilename();
-        return originalFilename != null &&
-                (originalFilename.toLowerCase().endsWith(".xlsx") ||
-                        originalFilename.toLowerCase().endsWith(".xls"));
+        return originalFilename != null && originalFilename.toLowerCase().endsWith(".xlsx");
     }
 }
\ No newline at end of file
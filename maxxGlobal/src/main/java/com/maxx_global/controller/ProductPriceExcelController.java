@@ -21,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.logging.Logger;
 
@@ -49,24 +50,24 @@ public class ProductPriceExcelController {
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     @PreAuthorize("hasPermission(null,'PRICE_CREATE') or hasPermission(null,'PRICE_UPDATE')")
-    public ResponseEntity<Resource> downloadPriceTemplate(
+    public ResponseEntity<StreamingResponseBody> downloadPriceTemplate(
             @Parameter(description = "Bayi ID'si", example = "1", required = true)
             @PathVariable @Min(1) Long dealerId) {
 
         try {
             logger.info("Generating price template for dealer: " + dealerId);
 
-            byte[] excelData = excelService.generatePriceTemplate(dealerId);
+            // Yanıt akışı başlamadan önce kontrol - sonrasında hata durumu dönülemez
+            excelService.validateDealer(dealerId);
 
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            StreamingResponseBody body = outputStream -> excelService.generatePriceTemplate(dealerId, outputStream);
 
             String filename = "fiyat_sablonu_bayi_" + dealerId + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .body(body);
 
         } catch (EntityNotFoundException e) {
             logger.warning("Dealer not found: " + dealerId);
@@ -89,7 +90,7 @@ public class ProductPriceExcelController {
             @ApiResponse(responseCode = "500", description = "Sunucu hatası")
     })
     @PreAuthorize("hasPermission(null,'PRICE_READ')")
-    public ResponseEntity<Resource> exportDealerPrices(
+    public ResponseEntity<StreamingResponseBody> exportDealerPrices(
             @Parameter(description = "Bayi ID'si", example = "1", required = true)
             @PathVariable @Min(1) Long dealerId,
             @Parameter(description = "Sadece aktif fiyatlar", example = "true")
@@ -98,17 +99,17 @@ public class ProductPriceExcelController {
         try {
             logger.info("Exporting prices for dealer: " + dealerId + ", activeOnly: " + activeOnly);
 
-            byte[] excelData = excelService.exportDealerPrices(dealerId, activeOnly);
+            excelService.validateDealer(dealerId);
 
-            ByteArrayResource resource = new ByteArrayResource(excelData);
+            StreamingResponseBody body = outputStream ->
+                    excelService.exportDealerPrices(dealerId, activeOnly, outputStream);
 
             String filename = "bayi_fiyatlari_" + dealerId + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(excelData.length)
-                    .body(resource);
+                    .body(body);
 
         } catch (EntityNotFoundException e) {
             logger.warning("Dealer not found: " + dealerId);
@@ -213,12 +214,10 @@ public class ProductPriceExcelController {
     }
 
     /**
-     * Excel dosya formatı validasyonu
+     * Excel dosya formatı validasyonu (streaming okuyucu sadece .xlsx destekler)
      */
     private boolean isValidExcelFile(MultipartFile file) {
         String originalFilename = file.getOriginalFilename();
-        return originalFilename != null &&
-                (originalFilename.toLowerCase().endsWith(".xlsx") ||
-                        originalFilename.toLowerCase().endsWith(".xls"));
+        return originalFilename != null && originalFilename.toLowerCase().endsWith(".xlsx");
     }
 }
\ No newline at end of file
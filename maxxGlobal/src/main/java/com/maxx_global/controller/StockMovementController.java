@@ -1,6 +1,7 @@
 package com.maxx_global.controller;
 
 import com.maxx_global.dto.BaseResponse;
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.stock.*;
 import com.maxx_global.service.StockTrackerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +17,7 @@ import jakarta.validation.constraints.Max;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -93,6 +95,51 @@ public class StockMovementController {
         }
     }
 
+    @GetMapping("/movements/cursor")
+    @Operation(
+            summary = "Stok hareketlerini imleçle listele",
+            description = "Stok hareketlerini en yeniden eskiye keyset sayfalama ile getirir. Toplam sayı hesaplanmaz; " +
+                    "sonraki sayfa için cevaptaki nextCursor gönderilir"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stok hareketleri başarıyla getirildi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç veya filtre"),
+            @ApiResponse(responseCode = "403", description = "Yetki yok"),
+            @ApiResponse(responseCode = "500", description = "Sunucu hatası")
+    })
+    @PreAuthorize("hasPermission(null, 'STOCK_READ')")
+    public ResponseEntity<BaseResponse<CursorSlice<StockMovementResponse>>> getStockMovementsByCursor(
+            @Parameter(description = "Önceki cevaptaki nextCursor (ilk sayfa için boş)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @Parameter(description = "Hareket tipi filtresi", example = "STOCK_IN")
+            @RequestParam(required = false) String movementType,
+            @Parameter(description = "Ürün ID filtresi", example = "1")
+            @RequestParam(required = false) Long productId,
+            @Parameter(description = "Başlangıç tarihi (yyyy-MM-dd)", example = "2024-01-01")
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "Bitiş tarihi (yyyy-MM-dd)", example = "2024-12-31")
+            @RequestParam(required = false) String endDate) {
+
+        try {
+            CursorSlice<StockMovementResponse> movements = stockMovementService.getStockMovementsByCursor(
+                    cursor, size, movementType, productId, startDate, endDate);
+
+            return ResponseEntity.ok(BaseResponse.success(movements));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(BaseResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+
+        } catch (Exception e) {
+            logger.severe("Error fetching stock movements by cursor: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(BaseResponse.error("Stok hareketleri getirilirken bir hata oluştu: " + e.getMessage(),
+                            HttpStatus.INTERNAL_SERVER_ERROR.value()));
+        }
+    }
+
     @GetMapping("/movements/{id}")
     @Operation(
             summary = "Stok hareketi detayını getir",
@@ -427,6 +474,10 @@ public class StockMovementController {
             StockMovementResponse movement = stockMovementService.recordStockCount(request);
             return ResponseEntity.ok(BaseResponse.success(movement));
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Yeniden denemeler tükendi - GlobalExceptionHandler 409 döner
+            throw e;
+
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(BaseResponse.error(e.getMessage(), HttpStatus.NOT_FOUND.value()));
@@ -0,0 +1,27 @@
+package com.maxx_global.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (imleç) sayfalama cevabı. Toplam kayıt sayısı hesaplanmaz; sonraki sayfa nextCursor ile istenir,
+ * hasNext false ise son sayfadır.
+ */
+public record CursorSlice<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+
+    /**
+     * @param cursorOf sayfanın son kaydından sonraki sayfanın imlecini üretir
+     */
+    public static <E, T> CursorSlice<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, String> cursorOf) {
+        List<E> rows = slice.getContent();
+        String nextCursor = slice.hasNext() && !rows.isEmpty() ? cursorOf.apply(rows.get(rows.size() - 1)) : null;
+        return new CursorSlice<>(rows.stream().map(mapper).toList(), rows.size(), slice.hasNext(), nextCursor);
+    }
+}
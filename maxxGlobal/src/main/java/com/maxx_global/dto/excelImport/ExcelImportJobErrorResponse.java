@@ -0,0 +1,18 @@
+package com.maxx_global.dto.excelImport;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Import job satır hatası")
+public record ExcelImportJobErrorResponse(
+        @Schema(description = "Excel satır numarası", example = "57")
+        Integer rowNumber,
+
+        @Schema(description = "Ürün kodu", example = "TI-001")
+        String itemCode,
+
+        @Schema(description = "Hata mesajı", example = "Kategori bulunamadı: Kalça")
+        String message,
+
+        @Schema(description = "Satırın ham verisi")
+        String rowData
+) {}
@@ -0,0 +1,70 @@
+package com.maxx_global.dto.excelImport;
+
+import com.maxx_global.enums.ExcelImportJobStatus;
+import com.maxx_global.enums.ExcelImportType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Arka plan Excel import job'ının durumu ve ilerlemesi")
+public record ExcelImportJobResponse(
+        @Schema(description = "Job ID'si", example = "12")
+        Long id,
+
+        @Schema(description = "Stok hareketlerinde kullanılan batch ID", example = "EXCEL_1735721234567")
+        String batchId,
+
+        @Schema(description = "Import tipi", example = "ÜRÜN")
+        ExcelImportType importType,
+
+        @Schema(description = "Job durumu", example = "İŞLENİYOR")
+        ExcelImportJobStatus status,
+
+        @Schema(description = "Yüklenen dosya adı", example = "urunler.xlsx")
+        String fileName,
+
+        @Schema(description = "Fiyat import'unda hedef bayi ID'si", example = "3")
+        Long dealerId,
+
+        @Schema(description = "Dosyadaki veri satırı sayısı (okuma bitene kadar boş)", example = "25000")
+        Integer totalRows,
+
+        @Schema(description = "Toplam parça sayısı", example = "250")
+        Integer totalChunks,
+
+        @Schema(description = "Commit edilmiş parça sayısı", example = "120")
+        Integer committedChunks,
+
+        @Schema(description = "İşlenmiş satır sayısı", example = "12000")
+        Integer processedRows,
+
+        @Schema(description = "Başarılı satır sayısı", example = "11990")
+        Integer successCount,
+
+        @Schema(description = "Hatalı satır sayısı", example = "10")
+        Integer errorCount,
+
+        @Schema(description = "Yeni oluşturulan kayıt sayısı", example = "400")
+        Integer createdCount,
+
+        @Schema(description = "Güncellenen kayıt sayısı", example = "150")
+        Integer updatedCount,
+
+        @Schema(description = "İlerleme yüzdesi", example = "48.0")
+        Double progressPercent,
+
+        @Schema(description = "Son çalıştırmadaki işleme hızı (satır/saniye)", example = "850.5")
+        Double rowsPerSecond,
+
+        @Schema(description = "Başlangıç zamanı")
+        LocalDateTime startedAt,
+
+        @Schema(description = "Bitiş zamanı")
+        LocalDateTime finishedAt,
+
+        @Schema(description = "Job başarısız olduysa hata mesajı")
+        String lastError,
+
+        @Schema(description = "Oluşturulma zamanı")
+        LocalDateTime createdAt
+) {}
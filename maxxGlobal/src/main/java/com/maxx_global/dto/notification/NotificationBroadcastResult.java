@@ -0,0 +1,11 @@
+package com.maxx_global.dto.notification;
+
+/**
+ * Toplu bildirim yanıtı: alıcı listesi yerine bildirim ID'si ve alıcı sayısı döner.
+ * queued true ise alıcılar arka planda yazılıyordur; recipientCount istek anındaki hedef kitle sayısıdır.
+ */
+public record NotificationBroadcastResult(
+        Long notificationId,
+        long recipientCount,
+        boolean queued
+) {}
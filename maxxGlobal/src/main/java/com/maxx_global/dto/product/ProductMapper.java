@@ -20,14 +20,14 @@ import java.util.stream.Collectors;
 public interface ProductMapper extends BaseMapper<Product, ProductRequest, ProductResponse> {
 
     // Product -> ProductResponse
-    @Override
-    @Mapping(target = "categoryId", source = "category.id")
-    @Mapping(target = "categoryName", source = "category.name")
-    @Mapping(target = "nameEn", ignore = true)
-    @Mapping(target = "descriptionEn", ignore = true)
-    @Mapping(target = "categories", ignore = true)
-    @Mapping(target = "images", source = "images", qualifiedByName = "mapImageSet")
-    @Mapping(target = "primaryImageUrl", source = "images", qualifiedByName = "findPrimaryImageUrl")
+    @Override
+    @Mapping(target = "categoryId", source = "category.id")
+    @Mapping(target = "categoryName", source = "category.name")
+    @Mapping(target = "nameEn", ignore = true)
+    @Mapping(target = "descriptionEn", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "images", source = "images", qualifiedByName = "mapImageSet")
+    @Mapping(target = "primaryImageUrl", source = "images", qualifiedByName = "findPrimaryImageUrl")
     @Mapping(target = "isActive", source = "status", qualifiedByName = "mapStatusToActive")
     @Mapping(target = "isInStock", source = ".", qualifiedByName = "mapIsInStock")
     @Mapping(target = "isExpired", source = ".", qualifiedByName = "mapIsExpired")
@@ -40,9 +40,9 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
 
     // ProductRequest -> Product (for CREATE operations)
     @Override
-    @Mapping(target = "category", ignore = true) // Serviste set edilecek
-    @Mapping(target = "categories", ignore = true) // Serviste set edilecek
-    @Mapping(target = "images", ignore = true)   // Serviste set edilecek
+    @Mapping(target = "category", ignore = true) // Serviste set edilecek
+    @Mapping(target = "categories", ignore = true) // Serviste set edilecek
+    @Mapping(target = "images", ignore = true)   // Serviste set edilecek
     @Mapping(target = "variants", ignore = true) // Serviste ProductVariantMapper ile set edilecek
     @Mapping(target = "status", ignore = true)   // Serviste set edilecek
     @Mapping(target = "id", ignore = true)
@@ -55,6 +55,7 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
     // Product -> ProductSummary
     @Mapping(target = "categoryName", source = "category.name")
     @Mapping(target = "primaryImageUrl", source = "images", qualifiedByName = "findPrimaryImageUrl")
+    @Mapping(target = "primaryThumbnailUrl", source = "images", qualifiedByName = "findPrimaryThumbnailUrl")
     @Mapping(target = "isActive", source = "status", qualifiedByName = "mapStatusToActive")
     @Mapping(target = "isInStock", source = ".", qualifiedByName = "mapIsInStock")
     @Mapping(target = "status", source = "status", qualifiedByName = "mapStatusToDisplayName")
@@ -63,9 +64,9 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
 
     // Update existing entity (for PUT operations)
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "category", ignore = true) // Serviste manuel set edilecek
-    @Mapping(target = "categories", ignore = true) // Serviste manuel set edilecek
-    @Mapping(target = "images", ignore = true)
+    @Mapping(target = "category", ignore = true) // Serviste manuel set edilecek
+    @Mapping(target = "categories", ignore = true) // Serviste manuel set edilecek
+    @Mapping(target = "images", ignore = true)
     @Mapping(target = "variants", ignore = true) // Serviste ProductVariantMapper ile set edilecek
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
@@ -84,7 +85,10 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
                 .map(img -> new ProductImageInfo(
                         img.getId(),
                         img.getImageUrl(),
-                        img.getIsPrimary()
+                        img.getIsPrimary(),
+                        img.getThumbnailUrl(),
+                        img.getMediumUrl(),
+                        img.getWebpUrl()
                 ))
                 .collect(Collectors.toList());
     }
@@ -108,6 +112,20 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
                 );
     }
 
+    @Named("findPrimaryThumbnailUrl")
+    default String findPrimaryThumbnailUrl(Set<ProductImage> images) {
+        if (images == null || images.isEmpty()) {
+            return null;
+        }
+
+        return images.stream()
+                .filter(ProductImage::getIsPrimary)
+                .findFirst()
+                .or(() -> images.stream().findFirst())
+                .map(ProductImage::getThumbnailUrlOrOriginal)
+                .orElse(null);
+    }
+
     @Named("mapStatusToActive")
     default Boolean mapStatusToActive(com.maxx_global.enums.EntityStatus status) {
         return status != null && status.name().equals("ACTIVE");
@@ -140,4 +158,4 @@ public interface ProductMapper extends BaseMapper<Product, ProductRequest, Produ
     default String mapStatusToDisplayName(EntityStatus status) {
         return status != null ? status.getDisplayName() : null;
     }
-}
+}
@@ -0,0 +1,15 @@
+package com.maxx_global.dto.product;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Arama kutusu için ürün önerisi")
+public record ProductSuggestion(
+        @Schema(description = "Ürün ID'si", example = "1")
+        Long id,
+
+        @Schema(description = "Ürün adı (kullanıcının dilinde)", example = "Titanyum İmplant")
+        String name,
+
+        @Schema(description = "Ürün kodu", example = "TI-001")
+        String code
+) {}
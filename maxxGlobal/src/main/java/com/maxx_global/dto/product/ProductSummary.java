@@ -23,6 +23,9 @@ public record ProductSummary(
         @Schema(description = "Ana resim URL'si")
         String primaryImageUrl,
 
+        @Schema(description = "Ana resmin küçük resim URL'si (türev yoksa orijinal)")
+        String primaryThumbnailUrl,
+
         @Schema(description = "Stok miktarı", example = "100")
         Integer stockQuantity,
 
@@ -0,0 +1,14 @@
+package com.maxx_global.dto.productExcel;
+
+import java.util.List;
+
+/**
+ * Tek transaction'da işlenen ürün grubu parçasının sonucu
+ */
+public record ProductImportChunkResult(
+        int rowCount,
+        int successCount,
+        int createdCount,
+        int updatedCount,
+        List<ProductImportError> errors
+) {}
@@ -0,0 +1,14 @@
+package com.maxx_global.dto.productExcel;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Okunmuş ve doğrulanmış ürün import'u: geçerli satırlar ürün koduna göre (dosya sırasıyla) gruplanır.
+ * Senkron import ve import job'ları aynı planı parça parça işler.
+ */
+public record ProductImportPlan(
+        int totalRows,
+        LinkedHashMap<String, List<ExcelProductData>> groups,
+        List<ProductImportError> errors
+) {}
@@ -0,0 +1,19 @@
+package com.maxx_global.dto.productImage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Sunucuda bulunan resimleri içerik özetiyle sorgulama isteği")
+public record ImageHashLookupRequest(
+
+        @Schema(description = "Resim dosyalarının SHA-256 özetleri (hex)",
+                example = "[\"ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad\"]", required = true)
+        @NotEmpty(message = "Özet listesi boş olamaz")
+        @Size(max = 100, message = "En fazla 100 özet sorgulanabilir")
+        List<String> contentHashes
+
+) {
+}
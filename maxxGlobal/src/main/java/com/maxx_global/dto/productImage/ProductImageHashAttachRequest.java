@@ -0,0 +1,30 @@
+package com.maxx_global.dto.productImage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Sunucuda zaten bulunan resimleri dosya yüklemeden ürüne ekleme isteği")
+public record ProductImageHashAttachRequest(
+
+        @Schema(description = "Eklenecek resimlerin SHA-256 özetleri (hex), ekleme sırasıyla", required = true)
+        @NotEmpty(message = "Özet listesi boş olamaz")
+        @Size(max = 10, message = "En fazla 10 resim eklenebilir")
+        List<String> contentHashes,
+
+        @Schema(description = "Ana resim index'i (0'dan başlar)", example = "0")
+        Integer primaryImageIndex
+
+) {
+
+    public void validate() {
+        if (primaryImageIndex != null && (primaryImageIndex < 0 || primaryImageIndex >= contentHashes.size())) {
+            throw new IllegalArgumentException("Ana resim index'i geçersiz: " + primaryImageIndex);
+        }
+        if (contentHashes.stream().distinct().count() != contentHashes.size()) {
+            throw new IllegalArgumentException("Tekrar eden resim özetleri bulundu");
+        }
+    }
+}
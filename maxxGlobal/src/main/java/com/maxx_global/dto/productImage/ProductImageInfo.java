@@ -11,6 +11,15 @@ public record ProductImageInfo(
         String imageUrl,
 
         @Schema(description = "Ana resim mi?", example = "true")
-        Boolean isPrimary
+        Boolean isPrimary,
+
+        @Schema(description = "Küçük resim URL'si (liste kartları için); henüz üretilmediyse null")
+        String thumbnailUrl,
+
+        @Schema(description = "Orta boy JPEG URL'si; henüz üretilmediyse null")
+        String mediumUrl,
+
+        @Schema(description = "Orta boy WebP URL'si; henüz üretilmediyse veya desteklenmiyorsa null")
+        String webpUrl
 ){
 }
@@ -0,0 +1,14 @@
+package com.maxx_global.dto.productPriceExcell;
+
+import java.util.List;
+
+/**
+ * Tek transaction'da işlenen fiyat satırı parçasının sonucu
+ */
+public record PriceImportChunkResult(
+        int rowCount,
+        int successCount,
+        int createdCount,
+        int updatedCount,
+        List<PriceImportError> errors
+) {}
@@ -0,0 +1,11 @@
+package com.maxx_global.dto.productPriceExcell;
+
+import java.util.List;
+
+/**
+ * Okunmuş fiyat import'u. Fiyat girilmemiş satırlar toplam satıra sayılır ama plana alınmaz.
+ */
+public record PriceImportPlan(
+        int totalRows,
+        List<PriceImportRow> rows
+) {}
@@ -0,0 +1,14 @@
+package com.maxx_global.dto.productPriceExcell;
+
+import java.util.List;
+
+/**
+ * Okunmuş fiyat satırı (para birimi başına bir fiyat). Satır okunamadıysa parseError dolu gelir.
+ */
+public record PriceImportRow(
+        Integer rowNumber,
+        String productCode,
+        String rowData,
+        List<ExcelPriceData> prices,
+        String parseError
+) {}
@@ -52,6 +52,7 @@ public interface StockMovementMapper extends BaseMapper<StockMovement, StockMove
                 product.getCode(),
                 product.getCategory() != null ? product.getCategory().getName() : null,
                 null, // primaryImageUrl
+                null, // primaryThumbnailUrl
                 product.getStockQuantity(), // Deprecated - toplam stok için getTotalStockQuantity() kullanılmalı
                 product.getUnit(),
                 product.getStatus() == com.maxx_global.enums.EntityStatus.ACTIVE,
@@ -0,0 +1,65 @@
+package com.maxx_global.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Kategori ağacının closure tablosu - her (ata, torun) çifti için bir satır, kendisi dahil (depth = 0).
+ * "X kategorisinin altındaki her şey" tek bir indeksli join ile bulunur.
+ * Kategori yazma işlemleri (CategoryService) tarafından güncellenir; soft delete satırları silmez,
+ * okuyan sorgular torun kategorinin durumunu ayrıca kontrol eder.
+ */
+@Entity
+@Table(name = "category_closure",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_category_closure_pair", columnNames = {"ancestor_id", "descendant_id"})
+        },
+        indexes = {
+                @Index(name = "idx_category_closure_descendant", columnList = "descendant_id")
+        })
+public class CategoryClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public void setAncestorId(Long ancestorId) {
+        this.ancestorId = ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public void setDescendantId(Long descendantId) {
+        this.descendantId = descendantId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+}
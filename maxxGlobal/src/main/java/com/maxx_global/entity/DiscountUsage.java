@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class DiscountUsage extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "discount_usage_seq")
+    @SequenceGenerator(name = "discount_usage_seq", sequenceName = "discount_usage_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
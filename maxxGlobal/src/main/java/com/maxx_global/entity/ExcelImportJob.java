@@ -0,0 +1,166 @@
+package com.maxx_global.entity;
+
+import com.maxx_global.enums.ExcelImportJobStatus;
+import com.maxx_global.enums.ExcelImportType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Arka planda parça parça işlenen Excel import'u.
+ * Her parça kendi transaction'ında commit edilir ve committedChunks bir artırılır;
+ * yarıda kalan job bu sayaçtan devam ettirilir.
+ */
+@Entity
+@Table(name = "excel_import_jobs",
+        indexes = {
+                @Index(name = "idx_excel_import_jobs_status", columnList = "job_status")
+        })
+public class ExcelImportJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false, unique = true, length = 50)
+    private String batchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "import_type", nullable = false)
+    private ExcelImportType importType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_status", nullable = false)
+    private ExcelImportJobStatus jobStatus = ExcelImportJobStatus.QUEUED;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "stored_file_path", nullable = false, length = 500)
+    private String storedFilePath;
+
+    // Fiyat import'larında hedef bayi
+    @Column(name = "dealer_id")
+    private Long dealerId;
+
+    @Column(name = "update_existing", nullable = false)
+    private Boolean updateExisting = true;
+
+    @Column(name = "skip_errors", nullable = false)
+    private Boolean skipErrors = false;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_rows")
+    private Integer totalRows;
+
+    @Column(name = "total_chunks")
+    private Integer totalChunks;
+
+    @Column(name = "committed_chunks", nullable = false)
+    private Integer committedChunks = 0;
+
+    @Column(name = "processed_rows", nullable = false)
+    private Integer processedRows = 0;
+
+    @Column(name = "success_count", nullable = false)
+    private Integer successCount = 0;
+
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount = 0;
+
+    @Column(name = "created_count", nullable = false)
+    private Integer createdCount = 0;
+
+    @Column(name = "updated_count", nullable = false)
+    private Integer updatedCount = 0;
+
+    // Son çalıştırma başladığında işlenmiş satır sayısı (hız hesabı için)
+    @Column(name = "run_start_rows", nullable = false)
+    private Integer runStartRows = 0;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "requested_by_user_id")
+    private Long requestedByUserId;
+
+    public ExcelImportJob() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public ExcelImportType getImportType() { return importType; }
+    public void setImportType(ExcelImportType importType) { this.importType = importType; }
+
+    public ExcelImportJobStatus getJobStatus() { return jobStatus; }
+    public void setJobStatus(ExcelImportJobStatus jobStatus) { this.jobStatus = jobStatus; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getStoredFilePath() { return storedFilePath; }
+    public void setStoredFilePath(String storedFilePath) { this.storedFilePath = storedFilePath; }
+
+    public Long getDealerId() { return dealerId; }
+    public void setDealerId(Long dealerId) { this.dealerId = dealerId; }
+
+    public Boolean getUpdateExisting() { return updateExisting; }
+    public void setUpdateExisting(Boolean updateExisting) { this.updateExisting = updateExisting; }
+
+    public Boolean getSkipErrors() { return skipErrors; }
+    public void setSkipErrors(Boolean skipErrors) { this.skipErrors = skipErrors; }
+
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+
+    public Integer getTotalRows() { return totalRows; }
+    public void setTotalRows(Integer totalRows) { this.totalRows = totalRows; }
+
+    public Integer getTotalChunks() { return totalChunks; }
+    public void setTotalChunks(Integer totalChunks) { this.totalChunks = totalChunks; }
+
+    public Integer getCommittedChunks() { return committedChunks; }
+    public void setCommittedChunks(Integer committedChunks) { this.committedChunks = committedChunks; }
+
+    public Integer getProcessedRows() { return processedRows; }
+    public void setProcessedRows(Integer processedRows) { this.processedRows = processedRows; }
+
+    public Integer getSuccessCount() { return successCount; }
+    public void setSuccessCount(Integer successCount) { this.successCount = successCount; }
+
+    public Integer getErrorCount() { return errorCount; }
+    public void setErrorCount(Integer errorCount) { this.errorCount = errorCount; }
+
+    public Integer getCreatedCount() { return createdCount; }
+    public void setCreatedCount(Integer createdCount) { this.createdCount = createdCount; }
+
+    public Integer getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(Integer updatedCount) { this.updatedCount = updatedCount; }
+
+    public Integer getRunStartRows() { return runStartRows; }
+    public void setRunStartRows(Integer runStartRows) { this.runStartRows = runStartRows; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Long getRequestedByUserId() { return requestedByUserId; }
+    public void setRequestedByUserId(Long requestedByUserId) { this.requestedByUserId = requestedByUserId; }
+}
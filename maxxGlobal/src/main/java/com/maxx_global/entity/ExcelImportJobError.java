@@ -0,0 +1,63 @@
+package com.maxx_global.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Import job'ının satır hatası. Hatalar parçayla aynı transaction'da yazılır;
+ * parça geri alınırsa hataları da geri alınır ve parça yeniden işlendiğinde tekrar yazılır.
+ */
+@Entity
+@Table(name = "excel_import_job_errors",
+        indexes = {
+                @Index(name = "idx_excel_import_job_errors_job", columnList = "job_id, row_number")
+        })
+public class ExcelImportJobError extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_number")
+    private Integer rowNumber;
+
+    @Column(name = "item_code")
+    private String itemCode;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "row_data", columnDefinition = "TEXT")
+    private String rowData;
+
+    public ExcelImportJobError() {}
+
+    public ExcelImportJobError(Long jobId, Integer rowNumber, String itemCode, String message, String rowData) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.itemCode = itemCode;
+        this.message = message;
+        this.rowData = rowData;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+
+    public Integer getRowNumber() { return rowNumber; }
+    public void setRowNumber(Integer rowNumber) { this.rowNumber = rowNumber; }
+
+    public String getItemCode() { return itemCode; }
+    public void setItemCode(String itemCode) { this.itemCode = itemCode; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getRowData() { return rowData; }
+    public void setRowData(String rowData) { this.rowData = rowData; }
+}
@@ -0,0 +1,95 @@
+package com.maxx_global.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * İçerik adresli resim dosyası: uploads/blobs/ab/{sha256}.{uzantı}.
+ * Aynı içerik kaç kez yüklenirse yüklensin diskte tek kopya tutulur; ref_count bu dosyayı kullanan
+ * ProductImage satırı sayısıdır. Sayı sıfıra düşen dosyalar bekleme süresinden sonra temizleme job'ı ile silinir.
+ */
+@Entity
+@Table(name = "image_blobs", indexes = {
+        @Index(name = "idx_image_blobs_unreferenced", columnList = "ref_count, last_referenced_at")
+})
+public class ImageBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "extension", nullable = false, length = 10)
+    private String extension;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public void setExtension(String extension) {
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastReferencedAt() {
+        return lastReferencedAt;
+    }
+
+    public void setLastReferencedAt(LocalDateTime lastReferencedAt) {
+        this.lastReferencedAt = lastReferencedAt;
+    }
+}
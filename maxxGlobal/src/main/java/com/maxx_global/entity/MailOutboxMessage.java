@@ -0,0 +1,175 @@
+package com.maxx_global.entity;
+
+import com.maxx_global.enums.MailOutboxStatus;
+import com.maxx_global.enums.OrderMailType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gönderilmeyi bekleyen mail (outbox).
+ * Mail içeriği hazırlandığı anda bu tabloya yazılır, Resend'e gönderimi MailOutboxDispatchJob yapar.
+ * Sipariş maillerinde satır siparişin transaction'ında yalnızca sipariş ID'si, mail türü, dil ve alıcıyla yazılır;
+ * içerik (htmlContent, PDF eki) commit sonrası ilk gönderim denemesinde üretilip satıra kaydedilir.
+ * SENDING durumundaki satırda nextAttemptAt kiralama bitişidir: gönderim sırasında uygulama kapanırsa
+ * süre dolunca satır yeniden alınır, mail kaybolmaz.
+ */
+@Entity
+@Table(name = "mail_outbox",
+        indexes = {
+                @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "mail_status, next_attempt_at")
+        })
+public class MailOutboxMessage extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "to_email", nullable = false)
+    private String toEmail;
+
+    @Column(name = "subject", nullable = false, length = 500)
+    private String subject;
+
+    // Sipariş maillerinde ilk gönderim denemesine kadar null
+    @Column(name = "html_content", columnDefinition = "TEXT")
+    private String htmlContent;
+
+    // PDF eki; Resend batch gönderimi ek desteklemediği için ekli mailler tek tek gönderilir
+    @Column(name = "attachment")
+    private byte[] attachment;
+
+    @Column(name = "attachment_name")
+    private String attachmentName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mail_status", nullable = false)
+    private MailOutboxStatus mailStatus = MailOutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "provider_message_id")
+    private String providerMessageId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // İçeriği gönderim sırasında üretilecek sipariş maili
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_mail_type", length = 50)
+    private OrderMailType orderMailType;
+
+    @Column(name = "mail_locale", length = 20)
+    private String mailLocale;
+
+    @Column(name = "show_prices")
+    private Boolean showPrices;
+
+    @Column(name = "admin_notification")
+    private Boolean adminNotification;
+
+    // Şablona giren ek bilgi: önceki durum, iptal veya ret nedeni
+    @Column(name = "mail_argument", columnDefinition = "TEXT")
+    private String mailArgument;
+
+    public MailOutboxMessage() {}
+
+    public MailOutboxMessage(String toEmail, String subject, String htmlContent,
+                             byte[] attachment, String attachmentName, LocalDateTime nextAttemptAt) {
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.htmlContent = htmlContent;
+        this.attachment = attachment;
+        this.attachmentName = attachmentName;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * İçeriği commit sonrası üretilecek sipariş maili
+     */
+    public static MailOutboxMessage forOrder(String toEmail, String subject, OrderMailType orderMailType, Long orderId,
+                                             String mailLocale, boolean showPrices, boolean adminNotification,
+                                             String mailArgument, LocalDateTime nextAttemptAt) {
+        MailOutboxMessage message = new MailOutboxMessage(toEmail, subject, null, null, null, nextAttemptAt);
+        message.orderMailType = orderMailType;
+        message.orderId = orderId;
+        message.mailLocale = mailLocale;
+        message.showPrices = showPrices;
+        message.adminNotification = adminNotification;
+        message.mailArgument = mailArgument;
+        return message;
+    }
+
+    public boolean needsRendering() {
+        return htmlContent == null && orderMailType != null;
+    }
+
+    public boolean hasAttachment() {
+        return attachment != null && attachment.length > 0;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getToEmail() { return toEmail; }
+    public void setToEmail(String toEmail) { this.toEmail = toEmail; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getHtmlContent() { return htmlContent; }
+    public void setHtmlContent(String htmlContent) { this.htmlContent = htmlContent; }
+
+    public byte[] getAttachment() { return attachment; }
+    public void setAttachment(byte[] attachment) { this.attachment = attachment; }
+
+    public String getAttachmentName() { return attachmentName; }
+    public void setAttachmentName(String attachmentName) { this.attachmentName = attachmentName; }
+
+    public MailOutboxStatus getMailStatus() { return mailStatus; }
+    public void setMailStatus(MailOutboxStatus mailStatus) { this.mailStatus = mailStatus; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+
+    public String getProviderMessageId() { return providerMessageId; }
+    public void setProviderMessageId(String providerMessageId) { this.providerMessageId = providerMessageId; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public OrderMailType getOrderMailType() { return orderMailType; }
+    public void setOrderMailType(OrderMailType orderMailType) { this.orderMailType = orderMailType; }
+
+    public String getMailLocale() { return mailLocale; }
+    public void setMailLocale(String mailLocale) { this.mailLocale = mailLocale; }
+
+    public Boolean getShowPrices() { return showPrices; }
+    public void setShowPrices(Boolean showPrices) { this.showPrices = showPrices; }
+
+    public Boolean getAdminNotification() { return adminNotification; }
+    public void setAdminNotification(Boolean adminNotification) { this.adminNotification = adminNotification; }
+
+    public String getMailArgument() { return mailArgument; }
+    public void setMailArgument(String mailArgument) { this.mailArgument = mailArgument; }
+}
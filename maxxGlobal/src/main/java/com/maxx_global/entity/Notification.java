@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_created_at", columnList = "created_at"),
-        @Index(name = "idx_type", columnList = "type")
+        @Index(name = "idx_type", columnList = "type"),
+        @Index(name = "idx_notifications_created_by_created_at", columnList = "created_by, created_at")
 })
 public class Notification extends BaseEntity {
 
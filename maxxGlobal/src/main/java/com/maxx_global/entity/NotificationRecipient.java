@@ -8,12 +8,14 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "notification_recipients", indexes = {
         @Index(name = "idx_recipient_user", columnList = "user_id, status"),
-        @Index(name = "idx_recipient_notification", columnList = "notification_id")
+        @Index(name = "idx_recipient_notification", columnList = "notification_id"),
+        @Index(name = "idx_recipient_user_created_id", columnList = "user_id, created_at, id")
 })
 public class NotificationRecipient extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_recipients_seq")
+    @SequenceGenerator(name = "notification_recipients_seq", sequenceName = "notification_recipients_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,90 @@
+package com.maxx_global.entity;
+
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.enums.OrderStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Günlük sipariş özeti (rollup) - gün x bayi x durum x para birimi
+ * Dashboard grafikleri Order tablosu yerine bu tablodan beslenir
+ */
+@Entity
+@Table(name = "order_daily_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"stat_date", "dealer_id", "order_status", "currency"})
+        },
+        indexes = {
+                @Index(name = "idx_order_daily_stats_date", columnList = "stat_date")
+        })
+public class OrderDailyStat extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "dealer_id", nullable = false)
+    private Long dealerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency", nullable = false)
+    private CurrencyType currency;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "discount_amount", nullable = false)
+    private BigDecimal discountAmount = BigDecimal.ZERO;
+
+    @Column(name = "item_quantity", nullable = false)
+    private Long itemQuantity = 0L;
+
+    public OrderDailyStat() {}
+
+    public OrderDailyStat(LocalDate statDate, Long dealerId, OrderStatus orderStatus, CurrencyType currency) {
+        this.statDate = statDate;
+        this.dealerId = dealerId;
+        this.orderStatus = orderStatus;
+        this.currency = currency;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getStatDate() { return statDate; }
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public Long getDealerId() { return dealerId; }
+    public void setDealerId(Long dealerId) { this.dealerId = dealerId; }
+
+    public OrderStatus getOrderStatus() { return orderStatus; }
+    public void setOrderStatus(OrderStatus orderStatus) { this.orderStatus = orderStatus; }
+
+    public CurrencyType getCurrency() { return currency; }
+    public void setCurrency(CurrencyType currency) { this.currency = currency; }
+
+    public Long getOrderCount() { return orderCount; }
+    public void setOrderCount(Long orderCount) { this.orderCount = orderCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getDiscountAmount() { return discountAmount; }
+    public void setDiscountAmount(BigDecimal discountAmount) { this.discountAmount = discountAmount; }
+
+    public Long getItemQuantity() { return itemQuantity; }
+    public void setItemQuantity(Long itemQuantity) { this.itemQuantity = itemQuantity; }
+}
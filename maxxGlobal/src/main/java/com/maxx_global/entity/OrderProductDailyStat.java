@@ -0,0 +1,75 @@
+package com.maxx_global.entity;
+
+import com.maxx_global.enums.OrderStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Günlük ürün bazlı sipariş özeti (rollup) - gün x ürün x durum
+ * "En çok sipariş edilen ürünler" grafiği için kullanılır
+ */
+@Entity
+@Table(name = "order_product_daily_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"stat_date", "product_id", "order_status"})
+        },
+        indexes = {
+                @Index(name = "idx_order_product_daily_stats_date", columnList = "stat_date")
+        })
+public class OrderProductDailyStat extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity = 0L;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "total_price", nullable = false)
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    public OrderProductDailyStat() {}
+
+    public OrderProductDailyStat(LocalDate statDate, Long productId, OrderStatus orderStatus) {
+        this.statDate = statDate;
+        this.productId = productId;
+        this.orderStatus = orderStatus;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getStatDate() { return statDate; }
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public OrderStatus getOrderStatus() { return orderStatus; }
+    public void setOrderStatus(OrderStatus orderStatus) { this.orderStatus = orderStatus; }
+
+    public Long getQuantity() { return quantity; }
+    public void setQuantity(Long quantity) { this.quantity = quantity; }
+
+    public Long getOrderCount() { return orderCount; }
+    public void setOrderCount(Long orderCount) { this.orderCount = orderCount; }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
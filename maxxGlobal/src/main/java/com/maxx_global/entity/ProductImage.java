@@ -3,7 +3,11 @@ package com.maxx_global.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "product_images")
+@Table(name = "product_images", indexes = {
+        @Index(name = "idx_product_images_content_hash", columnList = "content_hash"),
+        // Liste sorgularında ürünün ana resmi bu indeksle bulunur (ürün başına birkaç satır)
+        @Index(name = "idx_product_images_product_primary", columnList = "product_id, is_primary, id")
+})
 public class ProductImage extends BaseEntity{
 
     @Id
@@ -20,6 +24,24 @@ public class ProductImage extends BaseEntity{
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Orijinal dosyanın SHA-256 özeti; türev dosya adları bundan üretilir
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Orijinal dosyanın bayt cinsinden boyutu (içerik adresli yüklemelerde yükleme sırasında yazılır)
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    // Türevler yükleme sonrası arka planda üretilir; üretilene kadar null
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "medium_url")
+    private String mediumUrl;
+
+    @Column(name = "webp_url")
+    private String webpUrl;
+
     // --- GETTER ve SETTER'lar ---
 
     public Long getId() {
@@ -49,4 +71,51 @@ public class ProductImage extends BaseEntity{
     public void setProduct(Product product) {
         this.product = product;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getMediumUrl() {
+        return mediumUrl;
+    }
+
+    public void setMediumUrl(String mediumUrl) {
+        this.mediumUrl = mediumUrl;
+    }
+
+    public String getWebpUrl() {
+        return webpUrl;
+    }
+
+    public void setWebpUrl(String webpUrl) {
+        this.webpUrl = webpUrl;
+    }
+
+    /**
+     * Liste kartları için küçük resim; türev henüz yoksa orijinal
+     */
+    public String getThumbnailUrlOrOriginal() {
+        return thumbnailUrl != null ? thumbnailUrl : imageUrl;
+    }
 }
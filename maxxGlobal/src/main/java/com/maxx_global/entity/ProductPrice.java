@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class ProductPrice extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_prices_seq")
+    @SequenceGenerator(name = "product_prices_seq", sequenceName = "product_prices_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
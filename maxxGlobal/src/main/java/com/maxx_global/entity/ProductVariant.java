@@ -7,11 +7,14 @@ import java.util.Set;
 @Entity
 @Table(name = "product_variants", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"sku"})
+}, indexes = {
+        @Index(name = "idx_product_variants_product_stock", columnList = "product_id, stock_quantity")
 })
 public class ProductVariant extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_variants_seq")
+    @SequenceGenerator(name = "product_variants_seq", sequenceName = "product_variants_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,6 +30,12 @@ public class ProductVariant extends BaseEntity {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity = 0;
 
+    // Optimistic locking - stok rezervasyonu ile eşzamanlı güncellemelerin birbirini ezmemesi için.
+    // Yeni kayıtta null kalmalı: Spring Data dolu versiyonu mevcut kayıt sayıp save()'de merge eder.
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "is_default", nullable = false)
     private Boolean isDefault = false;
 
@@ -96,6 +105,14 @@ public class ProductVariant extends BaseEntity {
         this.stockQuantity = stockQuantity;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Boolean getIsDefault() {
         return isDefault;
     }
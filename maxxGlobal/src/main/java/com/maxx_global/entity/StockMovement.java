@@ -7,11 +7,17 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "stock_movements")
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_date_id", columnList = "movement_date, id"),
+        @Index(name = "idx_stock_movements_product_date_id", columnList = "product_id, movement_date, id"),
+        @Index(name = "idx_stock_movements_variant_date", columnList = "product_variant_id, movement_date"),
+        @Index(name = "idx_stock_movements_reference", columnList = "reference_type, reference_id")
+})
 public class StockMovement extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_seq")
+    @SequenceGenerator(name = "stock_movements_seq", sequenceName = "stock_movements_seq", allocationSize = 50)
     private Long id;
 
     // ⚠️ DEPRECATED - Eski ilişki (backward compatibility için)
@@ -0,0 +1,37 @@
+package com.maxx_global.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ExcelImportJobStatus {
+    QUEUED("SIRADA"),
+    RUNNING("İŞLENİYOR"),
+    COMPLETED("TAMAMLANDI"),
+    FAILED("BAŞARISIZ");
+
+    private final String displayName;
+
+    ExcelImportJobStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getCode() {
+        return this.name();
+    }
+
+    @JsonCreator
+    public static ExcelImportJobStatus fromString(String value) {
+        for (ExcelImportJobStatus status : ExcelImportJobStatus.values()) {
+            if (status.name().equalsIgnoreCase(value) ||
+                    status.displayName.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ExcelImportJobStatus: " + value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.maxx_global.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ExcelImportType {
+    PRODUCT("ÜRÜN"),
+    PRICE("FİYAT");
+
+    private final String displayName;
+
+    ExcelImportType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getCode() {
+        return this.name();
+    }
+
+    @JsonCreator
+    public static ExcelImportType fromString(String value) {
+        for (ExcelImportType type : ExcelImportType.values()) {
+            if (type.name().equalsIgnoreCase(value) ||
+                    type.displayName.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ExcelImportType: " + value);
+    }
+}
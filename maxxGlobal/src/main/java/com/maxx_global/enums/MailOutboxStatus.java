@@ -0,0 +1,37 @@
+package com.maxx_global.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum MailOutboxStatus {
+    PENDING("BEKLİYOR"),
+    SENDING("GÖNDERİLİYOR"),
+    SENT("GÖNDERİLDİ"),
+    DEAD("BAŞARISIZ");
+
+    private final String displayName;
+
+    MailOutboxStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @JsonValue
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getCode() {
+        return this.name();
+    }
+
+    @JsonCreator
+    public static MailOutboxStatus fromString(String value) {
+        for (MailOutboxStatus status : MailOutboxStatus.values()) {
+            if (status.name().equalsIgnoreCase(value) ||
+                    status.displayName.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown MailOutboxStatus: " + value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.maxx_global.enums;
+
+/**
+ * Outbox'a içeriği henüz hazırlanmadan yazılan sipariş maillerinin türü.
+ * MailOutboxDispatchJob gönderimden önce bu türe göre şablonu (ve gerekiyorsa PDF'i) commit edilmiş siparişten üretir.
+ */
+public enum OrderMailType {
+    NEW_ORDER,
+    ORDER_APPROVED,
+    ORDER_REJECTED,
+    ORDER_EDITED,
+    STATUS_CHANGE,
+    ORDER_AUTO_CANCELLED,
+    ORDER_AUTO_CANCELLED_ADMIN,
+    ORDER_EDIT_REJECTED
+}
@@ -0,0 +1,6 @@
+package com.maxx_global.event;
+
+import java.util.Set;
+
+public record AppUserChangedEvent(Set<String> emails) {
+}
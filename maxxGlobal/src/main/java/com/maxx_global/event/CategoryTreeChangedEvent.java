@@ -0,0 +1,8 @@
+package com.maxx_global.event;
+
+/**
+ * Kategori ağacında (ekleme, taşıma, ad değişikliği, silme/geri yükleme) bir değişiklik commit edilecek.
+ * reason sadece log içindir.
+ */
+public record CategoryTreeChangedEvent(String reason) {
+}
@@ -0,0 +1,34 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.CategoryTreeSnapshotCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Kategori ağacı değişikliği commit edildiğinde snapshot'ı yeniden derler.
+ * Senkron çalışır (tek sorgu); commit'i takip eden ilk istek yeni ağacı görür.
+ */
+@Component
+public class CategoryTreeSnapshotEventListener {
+
+    private static final Logger logger = Logger.getLogger(CategoryTreeSnapshotEventListener.class.getName());
+
+    private final CategoryTreeSnapshotCache categoryTreeSnapshotCache;
+
+    public CategoryTreeSnapshotEventListener(CategoryTreeSnapshotCache categoryTreeSnapshotCache) {
+        this.categoryTreeSnapshotCache = categoryTreeSnapshotCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryTreeChanged(CategoryTreeChangedEvent event) {
+        try {
+            categoryTreeSnapshotCache.rebuild();
+        } catch (Exception e) {
+            // Bir sonraki olay veya periyodik yenileme snapshot'ı düzeltir
+            logger.severe("Category tree snapshot rebuild failed (" + event.reason() + "): " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.maxx_global.event;
+
+/**
+ * İndirim uygunluğunu etkileyen bir değişiklik commit edilecek (indirim, kategori ağacı veya ürün kapsamı).
+ * reason sadece log içindir.
+ */
+public record DiscountEligibilityChangedEvent(String reason) {
+}
@@ -0,0 +1,45 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.DiscountEligibilityIndexCache;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Uygunluğu etkileyen değişiklik commit edildiğinde indirim indeksini arka planda yeniden derler.
+ * Art arda gelen olaylar DiscountEligibilityIndexCache içinde tek derlemede birleşir.
+ */
+@Component
+public class DiscountEligibilityIndexEventListener {
+
+    private static final Logger logger = Logger.getLogger(DiscountEligibilityIndexEventListener.class.getName());
+
+    private final DiscountEligibilityIndexCache discountEligibilityIndexCache;
+
+    public DiscountEligibilityIndexEventListener(DiscountEligibilityIndexCache discountEligibilityIndexCache) {
+        this.discountEligibilityIndexCache = discountEligibilityIndexCache;
+    }
+
+    /**
+     * Commit anında indeksi eskimiş işaretle; arka plan derlemesi bitmeden gelen okuyucu
+     * derlemeyi kendisi yapar
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void markIndexStale(DiscountEligibilityChangedEvent event) {
+        discountEligibilityIndexCache.invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("discountIndexTaskExecutor")
+    public void onDiscountEligibilityChanged(DiscountEligibilityChangedEvent event) {
+        try {
+            discountEligibilityIndexCache.rebuild();
+        } catch (Exception e) {
+            // İndeks eskimiş kalır; bir sonraki okuyucu veya periyodik yenileme yeniden derler
+            logger.severe("Discount eligibility index rebuild failed (" + event.reason() + "): " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.maxx_global.event;
+
+import com.maxx_global.job.ExcelImportJobRunner;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Kuyruğa alınan import job'larını commit sonrası import executor'ında başlatır.
+ * Executor tek thread'li olduğu için job'lar sırayla işlenir ve birbirinin kilitlerini beklemez.
+ */
+@Component
+public class ExcelImportJobEventListener {
+
+    private static final Logger logger = Logger.getLogger(ExcelImportJobEventListener.class.getName());
+
+    private final ExcelImportJobRunner excelImportJobRunner;
+
+    public ExcelImportJobEventListener(ExcelImportJobRunner excelImportJobRunner) {
+        this.excelImportJobRunner = excelImportJobRunner;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("importTaskExecutor")
+    public void onImportJobSubmitted(ExcelImportJobSubmittedEvent event) {
+        try {
+            excelImportJobRunner.run(event.jobId());
+        } catch (Exception e) {
+            logger.severe("Import job " + event.jobId() + " could not be run: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.maxx_global.event;
+
+/**
+ * Import job'ı kuyruğa alındığında (ilk gönderim veya devam ettirme) yayınlanır
+ */
+public record ExcelImportJobSubmittedEvent(Long jobId) {
+}
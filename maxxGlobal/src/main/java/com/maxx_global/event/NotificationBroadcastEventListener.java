@@ -0,0 +1,37 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.NotificationService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Büyük hedef kitleli toplu bildirimlerin alıcılarını, bildirim kaydı commit edildikten sonra yazar.
+ */
+@Component
+public class NotificationBroadcastEventListener {
+
+    private static final Logger logger = Logger.getLogger(NotificationBroadcastEventListener.class.getName());
+
+    private final NotificationService notificationService;
+
+    public NotificationBroadcastEventListener(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("notificationBroadcastTaskExecutor")
+    public void onBroadcastRequested(NotificationBroadcastRequestedEvent event) {
+        try {
+            long started = System.currentTimeMillis();
+            int inserted = notificationService.insertBroadcastRecipients(event.notificationId(), event.roleName());
+            logger.info("📣 Broadcast notification " + event.notificationId() + " delivered to " + inserted +
+                    " users in " + (System.currentTimeMillis() - started) + " ms");
+        } catch (Exception e) {
+            logger.severe("❌ Broadcast notification " + event.notificationId() + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.maxx_global.event;
+
+/**
+ * Alıcıları arka planda yazılacak toplu bildirim; roleName null ise tüm aktif kullanıcılar
+ */
+public record NotificationBroadcastRequestedEvent(Long notificationId, String roleName) {
+}
@@ -0,0 +1,39 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.NotificationStreamHub;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bildirim değişikliklerini commit sonrası SSE akışına aktarır.
+ * Soket yazımları stream executor'ında yapılır; yavaş bir istemci bildirimi oluşturan isteği bekletmez.
+ */
+@Component
+public class NotificationStreamEventListener {
+
+    private final NotificationStreamHub notificationStreamHub;
+
+    public NotificationStreamEventListener(NotificationStreamHub notificationStreamHub) {
+        this.notificationStreamHub = notificationStreamHub;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("notificationStreamTaskExecutor")
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        notificationStreamHub.publishNotifications(event.notificationsByUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("notificationStreamTaskExecutor")
+    public void onUnreadCountChanged(NotificationUnreadCountChangedEvent event) {
+        for (Long userId : event.userIds()) {
+            if (event.delta() != null) {
+                notificationStreamHub.adjustUnreadCount(userId, event.delta());
+            } else {
+                notificationStreamHub.refreshUnreadCount(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.maxx_global.event;
+
+import java.util.Collection;
+
+/**
+ * Okunmamış bildirim sayısı değişen kullanıcılar.
+ * delta biliniyorsa (okundu işaretleme) sayaç o kadar düzeltilir; null ise sayaç DB'den yeniden sayılır.
+ */
+public record NotificationUnreadCountChangedEvent(Collection<Long> userIds, Long delta) {
+}
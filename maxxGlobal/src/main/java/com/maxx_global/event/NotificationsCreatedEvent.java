@@ -0,0 +1,11 @@
+package com.maxx_global.event;
+
+import com.maxx_global.dto.notification.NotificationResponse;
+
+import java.util.Map;
+
+/**
+ * Commit sonrası SSE akışına iletilecek yeni bildirimler; alıcı kullanıcı ID -> kullanıcının dilinde bildirim
+ */
+public record NotificationsCreatedEvent(Map<Long, NotificationResponse> notificationsByUserId) {
+}
@@ -0,0 +1,69 @@
+package com.maxx_global.event;
+
+import com.maxx_global.entity.Order;
+import com.maxx_global.job.OrderAnalyticsRollupJob;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sipariş olaylarından dashboard rollup tablolarını günceller.
+ * Commit sonrası sadece siparişin ait olduğu gün bekleyen günlere eklenir; yeniden hesaplama
+ * OrderAnalyticsRollupJob tarafından tek thread'li analytics executor'ında yapılır.
+ */
+@Component
+public class OrderAnalyticsEventListener {
+
+    private final OrderAnalyticsRollupJob orderAnalyticsRollupJob;
+
+    public OrderAnalyticsEventListener(OrderAnalyticsRollupJob orderAnalyticsRollupJob) {
+        this.orderAnalyticsRollupJob = orderAnalyticsRollupJob;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderApproved(OrderApprovedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderRejected(OrderRejectedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEdited(OrderEditedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEditRejected(OrderEditRejectedEvent event) {
+        refresh(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderAutoCancelled(OrderAutoCancelledEvent event) {
+        refresh(event.order());
+    }
+
+    private void refresh(Order order) {
+        if (order == null || order.getOrderDate() == null) {
+            return;
+        }
+        orderAnalyticsRollupJob.markDayDirty(order.getOrderDate().toLocalDate());
+    }
+}
@@ -1,8 +1,6 @@
 // src/main/java/com/maxx_global/event/OrderEventHandler.java
 package com.maxx_global.event;
 
-import com.maxx_global.entity.AppUser;
-import com.maxx_global.service.MailService;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -10,16 +8,18 @@ import org.springframework.transaction.event.TransactionPhase;
 
 import java.util.logging.Logger;
 
+/**
+ * Sipariş olaylarının commit sonrası uygulama içi bildirimleri. Mailler OrderMailEventListener ile
+ * siparişin transaction'ında outbox'a yazılır.
+ */
 @Component
 public class OrderEventHandler {
 
     private static final Logger logger = Logger.getLogger(OrderEventHandler.class.getName());
 
-    private final MailService mailService;
     private final NotificationEventService notificationEventService;
 
-    public OrderEventHandler(MailService mailService, NotificationEventService notificationEventService) {
-        this.mailService = mailService;
+    public OrderEventHandler(NotificationEventService notificationEventService) {
         this.notificationEventService = notificationEventService;
     }
 
@@ -29,10 +29,8 @@ public class OrderEventHandler {
         try {
             logger.info("Handling order created event for: " + event.order().getOrderNumber());
             notificationEventService.sendOrderCreatedNotification(event.order());
-            mailService.sendNewOrderNotificationToAdmins(event.order());
         } catch (Exception e) {
-            logger.severe("Error sending mail after order creation: " + e.getMessage());
-            // Mail hatası sipariş oluşturulmasını engellememeli
+            logger.severe("Error sending notification after order creation: " + e.getMessage());
         }
     }
 
@@ -41,9 +39,8 @@ public class OrderEventHandler {
     public void handleOrderApproved(OrderApprovedEvent event) {
         try {
             notificationEventService.sendOrderApprovedNotification(event.order(),event.order().getUser());
-            mailService.sendOrderApprovedNotificationToCustomer(event.order());
         } catch (Exception e) {
-            logger.severe("Error sending approved order mail: " + e.getMessage());
+            logger.severe("Error sending approved order notification: " + e.getMessage());
         }
     }
 
@@ -52,9 +49,8 @@ public class OrderEventHandler {
     public void handleOrderRejected(OrderRejectedEvent event) {
         try {
             notificationEventService.sendOrderRejectedNotification(event.order(),event.order().getAdminNotes());
-            mailService.sendOrderRejectedNotificationToCustomer(event.order());
         } catch (Exception e) {
-            logger.severe("Error sending reject order mail: " + e.getMessage());
+            logger.severe("Error sending reject order notification: " + e.getMessage());
         }
     }
 
@@ -64,9 +60,8 @@ public class OrderEventHandler {
         try {
             notificationEventService.sendOrderStatusChangeNotification(event.order(),
                     event.order().getOrderStatus().getDisplayName(),event.order().getAdminNotes());
-            mailService.sendOrderStatusChangeNotificationToCustomer(event.order(),event.previousStatus());
         } catch (Exception e) {
-            logger.severe("Error sending reject order mail: " + e.getMessage());
+            logger.severe("Error sending status change notification: " + e.getMessage());
         }
     }
 
@@ -75,9 +70,8 @@ public class OrderEventHandler {
     public void handleOrderEdited(OrderEditedEvent event) {
         try {
             notificationEventService.sendOrderEditedNotification(event.order());
-            mailService.sendOrderEditedNotificationToCustomer(event.order());
         } catch (Exception e) {
-            logger.severe("Error sending reject order mail: " + e.getMessage());
+            logger.severe("Error sending edited order notification: " + e.getMessage());
         }
     }
 
@@ -87,20 +81,8 @@ public class OrderEventHandler {
         try {
             logger.info("Handling auto-cancelled order event for: " + event.order().getOrderNumber());
             notificationEventService.sendOrderAutoCancelledNotification(event.order(), event.reason(), event.hoursWaited());
-
-            // Müşteriye mail gönder
-            AppUser customer = event.order().getUser();
-            if (customer != null && customer.getEmail() != null &&
-                    !customer.getEmail().trim().isEmpty() &&
-                    customer.isEmailNotificationsEnabled()) {
-                mailService.sendOrderAutoCancelledNotificationToCustomer(event.order(), event.reason());
-            }
-
-            // Admin'lere de bildirim gönder
-            mailService.sendOrderAutoCancelledNotificationToAdmins(event.order(), event.reason());
-
         } catch (Exception e) {
-            logger.severe("Error sending auto-cancelled order mail: " + e.getMessage());
+            logger.severe("Error sending auto-cancelled order notification: " + e.getMessage());
         }
     }
 
@@ -112,10 +94,6 @@ public class OrderEventHandler {
         try {
             logger.info("Handling order edit rejected event for: " + event.order().getOrderNumber());
 
-            // Admin'lere bildirim gönder
-            mailService.sendOrderEditRejectedNotificationToAdmins(event.order(), event.customerRejectionReason());
-
-            // Notification service'e de bildir (varsa)
             if (notificationEventService != null) {
                 notificationEventService.sendOrderEditRejectedNotification(
                         event.order(),
@@ -123,7 +101,7 @@ public class OrderEventHandler {
                 );
             }
         } catch (Exception e) {
-            logger.severe("Error sending order edit rejected mail: " + e.getMessage());
+            logger.severe("Error sending order edit rejected notification: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,97 @@
+package com.maxx_global.event;
+
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.service.MailService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Sipariş maillerini siparişin kendi transaction'ı içinde (commit öncesi, aynı thread'de) outbox'a yazar.
+ * Sipariş commit edilirse mailleri de commit edilmiş olur; commit ile gönderim arasında uygulama kapansa bile
+ * MailOutboxDispatchJob açılışta kaldığı yerden gönderir. Burada yalnızca alıcı, tür, dil ve sipariş id'si yazılır;
+ * şablon ve PDF commit sonrası dispatch job'ında üretilir, böylece PDF önbellek anahtarı flush edilmiş güncellenme
+ * zamanını görür. Outbox yazımı başarısız olursa sipariş de geri alınır.
+ */
+@Component
+public class OrderMailEventListener {
+
+    private static final Logger logger = Logger.getLogger(OrderMailEventListener.class.getName());
+
+    private final MailService mailService;
+
+    public OrderMailEventListener(MailService mailService) {
+        this.mailService = mailService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        try {
+            mailService.sendNewOrderNotificationToAdmins(event.order());
+        } catch (Exception e) {
+            logger.severe("Error queueing mail after order creation: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderApproved(OrderApprovedEvent event) {
+        try {
+            mailService.sendOrderApprovedNotificationToCustomer(event.order());
+        } catch (Exception e) {
+            logger.severe("Error queueing approved order mail: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderRejected(OrderRejectedEvent event) {
+        try {
+            mailService.sendOrderRejectedNotificationToCustomer(event.order());
+        } catch (Exception e) {
+            logger.severe("Error queueing rejected order mail: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            mailService.sendOrderStatusChangeNotificationToCustomer(event.order(), event.previousStatus());
+        } catch (Exception e) {
+            logger.severe("Error queueing status change mail: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderEdited(OrderEditedEvent event) {
+        try {
+            mailService.sendOrderEditedNotificationToCustomer(event.order());
+        } catch (Exception e) {
+            logger.severe("Error queueing edited order mail: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderAutoCancelled(OrderAutoCancelledEvent event) {
+        try {
+            AppUser customer = event.order().getUser();
+            if (customer != null && customer.getEmail() != null &&
+                    !customer.getEmail().trim().isEmpty() &&
+                    customer.isEmailNotificationsEnabled()) {
+                mailService.sendOrderAutoCancelledNotificationToCustomer(event.order(), event.reason());
+            }
+            mailService.sendOrderAutoCancelledNotificationToAdmins(event.order(), event.reason());
+        } catch (Exception e) {
+            logger.severe("Error queueing auto-cancelled order mail: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderEditRejected(OrderEditRejectedEvent event) {
+        try {
+            mailService.sendOrderEditRejectedNotificationToAdmins(event.order(), event.customerRejectionReason());
+        } catch (Exception e) {
+            logger.severe("Error queueing order edit rejected mail: " + e.getMessage());
+        }
+    }
+}
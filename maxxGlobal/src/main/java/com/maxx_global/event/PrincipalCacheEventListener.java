@@ -0,0 +1,30 @@
+package com.maxx_global.event;
+
+import com.maxx_global.security.PrincipalCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Kullanıcı veya rol değişikliği commit edildiğinde JWT principal cache'ini düşürür.
+ * Rol/yetki değişikliği birçok kullanıcıyı etkileyebildiği için tüm cache temizlenir.
+ */
+@Component
+public class PrincipalCacheEventListener {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheEventListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAppUserChanged(AppUserChangedEvent event) {
+        principalCache.evict(event.emails());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRoleChanged(RoleChangedEvent event) {
+        principalCache.evictAll();
+    }
+}
@@ -0,0 +1,32 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.ImageDerivativeService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Yüklenen ürün resimleri commit edildikten sonra türevlerini image executor'ında üretir.
+ * Yükleme isteği türev üretimini beklemez; türev hazır olana kadar listeler orijinal resmi döndürür.
+ */
+@Component
+public class ProductImageDerivativeEventListener {
+
+    private static final Logger logger = Logger.getLogger(ProductImageDerivativeEventListener.class.getName());
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    public ProductImageDerivativeEventListener(ImageDerivativeService imageDerivativeService) {
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async("imageTaskExecutor")
+    public void onProductImagesUploaded(ProductImagesUploadedEvent event) {
+        int generated = imageDerivativeService.generateAll(event.imageIds());
+        logger.info("Generated derivatives for " + generated + "/" + event.imageIds().size() + " uploaded images");
+    }
+}
@@ -0,0 +1,6 @@
+package com.maxx_global.event;
+
+import java.util.List;
+
+public record ProductImagesUploadedEvent(List<Long> imageIds) {
+}
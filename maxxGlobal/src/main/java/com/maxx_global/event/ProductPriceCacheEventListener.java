@@ -0,0 +1,25 @@
+package com.maxx_global.event;
+
+import com.maxx_global.service.DealerPriceBookCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fiyat değişikliği commit edildiğinde etkilenen bayilerin fiyat defterini düşürür.
+ * Senkron çalışır; commit'i takip eden ilk istek yeni fiyatları görür.
+ */
+@Component
+public class ProductPriceCacheEventListener {
+
+    private final DealerPriceBookCache dealerPriceBookCache;
+
+    public ProductPriceCacheEventListener(DealerPriceBookCache dealerPriceBookCache) {
+        this.dealerPriceBookCache = dealerPriceBookCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductPriceChanged(ProductPriceChangedEvent event) {
+        dealerPriceBookCache.evict(event.dealerIds());
+    }
+}
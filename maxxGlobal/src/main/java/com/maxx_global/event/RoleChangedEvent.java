@@ -0,0 +1,4 @@
+package com.maxx_global.event;
+
+public record RoleChangedEvent(Long roleId) {
+}
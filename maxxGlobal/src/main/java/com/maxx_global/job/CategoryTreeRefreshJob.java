@@ -0,0 +1,52 @@
+package com.maxx_global.job;
+
+import com.maxx_global.service.CategoryService;
+import com.maxx_global.service.CategoryTreeSnapshotCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Açılışta category_closure tablosunu kontrol eder (boş veya eksikse parent_id'lerden doldurur)
+ * ve kategori ağacı snapshot'ını derler. Snapshot ayrıca periyodik olarak yenilenir; asıl yenileme
+ * CategoryTreeChangedEvent ile yapılır, periyodik derleme veritabanına doğrudan yapılan değişiklikler içindir.
+ * Closure tablosu doldurulamazsa açılış durur; kategori kapsamlı sorgular eksik tabloyla sessizce boş dönerdi.
+ */
+@Component
+public class CategoryTreeRefreshJob {
+
+    private static final Logger logger = Logger.getLogger(CategoryTreeRefreshJob.class.getName());
+
+    private final CategoryService categoryService;
+    private final CategoryTreeSnapshotCache categoryTreeSnapshotCache;
+
+    public CategoryTreeRefreshJob(CategoryService categoryService,
+                                  CategoryTreeSnapshotCache categoryTreeSnapshotCache) {
+        this.categoryService = categoryService;
+        this.categoryTreeSnapshotCache = categoryTreeSnapshotCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            categoryService.ensureCategoryClosure();
+        } catch (Exception e) {
+            logger.severe("❌ Category closure check failed: " + e.getMessage());
+            throw new IllegalStateException("Category closure check failed", e);
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.category.tree-snapshot.refresh-interval-ms:900000}",
+            initialDelayString = "${app.category.tree-snapshot.refresh-interval-ms:900000}")
+    public void refresh() {
+        try {
+            categoryTreeSnapshotCache.rebuild();
+        } catch (Exception e) {
+            logger.severe("❌ Category tree snapshot refresh failed: " + e.getMessage());
+        }
+    }
+}
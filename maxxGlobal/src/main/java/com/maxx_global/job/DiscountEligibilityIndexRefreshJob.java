@@ -0,0 +1,41 @@
+package com.maxx_global.job;
+
+import com.maxx_global.service.DiscountEligibilityIndexCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * İndirim uygunluk indeksini açılışta derler ve periyodik olarak yeniler.
+ * Asıl yenileme değişiklik olaylarıyla yapılır; periyodik derleme sadece veritabanına doğrudan
+ * yapılan değişiklikler ve kaçırılan olaylar için emniyettir.
+ */
+@Component
+public class DiscountEligibilityIndexRefreshJob {
+
+    private static final Logger logger = Logger.getLogger(DiscountEligibilityIndexRefreshJob.class.getName());
+
+    private final DiscountEligibilityIndexCache discountEligibilityIndexCache;
+
+    public DiscountEligibilityIndexRefreshJob(DiscountEligibilityIndexCache discountEligibilityIndexCache) {
+        this.discountEligibilityIndexCache = discountEligibilityIndexCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.discount.eligibility-index.refresh-interval-ms:900000}",
+            initialDelayString = "${app.discount.eligibility-index.refresh-interval-ms:900000}")
+    public void refresh() {
+        try {
+            discountEligibilityIndexCache.rebuild();
+        } catch (Exception e) {
+            logger.severe("❌ Discount eligibility index refresh failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.maxx_global.job;
+
+import com.maxx_global.dto.productExcel.ExcelProductData;
+import com.maxx_global.dto.productExcel.ProductImportError;
+import com.maxx_global.dto.productExcel.ProductImportPlan;
+import com.maxx_global.dto.productPriceExcell.PriceImportPlan;
+import com.maxx_global.dto.productPriceExcell.PriceImportRow;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.ExcelImportJob;
+import com.maxx_global.enums.ExcelImportType;
+import com.maxx_global.service.ExcelImportJobService;
+import com.maxx_global.service.ExcelSheetReader;
+import com.maxx_global.service.ProductExcelService;
+import com.maxx_global.service.ProductPriceExcelService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Kuyruğa alınan Excel import job'larını çalıştırır.
+ * Dosya her çalıştırmada baştan okunur (okuma deterministik olduğu için parça sınırları değişmez),
+ * commit edilmiş parçalar atlanır ve kalan parçalar sırayla kendi transaction'larında işlenir.
+ * Bu sınıfın kendisi transaction açmaz; her adım ExcelImportJobService üzerinden ayrı transaction'dır.
+ */
+@Component
+public class ExcelImportJobRunner {
+
+    private static final Logger logger = Logger.getLogger(ExcelImportJobRunner.class.getName());
+
+    private final ExcelImportJobService excelImportJobService;
+    private final ProductExcelService productExcelService;
+    private final ProductPriceExcelService productPriceExcelService;
+
+    public ExcelImportJobRunner(ExcelImportJobService excelImportJobService,
+                                ProductExcelService productExcelService,
+                                ProductPriceExcelService productPriceExcelService) {
+        this.excelImportJobService = excelImportJobService;
+        this.productExcelService = productExcelService;
+        this.productPriceExcelService = productPriceExcelService;
+    }
+
+    /**
+     * Uygulama kapanırken RUNNING kalan job'lar başarısız sayılır; resume endpoint'i ile devam ettirilebilirler
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        try {
+            int count = excelImportJobService.failInterruptedJobs();
+            if (count > 0) {
+                logger.warning("⚠️ " + count + " interrupted Excel import job(s) marked as failed, they can be resumed");
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Could not check interrupted Excel import jobs: " + e.getMessage());
+        }
+    }
+
+    public void run(Long jobId) {
+        ExcelImportJob job = excelImportJobService.startJob(jobId);
+        if (job == null) {
+            logger.info("ℹ️ Import job " + jobId + " is not queued anymore, skipping");
+            return;
+        }
+
+        logger.info("📥 Import job " + jobId + " started (" + job.getImportType() + ", chunk size: " +
+                job.getChunkSize() + ", committed chunks: " + job.getCommittedChunks() + ")");
+
+        try (ExcelSheetReader reader = ExcelSheetReader.open(Paths.get(job.getStoredFilePath()))) {
+            if (job.getImportType() == ExcelImportType.PRODUCT) {
+                runProductImport(job, reader);
+            } else {
+                runPriceImport(job, reader);
+            }
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            excelImportJobService.failJob(jobId, message);
+        }
+    }
+
+    private void runProductImport(ExcelImportJob job, ExcelSheetReader reader) throws Exception {
+        ProductImportPlan plan = productExcelService.planProductImport(reader);
+        List<Map<String, List<ExcelProductData>>> chunks = partitionGroups(plan.groups(), job.getChunkSize());
+
+        excelImportJobService.recordPlan(job.getId(), plan.totalRows(), chunks.size(), plan.errors());
+
+        if (!job.getSkipErrors() && !plan.errors().isEmpty()) {
+            ProductImportError firstError = plan.errors().get(0);
+            excelImportJobService.failJob(job.getId(),
+                    "Satır " + firstError.rowNumber() + ": " + firstError.errorMessage());
+            return;
+        }
+
+        AppUser performedBy = excelImportJobService.findRequestedBy(job);
+        for (int chunkIndex = job.getCommittedChunks(); chunkIndex < chunks.size(); chunkIndex++) {
+            excelImportJobService.applyProductChunk(job.getId(), chunkIndex, chunks.get(chunkIndex), performedBy);
+        }
+
+        excelImportJobService.completeJob(job.getId());
+    }
+
+    private void runPriceImport(ExcelImportJob job, ExcelSheetReader reader) throws Exception {
+        PriceImportPlan plan = productPriceExcelService.planPriceImport(reader);
+        List<List<PriceImportRow>> chunks = partitionRows(plan.rows(), job.getChunkSize());
+
+        excelImportJobService.recordPlan(job.getId(), plan.totalRows(), chunks.size(), List.of());
+
+        for (int chunkIndex = job.getCommittedChunks(); chunkIndex < chunks.size(); chunkIndex++) {
+            excelImportJobService.applyPriceChunk(job.getId(), chunkIndex, chunks.get(chunkIndex));
+        }
+
+        excelImportJobService.completeJob(job.getId());
+    }
+
+    /**
+     * Ürün gruplarını parçalara böler. Bir ürünün varyantları hiçbir zaman iki parçaya bölünmez;
+     * parça, biriken satır sayısı chunkSize'a ulaşınca kapanır.
+     */
+    static List<Map<String, List<ExcelProductData>>> partitionGroups(Map<String, List<ExcelProductData>> groups,
+                                                                    int chunkSize) {
+        List<Map<String, List<ExcelProductData>>> chunks = new ArrayList<>();
+        Map<String, List<ExcelProductData>> current = new LinkedHashMap<>();
+        int currentRows = 0;
+
+        for (Map.Entry<String, List<ExcelProductData>> entry : groups.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            currentRows += entry.getValue().size();
+
+            if (currentRows >= chunkSize) {
+                chunks.add(current);
+                current = new LinkedHashMap<>();
+                currentRows = 0;
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    static List<List<PriceImportRow>> partitionRows(List<PriceImportRow> rows, int chunkSize) {
+        List<List<PriceImportRow>> chunks = new ArrayList<>();
+        for (int start = 0; start < rows.size(); start += chunkSize) {
+            chunks.add(rows.subList(start, Math.min(start + chunkSize, rows.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,86 @@
+package com.maxx_global.job;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Yoğun yazılan tabloların ID üretimini IDENTITY'den pooled-lo sequence'a taşır.
+ * IDENTITY'de Hibernate her satırın ID'sini INSERT'ten geri okumak zorunda olduğu için JDBC insert batch'i
+ * devre dışı kalır; sequence ile ID'ler önceden 50'lik bloklar halinde alınır ve INSERT'ler batch_size'a göre gruplanır.
+ *
+ * Hibernate (ddl-auto: update) sequence'ları oluşturur ama mevcut tablolara dokunmaz; bu sınıf açılışta,
+ * web sunucusu istek almadan önce:
+ * - id kolonundaki IDENTITY'yi kaldırıp varsayılanı sequence'a bağlar (ID vermeyen native INSERT'ler, ör. fiyat upsert'i,
+ *   aynı sequence'tan alır ve Hibernate bloklarıyla çakışmaz),
+ * - sequence'ı mevcut en büyük ID'nin üstüne hizalar.
+ * Tekrar çalışması güvenlidir; hizalı sequence geri alınmaz. Herhangi bir tablonun geçişi başarısız olursa açılış durur.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final Logger logger = Logger.getLogger(IdSequenceInitializer.class.getName());
+
+    // Entity'lerdeki @SequenceGenerator allocationSize ile aynı olmalı
+    static final int ALLOCATION_SIZE = 50;
+
+    // tablo -> sequence
+    static final Map<String, String> SEQUENCES = Map.of(
+            "order_items", "order_items_seq",
+            "stock_movements", "stock_movements_seq",
+            "notification_recipients", "notification_recipients_seq",
+            "product_prices", "product_prices_seq",
+            "product_variants", "product_variants_seq",
+            "discount_usage", "discount_usage_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        SEQUENCES.forEach((table, sequence) -> {
+            try {
+                migrate(table, sequence);
+            } catch (Exception e) {
+                logger.severe("❌ ID sequence migration failed for " + table + ": " + e.getMessage());
+                // Sequence hizalanmadan açılırsa Hibernate mevcut ID'lerle çakışan bloklar alır; uygulama başlamamalı
+                throw new IllegalStateException("ID sequence migration failed for " + table, e);
+            }
+        });
+    }
+
+    private void migrate(String table, String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        List<Map<String, Object>> state = jdbcTemplate.queryForList("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get(0).get("last_value")).longValue();
+        boolean called = (Boolean) state.get(0).get("is_called");
+
+        long nextValue = nextBlockStart(lastValue, called);
+        if (nextValue <= maxId) {
+            jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, maxId + 1);
+            logger.info("🔢 " + sequence + " aligned to " + (maxId + 1) + " (max id in " + table + ": " + maxId + ")");
+        }
+    }
+
+    /**
+     * Sequence'ın bir sonraki nextval'ı. Verilen son blok [lastValue, lastValue + 49] çalışan bir instance'ta
+     * kullanılıyor olabilir; en büyük ID bu bloğun içindeyse sequence zaten ileride demektir, dokunulmaz.
+     */
+    static long nextBlockStart(long lastValue, boolean called) {
+        return called ? lastValue + ALLOCATION_SIZE : lastValue;
+    }
+}
@@ -0,0 +1,73 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.ImageBlobRepository;
+import com.maxx_global.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Hiçbir ürün resminin kullanmadığı içerik adresli dosyaları siler.
+ * Referans sayısı sıfıra düştükten sonra bekleme süresi kadar beklenir; bu sürede aynı resim tekrar
+ * eklenirse dosya yeniden yazılmadan kullanılır. Her dosya kendi transaction'ında silinir.
+ */
+@Component
+public class ImageBlobCleanupJob {
+
+    private static final Logger logger = Logger.getLogger(ImageBlobCleanupJob.class.getName());
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final FileStorageService fileStorageService;
+
+    @Value("${app.file.blobs.orphan-grace-hours:24}")
+    private long graceHours;
+
+    @Value("${app.file.blobs.cleanup-batch-size:200}")
+    private int batchSize;
+
+    public ImageBlobCleanupJob(ImageBlobRepository imageBlobRepository,
+                               FileStorageService fileStorageService) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.fileStorageService = fileStorageService;
+    }
+
+    @Scheduled(cron = "${app.file.blobs.cleanup-cron:0 15 4 * * *}")
+    public void cleanupUnreferencedBlobs() {
+        try {
+            int deleted = cleanup();
+            if (deleted > 0) {
+                logger.info("🧹 Image blob cleanup - deleted " + deleted + " unreferenced images");
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Image blob cleanup failed: " + e.getMessage());
+        }
+    }
+
+    public int cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+        int deleted = 0;
+
+        List<String> candidates;
+        do {
+            candidates = imageBlobRepository.findUnreferencedBefore(cutoff, PageRequest.of(0, batchSize));
+            int deletedInBatch = 0;
+            for (String contentHash : candidates) {
+                if (fileStorageService.purgeUnreferencedBlob(contentHash, cutoff)) {
+                    deletedInBatch++;
+                }
+            }
+            deleted += deletedInBatch;
+            // Bu turda hiçbiri silinemediyse (hepsi yeniden referans aldı) aynı sayfayı tekrar çekme
+            if (deletedInBatch == 0) {
+                break;
+            }
+        } while (candidates.size() == batchSize);
+
+        return deleted;
+    }
+}
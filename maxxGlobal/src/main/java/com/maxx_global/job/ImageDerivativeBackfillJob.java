@@ -0,0 +1,83 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.ProductImageRepository;
+import com.maxx_global.service.ImageDerivativeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Türevi olmayan ürün resimleri için tek seferlik backfill.
+ * Açılışta image executor'ının bir worker'ında, ID sırasıyla sayfa sayfa çalışır; türevi üretilen resimler
+ * bir sonraki açılışta tekrar taranmaz. Kuyruk dolduğu için atılan yükleme işleri de bu sayede tamamlanır.
+ */
+@Component
+public class ImageDerivativeBackfillJob {
+
+    private static final Logger logger = Logger.getLogger(ImageDerivativeBackfillJob.class.getName());
+
+    private final ProductImageRepository productImageRepository;
+    private final ImageDerivativeService imageDerivativeService;
+
+    @Value("${app.file.derivatives.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.file.derivatives.backfill-batch-size:100}")
+    private int batchSize;
+
+    public ImageDerivativeBackfillJob(ProductImageRepository productImageRepository,
+                                      ImageDerivativeService imageDerivativeService) {
+        this.productImageRepository = productImageRepository;
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Async("imageTaskExecutor")
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+
+        try {
+            backfill();
+        } catch (Exception e) {
+            logger.severe("❌ Image derivative backfill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Türevi eksik tüm resimleri işler
+     * @return türevi üretilen resim sayısı
+     */
+    public int backfill() {
+        long startTime = System.currentTimeMillis();
+        int scanned = 0;
+        int generated = 0;
+        long afterId = 0L;
+
+        List<Long> imageIds;
+        do {
+            imageIds = productImageRepository.findIdsWithoutDerivatives(afterId, PageRequest.of(0, batchSize));
+            for (Long imageId : imageIds) {
+                // Başarısız resimler de geçilir; döngü ID'ye göre ilerlediği için tekrar denenmez
+                if (imageDerivativeService.generate(imageId)) {
+                    generated++;
+                }
+                afterId = imageId;
+            }
+            scanned += imageIds.size();
+        } while (imageIds.size() == batchSize);
+
+        if (scanned > 0) {
+            logger.info("🖼️ Image derivative backfill completed - generated: " + generated + "/" + scanned +
+                    " in " + (System.currentTimeMillis() - startTime) + " ms");
+        }
+        return generated;
+    }
+}
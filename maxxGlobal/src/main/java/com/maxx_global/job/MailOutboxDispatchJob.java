@@ -0,0 +1,166 @@
+package com.maxx_global.job;
+
+import com.maxx_global.entity.MailOutboxMessage;
+import com.maxx_global.service.MailOutboxService;
+import com.maxx_global.service.MailService;
+import com.maxx_global.service.MailRateLimiter;
+import com.maxx_global.service.ResendEmailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Mail outbox'ını Resend'e boşaltır.
+ * Her turda rate limiter'ın izin verdiği kadar mail alınır; eksiz ve ilk kez denenen mailler batch API ile
+ * tek istekte, ekli mailler ve daha önce başarısız olanlar tek tek gönderilir (batch bütün olarak reddedildiğinde
+ * sorunlu mail diğerlerini tekrar tekrar düşürmesin). İzin bitince tur biter, kalan mailler sonraki turu bekler;
+ * scheduler thread'i hiçbir zaman rate limit için uyumaz.
+ * İçeriği olmayan sipariş mailleri gönderimden önce commit edilmiş siparişten üretilip kaydedilir; üretim
+ * hatası normal gönderim hatası gibi tekrar denenir.
+ */
+@Component
+public class MailOutboxDispatchJob {
+
+    private static final Logger logger = Logger.getLogger(MailOutboxDispatchJob.class.getName());
+
+    private final MailOutboxService mailOutboxService;
+    private final MailService mailService;
+    private final ResendEmailService resendEmailService;
+    private final MailRateLimiter rateLimiter;
+    private final int batchSize;
+
+    @Value("${app.mail.outbox.retention-days:30}")
+    private int retentionDays;
+
+    public MailOutboxDispatchJob(MailOutboxService mailOutboxService,
+                                 MailService mailService,
+                                 ResendEmailService resendEmailService,
+                                 @Value("${app.mail.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                                 @Value("${app.mail.rate-limit.max-per-minute:50}") int maxPerMinute,
+                                 @Value("${app.mail.rate-limit.max-per-hour:200}") int maxPerHour,
+                                 @Value("${app.mail.batch-size:10}") int batchSize) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailService = mailService;
+        this.resendEmailService = resendEmailService;
+        this.rateLimiter = new MailRateLimiter(rateLimitEnabled, maxPerMinute, maxPerHour);
+        this.batchSize = Math.max(1, Math.min(batchSize, ResendEmailService.MAX_BATCH_SIZE));
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}",
+            initialDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        int sent = 0;
+        int failed = 0;
+        try {
+            while (true) {
+                int permits = rateLimiter.tryAcquire(batchSize);
+                if (permits == 0) {
+                    break;
+                }
+
+                List<MailOutboxMessage> claimed = mailOutboxService.claimDue(permits);
+                rateLimiter.release(permits - claimed.size());
+                if (claimed.isEmpty()) {
+                    break;
+                }
+
+                int delivered = deliver(claimed);
+                sent += delivered;
+                failed += claimed.size() - delivered;
+
+                if (claimed.size() < permits) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Mail outbox dispatch failed: " + e.getMessage());
+        }
+
+        if (sent > 0 || failed > 0) {
+            logger.info("📤 Mail outbox dispatch - sent: " + sent + ", failed: " + failed);
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 4 * * *}")
+    public void purgeSent() {
+        try {
+            int deleted = mailOutboxService.purgeSent(retentionDays);
+            if (deleted > 0) {
+                logger.info("🧹 Mail outbox purge - deleted " + deleted + " sent mails older than " + retentionDays + " days");
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Mail outbox purge failed: " + e.getMessage());
+        }
+    }
+
+    private int deliver(List<MailOutboxMessage> messages) {
+        int delivered = 0;
+        List<MailOutboxMessage> batchable = new ArrayList<>();
+        for (MailOutboxMessage message : messages) {
+            if (message.needsRendering() && !render(message)) {
+                continue;
+            }
+            if (message.hasAttachment() || message.getAttempts() > 1) {
+                delivered += sendSingle(message) ? 1 : 0;
+            } else {
+                batchable.add(message);
+            }
+        }
+
+        if (batchable.size() == 1) {
+            delivered += sendSingle(batchable.get(0)) ? 1 : 0;
+        } else if (!batchable.isEmpty()) {
+            delivered += sendBatch(batchable);
+        }
+        return delivered;
+    }
+
+    private boolean render(MailOutboxMessage message) {
+        try {
+            MailService.RenderedMail rendered = mailService.renderOrderMail(message);
+            mailOutboxService.markRendered(message.getId(), rendered.htmlContent(),
+                    rendered.attachment(), rendered.attachmentName());
+            message.setHtmlContent(rendered.htmlContent());
+            message.setAttachment(rendered.attachment());
+            message.setAttachmentName(rendered.attachmentName());
+            return true;
+        } catch (Exception e) {
+            mailOutboxService.markFailed(message, "Render failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean sendSingle(MailOutboxMessage message) {
+        try {
+            String providerId = resendEmailService.sendOrThrow(message.getToEmail(), message.getSubject(),
+                    message.getHtmlContent(), message.getAttachment(), message.getAttachmentName());
+            mailOutboxService.markSent(message.getId(), providerId);
+            return true;
+        } catch (Exception e) {
+            mailOutboxService.markFailed(message, e.getMessage());
+            return false;
+        }
+    }
+
+    private int sendBatch(List<MailOutboxMessage> messages) {
+        List<String> providerIds;
+        try {
+            providerIds = resendEmailService.sendBatch(messages.stream()
+                    .map(message -> new ResendEmailService.OutgoingEmail(
+                            message.getToEmail(), message.getSubject(), message.getHtmlContent()))
+                    .toList());
+        } catch (Exception e) {
+            messages.forEach(message -> mailOutboxService.markFailed(message, "Batch rejected: " + e.getMessage()));
+            return 0;
+        }
+
+        for (int i = 0; i < messages.size(); i++) {
+            mailOutboxService.markSent(messages.get(i).getId(), i < providerIds.size() ? providerIds.get(i) : null);
+        }
+        return messages.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.maxx_global.job;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Sipariş mailleri outbox'a içeriksiz yazılır ve içerik gönderimden önce üretilir; html_content artık boş olabilir.
+ * Hibernate (ddl-auto: update) mevcut kolonun NOT NULL kısıtını kaldırmadığı için açılışta kaldırılır.
+ * Tekrar çalışması güvenlidir.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class MailOutboxSchemaInitializer {
+
+    private static final Logger logger = Logger.getLogger(MailOutboxSchemaInitializer.class.getName());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MailOutboxSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE mail_outbox ALTER COLUMN html_content DROP NOT NULL");
+        } catch (Exception e) {
+            logger.severe("❌ Mail outbox schema migration failed: " + e.getMessage());
+            // Kısıt kalırsa her sipariş maili outbox'a yazılamaz ve sipariş transaction'ı geri alınır
+            throw new IllegalStateException("Mail outbox schema migration failed", e);
+        }
+    }
+}
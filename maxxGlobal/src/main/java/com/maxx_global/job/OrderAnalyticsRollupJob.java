@@ -0,0 +1,227 @@
+package com.maxx_global.job;
+
+import com.maxx_global.service.OrderAnalyticsService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Dashboard rollup tabloları için mutabakat ve backfill job'ı.
+ * Bir günün rollup satırlarını silip yeniden yazan her iş (olay boşaltması, mutabakat, yeniden oluşturma)
+ * tek thread'li analytics executor'ında çalışır; aynı gün için eşzamanlı silme/ekleme yapılmaz.
+ * Bekleyen günler yalnızca bellekte tutulur; yeniden başlatmada kaybolanları açılıştaki ve gecelik mutabakat
+ * düzeltir - mutabakat son günlerin yanında o süre içinde değişmiş siparişlerin günlerini de kapsar.
+ */
+@Component
+public class OrderAnalyticsRollupJob {
+
+    private static final Logger logger = Logger.getLogger(OrderAnalyticsRollupJob.class.getName());
+
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final Executor analyticsTaskExecutor;
+
+    // Sipariş olaylarından gelen, rollup'ı henüz yeniden hesaplanmamış günler
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    @Value("${app.analytics.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
+    @Value("${app.analytics.rollup.reconcile-days:3}")
+    private int reconcileDays;
+
+    @Value("${app.analytics.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public OrderAnalyticsRollupJob(OrderAnalyticsService orderAnalyticsService,
+                                   @Qualifier("analyticsTaskExecutor") Executor analyticsTaskExecutor) {
+        this.orderAnalyticsService = orderAnalyticsService;
+        this.analyticsTaskExecutor = analyticsTaskExecutor;
+    }
+
+    /**
+     * Günü bekleyen günlere ekle ve executor'da bir boşaltma işi planla.
+     * Aynı güne gelen olaylar tek yeniden hesaplamada birleşir; kuyrukta en fazla bir iş bulunur.
+     * Gün, yeniden hesaplama başarıyla bitene kadar listeden çıkmaz - executor işi reddederse
+     * veya hesaplama hata verirse retryDirtyDays tekrar dener.
+     */
+    public void markDayDirty(LocalDate day) {
+        if (!rollupEnabled || day == null) {
+            return;
+        }
+
+        dirtyDays.add(day);
+        scheduleDrain();
+    }
+
+    /**
+     * Reddedilen veya hata veren günleri düzenli aralıkla yeniden dene
+     * Mutabakat sadece son günleri kapsadığı için eski tarihli siparişlerin günleri burada kaybolmamalı
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.retry-interval-ms:60000}")
+    public void retryDirtyDays() {
+        if (!dirtyDays.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Bekleyen günleri sırayla yeniden hesapla - sadece analytics executor'ında çalışır,
+     * böylece aynı gün için eşzamanlı yeniden hesaplama yapılmaz
+     */
+    void drainDirtyDays() {
+        // Boşaltma sırasında gelen günler yeni bir iş planlayabilsin
+        drainQueued.set(false);
+
+        for (LocalDate day : List.copyOf(dirtyDays)) {
+            dirtyDays.remove(day);
+            try {
+                orderAnalyticsService.refreshDay(day);
+            } catch (Exception e) {
+                dirtyDays.add(day);
+                logger.warning("⚠️ Could not refresh order rollups for " + day + ", will retry: " + e.getMessage());
+            }
+        }
+    }
+
+    int pendingDayCount() {
+        return dirtyDays.size();
+    }
+
+    private void scheduleDrain() {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            analyticsTaskExecutor.execute(this::drainDirtyDays);
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+            logger.warning("⚠️ Analytics executor rejected rollup refresh, " + dirtyDays.size() +
+                    " day(s) stay pending for retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * İlk kurulumda rollup tablosu boşsa tüm geçmişi doldur; doluysa kapanışta kaybolmuş olabilecek
+     * bekleyen günler için mutabakat yap
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!rollupEnabled || !backfillOnStartup) {
+            return;
+        }
+
+        try {
+            if (!orderAnalyticsService.hasRollupData()) {
+                logger.info("📊 Order rollup tables are empty, starting initial backfill");
+                rebuildAll();
+            } else {
+                reconcileRecentDays();
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Initial order rollup backfill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Her gece 03:00'da son günleri ve son günlerde değişmiş siparişlerin günlerini yeniden hesapla
+     * Olay kaçırılmış, bekleyen gün yeniden başlatmada kaybolmuş veya event yayınlamayan bir güncelleme
+     * olmuşsa rollup'ı düzeltir
+     */
+    @Scheduled(cron = "${app.analytics.rollup.reconcile-cron:0 0 3 * * *}")
+    public void reconcileRecentDays() {
+        if (!rollupEnabled) {
+            return;
+        }
+
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(Math.max(0, reconcileDays - 1));
+
+        try {
+            int rows = refreshOnAnalyticsExecutor(from, to);
+
+            // Sipariş tarihi pencerenin dışında kalan ama bu sürede düzenlenmiş/iptal edilmiş siparişler
+            int olderDays = 0;
+            for (LocalDate day : orderAnalyticsService.getOrderDaysUpdatedSince(from.atStartOfDay())) {
+                if (day.isBefore(from)) {
+                    markDayDirty(day);
+                    olderDays++;
+                }
+            }
+            logger.info("✅ Order rollup reconciliation completed for " + from + " - " + to + " (" + rows + " rows, " +
+                    olderDays + " older days with recent order changes queued)");
+        } catch (Exception e) {
+            logger.severe("❌ Order rollup reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tüm sipariş geçmişini yeniden hesapla
+     */
+    public int rebuildAll() {
+        LocalDate firstOrderDate = orderAnalyticsService.getFirstOrderDate();
+        if (firstOrderDate == null) {
+            logger.info("ℹ️ No orders found, nothing to rebuild");
+            return 0;
+        }
+        return rebuild(firstOrderDate, LocalDate.now());
+    }
+
+    /**
+     * Tarih aralığını aylık parçalar halinde yeniden hesapla
+     * Her ay kendi transaction'ında, analytics executor'ında ayrı bir iş olarak işlenir; uzun geçmiş tek
+     * transaction'a sığdırılmaz ve aylar arasında olay boşaltmaları araya girebilir
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Geçersiz tarih aralığı: " + from + " - " + to);
+        }
+
+        logger.info("🔧 Rebuilding order rollups for " + from + " - " + to);
+
+        int totalRows = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.withDayOfMonth(chunkStart.lengthOfMonth());
+            if (chunkEnd.isAfter(to)) {
+                chunkEnd = to;
+            }
+
+            totalRows += refreshOnAnalyticsExecutor(chunkStart, chunkEnd);
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        logger.info("✅ Order rollup rebuild completed: " + totalRows + " daily rows");
+        return totalRows;
+    }
+
+    /**
+     * Aralığı analytics executor'ında yeniden hesapla ve bitmesini bekle; hata çağırana aynen iletilir
+     */
+    private int refreshOnAnalyticsExecutor(LocalDate from, LocalDate to) {
+        try {
+            return CompletableFuture.supplyAsync(() -> orderAnalyticsService.refreshRange(from, to), analyticsTaskExecutor)
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.ProductSearchRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ürün arama şemasını (tsvector kolonu, pg_trgm indeksleri) açılışta hazırlar.
+ * Hibernate (ddl-auto: update) tabloları bu noktada oluşturmuş olur.
+ */
+@Component
+public class ProductSearchSchemaInitializer {
+
+    private final ProductSearchRepository productSearchRepository;
+
+    public ProductSearchSchemaInitializer(ProductSearchRepository productSearchRepository) {
+        this.productSearchRepository = productSearchRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        productSearchRepository.ensureSchema();
+    }
+}
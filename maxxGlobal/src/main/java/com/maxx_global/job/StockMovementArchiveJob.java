@@ -0,0 +1,114 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.StockMovementPartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stok hareketi partition bakımı.
+ * Önümüzdeki aylar için partition'ları hazır tutar; saklama süresini aşan ayların partition'larını ana tablodan
+ * ayırır, gzip'li CSV olarak arşiv klasörüne yazar ve tabloyu siler. Ayırma ile silme arasında hata olursa
+ * ayrılmış tablo DB'de kalır ve sonraki çalışmada arşivlenir; arşiv dosyası tamamen yazılmadan tablo silinmez.
+ * Arşivlenen aylar tüm zamanlar istatistiklerine artık dahil edilmez.
+ * Arşivleme varsayılan olarak kapalıdır ve tablo silindiği için yalnızca mutlak bir arşiv klasörüyle çalışır.
+ */
+@Component
+public class StockMovementArchiveJob {
+
+    private static final Logger logger = Logger.getLogger(StockMovementArchiveJob.class.getName());
+
+    private final StockMovementPartitionRepository partitionRepository;
+
+    @Value("${app.stock-movements.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.stock-movements.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.stock-movements.archive.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.stock-movements.archive.dir:}")
+    private String archiveDir;
+
+    public StockMovementArchiveJob(StockMovementPartitionRepository partitionRepository) {
+        this.partitionRepository = partitionRepository;
+    }
+
+    @Scheduled(cron = "${app.stock-movements.archive.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                return;
+            }
+            int created = partitionRepository.ensureMonthlyPartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+            if (created > 0) {
+                logger.info("🗂️ Created " + created + " stock movement partitions");
+            }
+            if (archiveEnabled) {
+                int archived = archive();
+                if (archived > 0) {
+                    logger.info("📦 Archived " + archived + " stock movement partitions to " + archiveDir);
+                }
+            }
+        } catch (Exception e) {
+            logger.severe("❌ Stock movement partition maintenance failed: " + e.getMessage());
+        }
+    }
+
+    public int archive() throws IOException {
+        Path directory = archiveDirectory();
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (YearMonth month : partitionRepository.findMonthlyPartitions(true)) {
+            if (month.isBefore(cutoff)) {
+                partitionRepository.detachPartition(month);
+            }
+        }
+
+        Files.createDirectories(directory);
+
+        int archived = 0;
+        for (YearMonth month : partitionRepository.findMonthlyPartitions(false)) {
+            String name = StockMovementPartitionRepository.partitionName(month);
+            Path target = directory.resolve(name + ".csv.gz");
+            Path temp = directory.resolve(name + ".csv.gz.tmp");
+
+            long rows;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                rows = partitionRepository.exportDetachedPartition(month, writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            partitionRepository.dropDetachedPartition(month);
+
+            logger.info("📦 " + name + " archived - " + rows + " rows, " + Files.size(target) + " bytes");
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * Çalışma dizinine göre çözülen bir yol, yeniden dağıtımda arşivin kaybolmasına yol açabilir
+     */
+    private Path archiveDirectory() {
+        if (archiveDir == null || archiveDir.isBlank() || !Paths.get(archiveDir).isAbsolute()) {
+            throw new IllegalStateException("app.stock-movements.archive.dir must be an absolute path, got '" +
+                    archiveDir + "'");
+        }
+        return Paths.get(archiveDir);
+    }
+}
@@ -0,0 +1,50 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.StockMovementPartitionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.logging.Logger;
+
+/**
+ * stock_movements tablosunu açılışta, web sunucusu istek almadan önce aylık partition'lı hale getirir.
+ * Hibernate (ddl-auto: update) tabloyu düz tablo olarak oluşturur; tablo henüz partition'lı değilse mevcut
+ * satırlar tek transaction'da taşınır. Her açılışta önümüzdeki aylar için partition'lar da hazırlanır.
+ * ID varsayılanı sequence'a bağlandıktan sonra çalışır (IdSequenceInitializer). Hata olursa açılış durur.
+ */
+@Component
+@DependsOn({"entityManagerFactory", "idSequenceInitializer"})
+public class StockMovementPartitionInitializer {
+
+    private static final Logger logger = Logger.getLogger(StockMovementPartitionInitializer.class.getName());
+
+    private final StockMovementPartitionRepository partitionRepository;
+
+    @Value("${app.stock-movements.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    public StockMovementPartitionInitializer(StockMovementPartitionRepository partitionRepository) {
+        this.partitionRepository = partitionRepository;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        YearMonth lastMonth = YearMonth.now().plusMonths(monthsAhead);
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                long started = System.currentTimeMillis();
+                long copied = partitionRepository.convertToPartitioned(lastMonth);
+                logger.info("🗂️ stock_movements converted to monthly partitions - " + copied + " rows moved in " +
+                        (System.currentTimeMillis() - started) + " ms");
+            }
+            partitionRepository.ensureMonthlyPartitions(YearMonth.now(), lastMonth);
+            partitionRepository.ensureIndexes();
+        } catch (Exception e) {
+            logger.severe("❌ stock_movements partitioning failed, table left unchanged: " + e.getMessage());
+            throw new IllegalStateException("stock_movements partitioning failed", e);
+        }
+    }
+}
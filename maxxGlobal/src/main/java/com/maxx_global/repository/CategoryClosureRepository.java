@@ -0,0 +1,85 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * category_closure bakımı. Yazma sorguları native SQL'dir ve çağıran transaction'a katılır;
+ * kategori ağacındaki değişiklik ile closure aynı commit'te yazılır.
+ */
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    // Kendine işaret eden satır sayısı = closure'da yer alan kategori sayısı
+    long countByDepth(Integer depth);
+
+    /**
+     * Yeni kategori için satırlar: kendisi (depth 0) + üst kategorinin tüm ataları.
+     * parentId null ise (root) sadece kendi satırı eklenir.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT cc.ancestor_id, CAST(:categoryId AS bigint), cc.depth + 1
+            FROM category_closure cc
+            WHERE cc.descendant_id = CAST(:parentId AS bigint)
+            UNION ALL
+            SELECT CAST(:categoryId AS bigint), CAST(:categoryId AS bigint), 0
+            """, nativeQuery = true)
+    int insertCategory(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    /**
+     * Alt ağacı eski atalarından koparır: alt ağaç içindeki çiftler korunur,
+     * alt ağacın dışındaki atalara giden satırlar silinir.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM category_closure
+            WHERE descendant_id IN (SELECT sub.descendant_id FROM category_closure sub WHERE sub.ancestor_id = :categoryId)
+            AND ancestor_id NOT IN (SELECT sub.descendant_id FROM category_closure sub WHERE sub.ancestor_id = :categoryId)
+            """, nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Koparılmış alt ağacı yeni üst kategorinin altına bağlar (yeni parent'ın her atası x alt ağacın her düğümü).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT up.ancestor_id, down.descendant_id, up.depth + down.depth + 1
+            FROM category_closure up
+            CROSS JOIN category_closure down
+            WHERE up.descendant_id = :parentId
+            AND down.ancestor_id = :categoryId
+            """, nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM category_closure", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Closure'ı categories.parent_id üzerinden baştan üretir (ilk kurulum / tutarsızlık onarımı).
+     * Bozuk veride döngüye karşı derinlik sınırlıdır.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (
+                SELECT c.id, c.id, 0 FROM categories c
+                UNION ALL
+                SELECT t.ancestor_id, c.id, t.depth + 1
+                FROM tree t
+                JOIN categories c ON c.parent_id = t.descendant_id
+                WHERE t.depth < 64
+            )
+            SELECT DISTINCT ON (ancestor_id, descendant_id) ancestor_id, descendant_id, depth
+            FROM tree
+            ORDER BY ancestor_id, descendant_id, depth
+            """, nativeQuery = true)
+    int insertAllFromParentLinks();
+}
@@ -47,4 +47,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.status = :status AND NOT EXISTS (SELECT 1 FROM Category child WHERE child.parentCategory = c AND child.status = :status) ORDER BY c.name ASC")
     List<Category> findLeafCategories(@Param("status") EntityStatus status);
 
+    /**
+     * Kategori ağacı snapshot'ı için düz liste - entity yüklemez, kardeşler isme göre sıralı
+     * Dönen satır: [categoryId, parentCategoryId (root için null), name, nameEn, description, descriptionEn]
+     */
+    @Query("SELECT c.id, p.id, c.name, c.nameEn, c.description, c.descriptionEn FROM Category c " +
+            "LEFT JOIN c.parentCategory p WHERE c.status = :status ORDER BY c.name ASC")
+    List<Object[]> findTreeRows(@Param("status") EntityStatus status);
+
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -348,4 +349,33 @@ public interface DiscountRepository extends JpaRepository<Discount, Long> {
             "     OR (d.applicableVariants IS EMPTY AND d.applicableCategories IS EMPTY))")
     Long countDiscountsForCategory(@Param("categoryId") Long categoryId,
                                    @Param("status") EntityStatus status);
-}
\ No newline at end of file
+    // ==================== ELIGIBILITY INDEX ====================
+
+    /**
+     * Uygunluk indeksine girecek indirimler
+     * Dönen satır: [discountId, startDate, endDate]
+     */
+    @Query("SELECT d.id, d.startDate, d.endDate FROM Discount d WHERE d.status = :status")
+    List<Object[]> findEligibilityHeaders(@Param("status") EntityStatus status);
+
+    /**
+     * Dönen satır: [discountId, variantId]
+     */
+    @Query("SELECT d.id, v.id FROM Discount d JOIN d.applicableVariants v WHERE d.status = :status")
+    List<Object[]> findEligibilityVariantLinks(@Param("status") EntityStatus status);
+
+    /**
+     * Dönen satır: [discountId, dealerId]
+     */
+    @Query("SELECT d.id, dl.id FROM Discount d JOIN d.applicableDealers dl WHERE d.status = :status")
+    List<Object[]> findEligibilityDealerLinks(@Param("status") EntityStatus status);
+
+    /**
+     * Dönen satır: [discountId, categoryId]
+     */
+    @Query("SELECT d.id, c.id FROM Discount d JOIN d.applicableCategories c WHERE d.status = :status")
+    List<Object[]> findEligibilityCategoryLinks(@Param("status") EntityStatus status);
+
+    // İndeksten gelen aday indirimler - tek sorguda
+    List<Discount> findByIdInOrderByDiscountValueDesc(Collection<Long> ids);
+}
@@ -0,0 +1,13 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.ExcelImportJobError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExcelImportJobErrorRepository extends JpaRepository<ExcelImportJobError, Long> {
+
+    Page<ExcelImportJobError> findByJobIdOrderByRowNumberAsc(Long jobId, Pageable pageable);
+}
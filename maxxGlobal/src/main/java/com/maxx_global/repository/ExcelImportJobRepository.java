@@ -0,0 +1,34 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.ExcelImportJob;
+import com.maxx_global.enums.ExcelImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExcelImportJobRepository extends JpaRepository<ExcelImportJob, Long> {
+
+    /**
+     * Uygulama yeniden başladığında yarıda kalan (RUNNING) job'ları bulmak için
+     */
+    List<ExcelImportJob> findByJobStatus(ExcelImportJobStatus jobStatus);
+
+    /**
+     * Job'ı sadece beklenen durumdaysa yeni duruma geçirir.
+     * Aynı job'ın iki kez çalıştırılmasını engeller; 0 dönerse job başka bir çalıştırmaya ait demektir.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ExcelImportJob j SET j.jobStatus = :newStatus, j.startedAt = :startedAt, " +
+            "j.finishedAt = null, j.lastError = null, j.runStartRows = j.processedRows " +
+            "WHERE j.id = :id AND j.jobStatus = :expectedStatus")
+    int transitionToRunning(@Param("id") Long id,
+                            @Param("expectedStatus") ExcelImportJobStatus expectedStatus,
+                            @Param("newStatus") ExcelImportJobStatus newStatus,
+                            @Param("startedAt") LocalDateTime startedAt);
+}
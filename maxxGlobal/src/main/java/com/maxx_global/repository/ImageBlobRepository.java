@@ -0,0 +1,57 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.ImageBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    /**
+     * Dosyayı kaydeder veya mevcutsa referans sayısını bir artırır (tek ifade, satır kilidiyle).
+     * Temizleme job'ı aynı satırı silerken bu ifade onun commit'ini bekler.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO image_blobs (content_hash, extension, content_type, size_bytes, ref_count, created_at, last_referenced_at)
+            VALUES (:contentHash, :extension, :contentType, :sizeBytes, 1, :now, :now)
+            ON CONFLICT (content_hash) DO UPDATE
+            SET ref_count = image_blobs.ref_count + 1, last_referenced_at = :now
+            """, nativeQuery = true)
+    int acquire(@Param("contentHash") String contentHash,
+                @Param("extension") String extension,
+                @Param("contentType") String contentType,
+                @Param("sizeBytes") long sizeBytes,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Sunucuda zaten olan bir dosyaya yeni referans ekler (yeniden yüklemeden)
+     */
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount + 1, b.lastReferencedAt = :now WHERE b.contentHash = :contentHash")
+    int acquireExisting(@Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount - 1, b.lastReferencedAt = :now " +
+            "WHERE b.contentHash = :contentHash AND b.refCount > 0")
+    int release(@Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.contentHash FROM ImageBlob b WHERE b.contentHash IN :contentHashes")
+    List<String> findExistingHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    @Query("SELECT b.contentHash FROM ImageBlob b WHERE b.refCount = 0 AND b.lastReferencedAt < :cutoff")
+    List<String> findUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Hâlâ referanssızsa satırı siler; bu arada yeniden referans aldıysa 0 döner ve dosyaya dokunulmaz
+     */
+    @Modifying
+    @Query("DELETE FROM ImageBlob b WHERE b.contentHash = :contentHash AND b.refCount = 0 AND b.lastReferencedAt < :cutoff")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,71 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.MailOutboxMessage;
+import com.maxx_global.enums.MailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    /**
+     * Zamanı gelmiş mailleri kilitleyerek seçer (PENDING veya kiralama süresi dolmuş SENDING).
+     * Başka bir instance'ın kilitlediği satırlar atlanır, aynı mail iki kez alınmaz.
+     */
+    @Query(value = """
+            SELECT id FROM mail_outbox
+            WHERE mail_status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Kilitlenen mailleri gönderime alır: deneme sayısı artar, nextAttemptAt kiralama bitişi olur
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MailOutboxMessage m SET m.mailStatus = :sending, m.nextAttemptAt = :leaseUntil, " +
+            "m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+    int markSending(@Param("ids") Collection<Long> ids,
+                    @Param("sending") MailOutboxStatus sending,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Gönderilen mailin eki artık gerekmez, tabloda yer tutmasın
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.mailStatus = :sent, m.sentAt = :sentAt, " +
+            "m.providerMessageId = :providerMessageId, m.lastError = null, m.attachment = null WHERE m.id = :id")
+    int markSent(@Param("id") Long id,
+                 @Param("sent") MailOutboxStatus sent,
+                 @Param("sentAt") LocalDateTime sentAt,
+                 @Param("providerMessageId") String providerMessageId);
+
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.htmlContent = :htmlContent, m.attachment = :attachment, " +
+            "m.attachmentName = :attachmentName WHERE m.id = :id")
+    int markRendered(@Param("id") Long id,
+                     @Param("htmlContent") String htmlContent,
+                     @Param("attachment") byte[] attachment,
+                     @Param("attachmentName") String attachmentName);
+
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.mailStatus = :status, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lastError = :lastError WHERE m.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") MailOutboxStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    long countByMailStatus(MailOutboxStatus mailStatus);
+
+    @Modifying
+    @Query("DELETE FROM MailOutboxMessage m WHERE m.mailStatus = :sent AND m.sentAt < :before")
+    int deleteSentBefore(@Param("sent") MailOutboxStatus sent, @Param("before") LocalDateTime before);
+}
@@ -2,14 +2,17 @@ package com.maxx_global.repository;
 
 import com.maxx_global.entity.NotificationRecipient;
 import com.maxx_global.enums.NotificationStatus;
+import com.maxx_global.enums.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRecipientRepository extends JpaRepository<NotificationRecipient, Long> {
@@ -68,6 +71,17 @@ public interface NotificationRecipientRepository extends JpaRepository<Notificat
 
     List<NotificationRecipient> findByNotificationIdIn(List<Long> notificationIds);
 
+    /**
+     * Bildirim başına alıcı istatistiği; recipient entity'leri yüklenmez
+     * Dönen satır: [notificationId, totalRecipients, readCount, lastReadAt]
+     */
+    @Query("SELECT nr.notification.id, COUNT(nr), " +
+            "SUM(CASE WHEN nr.notificationStatus IN :readStatuses THEN 1 ELSE 0 END), MAX(nr.readAt) " +
+            "FROM NotificationRecipient nr WHERE nr.notification.id IN :notificationIds " +
+            "GROUP BY nr.notification.id")
+    List<Object[]> summarizeRecipientsByNotificationIds(@Param("notificationIds") Collection<Long> notificationIds,
+                                                        @Param("readStatuses") Collection<NotificationStatus> readStatuses);
+
     List<NotificationRecipient> findByNotificationId(Long notificationId);
 
     @Query("SELECT COUNT(nr) FROM NotificationRecipient nr WHERE nr.notificationStatus IN :statuses")
@@ -90,7 +104,70 @@ public interface NotificationRecipientRepository extends JpaRepository<Notificat
     @Query("DELETE FROM NotificationRecipient nr WHERE nr.id IN :ids")
     int deleteByIdIn(@Param("ids") List<Long> ids);
 
+    /**
+     * Toplu bildirim hedef kitlesi: aktif kullanıcılar, roleName verilmişse yalnızca o role sahip olanlar.
+     * Rol bildiriminde durumu boş (null) kullanıcılar da alıcıdır; tüm kullanıcılara bildirim yalnızca ACTIVE olanlara gider.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM app_user u
+            WHERE (u.status = 'ACTIVE' OR (u.status IS NULL AND CAST(:roleName AS varchar) IS NOT NULL))
+            AND (CAST(:roleName AS varchar) IS NULL OR EXISTS (
+                SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+                WHERE ur.user_id = u.id AND r.name = CAST(:roleName AS varchar)))
+            """, nativeQuery = true)
+    long countBroadcastAudience(@Param("roleName") String roleName);
+
+    /**
+     * Toplu bildirim alıcılarını tek INSERT ... SELECT ile yazar; kullanıcı ve alıcı entity'leri yüklenmez.
+     * ID kolon varsayılanından (notification_recipients_seq) gelir. Kitle countBroadcastAudience ile aynıdır.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_recipients
+                (notification_id, user_id, ntf_status, status, created_at, updated_at, created_by, updated_by)
+            SELECT CAST(:notificationId AS bigint), u.id, 'UNREAD', 'ACTIVE',
+                   CAST(:createdAt AS timestamp), CAST(:createdAt AS timestamp),
+                   CAST(:createdBy AS bigint), CAST(:createdBy AS bigint)
+            FROM app_user u
+            WHERE (u.status = 'ACTIVE' OR (u.status IS NULL AND CAST(:roleName AS varchar) IS NOT NULL))
+            AND (CAST(:roleName AS varchar) IS NULL OR EXISTS (
+                SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id
+                WHERE ur.user_id = u.id AND r.name = CAST(:roleName AS varchar)))
+            """, nativeQuery = true)
+    int insertBroadcastRecipients(@Param("notificationId") Long notificationId,
+                                  @Param("roleName") String roleName,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("createdBy") Long createdBy);
+
+    @Query("SELECT nr FROM NotificationRecipient nr JOIN FETCH nr.notification JOIN FETCH nr.user " +
+            "WHERE nr.notification.id = :notificationId AND nr.user.id IN :userIds")
+    List<NotificationRecipient> findWithUserByNotificationIdAndUserIdIn(@Param("notificationId") Long notificationId,
+                                                                         @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT nr.user.id FROM NotificationRecipient nr WHERE nr.notification.id = :notificationId AND nr.notificationStatus = :status")
+    List<Long> findUserIdsByNotificationIdAndStatus(@Param("notificationId") Long notificationId,
+                                                    @Param("status") NotificationStatus status);
+
     @Modifying
     @Query("DELETE FROM NotificationRecipient nr WHERE nr.notification.id = :notificationId")
     int deleteByNotificationId(@Param("notificationId") Long notificationId);
+
+    /**
+     * Kullanıcı bildirimleri - keyset sayfalama (createdAt DESC, id DESC), OFFSET ve COUNT yok.
+     * Filtreler opsiyoneldir ve birlikte uygulanır.
+     */
+    @Query("SELECT nr FROM NotificationRecipient nr JOIN FETCH nr.notification n " +
+            "WHERE nr.user.id = :userId " +
+            "AND (:notificationStatus IS NULL OR nr.notificationStatus = :notificationStatus) " +
+            "AND (:type IS NULL OR n.type = :type) " +
+            "AND (:priority IS NULL OR n.priority = :priority) " +
+            "AND nr.createdAt <= :beforeDate AND (nr.createdAt < :beforeDate OR nr.id < :beforeId) " +
+            "ORDER BY nr.createdAt DESC, nr.id DESC")
+    Slice<NotificationRecipient> findUserNotificationsBefore(@Param("userId") Long userId,
+                                                             @Param("notificationStatus") NotificationStatus notificationStatus,
+                                                             @Param("type") NotificationType type,
+                                                             @Param("priority") String priority,
+                                                             @Param("beforeDate") LocalDateTime beforeDate,
+                                                             @Param("beforeId") Long beforeId,
+                                                             Pageable pageable);
 }
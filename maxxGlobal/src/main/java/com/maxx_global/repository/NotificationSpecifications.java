@@ -0,0 +1,118 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.dto.notification.AdminNotificationFilter;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.Notification;
+import com.maxx_global.entity.Permission;
+import com.maxx_global.entity.Role;
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.enums.NotificationType;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Admin bildirim listesi filtreleri. Verilmeyen filtre için koşul metodu null döner; Specification.allOf null'ları atlar.
+ */
+public final class NotificationSpecifications {
+
+    private NotificationSpecifications() {
+    }
+
+    /**
+     * Admin tarafından gönderilmiş bildirimler, AdminNotificationFilter alanlarıyla birlikte
+     */
+    public static Specification<Notification> adminSent(AdminNotificationFilter filter, Collection<String> creatorPermissions) {
+        if (filter == null) {
+            return createdByUserWithPermission(creatorPermissions);
+        }
+        return Specification.allOf(
+                createdByUserWithPermission(creatorPermissions),
+                hasType(filter.type()),
+                hasPriority(filter.priority()),
+                createdOnOrAfter(filter.startDate()),
+                createdOnOrBefore(filter.endDate()),
+                titleOrMessageContains(filter.searchTerm()));
+    }
+
+    /**
+     * created_by, verilen yetkilerden birine sahip aktif bir kullanıcı (IN alt sorgusu; created_by indeksini kullanır)
+     */
+    static Specification<Notification> createdByUserWithPermission(Collection<String> permissions) {
+        return (root, query, cb) -> {
+            Subquery<Long> creators = query.subquery(Long.class);
+            Root<AppUser> user = creators.from(AppUser.class);
+            Join<AppUser, Role> role = user.join("roles");
+            Join<Role, Permission> permission = role.join("permissions");
+            creators.select(user.get("id"))
+                    .where(permission.get("name").in(permissions),
+                            cb.equal(user.get("status"), EntityStatus.ACTIVE));
+            return root.get("createdBy").in(creators);
+        };
+    }
+
+    static Specification<Notification> hasType(String type) {
+        if (type == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            try {
+                return cb.equal(root.get("type"), NotificationType.valueOf(type));
+            } catch (IllegalArgumentException e) {
+                // Bilinmeyen tip hiçbir bildirimle eşleşmez
+                return cb.disjunction();
+            }
+        };
+    }
+
+    static Specification<Notification> hasPriority(String priority) {
+        if (priority == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.upper(root.get("priority")), priority.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * startDate yyyy-MM-dd, gün başından itibaren
+     */
+    static Specification<Notification> createdOnOrAfter(String startDate) {
+        if (startDate == null) {
+            return null;
+        }
+        LocalDateTime start = LocalDateTime.parse(startDate + "T00:00:00");
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), start);
+    }
+
+    /**
+     * endDate yyyy-MM-dd, gün sonuna kadar
+     */
+    static Specification<Notification> createdOnOrBefore(String endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        LocalDateTime end = LocalDateTime.parse(endDate + "T23:59:59");
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), end);
+    }
+
+    /**
+     * Başlık veya mesajda büyük/küçük harf duyarsız arama; % ve _ arama terimi içinde düz karakterdir
+     */
+    static Specification<Notification> titleOrMessageContains(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(searchTerm.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("message")), pattern, '\\'));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,34 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.OrderDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyStatRepository extends JpaRepository<OrderDailyStat, Long> {
+
+    /**
+     * Tarih aralığındaki rollup satırları (gün x bayi x durum x para birimi)
+     */
+    List<OrderDailyStat> findByStatDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Tüm zamanlar için durum bazında sipariş sayısı ve toplam tutar
+     */
+    @Query("SELECT s.orderStatus, SUM(s.orderCount), SUM(s.totalAmount) " +
+            "FROM OrderDailyStat s GROUP BY s.orderStatus")
+    List<Object[]> sumByOrderStatus();
+
+    /**
+     * Rebuild öncesi ilgili günlerin rollup satırlarını sil
+     */
+    @Modifying
+    @Query("DELETE FROM OrderDailyStat s WHERE s.statDate BETWEEN :from AND :to")
+    int deleteByStatDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,11 +1,14 @@
 package com.maxx_global.repository;
 
 import com.maxx_global.entity.OrderItem;
+import com.maxx_global.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -17,4 +20,38 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Modifying
     @Query("DELETE FROM OrderItem oi WHERE oi.id IN :ids")
     void deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Günlük rollup kaynağı - gün, bayi, durum, para birimi bazında toplam ürün adedi
+     */
+    @Query("SELECT CAST(o.orderDate AS LocalDate), d.id, o.orderStatus, o.currency, COALESCE(SUM(oi.quantity), 0) " +
+            "FROM OrderItem oi JOIN oi.order o JOIN o.user u JOIN u.dealer d " +
+            "WHERE o.orderDate >= :start AND o.orderDate < :end " +
+            "GROUP BY CAST(o.orderDate AS LocalDate), d.id, o.orderStatus, o.currency")
+    List<Object[]> aggregateDailyItemQuantities(@Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    /**
+     * Günlük ürün rollup kaynağı - gün, ürün, durum bazında adet, sipariş sayısı ve tutar
+     */
+    @Query("SELECT CAST(o.orderDate AS LocalDate), oi.product.id, o.orderStatus, " +
+            "COALESCE(SUM(oi.quantity), 0), COUNT(DISTINCT o.id), COALESCE(SUM(oi.totalPrice), 0) " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE o.orderDate >= :start AND o.orderDate < :end " +
+            "GROUP BY CAST(o.orderDate AS LocalDate), oi.product.id, o.orderStatus")
+    List<Object[]> aggregateDailyProductStats(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
+
+    /**
+     * Kullanıcının verilen durumdaki siparişlerinde ürün adına göre toplam adet, çoktan aza
+     * Dönen satır: [productName, totalQuantity]
+     */
+    @Query("SELECT p.name, SUM(oi.quantity) " +
+            "FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+            "WHERE o.user.id = :userId AND o.orderStatus = :status " +
+            "GROUP BY p.name " +
+            "ORDER BY SUM(oi.quantity) DESC")
+    List<Object[]> sumQuantityByProductForUser(@Param("userId") Long userId,
+                                               @Param("status") OrderStatus status,
+                                               Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.entity.OrderProductDailyStat;
+import com.maxx_global.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderProductDailyStatRepository extends JpaRepository<OrderProductDailyStat, Long> {
+
+    /**
+     * En çok sipariş edilen ürünler - productId, toplam miktar, sipariş sayısı, ciro (revenueStatus)
+     */
+    @Query("SELECT s.productId, SUM(s.quantity), SUM(s.orderCount), " +
+            "SUM(CASE WHEN s.orderStatus = :revenueStatus THEN s.totalPrice ELSE 0 END) " +
+            "FROM OrderProductDailyStat s " +
+            "WHERE s.statDate BETWEEN :from AND :to " +
+            "GROUP BY s.productId " +
+            "ORDER BY SUM(s.quantity) DESC")
+    List<Object[]> findTopProducts(@Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("revenueStatus") OrderStatus revenueStatus,
+                                   Pageable pageable);
+
+    /**
+     * Rebuild öncesi ilgili günlerin rollup satırlarını sil
+     */
+    @Modifying
+    @Query("DELETE FROM OrderProductDailyStat s WHERE s.statDate BETWEEN :from AND :to")
+    int deleteByStatDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,155 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.enums.Language;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ürün listeleri için okuma modeli.
+ * Liste kartlarının ihtiyaç duyduğu kolonları tek SQL'de döndürür: ana kategori adı join ile, ana resim
+ * (önce is_primary, sonra en eski resim) LATERAL alt sorguyla, stok durumu varyantlardan EXISTS ile çözülür.
+ * Product entity'si, resim/varyant/kategori koleksiyonları yüklenmez; persistence context'e de bir şey girmez.
+ */
+@Repository
+public class ProductCatalogReadRepository {
+
+    // Kullanıcının sıralama alanı -> kolon; listede olmayan alanlar için servis entity sorgusuna düşer
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "name", "p.product_name",
+            "code", "p.product_code",
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at",
+            "stockQuantity", "p.stock_quantity",
+            "expiryDate", "p.expiry_date"
+    );
+
+    private static final String SELECT_ROW = """
+            SELECT p.id, p.product_name, p.product_name_en, p.product_code,
+                   c.name AS category_name, c.name_en AS category_name_en,
+                   img.image_url, COALESCE(img.thumbnail_url, img.image_url) AS thumbnail_url,
+                   p.stock_quantity, p.unit, p.status,
+                   CASE WHEN EXISTS (SELECT 1 FROM product_variants v WHERE v.product_id = p.id)
+                        THEN EXISTS (SELECT 1 FROM product_variants v WHERE v.product_id = p.id AND v.stock_quantity > 0)
+                        ELSE COALESCE(p.stock_quantity, 0) > 0
+                   END AS in_stock
+            FROM products p
+            LEFT JOIN categories c ON c.id = p.category_id
+            LEFT JOIN LATERAL (
+                SELECT pi.image_url, pi.thumbnail_url
+                FROM product_images pi
+                WHERE pi.product_id = p.id
+                ORDER BY pi.is_primary DESC, pi.id
+                LIMIT 1
+            ) img ON TRUE
+            """;
+
+    /**
+     * Liste satırı. Ad ve kategori adı iki dilde gelir, yerelleştirme serviste yapılır.
+     */
+    public record CatalogRow(Long id, String name, String nameEn, String code,
+                             String categoryName, String categoryNameEn,
+                             String primaryImageUrl, String primaryThumbnailUrl,
+                             Integer stockQuantity, String unit, EntityStatus status, boolean inStock) {
+
+        public String localizedName(Language language) {
+            return language == Language.EN ? defaultIfBlank(nameEn, name) : defaultIfBlank(name, nameEn);
+        }
+
+        public String localizedCategoryName(Language language) {
+            return language == Language.EN
+                    ? defaultIfBlank(categoryNameEn, categoryName)
+                    : defaultIfBlank(categoryName, categoryNameEn);
+        }
+
+        private static String defaultIfBlank(String primary, String fallback) {
+            return primary != null && !primary.isBlank() ? primary : fallback;
+        }
+    }
+
+    public record VariantRow(Long productId, Long id, String size, String sku, Integer stockQuantity, Boolean isDefault) {
+    }
+
+    private static final RowMapper<CatalogRow> CATALOG_ROW_MAPPER = (rs, rowNum) -> new CatalogRow(
+            rs.getLong("id"),
+            rs.getString("product_name"),
+            rs.getString("product_name_en"),
+            rs.getString("product_code"),
+            rs.getString("category_name"),
+            rs.getString("category_name_en"),
+            rs.getString("image_url"),
+            rs.getString("thumbnail_url"),
+            rs.getObject("stock_quantity", Integer.class),
+            rs.getString("unit"),
+            rs.getString("status") != null ? EntityStatus.valueOf(rs.getString("status")) : null,
+            rs.getBoolean("in_stock"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductCatalogReadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static boolean supportsSort(String sortBy) {
+        return SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    /**
+     * Duruma göre sayfalı liste; sortBy SORT_COLUMNS anahtarı olmalı (bkz. supportsSort)
+     */
+    public List<CatalogRow> findByStatus(EntityStatus status, String sortBy, boolean ascending, long offset, int limit) {
+        String sortColumn = SORT_COLUMNS.get(sortBy);
+        if (sortColumn == null) {
+            throw new IllegalArgumentException("Desteklenmeyen sıralama alanı: " + sortBy);
+        }
+        return jdbcTemplate.query(SELECT_ROW + "WHERE p.status = ?\n" +
+                        "ORDER BY " + sortColumn + (ascending ? " ASC" : " DESC") + ", p.id\n" +
+                        "LIMIT ? OFFSET ?",
+                CATALOG_ROW_MAPPER, status.name(), limit, offset);
+    }
+
+    public long countByStatus(EntityStatus status) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE status = ?", Long.class, status.name());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Dropdown listesi: duruma göre tüm ürünler, ada göre sıralı
+     */
+    public List<CatalogRow> findAllByStatusOrderByName(EntityStatus status) {
+        return jdbcTemplate.query(SELECT_ROW + "WHERE p.status = ?\nORDER BY p.product_name ASC, p.id",
+                CATALOG_ROW_MAPPER, status.name());
+    }
+
+    public List<CatalogRow> findLowStock(Integer threshold, EntityStatus status) {
+        return jdbcTemplate.query(SELECT_ROW + "WHERE p.status = ? AND p.stock_quantity <= ?\n" +
+                        "ORDER BY p.stock_quantity ASC, p.id",
+                CATALOG_ROW_MAPPER, status.name(), threshold);
+    }
+
+    /**
+     * Verilen durumdaki ürünlerin aktif (veya durumsuz) varyantları; ürün, varsayılan önce, ID sırasıyla
+     */
+    public List<VariantRow> findActiveVariantsOfProductsWithStatus(EntityStatus productStatus) {
+        return jdbcTemplate.query("""
+                        SELECT v.product_id, v.id, v.size, v.sku, v.stock_quantity, v.is_default
+                        FROM product_variants v
+                        JOIN products p ON p.id = v.product_id
+                        WHERE p.status = ? AND (v.status IS NULL OR v.status = 'ACTIVE')
+                        ORDER BY v.product_id, v.is_default DESC NULLS LAST, v.id
+                        """,
+                (rs, rowNum) -> new VariantRow(
+                        rs.getLong("product_id"),
+                        rs.getLong("id"),
+                        rs.getString("size"),
+                        rs.getString("sku"),
+                        rs.getObject("stock_quantity", Integer.class),
+                        rs.getObject("is_default", Boolean.class)),
+                productStatus.name());
+    }
+}
@@ -1,10 +1,34 @@
 package com.maxx_global.repository;
 
 import com.maxx_global.entity.ProductImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProductId(Long productId);
+
+    /**
+     * Türevi henüz üretilmemiş resimler (ID sırasıyla, backfill için)
+     */
+    @Query("SELECT pi.id FROM ProductImage pi WHERE pi.thumbnailUrl IS NULL AND pi.id > :afterId ORDER BY pi.id")
+    List<Long> findIdsWithoutDerivatives(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Türev üretimi arka planda, çağıran tarafta transaction olmadan çalışır
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductImage pi SET pi.contentHash = :contentHash, pi.thumbnailUrl = :thumbnailUrl, " +
+            "pi.mediumUrl = :mediumUrl, pi.webpUrl = :webpUrl WHERE pi.id = :id")
+    int updateDerivatives(@Param("id") Long id,
+                          @Param("contentHash") String contentHash,
+                          @Param("thumbnailUrl") String thumbnailUrl,
+                          @Param("mediumUrl") String mediumUrl,
+                          @Param("webpUrl") String webpUrl);
+
+    long countByContentHash(String contentHash);
 }
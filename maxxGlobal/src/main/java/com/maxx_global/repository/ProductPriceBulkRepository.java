@@ -0,0 +1,83 @@
+package com.maxx_global.repository;
+
+import com.maxx_global.enums.CurrencyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bayi fiyatlarının toplu upsert'i.
+ * product_prices (product_variant_id, dealer_id, currency) unique constraint'i üzerinden
+ * INSERT ... ON CONFLICT ile yazar; satırlar JDBC batch'leri halinde gönderilir.
+ * Çağıran transaction'a katılır (JPA transaction'ı aynı bağlantıyı kullanır).
+ */
+@Repository
+public class ProductPriceBulkRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO product_prices
+                (product_variant_id, dealer_id, currency, amount, valid_from, valid_until, is_active,
+                 status, created_at, updated_at, created_by, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, ?, ?)
+            ON CONFLICT (product_variant_id, dealer_id, currency) DO UPDATE SET
+                amount = EXCLUDED.amount,
+                valid_from = EXCLUDED.valid_from,
+                valid_until = EXCLUDED.valid_until,
+                is_active = EXCLUDED.is_active,
+                status = 'ACTIVE',
+                updated_at = EXCLUDED.updated_at,
+                updated_by = EXCLUDED.updated_by
+            """;
+
+    /**
+     * Upsert edilecek tek fiyat (varyant x para birimi)
+     */
+    public record PriceUpsert(long variantId, CurrencyType currency, BigDecimal amount,
+                              LocalDateTime validFrom, LocalDateTime validUntil, boolean active) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    public ProductPriceBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Fiyatları bayi için upsert eder. Silinmiş (status != ACTIVE) aynı anahtarlı kayıt varsa yeniden aktifleşir.
+     */
+    public void upsertDealerPrices(Long dealerId, List<PriceUpsert> prices, Long performedBy) {
+        if (prices.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, prices, Math.max(1, batchSize), (ps, price) -> {
+            ps.setLong(1, price.variantId());
+            ps.setLong(2, dealerId);
+            ps.setString(3, price.currency().name());
+            ps.setBigDecimal(4, price.amount());
+            ps.setTimestamp(5, price.validFrom() != null ? Timestamp.valueOf(price.validFrom()) : null);
+            ps.setTimestamp(6, price.validUntil() != null ? Timestamp.valueOf(price.validUntil()) : null);
+            ps.setBoolean(7, price.active());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+            if (performedBy != null) {
+                ps.setLong(10, performedBy);
+                ps.setLong(11, performedBy);
+            } else {
+                ps.setNull(10, Types.BIGINT);
+                ps.setNull(11, Types.BIGINT);
+            }
+        });
+    }
+}
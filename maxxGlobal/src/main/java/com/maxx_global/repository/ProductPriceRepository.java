@@ -14,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -106,6 +107,27 @@ public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long
                                           @Param("currency") CurrencyType currency,
                                           @Param("status") EntityStatus status);
 
+    // Bayi fiyat defteri - bayinin tüm aktif fiyatları (geçerlilik tarihi bellekte kontrol edilir)
+    // {priceId, variantId, productId, currency, amount, validFrom, validUntil, isDefault}
+    @Query("""
+            SELECT pp.id, pv.id, p.id, pp.currency, pp.amount, pp.validFrom, pp.validUntil, pv.isDefault
+            FROM ProductPrice pp
+            JOIN pp.productVariant pv
+            JOIN pv.product p
+            WHERE pp.dealer.id = :dealerId
+              AND pp.status = :status
+              AND pp.isActive = TRUE
+            """)
+    List<Object[]> findPriceBookRows(@Param("dealerId") Long dealerId,
+                                     @Param("status") EntityStatus status);
+
+    // Streaming export - bir varyant parçasının bayi fiyatları tek sorguda
+    @Query("SELECT pp FROM ProductPrice pp WHERE pp.productVariant.id IN :variantIds " +
+            "AND pp.dealer.id = :dealerId AND pp.status = :status")
+    List<ProductPrice> findByVariantIdsAndDealerIdAndStatus(@Param("variantIds") Collection<Long> variantIds,
+                                                            @Param("dealerId") Long dealerId,
+                                                            @Param("status") EntityStatus status);
+
     ProductPrice findByIdAndStatus(Long id, EntityStatus status);
 
     // Bayinin aktif fiyatları
@@ -267,6 +289,15 @@ public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long
     Optional<ProductPrice> findByProductVariantIdAndDealerIdAndCurrency(
             Long variantId, Long dealerId, CurrencyType currency);
 
+    /**
+     * Bayinin verilen varyantlar için mevcut fiyat anahtarları (durumdan bağımsız - unique constraint ile aynı kapsam)
+     * Dönen satır: [variantId, currency]
+     */
+    @Query("SELECT pp.productVariant.id, pp.currency FROM ProductPrice pp " +
+            "WHERE pp.dealer.id = :dealerId AND pp.productVariant.id IN :variantIds")
+    List<Object[]> findPriceKeysByDealerAndVariantIds(@Param("dealerId") Long dealerId,
+                                                      @Param("variantIds") Collection<Long> variantIds);
+
     @Query("SELECT pp FROM ProductPrice pp " +
             "WHERE pp.productVariant.product.id = :productId AND pp.status = :status")
     List<ProductPrice> findAllByProductIdAndStatus(
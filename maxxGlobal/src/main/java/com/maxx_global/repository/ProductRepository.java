@@ -4,6 +4,7 @@ import com.maxx_global.entity.Product;
 import com.maxx_global.enums.EntityStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -51,6 +52,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Ürün kodu ile arama (unique kontrolü için)
     Optional<Product> findByCodeAndStatus(String code, EntityStatus status);
+
+    // Excel import parçası - ürün kodları büyük harfe çevrilmiş olarak gelir
+    @Query("SELECT p FROM Product p WHERE UPPER(p.code) IN :codes AND p.status = :status")
+    List<Product> findByUpperCodeInAndStatus(@Param("codes") Collection<String> codes,
+                                             @Param("status") EntityStatus status);
+
+    /**
+     * Ürün kodlarını (büyük harf) id'ye çözer - fiyat import'u için entity yüklemez
+     * Dönen satır: [UPPER(code), productId]
+     */
+    @Query("SELECT UPPER(p.code), p.id FROM Product p WHERE UPPER(p.code) IN :codes AND p.status = :status")
+    List<Object[]> findIdsByUpperCodeIn(@Param("codes") Collection<String> codes,
+                                        @Param("status") EntityStatus status);
     boolean existsByCodeAndStatus(String code, EntityStatus status);
     boolean existsByCodeAndStatusAndIdNot(String code, EntityStatus status, Long id);
 
@@ -92,6 +106,24 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                               @Param("status") EntityStatus status,
                                               Pageable pageable);
 
+    /**
+     * Kategori ve tüm alt kategorilerindeki ürünler - category_closure ile tek indeksli join,
+     * alt kategori ID listesi uygulama tarafında toplanmaz
+     */
+    @Query("""
+            SELECT DISTINCT p FROM Product p
+            LEFT JOIN p.categories c
+            WHERE p.status = :status
+            AND (p.category.id IN (SELECT cc.descendantId FROM CategoryClosure cc, Category d
+                                   WHERE cc.ancestorId = :categoryId AND d.id = cc.descendantId AND d.status = :status)
+                 OR c.id IN (SELECT cc2.descendantId FROM CategoryClosure cc2, Category d2
+                             WHERE cc2.ancestorId = :categoryId AND d2.id = cc2.descendantId AND d2.status = :status))
+            ORDER BY p.name ASC
+            """)
+    Page<Product> findInCategorySubtreeAndStatus(@Param("categoryId") Long categoryId,
+                                                 @Param("status") EntityStatus status,
+                                                 Pageable pageable);
+
     // Düşük stok ürünleri
     @Query("SELECT p FROM Product p WHERE p.status = :status " +
             "AND p.stockQuantity <= :threshold ORDER BY p.stockQuantity ASC")
@@ -323,4 +355,43 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory_IdAndStatus(Long categoryId, EntityStatus entityStatus);
 
     List<Product> findByCategory_IdInAndStatus(List<Long> collect, EntityStatus entityStatus);
+
+    // Streaming export - sadece ürün ID'leri (sıralı); ürünler parça parça yüklenir
+    @Query("""
+            SELECT p.id FROM Product p
+            WHERE (:allStatuses = TRUE OR p.status = :status)
+            AND (:inStockOnly = FALSE OR EXISTS (
+                SELECT v.id FROM ProductVariant v
+                WHERE v.product = p AND v.status = :status AND v.stockQuantity > 0))
+            ORDER BY p.name ASC
+            """)
+    List<Long> findIdsForExport(@Param("allStatuses") boolean allStatuses,
+                                @Param("status") EntityStatus status,
+                                @Param("inStockOnly") boolean inStockOnly);
+
+    @Query("""
+            SELECT p.id FROM Product p
+            WHERE p.status = :status
+            AND (p.category.id = :categoryId OR EXISTS (
+                SELECT c.id FROM Product p2 JOIN p2.categories c
+                WHERE p2 = p AND c.id = :categoryId))
+            AND (:inStockOnly = FALSE OR EXISTS (
+                SELECT v.id FROM ProductVariant v
+                WHERE v.product = p AND v.status = :status AND v.stockQuantity > 0))
+            ORDER BY p.name ASC
+            """)
+    List<Long> findIdsForExportByCategory(@Param("categoryId") Long categoryId,
+                                          @Param("status") EntityStatus status,
+                                          @Param("inStockOnly") boolean inStockOnly);
+
+    /**
+     * Tüm ürünler - keyset sayfalama (name ASC, id ASC), OFFSET ve COUNT yok.
+     * İlk sayfa için afterName = "" ve afterId = 0 verilir.
+     */
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.name >= :afterName AND (p.name > :afterName OR p.id > :afterId) " +
+            "ORDER BY p.name ASC, p.id ASC")
+    Slice<Product> findAllAfter(@Param("afterName") String afterName,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
 }
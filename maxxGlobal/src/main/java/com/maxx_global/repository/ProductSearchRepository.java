@@ -0,0 +1,233 @@
+package com.maxx_global.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * PostgreSQL tabanlı ürün arama.
+ * products.search_vector, ad/açıklama alanlarından türetilen STORED generated tsvector kolonudur
+ * (Türkçe ve İngilizce konfigürasyon + önek araması için 'simple'); veritabanı her yazmada kendisi günceller.
+ * Ürün kodu ve varyant SKU'su pg_trgm GIN indeksleriyle parça/benzerlik eşleşmesine açılır.
+ * Şema nesneleri Hibernate tarafından üretilmediği için açılışta ensureSchema() ile oluşturulur;
+ * kurulamazlarsa isAvailable() false döner ve servis LIKE sorgularına geri düşer.
+ */
+@Repository
+public class ProductSearchRepository {
+
+    private static final Logger logger = Logger.getLogger(ProductSearchRepository.class.getName());
+
+    private static final String SEARCH_VECTOR_DDL = """
+            ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+            GENERATED ALWAYS AS (
+                setweight(to_tsvector('simple'::regconfig,
+                        coalesce(product_name, '') || ' ' || coalesce(product_name_en, '') || ' ' || coalesce(product_code, '')), 'A')
+                || setweight(to_tsvector('turkish'::regconfig, coalesce(product_name, '')), 'B')
+                || setweight(to_tsvector('english'::regconfig, coalesce(product_name_en, '')), 'B')
+                || setweight(to_tsvector('turkish'::regconfig, coalesce(description, '')), 'C')
+                || setweight(to_tsvector('english'::regconfig, coalesce(description_en, '')), 'C')
+            ) STORED
+            """;
+
+    private static final List<String> TRIGRAM_INDEX_DDL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_products_code_trgm ON products USING GIN (lower(product_code) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING GIN (lower(product_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_products_material_trgm ON products USING GIN (lower(material) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_product_variants_sku_trgm ON product_variants USING GIN (lower(sku) gin_trgm_ops)"
+    );
+
+    // Kullanıcının sıralama alanı -> kolon; listede olmayan alanlar alaka sırasına düşer
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "p.product_name",
+            "code", "p.product_code",
+            "createdAt", "p.created_at",
+            "stockQuantity", "p.stock_quantity",
+            "expiryDate", "p.expiry_date"
+    );
+
+    /**
+     * Arama isteği. categoryId ve inStockOnly opsiyonel filtrelerdir; sortBy "relevance" ya da SORT_COLUMNS anahtarı.
+     */
+    public record SearchQuery(String term, Long categoryId, boolean inStockOnly,
+                              String sortBy, boolean ascending, int offset, int limit) {
+    }
+
+    public record SearchPage(List<Long> productIds, long total) {
+    }
+
+    /**
+     * Typeahead önerisi (entity yüklemeden)
+     */
+    public record Suggestion(Long productId, String name, String nameEn, String code) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean fullTextAvailable = false;
+    private volatile boolean trigramAvailable = false;
+
+    public ProductSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Arama kolonunu, eklentiyi ve indeksleri (yoksa) oluşturur. Tekrar çağrılması güvenlidir.
+     * pg_trgm kurulamazsa (yetki) tam metin araması yine çalışır, kod/SKU eşleşmesi indekssiz LIKE ile yapılır.
+     */
+    public void ensureSchema() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (String ddl : TRIGRAM_INDEX_DDL) {
+                jdbcTemplate.execute(ddl);
+            }
+            trigramAvailable = true;
+        } catch (Exception e) {
+            trigramAvailable = false;
+            logger.warning("pg_trgm not available, code/SKU search runs without trigram indexes: " + e.getMessage());
+        }
+
+        try {
+            jdbcTemplate.execute(SEARCH_VECTOR_DDL);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector)");
+            fullTextAvailable = true;
+        } catch (Exception e) {
+            fullTextAvailable = false;
+            logger.warning("Full-text product search not available, falling back to LIKE: " + e.getMessage());
+        }
+
+        logger.info("Product search schema ready - fullText: " + fullTextAvailable + ", trigram: " + trigramAvailable);
+    }
+
+    public boolean isAvailable() {
+        return fullTextAvailable;
+    }
+
+    /**
+     * Alaka sırasına göre (veya istenen kolona göre) eşleşen aktif ürün ID'leri ve toplam sayı
+     */
+    public SearchPage search(SearchQuery query) {
+        String term = query.term().trim();
+        List<Object> params = new ArrayList<>();
+
+        StringBuilder from = new StringBuilder("""
+                FROM products p,
+                     (SELECT websearch_to_tsquery('turkish'::regconfig, ?)
+                          || websearch_to_tsquery('english'::regconfig, ?)
+                          || to_tsquery('simple'::regconfig, ?) AS q) query
+                WHERE p.status = 'ACTIVE'
+                AND (p.search_vector @@ query.q
+                     OR lower(p.product_code) LIKE ?
+                     OR EXISTS (SELECT 1 FROM product_variants v
+                                WHERE v.product_id = p.id AND v.status = 'ACTIVE' AND lower(v.sku) LIKE ?)
+                """);
+        String contains = "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+        params.add(term);
+        params.add(term);
+        params.add(toPrefixQuery(term));
+        params.add(contains);
+        params.add(contains);
+
+        if (trigramAvailable) {
+            // Yazım hatası toleransı: kodda trigram benzerliği
+            from.append("     OR lower(p.product_code) % lower(?)\n");
+            params.add(term);
+        }
+        from.append(")\n");
+
+        if (query.categoryId() != null) {
+            from.append("AND (p.category_id = ? OR EXISTS (SELECT 1 FROM product_categories pc " +
+                    "WHERE pc.product_id = p.id AND pc.category_id = ?))\n");
+            params.add(query.categoryId());
+            params.add(query.categoryId());
+        }
+        if (query.inStockOnly()) {
+            from.append("AND p.stock_quantity > 0\n");
+        }
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + from, Long.class, params.toArray());
+        if (total == null || total == 0) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        List<Object> pageParams = new ArrayList<>();
+        String rank = "ts_rank_cd(p.search_vector, query.q)" +
+                " + CASE WHEN lower(p.product_code) = lower(?) THEN 2 ELSE 0 END" +
+                (trigramAvailable ? " + similarity(lower(p.product_code), lower(?))" : "");
+        pageParams.add(term);
+        if (trigramAvailable) {
+            pageParams.add(term);
+        }
+        pageParams.addAll(params);
+
+        String sortColumn = SORT_COLUMNS.get(query.sortBy());
+        String orderBy = sortColumn != null
+                ? sortColumn + (query.ascending() ? " ASC" : " DESC") + ", rank DESC, p.id"
+                : "rank DESC, p.product_name ASC, p.id";
+
+        pageParams.add(query.limit());
+        pageParams.add(query.offset());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT p.id, " + rank + " AS rank " + from + "ORDER BY " + orderBy + " LIMIT ? OFFSET ?",
+                pageParams.toArray()
+        ).stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+
+        return new SearchPage(ids, total);
+    }
+
+    /**
+     * Yazarken öneriler: ad/kod kelime öneki ve kod/SKU öneki ile ilk N aktif ürün
+     */
+    public List<Suggestion> suggest(String term, int limit) {
+        String trimmed = term.trim();
+        String prefixQuery = toPrefixQuery(trimmed);
+        String startsWith = escapeLike(trimmed.toLowerCase(Locale.ROOT)) + "%";
+
+        return jdbcTemplate.query("""
+                SELECT p.id, p.product_name, p.product_name_en, p.product_code,
+                       ts_rank_cd(p.search_vector, to_tsquery('simple'::regconfig, ?))
+                       + CASE WHEN lower(p.product_code) LIKE ? THEN 1 ELSE 0 END AS rank
+                FROM products p
+                WHERE p.status = 'ACTIVE'
+                AND (p.search_vector @@ to_tsquery('simple'::regconfig, ?)
+                     OR lower(p.product_code) LIKE ?
+                     OR EXISTS (SELECT 1 FROM product_variants v
+                                WHERE v.product_id = p.id AND v.status = 'ACTIVE' AND lower(v.sku) LIKE ?))
+                ORDER BY rank DESC, p.product_name ASC
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new Suggestion(
+                        rs.getLong("id"),
+                        rs.getString("product_name"),
+                        rs.getString("product_name_en"),
+                        rs.getString("product_code")),
+                prefixQuery, startsWith, prefixQuery, startsWith, startsWith, limit);
+    }
+
+    /**
+     * Serbest metni önek tsquery'sine çevirir: "titan vid" -> "titan:* & vid:*".
+     * tsquery operatörleri ve noktalama atılır; kelime kalmazsa boş sorgu döner (hiçbir şeyle eşleşmez).
+     */
+    static String toPrefixQuery(String term) {
+        StringBuilder query = new StringBuilder();
+        for (String token : term.split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (!query.isEmpty()) {
+                query.append(" & ");
+            }
+            query.append(token).append(":*");
+        }
+        return query.toString();
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
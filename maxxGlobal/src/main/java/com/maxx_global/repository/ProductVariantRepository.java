@@ -6,10 +6,12 @@ import com.maxx_global.enums.EntityStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +35,15 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
      */
     Optional<ProductVariant> findBySkuAndStatus(String sku, EntityStatus status);
 
+    /**
+     * SKU listesini (büyük harf) tek sorguda çözer - fiyat import'u için entity yüklemez
+     * Dönen satır: [variantId, UPPER(sku), productId]
+     */
+    @Query("SELECT v.id, UPPER(v.sku), v.product.id FROM ProductVariant v " +
+            "WHERE UPPER(v.sku) IN :skus AND v.status = :status")
+    List<Object[]> findIdsByUpperSkuIn(@Param("skus") Collection<String> skus,
+                                       @Param("status") EntityStatus status);
+
     /**
      * SKU varlık kontrolü
      */
@@ -50,6 +61,31 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
 
     // ==================== STOCK QUERIES ====================
 
+    /**
+     * Stok yeterliyse atomik olarak düş (koşullu UPDATE)
+     * Yetersiz stokta 0 döner, stok hiçbir zaman negatife düşmez
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductVariant pv SET pv.stockQuantity = pv.stockQuantity - :quantity, " +
+            "pv.version = pv.version + 1 " +
+            "WHERE pv.id = :variantId AND pv.stockQuantity >= :quantity")
+    int decrementStockIfAvailable(@Param("variantId") Long variantId, @Param("quantity") Integer quantity);
+
+    /**
+     * Stoğu atomik olarak artır (iptal / red iadesi)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProductVariant pv SET pv.stockQuantity = pv.stockQuantity + :quantity, " +
+            "pv.version = pv.version + 1 " +
+            "WHERE pv.id = :variantId")
+    int incrementStock(@Param("variantId") Long variantId, @Param("quantity") Integer quantity);
+
+    /**
+     * Varyantların güncel stok miktarları - variantId, stockQuantity
+     */
+    @Query("SELECT pv.id, pv.stockQuantity FROM ProductVariant pv WHERE pv.id IN :variantIds")
+    List<Object[]> findStockQuantitiesByIds(@Param("variantIds") Collection<Long> variantIds);
+
     /**
      * Stokta olan varyantları getir
      */
@@ -197,4 +233,26 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
     void softDeleteByProductId(@Param("productId") Long productId);
 
     Page<ProductVariant> findByStatus(EntityStatus entityStatus, Pageable pageable);
-}
\ No newline at end of file
+
+    // Streaming export - bir ürün parçasının tüm varyantları tek sorguda
+    @Query("SELECT pv FROM ProductVariant pv WHERE pv.product.id IN :productIds " +
+            "AND pv.status = :status ORDER BY pv.product.id ASC, pv.size ASC")
+    List<ProductVariant> findByProductIdsAndStatus(@Param("productIds") Collection<Long> productIds,
+                                                   @Param("status") EntityStatus status);
+
+    // Ürün başına varyant sayısı {productId, count}
+    @Query("SELECT pv.product.id, COUNT(pv) FROM ProductVariant pv WHERE pv.status = :status GROUP BY pv.product.id")
+    List<Object[]> countVariantsByProduct(@Param("status") EntityStatus status);
+    // İndirim uygunluk indeksi - kategori alt ağaçlarındaki aktif ürünlerin varyantları (category_closure üzerinden)
+    // {variantId, seçilen (ata) categoryId}
+    @Query("SELECT pv.id, cc.ancestorId FROM ProductVariant pv JOIN pv.product p, CategoryClosure cc, Category d " +
+            "WHERE cc.ancestorId IN :categoryIds AND cc.descendantId = p.category.id AND d.id = cc.descendantId " +
+            "AND d.status = :status AND p.status = :status AND pv.status = :status")
+    List<Object[]> findIdsByProductCategorySubtreeIn(@Param("categoryIds") Collection<Long> categoryIds,
+                                                     @Param("status") EntityStatus status);
+
+    // Varyant özetleri {variantId, sku, size, productId, productName, isDefault, stockQuantity}
+    @Query("SELECT pv.id, pv.sku, pv.size, p.id, p.name, pv.isDefault, pv.stockQuantity " +
+            "FROM ProductVariant pv JOIN pv.product p WHERE pv.id IN :variantIds")
+    List<Object[]> findSummaryRowsByIdIn(@Param("variantIds") Collection<Long> variantIds);
+}
@@ -0,0 +1,216 @@
+package com.maxx_global.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * stock_movements tablosunun movement_date üzerinde aylık RANGE partition yönetimi.
+ * Aylık partition'lar stock_movements_yYYYYmMM, aralık dışı satırlar stock_movements_default adını taşır.
+ * Tarih aralığı verilen sorgular (rapor, istatistik, keyset listeleme) yalnızca ilgili ayların partition'larını okur.
+ * Şema nesneleri Hibernate tarafından üretilmediği için açılıştaki initializer ve aylık arşiv job'ı tarafından kullanılır.
+ */
+@Repository
+public class StockMovementPartitionRepository {
+
+    private static final Logger logger = Logger.getLogger(StockMovementPartitionRepository.class.getName());
+
+    private static final String TABLE = "stock_movements";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("stock_movements_y(\\d{4})m(\\d{2})");
+
+    // StockMovement entity'sindeki @Index tanımlarıyla aynı olmalı; dönüşümde ana tabloda yeniden oluşturulur
+    private static final Map<String, String> INDEXES = Map.of(
+            "idx_stock_movements_date_id", "movement_date, id",
+            "idx_stock_movements_product_date_id", "product_id, movement_date, id",
+            "idx_stock_movements_variant_date", "product_variant_id, movement_date",
+            "idx_stock_movements_reference", "reference_type, reference_id"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockMovementPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return TABLE + month.format(PARTITION_SUFFIX);
+    }
+
+    public boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    /**
+     * Düz stock_movements tablosunu tek transaction'da partition'lı tabloya taşır:
+     * yeni tablo aynı kolon/varsayılan/CHECK tanımlarıyla oluşturulur, en eski hareketin ayından lastMonth'a kadar
+     * partition'lar açılır, satırlar kopyalanır, eski tablo silinip yeni tablo yerine adlandırılır.
+     * Primary key (id, movement_date) olur (PostgreSQL partition anahtarını zorunlu tutar); ID'ler sequence'tan
+     * geldiği için tekildir. Foreign key'ler eski adlarıyla yeniden eklenir.
+     */
+    @Transactional
+    public long convertToPartitioned(YearMonth lastMonth) {
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+
+        List<String[]> foreignKeys = jdbcTemplate.query(
+                "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, TABLE);
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(movement_date) FROM " + TABLE, Timestamp.class);
+        YearMonth firstMonth = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+
+        String staging = TABLE + "_partitioned";
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (movement_date)");
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            createMonthlyPartition(staging, month);
+        }
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + staging + " DEFAULT");
+
+        long copied = jdbcTemplate.update("INSERT INTO " + staging + " SELECT * FROM " + TABLE);
+
+        // Sequence eski tabloya bağlıysa tabloyla birlikte silinmesin
+        jdbcTemplate.execute("ALTER SEQUENCE IF EXISTS stock_movements_seq OWNED BY NONE");
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, movement_date)");
+        for (String[] foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey[0] + " " + foreignKey[1]);
+        }
+        ensureIndexes();
+        return copied;
+    }
+
+    /**
+     * Ana tablo üzerindeki indeksler; her partition'a (sonradan eklenenler dahil) PostgreSQL tarafından yayılır
+     */
+    public void ensureIndexes() {
+        INDEXES.forEach((name, columns) ->
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + name + " ON " + TABLE + " (" + columns + ")"));
+    }
+
+    /**
+     * from..to (dahil) aylar için eksik partition'ları açar; açılan partition sayısını döner.
+     * Default partition'da o aya ait satır varsa PostgreSQL partition'ı reddeder; o ay loglanıp atlanır.
+     */
+    public int ensureMonthlyPartitions(YearMonth from, YearMonth to) {
+        List<YearMonth> existing = findMonthlyPartitions(true);
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (existing.contains(month)) {
+                continue;
+            }
+            try {
+                createMonthlyPartition(TABLE, month);
+                created++;
+            } catch (Exception e) {
+                logger.warning("Could not create stock movement partition for " + month + ": " + e.getMessage());
+            }
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+        return created;
+    }
+
+    /**
+     * Aylık partition'lar; attached true ise ana tabloya bağlı olanlar, false ise ayrılmış (arşivlenmeyi bekleyen) tablolar
+     */
+    public List<YearMonth> findMonthlyPartitions(boolean attached) {
+        List<String> names = jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_class c
+                        JOIN pg_namespace n ON n.oid = c.relnamespace
+                        WHERE n.nspname = current_schema() AND c.relkind = 'r'
+                        AND c.relname ~ '^stock_movements_y[0-9]{4}m[0-9]{2}$'
+                        AND c.relispartition = ?
+                        ORDER BY c.relname
+                        """,
+                String.class, attached);
+        List<YearMonth> months = new ArrayList<>(names.size());
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Partition'ı ana tablodan ayırır; satırlar ayrı tabloda kalır, ana tablo sorgularında görünmez
+     */
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partitionName(month));
+    }
+
+    /**
+     * Ayrılmış partition'ı başlık satırlı CSV olarak yazar; yazılan satır sayısını döner.
+     * Satırlar cursor ile (fetch size) okunur, tablo belleğe alınmaz.
+     */
+    @Transactional(readOnly = true)
+    public long exportDetachedPartition(YearMonth month, Writer writer) {
+        long[] rows = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("SELECT * FROM " + partitionName(month) + " ORDER BY id");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columns = metaData.getColumnCount();
+                if (rows[0] == 0) {
+                    for (int i = 1; i <= columns; i++) {
+                        writer.write((i > 1 ? "," : "") + metaData.getColumnName(i));
+                    }
+                    writer.write('\n');
+                }
+                for (int i = 1; i <= columns; i++) {
+                    writer.write((i > 1 ? "," : "") + csv(rs.getString(i)));
+                }
+                writer.write('\n');
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows[0];
+    }
+
+    public void dropDetachedPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    private void createMonthlyPartition(String parent, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + parent +
+                " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
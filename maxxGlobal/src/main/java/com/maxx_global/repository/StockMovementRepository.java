@@ -5,6 +5,7 @@ import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.StockMovementType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -186,6 +187,18 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
     List<Object[]> getMovementStatsByType(@Param("startDate") LocalDateTime startDate,
                                           @Param("status") EntityStatus status);
 
+    /**
+     * Tarih aralığında hareket tipine göre hareket sayısı ve toplam miktar; yalnızca aralıktaki aylık partition'lar okunur
+     * Dönen satır: [movementType, count, totalQuantity]
+     */
+    @Query("SELECT sm.movementType, COUNT(sm), COALESCE(SUM(sm.quantity), 0) " +
+            "FROM StockMovement sm WHERE " +
+            "sm.movementDate >= :startDate AND sm.movementDate <= :endDate AND sm.status = :status " +
+            "GROUP BY sm.movementType")
+    List<Object[]> summarizeByMovementTypeBetween(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate,
+                                                  @Param("status") EntityStatus status);
+
     /**
      * Günlük stok hareket özeti
      */
@@ -319,4 +332,22 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
 //    List<StockMovement> findBatchOperations(@Param("status") EntityStatus status);
 
     Page<StockMovement> findByMovementDateBetweenAndProductIdAndStatus(LocalDateTime start, LocalDateTime end,Long productId, EntityStatus entityStatus, Pageable pageable);
+
+    /**
+     * Stok hareketleri - keyset sayfalama (movementDate DESC, id DESC), OFFSET ve COUNT yok.
+     * Tarih aralığı her zaman verilir (boşsa sınır değerler); movementType ve productId opsiyoneldir.
+     */
+    @Query("SELECT sm FROM StockMovement sm WHERE sm.status = :status " +
+            "AND (:movementType IS NULL OR sm.movementType = :movementType) " +
+            "AND (:productId IS NULL OR sm.product.id = :productId) " +
+            "AND sm.movementDate >= :startDate " +
+            "AND sm.movementDate <= :beforeDate AND (sm.movementDate < :beforeDate OR sm.id < :beforeId) " +
+            "ORDER BY sm.movementDate DESC, sm.id DESC")
+    Slice<StockMovement> findMovementsBefore(@Param("movementType") StockMovementType movementType,
+                                             @Param("productId") Long productId,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("beforeDate") LocalDateTime beforeDate,
+                                             @Param("beforeId") Long beforeId,
+                                             @Param("status") EntityStatus status,
+                                             Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package com.maxx_global.security;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Yetki adlarını sabit bit indekslerine eşler.
+ * Her principal yetkilerini bir BitSet olarak taşır; yetki kontrolü liste taraması yerine tek bit testidir.
+ * İndeksler uygulama ömrü boyunca sabittir, yeni yetki adları ilk görüldüklerinde sıradaki indeksi alır.
+ */
+public final class AuthorityBits {
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private AuthorityBits() {
+    }
+
+    public static BitSet of(Collection<String> authorities) {
+        BitSet bits = new BitSet();
+        for (String authority : authorities) {
+            bits.set(INDEXES.computeIfAbsent(authority, name -> NEXT_INDEX.getAndIncrement()));
+        }
+        return bits;
+    }
+
+    public static boolean contains(BitSet bits, String authority) {
+        Integer index = INDEXES.get(authority);
+        return index != null && bits.get(index);
+    }
+}
@@ -3,11 +3,13 @@ package com.maxx_global.security;
 import com.maxx_global.entity.AppUser;
 import com.maxx_global.entity.Permission;
 import com.maxx_global.entity.Role;
+import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -22,6 +24,9 @@ public class CustomUserDetails implements UserDetails {
     private String password;
     private List<SimpleGrantedAuthority> authorities;
     private Language preferredLanguage = Language.TR;
+    private Long dealerId;
+    private EntityStatus status = EntityStatus.ACTIVE;
+    private BitSet authorityBits;
 
     // AppUser constructor
     public CustomUserDetails(AppUser user) {
@@ -50,6 +55,9 @@ public class CustomUserDetails implements UserDetails {
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
         this.preferredLanguage = user.getPreferredLanguage() != null ? user.getPreferredLanguage() : Language.TR;
+        this.dealerId = user.getDealer() != null ? user.getDealer().getId() : null;
+        this.status = user.getStatus();
+        this.authorityBits = AuthorityBits.of(perms);
 
         System.out.println("DEBUG [CustomUserDetails] User " + email + " authorities: " + this.authorities);
 
@@ -61,11 +69,21 @@ public class CustomUserDetails implements UserDetails {
     }
 
     public CustomUserDetails(Long id, String email, String password, List<SimpleGrantedAuthority> authorities, Language preferredLanguage) {
+        this(id, email, password, authorities, preferredLanguage, null, EntityStatus.ACTIVE);
+    }
+
+    public CustomUserDetails(Long id, String email, String password, List<SimpleGrantedAuthority> authorities,
+                             Language preferredLanguage, Long dealerId, EntityStatus status) {
         this.id = id;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
         this.preferredLanguage = preferredLanguage != null ? preferredLanguage : Language.TR;
+        this.dealerId = dealerId;
+        this.status = status;
+        this.authorityBits = AuthorityBits.of(authorities.stream()
+                .map(SimpleGrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
     }
 
 
@@ -116,4 +134,17 @@ public class CustomUserDetails implements UserDetails {
     public Locale getPreferredLocale() {
         return preferredLanguage.toLocale();
     }
+
+    public Long getDealerId() {
+        return dealerId;
+    }
+
+    public EntityStatus getStatus() {
+        return status;
+    }
+
+    // Önceden hesaplanmış bitset üzerinden yetki kontrolü
+    public boolean hasAuthority(String authority) {
+        return AuthorityBits.contains(authorityBits, authority);
+    }
 }
\ No newline at end of file
@@ -21,14 +21,28 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AppUserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(AppUserRepository userRepository) {
+    public CustomUserDetailsService(AppUserRepository userRepository,
+                                    PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return loadPrincipal(email).userDetails();
+    }
+
+    /**
+     * JWT filtresi için: principal kısa süreli cache'ten okunur, yoksa DB'den yüklenir
+     */
+    public CustomUserDetails loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadPrincipal).userDetails();
+    }
+
+    private PrincipalCache.Entry loadPrincipal(String email) {
         AppUser user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
@@ -55,13 +69,16 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        return new CustomUserDetails(
+        CustomUserDetails userDetails = new CustomUserDetails(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 grantedAuthorities,
-                user.getPreferredLanguage()
+                user.getPreferredLanguage(),
+                user.getDealer() != null ? user.getDealer().getId() : null,
+                user.getStatus()
         );
+        return new PrincipalCache.Entry(userDetails, user);
     }
 
 }
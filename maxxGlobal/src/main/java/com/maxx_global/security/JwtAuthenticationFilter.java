@@ -70,8 +70,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // BURADA CustomUserDetails oluşturuluyor
-            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(userEmail);
+            // Principal kısa süreli cache'ten gelir; kullanıcı/rol değişikliklerinde cache düşürülür
+            CustomUserDetails userDetails = userDetailsService.loadAuthenticatedUser(userEmail);
 
             if (jwtService.isTokenValid(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
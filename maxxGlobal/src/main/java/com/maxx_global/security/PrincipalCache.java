@@ -0,0 +1,88 @@
+package com.maxx_global.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxx_global.entity.AppUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * JWT ile doğrulanan kullanıcılar için kısa ömürlü principal cache'i (email anahtarlı).
+ * Her istekte kullanıcı + rol + yetki grafiğinin yeniden yüklenmesini önler.
+ * Kullanıcı/rol değişikliklerinde commit sonrası event ile düşürülür; TTL sadece emniyet sınırıdır.
+ */
+@Component
+public class PrincipalCache {
+
+    public static final String CACHE_NAME = "authPrincipal";
+
+    /**
+     * Değişmez principal ve AppUserService.getCurrentUser için kullanıcı anlık görüntüsü
+     */
+    public record Entry(CustomUserDetails userDetails, AppUser user) {
+    }
+
+    private final Cache<String, Entry> principals;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.security.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
+    }
+
+    public Entry get(String email, Function<String, Entry> loader) {
+        return principals.get(email, loader);
+    }
+
+    /**
+     * Cache'teki kullanıcının kopyası. Çağıranlar entity'yi değiştirip kaydedebildiği için
+     * paylaşılan örnek asla dışarı verilmez.
+     */
+    public Optional<AppUser> findUserSnapshot(String email) {
+        Entry entry = principals.getIfPresent(email);
+        return entry != null ? Optional.of(copyOf(entry.user())) : Optional.empty();
+    }
+
+    public void evict(Collection<String> emails) {
+        principals.invalidateAll(emails);
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    private static AppUser copyOf(AppUser source) {
+        AppUser copy = new AppUser();
+        copy.setId(source.getId());
+        copy.setEmail(source.getEmail());
+        copy.setPassword(source.getPassword());
+        copy.setFirstName(source.getFirstName());
+        copy.setLastName(source.getLastName());
+        copy.setPhoneNumber(source.getPhoneNumber());
+        copy.setAddress(source.getAddress());
+        copy.setAuthorizedUser(source.getAuthorizedUser());
+        copy.setEmailNotifications(source.getEmailNotifications());
+        copy.setPreferredLanguage(source.getPreferredLanguage());
+        copy.setRoles(new HashSet<>(source.getRoles()));
+        copy.setDealer(source.getDealer());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setCreatedBy(source.getCreatedBy());
+        copy.setUpdatedBy(source.getUpdatedBy());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+}
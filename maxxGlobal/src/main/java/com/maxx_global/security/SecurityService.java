@@ -151,8 +151,7 @@ public class SecurityService {
         CustomUserDetails userDetails = (CustomUserDetails) auth.getPrincipal();
 
         // 1. Direkt permission kontrolü
-        boolean hasDirectPermission = userDetails.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals(permission));
+        boolean hasDirectPermission = userDetails.hasAuthority(permission);
 
         if (hasDirectPermission) {
             return true;
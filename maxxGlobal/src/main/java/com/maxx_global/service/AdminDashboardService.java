@@ -2,9 +2,10 @@ package com.maxx_global.service;
 
 import com.maxx_global.dto.dashboard.*;
 import com.maxx_global.dto.productPrice.CurrencyRate;
+import com.maxx_global.entity.Dealer;
 import com.maxx_global.entity.Discount;
 import com.maxx_global.entity.Order;
-import com.maxx_global.entity.OrderItem;
+import com.maxx_global.entity.OrderDailyStat;
 import com.maxx_global.entity.Product;
 import com.maxx_global.enums.CurrencyType;
 import com.maxx_global.enums.EntityStatus;
@@ -39,6 +40,8 @@ public class AdminDashboardService {
     private final DiscountRepository discountRepository;
     private final DiscountUsageRepository discountUsageRepository;
     private final NotificationRepository notificationRepository;
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final OrderProductDailyStatRepository orderProductDailyStatRepository;
     private final TcmbService tcmbService;
     private final LocalizationService localizationService;
 
@@ -49,6 +52,8 @@ public class AdminDashboardService {
                                  DiscountRepository discountRepository,
                                  DiscountUsageRepository discountUsageRepository,
                                  NotificationRepository notificationRepository,
+                                 OrderDailyStatRepository orderDailyStatRepository,
+                                 OrderProductDailyStatRepository orderProductDailyStatRepository,
                                  TcmbService tcmbService,
                                  LocalizationService localizationService) {
         this.appUserRepository = appUserRepository;
@@ -58,6 +63,8 @@ public class AdminDashboardService {
         this.discountRepository = discountRepository;
         this.discountUsageRepository = discountUsageRepository;
         this.notificationRepository = notificationRepository;
+        this.orderDailyStatRepository = orderDailyStatRepository;
+        this.orderProductDailyStatRepository = orderProductDailyStatRepository;
         this.tcmbService = tcmbService;
         this.localizationService = localizationService;
     }
@@ -84,32 +91,21 @@ public class AdminDashboardService {
         Long expiringProducts = (long) productRepository.findProductsExpiringBefore(
                 LocalDate.now().plusDays(30), EntityStatus.ACTIVE).size();
 
-        // Sipariş istatistikleri - Bu ay ve geçen ay
-        LocalDateTime thisMonthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime thisMonthEnd = LocalDate.now().atTime(23, 59, 59);
-        LocalDateTime lastMonthStart = LocalDate.now().minusMonths(1).withDayOfMonth(1).atStartOfDay();
-        LocalDateTime lastMonthEnd = LocalDate.now().minusMonths(1).atTime(23, 59, 59);
+        // Sipariş istatistikleri - Bu ay ve geçen ay (günlük rollup tablosundan)
+        LocalDate today = LocalDate.now();
+        Map<OrderStatus, StatusTotals> statusTotals = getAllTimeStatusTotals();
+        List<OrderDailyStat> thisMonthStats = orderDailyStatRepository.findByStatDateBetween(
+                today.withDayOfMonth(1), today);
+        List<OrderDailyStat> lastMonthStats = orderDailyStatRepository.findByStatDateBetween(
+                today.minusMonths(1).withDayOfMonth(1), today.minusMonths(1));
 
-        List<Order> allOrders = orderRepository.findAll();
-        List<Order> thisMonthOrders = orderRepository.findOrdersInDateRange(thisMonthStart, thisMonthEnd);
-        List<Order> lastMonthOrders = orderRepository.findOrdersInDateRange(lastMonthStart, lastMonthEnd);
-
-        Long totalOrders = (long) allOrders.size();
-        Long pendingOrders = allOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.PENDING ? 1 : 0).sum();
-        Long completedOrdersThisMonth = thisMonthOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum();
+        Long totalOrders = statusTotals.values().stream().mapToLong(StatusTotals::orderCount).sum();
+        Long pendingOrders = countForStatus(statusTotals, OrderStatus.PENDING);
+        Long completedOrdersThisMonth = sumOrderCount(thisMonthStats, OrderStatus.COMPLETED);
 
         // Ciro hesaplamaları
-        BigDecimal revenueThisMonth = thisMonthOrders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal revenueLastMonth = lastMonthOrders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal revenueThisMonth = sumTotalAmount(thisMonthStats, OrderStatus.COMPLETED);
+        BigDecimal revenueLastMonth = sumTotalAmount(lastMonthStats, OrderStatus.COMPLETED);
 
         // Ciro büyüme oranı hesapla
         Double revenueGrowthPercentage = 0.0;
@@ -175,19 +171,19 @@ public class AdminDashboardService {
                 productRepository.countProductsWithoutImages(EntityStatus.ACTIVE)
         );
 
-        // Sipariş istatistikleri
-        List<Order> allOrders = orderRepository.findAll();
+        // Sipariş istatistikleri (günlük rollup tablosundan)
+        Map<OrderStatus, StatusTotals> statusTotals = getAllTimeStatusTotals();
         OrderStatistics orderStats = new OrderStatistics(
-                (long) allOrders.size(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.PENDING ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.APPROVED ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.CANCELLED ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.SHIPPED ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.REJECTED ? 1 : 0).sum(),
-                allOrders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.EDITED_PENDING_APPROVAL ? 1 : 0).sum(),
+                statusTotals.values().stream().mapToLong(StatusTotals::orderCount).sum(),
+                countForStatus(statusTotals, OrderStatus.PENDING),
+                countForStatus(statusTotals, OrderStatus.APPROVED),
+                countForStatus(statusTotals, OrderStatus.COMPLETED),
+                countForStatus(statusTotals, OrderStatus.CANCELLED),
+                countForStatus(statusTotals, OrderStatus.SHIPPED),
+                countForStatus(statusTotals, OrderStatus.REJECTED),
+                countForStatus(statusTotals, OrderStatus.EDITED_PENDING_APPROVAL),
                 getOrdersThisMonth(),
-                getTotalRevenue(allOrders)
+                getTotalRevenue(statusTotals)
         );
 
         return new SystemStatisticsResponse(userStats, dealerStats, productStats, orderStats);
@@ -206,13 +202,11 @@ public class AdminDashboardService {
         LocalDateTime endDate = LocalDate.now().atTime(23, 59, 59);
         LocalDateTime startDate = endDate.minusMonths(monthsToShow).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
 
-        List<Order> orders = orderRepository.findOrdersInDateRange(startDate, endDate);
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), endDate.toLocalDate());
 
         // Aylık gruplandırma
-        Map<String, List<Order>> monthlyOrders = orders.stream()
-                .collect(Collectors.groupingBy(order ->
-                        order.getOrderDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))
-                ));
+        Map<String, List<OrderDailyStat>> monthlyStats = groupByMonth(stats);
 
         List<MonthlyOrderData> monthlyData = new ArrayList<>();
         LocalDate currentMonth = startDate.toLocalDate().withDayOfMonth(1);
@@ -220,13 +214,10 @@ public class AdminDashboardService {
 
         while (!currentMonth.isAfter(endDate.toLocalDate())) {
             String monthKey = currentMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            List<Order> monthOrders = monthlyOrders.getOrDefault(monthKey, new ArrayList<>());
+            List<OrderDailyStat> monthStats = monthlyStats.getOrDefault(monthKey, Collections.emptyList());
 
-            Long orderCount = (long) monthOrders.size();
-            BigDecimal revenue = monthOrders.stream()
-                    .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Long orderCount = sumOrderCount(monthStats, null);
+            BigDecimal revenue = sumTotalAmount(monthStats, OrderStatus.COMPLETED);
 
             String monthName = currentMonth.getMonth().getDisplayName(TextStyle.FULL, locale)
                     + " " + currentMonth.getYear();
@@ -259,24 +250,22 @@ public class AdminDashboardService {
         LocalDateTime endDate = LocalDate.now().atTime(23, 59, 59);
         LocalDateTime startDate = endDate.minusDays(daysToShow).withHour(0).withMinute(0).withSecond(0);
 
-        List<Order> orders = orderRepository.findOrdersInDateRange(startDate, endDate);
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), endDate.toLocalDate());
 
         // Günlük gruplandırma
-        Map<LocalDate, List<Order>> dailyOrders = orders.stream()
-                .collect(Collectors.groupingBy(order -> order.getOrderDate().toLocalDate()));
+        Map<LocalDate, List<OrderDailyStat>> dailyStats = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getStatDate));
 
         List<DailyOrderData> dailyData = new ArrayList<>();
         LocalDate currentDate = startDate.toLocalDate();
         Locale locale = localizationService.getCurrentRequestLocale();
 
         while (!currentDate.isAfter(endDate.toLocalDate())) {
-            List<Order> dayOrders = dailyOrders.getOrDefault(currentDate, new ArrayList<>());
+            List<OrderDailyStat> dayStats = dailyStats.getOrDefault(currentDate, Collections.emptyList());
 
-            Long orderCount = (long) dayOrders.size();
-            BigDecimal revenue = dayOrders.stream()
-                    .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Long orderCount = sumOrderCount(dayStats, null);
+            BigDecimal revenue = sumTotalAmount(dayStats, OrderStatus.COMPLETED);
 
             String dayName = currentDate.getDayOfWeek().getDisplayName(TextStyle.FULL, locale);
 
@@ -309,13 +298,14 @@ public class AdminDashboardService {
         logger.info("Generating order status distribution for last " + days + " days");
 
         int daysToShow = days != null ? days : 90;
-        LocalDateTime startDate = LocalDateTime.now().minusDays(daysToShow);
-        List<Order> orders = orderRepository.findOrdersInDateRange(startDate, LocalDateTime.now());
-        Long totalOrders = (long) orders.size();
+        LocalDate today = LocalDate.now();
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(today.minusDays(daysToShow), today);
 
         // Status dağılımını hesapla
-        Map<OrderStatus, Long> statusCounts = orders.stream()
-                .collect(Collectors.groupingBy(Order::getOrderStatus, Collectors.counting()));
+        Map<OrderStatus, Long> statusCounts = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getOrderStatus,
+                        Collectors.summingLong(OrderDailyStat::getOrderCount)));
+        Long totalOrders = statusCounts.values().stream().mapToLong(Long::longValue).sum();
 
         List<OrderStatusData> statusDistribution = Arrays.stream(OrderStatus.values())
                 .map(status -> {
@@ -347,25 +337,23 @@ public class AdminDashboardService {
         int limitToShow = limit != null ? limit : 10;
         int daysToShow = days != null ? days : 90;
         LocalDateTime startDate = LocalDateTime.now().minusDays(daysToShow);
-        List<Order> recentOrders = orderRepository.findOrdersInDateRange(startDate, LocalDateTime.now());
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), LocalDate.now());
 
-        // Bayi bazında sipariş gruplandırması
-        Map<Long, List<Order>> dealerOrders = recentOrders.stream()
-                .collect(Collectors.groupingBy(order -> order.getUser().getDealer().getId()));
+        // Bayi bazında rollup gruplandırması
+        Map<Long, List<OrderDailyStat>> dealerStats = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getDealerId));
+        Map<Long, String> dealerNames = getDealerNames(dealerStats.keySet());
 
-        List<TopDealerData> topDealers = dealerOrders.entrySet().stream()
+        List<TopDealerData> topDealers = dealerStats.entrySet().stream()
                 .map(entry -> {
                     Long dealerId = entry.getKey();
-                    List<Order> orders = entry.getValue();
+                    List<OrderDailyStat> dealerStatList = entry.getValue();
 
-                    String dealerName = orders.isEmpty() ? "Bilinmeyen" :
-                            orders.get(0).getUser().getDealer().getName();
+                    String dealerName = dealerNames.getOrDefault(dealerId, "Bilinmeyen");
 
-                    Long orderCount = (long) orders.size();
-                    BigDecimal totalRevenue = orders.stream()
-                            .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                            .map(Order::getTotalAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    Long orderCount = sumOrderCount(dealerStatList, null);
+                    BigDecimal totalRevenue = sumTotalAmount(dealerStatList, OrderStatus.COMPLETED);
 
                     BigDecimal averageOrderValue = orderCount > 0 ?
                             totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP) :
@@ -408,13 +396,13 @@ public class AdminDashboardService {
                 OrderStatus.SHIPPED
         );
 
-        List<Order> orders = orderRepository.findOrdersInDateRangeWithStatus(startDate, endDate, revenueStatuses);
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), endDate.toLocalDate()).stream()
+                .filter(stat -> revenueStatuses.contains(stat.getOrderStatus()))
+                .collect(Collectors.toList());
 
         // Aylık gelir gruplandırması
-        Map<String, List<Order>> monthlyOrders = orders.stream()
-                .collect(Collectors.groupingBy(order ->
-                        order.getOrderDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))
-                ));
+        Map<String, List<OrderDailyStat>> monthlyStats = groupByMonth(stats);
 
         List<RevenueData> monthlyRevenue = new ArrayList<>();
         LocalDate currentMonth = startDate.toLocalDate().withDayOfMonth(1);
@@ -422,10 +410,10 @@ public class AdminDashboardService {
 
         while (!currentMonth.isAfter(endDate.toLocalDate())) {
             String monthKey = currentMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            List<Order> monthOrders = monthlyOrders.getOrDefault(monthKey, new ArrayList<>());
+            List<OrderDailyStat> monthStats = monthlyStats.getOrDefault(monthKey, Collections.emptyList());
 
             // ✅ DÜZELTME 2: Multi-currency toplam hesaplama (TRY'ye dönüştür)
-            BigDecimal revenue = calculateMultiCurrencyRevenueWithTcmb(monthOrders);
+            BigDecimal revenue = calculateMultiCurrencyRevenueWithTcmb(monthStats);
 
             // Önceki aya göre değişim yüzdesi
             Double changePercentage = 0.0;
@@ -475,24 +463,17 @@ public class AdminDashboardService {
     /**
      * ✅ YENİ METOD: TCMB Service ile multi-currency gelir hesaplama
      */
-    private BigDecimal calculateMultiCurrencyRevenueWithTcmb(List<Order> orders) {
+    private BigDecimal calculateMultiCurrencyRevenueWithTcmb(List<OrderDailyStat> stats) {
         BigDecimal totalRevenueInTRY = BigDecimal.ZERO;
 
         // Currency bazında gruplandır
-        Map<CurrencyType, List<Order>> ordersByCurrency = orders.stream()
-                .collect(Collectors.groupingBy(Order::getCurrency));
-
-        for (Map.Entry<CurrencyType, List<Order>> entry : ordersByCurrency.entrySet()) {
-            CurrencyType currency = entry.getKey();
-            List<Order> currencyOrders = entry.getValue();
-
-            // Bu currency'deki toplam tutar
-            BigDecimal currencyTotal = currencyOrders.stream()
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<CurrencyType, BigDecimal> totalsByCurrency = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getCurrency,
+                        Collectors.reducing(BigDecimal.ZERO, OrderDailyStat::getTotalAmount, BigDecimal::add)));
 
+        for (Map.Entry<CurrencyType, BigDecimal> entry : totalsByCurrency.entrySet()) {
             // TRY'ye dönüştür
-            BigDecimal convertedAmount = convertToTRYWithTcmb(currencyTotal, currency);
+            BigDecimal convertedAmount = convertToTRYWithTcmb(entry.getValue(), entry.getKey());
             totalRevenueInTRY = totalRevenueInTRY.add(convertedAmount);
         }
 
@@ -629,14 +610,13 @@ public class AdminDashboardService {
         LocalDateTime startDate = endDate.minusMonths(monthsToShow).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
 
         List<OrderStatus> statuses = Arrays.asList(OrderStatus.COMPLETED,OrderStatus.APPROVED,OrderStatus.SHIPPED);
-        List<Order> orders = orderRepository.findOrdersInDateRangeWithStatus(startDate, endDate,statuses);
-
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), endDate.toLocalDate()).stream()
+                .filter(stat -> statuses.contains(stat.getOrderStatus()))
+                .collect(Collectors.toList());
 
         // Aylık AOV hesaplama
-        Map<String, List<Order>> monthlyOrders = orders.stream()
-                .collect(Collectors.groupingBy(order ->
-                        order.getOrderDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))
-                ));
+        Map<String, List<OrderDailyStat>> monthlyStats = groupByMonth(stats);
 
         List<AverageOrderValueData> monthlyAOV = new ArrayList<>();
         LocalDate currentMonth = startDate.toLocalDate().withDayOfMonth(1);
@@ -644,12 +624,10 @@ public class AdminDashboardService {
 
         while (!currentMonth.isAfter(endDate.toLocalDate())) {
             String monthKey = currentMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            List<Order> monthOrders = monthlyOrders.getOrDefault(monthKey, new ArrayList<>());
+            List<OrderDailyStat> monthStats = monthlyStats.getOrDefault(monthKey, Collections.emptyList());
 
-            Long orderCount = (long) monthOrders.size();
-            BigDecimal totalRevenue = monthOrders.stream()
-                    .map(Order::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Long orderCount = sumOrderCount(monthStats, null);
+            BigDecimal totalRevenue = sumTotalAmount(monthStats, null);
 
             BigDecimal averageOrderValue = orderCount > 0 ?
                     totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP) :
@@ -663,10 +641,8 @@ public class AdminDashboardService {
         }
 
         // Genel ortalama AOV hesapla
-        BigDecimal totalRevenue = orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        Long totalOrderCount = (long) orders.size();
+        BigDecimal totalRevenue = sumTotalAmount(stats, null);
+        Long totalOrderCount = sumOrderCount(stats, null);
         BigDecimal overallAverageOrderValue = totalOrderCount > 0 ?
                 totalRevenue.divide(BigDecimal.valueOf(totalOrderCount), 2, RoundingMode.HALF_UP) :
                 BigDecimal.ZERO;
@@ -690,28 +666,25 @@ public class AdminDashboardService {
         int limitToShow = limit != null ? limit : 10;
         int daysToShow = days != null ? days : 90;
         LocalDateTime startDate = LocalDateTime.now().minusDays(daysToShow);
-        List<Order> orders = orderRepository.findOrdersInDateRange(startDate, LocalDateTime.now());
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), LocalDate.now());
 
         // Bayi bazında performans hesaplama
-        Map<Long, List<Order>> dealerOrders = orders.stream()
-                .collect(Collectors.groupingBy(order -> order.getUser().getDealer().getId()));
+        Map<Long, List<OrderDailyStat>> dealerStats = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getDealerId));
+        Map<Long, String> dealerNames = getDealerNames(dealerStats.keySet());
 
-        List<DealerPerformanceData> performanceData = dealerOrders.entrySet().stream()
+        List<DealerPerformanceData> performanceData = dealerStats.entrySet().stream()
                 .map(entry -> {
                     Long dealerId = entry.getKey();
-                    List<Order> dealerOrderList = entry.getValue();
+                    List<OrderDailyStat> dealerStatList = entry.getValue();
 
-                    String dealerName = dealerOrderList.isEmpty() ? "Bilinmeyen" :
-                            dealerOrderList.get(0).getUser().getDealer().getName();
+                    String dealerName = dealerNames.getOrDefault(dealerId, "Bilinmeyen");
 
-                    Long totalOrders = (long) dealerOrderList.size();
-                    Long completedOrders = dealerOrderList.stream()
-                            .mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum();
+                    Long totalOrders = sumOrderCount(dealerStatList, null);
+                    Long completedOrders = sumOrderCount(dealerStatList, OrderStatus.COMPLETED);
 
-                    BigDecimal totalRevenue = dealerOrderList.stream()
-                            .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                            .map(Order::getTotalAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    BigDecimal totalRevenue = sumTotalAmount(dealerStatList, OrderStatus.COMPLETED);
 
                     Double completionRate = totalOrders > 0 ?
                             (completedOrders.doubleValue() / totalOrders.doubleValue()) * 100 : 0.0;
@@ -748,26 +721,23 @@ public class AdminDashboardService {
 
         int daysToShow = days != null ? days : 90;
         LocalDateTime startDate = LocalDateTime.now().minusDays(daysToShow);
-        List<Order> orders = orderRepository.findOrdersInDateRange(startDate, LocalDateTime.now());
+        List<OrderDailyStat> stats = orderDailyStatRepository.findByStatDateBetween(
+                startDate.toLocalDate(), LocalDate.now());
 
         // Bayi bazında sıklık hesaplama
-        Map<Long, List<Order>> dealerOrders = orders.stream()
-                .collect(Collectors.groupingBy(order -> order.getUser().getDealer().getId()));
+        Map<Long, List<OrderDailyStat>> dealerStats = stats.stream()
+                .collect(Collectors.groupingBy(OrderDailyStat::getDealerId));
+        Map<Long, String> dealerNames = getDealerNames(dealerStats.keySet());
 
-        List<DealerFrequencyData> frequencyData = dealerOrders.entrySet().stream()
+        List<DealerFrequencyData> frequencyData = dealerStats.entrySet().stream()
                 .map(entry -> {
                     Long dealerId = entry.getKey();
-                    List<Order> dealerOrderList = entry.getValue();
-
-                    if (dealerOrderList.isEmpty()) return null;
+                    List<OrderDailyStat> dealerStatList = entry.getValue();
 
-                    String dealerName = dealerOrderList.get(0).getUser().getDealer().getName();
-                    Long orderCount = (long) dealerOrderList.size();
+                    String dealerName = dealerNames.getOrDefault(dealerId, "Bilinmeyen");
+                    Long orderCount = sumOrderCount(dealerStatList, null);
 
-                    BigDecimal totalRevenue = dealerOrderList.stream()
-                            .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                            .map(Order::getTotalAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    BigDecimal totalRevenue = sumTotalAmount(dealerStatList, OrderStatus.COMPLETED);
 
                     BigDecimal averageOrderValue = orderCount > 0 ?
                             totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP) :
@@ -782,7 +752,6 @@ public class AdminDashboardService {
                             totalRevenue, Math.round(orderFrequencyDays * 10.0) / 10.0
                     );
                 })
-                .filter(Objects::nonNull)
                 .filter(data -> data.orderCount() > 0)
                 .collect(Collectors.toList());
 
@@ -802,63 +771,28 @@ public class AdminDashboardService {
         int limitToShow = limit != null ? limit : 10;
         int daysToShow = days != null ? days : 90;
         LocalDateTime startDate = LocalDateTime.now().minusDays(daysToShow);
-        List<Order> recentOrders = orderRepository.findOrdersInDateRange(startDate, LocalDateTime.now());
 
-        // Ürün bazında sipariş toplama
-        Map<Long, List<Object[]>> productOrderData = new HashMap<>();
+        // Ürün bazında toplamlar rollup tablosunda gruplanıp sıralanır
+        List<Object[]> rows = orderProductDailyStatRepository.findTopProducts(
+                startDate.toLocalDate(), LocalDate.now(), OrderStatus.COMPLETED, PageRequest.of(0, limitToShow));
 
-        for (Order order : recentOrders) {
-            for (var item : order.getItems()) {
-                Long productId = item.getProduct().getId();
-                productOrderData.computeIfAbsent(productId, k -> new ArrayList<>())
-                        .add(new Object[]{item, order});
-            }
-        }
+        List<Long> productIds = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
 
-        List<TopProductData> topProducts = productOrderData.entrySet().stream()
-                .map(entry -> {
-                    Long productId = entry.getKey();
-                    List<Object[]> productItems = entry.getValue();
-
-                    if (productItems.isEmpty()) return null;
-
-                    var firstItem = (OrderItem) productItems.get(0)[0];
-                    String productName = firstItem.getProduct().getName();
-                    String productCode = firstItem.getProduct().getCode();
-                    String categoryName = firstItem.getProduct().getCategory() != null ?
-                            firstItem.getProduct().getCategory().getName() : "Kategori Yok";
-
-                    Long totalQuantityOrdered = productItems.stream()
-                            .mapToLong(data -> ((OrderItem) data[0]).getQuantity().longValue())
-                            .sum();
-
-                    Long orderCount = (long) productItems.stream()
-                            .map(data -> ((Order) data[1]).getId())
-                            .collect(Collectors.toSet())
-                            .size();
-
-                    BigDecimal totalRevenue = productItems.stream()
-                            .filter(data -> ((Order) data[1]).getOrderStatus() == OrderStatus.COMPLETED)
-                            .map(data -> ((OrderItem) data[0]).getTotalPrice())
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    return new TopProductData(
-                            productId, productName, productCode, categoryName,
-                            totalQuantityOrdered, orderCount, totalRevenue, 0
-                    );
-                })
-                .filter(Objects::nonNull)
-                .sorted((p1, p2) -> p2.totalQuantityOrdered().compareTo(p1.totalQuantityOrdered()))
-                .limit(limitToShow)
-                .collect(Collectors.toList());
+        List<TopProductData> topProducts = new ArrayList<>();
+        for (Object[] row : rows) {
+            Product product = products.get((Long) row[0]);
+            if (product == null) continue;
 
-        // Ranking bilgisini set et
-        for (int i = 0; i < topProducts.size(); i++) {
-            TopProductData product = topProducts.get(i);
-            topProducts.set(i, new TopProductData(
-                    product.productId(), product.productName(), product.productCode(),
-                    product.categoryName(), product.totalQuantityOrdered(), product.orderCount(),
-                    product.totalRevenue(), i + 1
+            String categoryName = product.getCategory() != null ?
+                    product.getCategory().getName() : "Kategori Yok";
+
+            topProducts.add(new TopProductData(
+                    product.getId(), product.getName(), product.getCode(), categoryName,
+                    ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                    row[3] != null ? new BigDecimal(row[3].toString()) : BigDecimal.ZERO,
+                    topProducts.size() + 1
             ));
         }
 
@@ -882,6 +816,13 @@ public class AdminDashboardService {
         // Aktif indirimleri getir
         List<Discount> allDiscounts = discountRepository.findAll();
 
+        // İndirim bazında toplam tasarruf tek sorguda
+        Map<Long, BigDecimal> savingsByDiscount = new HashMap<>();
+        for (Object[] row : orderRepository.sumDiscountSavingsSince(startDate,
+                Arrays.asList(OrderStatus.COMPLETED, OrderStatus.APPROVED, OrderStatus.SHIPPED))) {
+            savingsByDiscount.put((Long) row[0], row[2] != null ? new BigDecimal(row[2].toString()) : BigDecimal.ZERO);
+        }
+
         List<DiscountEffectivenessData> effectivenessData = allDiscounts.stream()
                 .map(discount -> {
                     // İndirim kullanım sayısı
@@ -896,20 +837,8 @@ public class AdminDashboardService {
                             Arrays.asList(OrderStatus.COMPLETED, OrderStatus.APPROVED, OrderStatus.SHIPPED)
                     );
 
-                    // Toplam tasarruf hesapla
-                    List<Order> discountOrders = orderRepository.findAll().stream()
-                            .filter(o -> o.getAppliedDiscount() != null &&
-                                    o.getAppliedDiscount().getId().equals(discount.getId()) &&
-                                    o.getOrderDate().isAfter(startDate) &&
-                                    (o.getOrderStatus() == OrderStatus.COMPLETED ||
-                                            o.getOrderStatus() == OrderStatus.APPROVED ||
-                                            o.getOrderStatus() == OrderStatus.SHIPPED))
-                            .collect(Collectors.toList());
-
-                    BigDecimal totalSavings = discountOrders.stream()
-                            .map(Order::getDiscountAmount)
-                            .filter(Objects::nonNull)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    // Toplam tasarruf
+                    BigDecimal totalSavings = savingsByDiscount.getOrDefault(discount.getId(), BigDecimal.ZERO);
 
                     // Etkinlik skoru hesapla
                     Double effectivenessScore = 0.0;
@@ -1098,18 +1027,71 @@ public class AdminDashboardService {
     }
 
     private Long getOrdersThisMonth() {
-        LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime endOfMonth = LocalDate.now().atTime(23, 59, 59);
-        return (long) orderRepository.findOrdersInDateRange(startOfMonth, endOfMonth).size();
+        LocalDate today = LocalDate.now();
+        return sumOrderCount(orderDailyStatRepository.findByStatDateBetween(today.withDayOfMonth(1), today), null);
+    }
+
+    private BigDecimal getTotalRevenue(Map<OrderStatus, StatusTotals> statusTotals) {
+        StatusTotals completed = statusTotals.get(OrderStatus.COMPLETED);
+        return completed != null ? completed.totalAmount() : BigDecimal.ZERO;
+    }
+
+    // ==================== ROLLUP HELPERS ====================
+
+    private record StatusTotals(long orderCount, BigDecimal totalAmount) {}
+
+    /**
+     * Tüm zamanlar için durum bazında sipariş sayısı ve toplam tutar
+     */
+    private Map<OrderStatus, StatusTotals> getAllTimeStatusTotals() {
+        Map<OrderStatus, StatusTotals> totals = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderDailyStatRepository.sumByOrderStatus()) {
+            long count = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+            BigDecimal amount = row[2] != null ? new BigDecimal(row[2].toString()) : BigDecimal.ZERO;
+            totals.put((OrderStatus) row[0], new StatusTotals(count, amount));
+        }
+        return totals;
+    }
+
+    private Long countForStatus(Map<OrderStatus, StatusTotals> totals, OrderStatus status) {
+        StatusTotals statusTotals = totals.get(status);
+        return statusTotals != null ? statusTotals.orderCount() : 0L;
     }
 
-    private BigDecimal getTotalRevenue(List<Order> orders) {
-        return orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
+    /**
+     * Rollup satırlarındaki sipariş sayısı toplamı (status null ise tüm durumlar)
+     */
+    private Long sumOrderCount(Collection<OrderDailyStat> stats, OrderStatus status) {
+        return stats.stream()
+                .filter(stat -> status == null || stat.getOrderStatus() == status)
+                .mapToLong(OrderDailyStat::getOrderCount)
+                .sum();
+    }
+
+    /**
+     * Rollup satırlarındaki tutar toplamı (status null ise tüm durumlar)
+     */
+    private BigDecimal sumTotalAmount(Collection<OrderDailyStat> stats, OrderStatus status) {
+        return stats.stream()
+                .filter(stat -> status == null || stat.getOrderStatus() == status)
+                .map(OrderDailyStat::getTotalAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    private Map<String, List<OrderDailyStat>> groupByMonth(List<OrderDailyStat> stats) {
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("yyyy-MM");
+        return stats.stream()
+                .collect(Collectors.groupingBy(stat -> stat.getStatDate().format(monthFormatter)));
+    }
+
+    private Map<Long, String> getDealerNames(Collection<Long> dealerIds) {
+        if (dealerIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return dealerRepository.findAllById(dealerIds).stream()
+                .collect(Collectors.toMap(Dealer::getId, Dealer::getName));
+    }
+
     private String calculateTrendDirection(List<MonthlyOrderData> monthlyData) {
         if (monthlyData.size() < 2) return "STABLE";
 
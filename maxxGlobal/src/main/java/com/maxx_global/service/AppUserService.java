@@ -9,11 +9,14 @@ import com.maxx_global.entity.Dealer;
 import com.maxx_global.entity.Role;
 import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
+import com.maxx_global.event.AppUserChangedEvent;
 import com.maxx_global.repository.AppUserRepository;
 import com.maxx_global.repository.DealerRepository;
 import com.maxx_global.repository.RoleRepository;
+import com.maxx_global.security.PrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -45,6 +48,8 @@ public class AppUserService {
     private final RoleRepository roleRepository;
     private final DealerRepository dealerRepository;
     private final LocalizationService localizationService;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public AppUserService(AppUserRepository appUserRepository,
                           DealerService dealerService,
@@ -53,7 +58,9 @@ public class AppUserService {
                           PasswordEncoder passwordEncoder,
                           RoleRepository roleRepository,
                           DealerRepository dealerRepository,
-                          LocalizationService localizationService) {
+                          LocalizationService localizationService,
+                          PrincipalCache principalCache,
+                          ApplicationEventPublisher applicationEventPublisher) {
         this.appUserRepository = appUserRepository;
         this.dealerService = dealerService;
         this.roleService = roleService;
@@ -62,6 +69,8 @@ public class AppUserService {
         this.roleRepository = roleRepository;
         this.dealerRepository = dealerRepository;
         this.localizationService = localizationService;
+        this.principalCache = principalCache;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     public AppUserResponse registerUser(RegisterRequest request) {
@@ -120,6 +129,7 @@ public class AppUserService {
         // Kullanıcıyı bul
         AppUser existingUser = appUserRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Kullanıcı bulunamadı: " + userId));
+        String previousEmail = existingUser.getEmail();
 
         // Kendi bilgilerini güncelleyip güncellemediğini kontrol et
         boolean isSystemAdmin = hasUserManagePermission(currentUser);
@@ -183,6 +193,7 @@ public class AppUserService {
         }
         // Kullanıcıyı kaydet
         AppUser savedUser = appUserRepository.save(existingUser);
+        publishUserChanged(previousEmail, savedUser.getEmail());
 
         return appUserMapper.toDto(savedUser);
     }
@@ -236,13 +247,28 @@ public class AppUserService {
         if (principal instanceof UserDetails userDetails) {
             String email = userDetails.getUsername();
 
-            return appUserRepository.findByEmail(email)
+            // JWT filtresinin bu istek için cache'lediği kullanıcının kopyası; cache'te yoksa DB
+            return principalCache.findUserSnapshot(email)
+                    .or(() -> appUserRepository.findByEmail(email))
                     .orElseThrow(() -> new SecurityException("Kullanıcı bulunamadı: " + email));
         }
 
         throw new SecurityException("Geçersiz kullanıcı bilgisi");
     }
 
+    /**
+     * Kullanıcı entity'sini kaydeder ve principal cache'ini commit sonrası düşürür
+     */
+    public AppUser saveUser(AppUser user) {
+        AppUser savedUser = appUserRepository.save(user);
+        publishUserChanged(savedUser.getEmail());
+        return savedUser;
+    }
+
+    private void publishUserChanged(String... emails) {
+        applicationEventPublisher.publishEvent(new AppUserChangedEvent(Set.copyOf(List.of(emails))));
+    }
+
 // AppUserService'e eklenecek metotlar
 
     // Genel arama (tüm kullanıcılar)
@@ -332,6 +358,7 @@ public class AppUserService {
         // Soft delete - status'u DELETED yap
         userToDelete.setStatus(EntityStatus.DELETED);
         appUserRepository.save(userToDelete);
+        publishUserChanged(userToDelete.getEmail());
 
         logger.info("User soft deleted successfully: " + userId);
     }
@@ -361,6 +388,7 @@ public class AppUserService {
         // Status'u ACTIVE yap
         userToRestore.setStatus(EntityStatus.ACTIVE);
         AppUser restoredUser = appUserRepository.save(userToRestore);
+        publishUserChanged(restoredUser.getEmail());
 
         logger.info("User restored successfully: " + userId);
         return appUserMapper.toDto(restoredUser);
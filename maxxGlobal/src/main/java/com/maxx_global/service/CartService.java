@@ -19,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,17 +33,20 @@ public class CartService {
     private final ProductPriceRepository productPriceRepository;
     private final DealerService dealerService;
     private final LocalizationService localizationService;
+    private final DealerPriceBookCache dealerPriceBookCache;
 
     public CartService(CartRepository cartRepository,
                        CartItemRepository cartItemRepository,
                        ProductPriceRepository productPriceRepository,
                        DealerService dealerService,
-                       LocalizationService localizationService) {
+                       LocalizationService localizationService,
+                       DealerPriceBookCache dealerPriceBookCache) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productPriceRepository = productPriceRepository;
         this.dealerService = dealerService;
         this.localizationService = localizationService;
+        this.dealerPriceBookCache = dealerPriceBookCache;
     }
 
     @Transactional
@@ -149,7 +153,10 @@ public class CartService {
                     localizationService.getMessage("cart.error.item_not_found", localizationService.getLocaleForUser(user))
                 ));
 
-        ProductVariant variant = ensureVariant(cartItem.getProductPrice());
+        ProductVariant variant = cartItem.getProductVariant();
+        if (variant == null) {
+            throw new IllegalStateException("Ürün fiyatı herhangi bir varyanta bağlı değil");
+        }
 
         if (!variant.hasEnoughStock(request.quantity())) {
             throw new IllegalArgumentException(
@@ -165,7 +172,7 @@ public class CartService {
 
         // Fiyat yetkisi varsa fiyatları güncelle, yoksa null bırak
         if (hasPricePermission) {
-            cartItem.setUnitPrice(cartItem.getProductPrice().getAmount());
+            cartItem.setUnitPrice(resolveUnitPrice(cart, cartItem));
             cartItem.recalculateTotals();
         } else {
             cartItem.setUnitPrice(null);
@@ -300,10 +307,23 @@ public class CartService {
                 .anyMatch(permission -> "PRICE_READ".equals(permission.getName()));
     }
 
+    /**
+     * Kalemin güncel birim fiyatı - bayi fiyat defterinden, defterde yoksa fiyat kaydından
+     */
+    private BigDecimal resolveUnitPrice(Cart cart, CartItem cartItem) {
+        return dealerPriceBookCache.getPriceBook(cart.getDealer().getId())
+                .findByPriceId(cartItem.getProductPrice().getId())
+                .map(DealerPriceBook.Price::amount)
+                .orElseGet(() -> cartItem.getProductPrice().getAmount());
+    }
+
     private CartResponse mapToResponse(Cart cart, AppUser user) {
+        DealerPriceBook priceBook = cart.getDealer() != null
+                ? dealerPriceBookCache.getPriceBook(cart.getDealer().getId())
+                : null;
         List<CartItemResponse> itemResponses = cart.getItems().stream()
                 .sorted(Comparator.comparing(CartItem::getId))
-                .map(this::mapItem)
+                .map(item -> mapItem(item, priceBook))
                 .collect(Collectors.toList());
 
         // Fiyat yetkisi yoksa subtotal hesaplama
@@ -334,7 +354,7 @@ public class CartService {
         );
     }
 
-    private CartItemResponse mapItem(CartItem item) {
+    private CartItemResponse mapItem(CartItem item, DealerPriceBook priceBook) {
         ProductVariant variant = item.getProductVariant();
         Product product = variant != null ? variant.getProduct() : null;
 
@@ -360,10 +380,25 @@ public class CartService {
                 variant != null ? variant.getStockQuantity() : null,
                 item.getUnitPrice(),
                 item.getTotalPrice(),
-                item.getProductPrice() != null && item.getProductPrice().getCurrency() != null
-                        ? item.getProductPrice().getCurrency().name()
-                        : null,
+                resolveCurrency(item, priceBook),
                 imageUrl
         );
     }
+
+    /**
+     * Para birimini fiyat defterinden oku; fiyat kaydı proxy'si sadece defterde yoksa yüklenir
+     */
+    private String resolveCurrency(CartItem item, DealerPriceBook priceBook) {
+        ProductPrice productPrice = item.getProductPrice();
+        if (productPrice == null) {
+            return null;
+        }
+        if (priceBook != null) {
+            Optional<DealerPriceBook.Price> bookPrice = priceBook.findByPriceId(productPrice.getId());
+            if (bookPrice.isPresent()) {
+                return bookPrice.get().currency().name();
+            }
+        }
+        return productPrice.getCurrency() != null ? productPrice.getCurrency().name() : null;
+    }
 }
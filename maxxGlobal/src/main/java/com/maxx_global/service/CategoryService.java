@@ -4,9 +4,13 @@ import com.maxx_global.dto.category.*;
 import com.maxx_global.entity.Category;
 import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
+import com.maxx_global.event.CategoryTreeChangedEvent;
+import com.maxx_global.event.DiscountEligibilityChangedEvent;
+import com.maxx_global.repository.CategoryClosureRepository;
 import com.maxx_global.repository.CategoryRepository;
 import com.maxx_global.security.SecurityService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -29,13 +34,22 @@ public class CategoryService {
     private final CategoryMapper categoryMapper;
     private final LocalizationService localizationService;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryTreeSnapshotCache categoryTreeSnapshotCache;
 
     public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
-                          LocalizationService localizationService, SecurityService securityService) {
+                          LocalizationService localizationService, SecurityService securityService,
+                          ApplicationEventPublisher eventPublisher,
+                          CategoryClosureRepository categoryClosureRepository,
+                          CategoryTreeSnapshotCache categoryTreeSnapshotCache) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.localizationService = localizationService;
         this.securityService = securityService;
+        this.eventPublisher = eventPublisher;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.categoryTreeSnapshotCache = categoryTreeSnapshotCache;
     }
 
     // Tüm kategorileri getir (sayfalama ile)
@@ -147,6 +161,8 @@ public class CategoryService {
         category.setStatus(EntityStatus.ACTIVE);
 
         Category savedCategory = categoryRepository.save(category);
+        categoryClosureRepository.insertCategory(savedCategory.getId(), request.parentCategoryId());
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent("category created: " + savedCategory.getId()));
         logger.info("Category created successfully with id: " + savedCategory.getId());
 
         return mapToResponse(savedCategory);
@@ -168,6 +184,9 @@ public class CategoryService {
             throw new BadCredentialsException("Category cannot be parent of itself");
         }
 
+        Long previousParentId = existingCategory.getParentCategory() != null ?
+                existingCategory.getParentCategory().getId() : null;
+
         // Güncelleme işlemi
         existingCategory.setName(request.name());
         existingCategory.setNameEn(request.nameEn());
@@ -190,8 +209,21 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+
+        // Üst kategori değiştiyse alt ağaç closure'da yeni atalarına taşınır
+        if (!Objects.equals(previousParentId, request.parentCategoryId())) {
+            categoryClosureRepository.detachSubtree(id);
+            if (request.parentCategoryId() != null) {
+                categoryClosureRepository.attachSubtree(id, request.parentCategoryId());
+            }
+            logger.info("Category " + id + " moved from parent " + previousParentId + " to " + request.parentCategoryId());
+        }
         logger.info("Category updated successfully with id: " + updatedCategory.getId());
 
+        // Üst kategori değişmiş olabilir - ağaç snapshot'ı ve kategori bazlı indirimlerin kapsamı yeniden derlenir
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent("category updated: " + id));
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("category updated: " + id));
+
         return mapToResponse(updatedCategory);
     }
 
@@ -209,9 +241,11 @@ public class CategoryService {
             throw new BadCredentialsException("Cannot delete category with subcategories. Please delete subcategories first.");
         }
 
-        // Soft delete
+        // Soft delete - closure satırları kalır, okuyan sorgular kategori durumunu kontrol eder
         category.setStatus(EntityStatus.DELETED);
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent("category deleted: " + id));
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("category deleted: " + id));
 
         logger.info("Category deleted successfully with id: " + id);
     }
@@ -228,43 +262,43 @@ public class CategoryService {
 
         Category restoredCategory = categoryRepository.save(category);
         logger.info("Category restored successfully with id: " + id);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent("category restored: " + id));
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("category restored: " + id));
 
         return mapToResponse(restoredCategory);
     }
 
+    // Kategori ağacı - bellekteki snapshot'tan, veritabanına gitmeden
     public List<CategoryTreeResponse> getCategoryTree(int maxDepth) {
-        List<Category> roots = categoryRepository.findByParentCategoryIsNullAndStatusOrderByNameAsc(EntityStatus.ACTIVE);
+        CategoryTreeSnapshot snapshot = categoryTreeSnapshotCache.getSnapshot();
         Language language = localizationService.getCurrentLanguage();
         boolean includeTranslations = canViewTranslations();
 
-        return roots.stream()
-                .map(root -> buildTreeNode(root, 1, maxDepth, language, includeTranslations))
+        return snapshot.getRoots().stream()
+                .map(root -> buildTreeNode(snapshot, root, 1, maxDepth, language, includeTranslations))
                 .collect(Collectors.toList());
     }
 
-    private CategoryTreeResponse buildTreeNode(Category category, int currentDepth, int maxDepth,
+    private CategoryTreeResponse buildTreeNode(CategoryTreeSnapshot snapshot, CategoryTreeSnapshot.Node category,
+                                               int currentDepth, int maxDepth,
                                                Language language, boolean includeTranslations) {
-        // Repository'den alt kategorileri çek
-        List<Category> directChildren = categoryRepository.findByParentCategoryIdAndStatusOrderByNameAsc(
-                category.getId(), EntityStatus.ACTIVE);
+        List<CategoryTreeSnapshot.Node> directChildren = snapshot.getChildren(category.getId());
 
         List<CategoryTreeResponse> children = null;
 
         if (currentDepth < maxDepth && !directChildren.isEmpty()) {
             children = directChildren.stream()
-                    .map(child -> buildTreeNode(child, currentDepth + 1, maxDepth, language, includeTranslations))
+                    .map(child -> buildTreeNode(snapshot, child, currentDepth + 1, maxDepth, language, includeTranslations))
                     .collect(Collectors.toList());
         }
 
         boolean hasChildren = !directChildren.isEmpty();
 
         // Parent bilgilerini set et
-        Long parentId = category.getParentCategory() != null ?
-                category.getParentCategory().getId() : null;
-        String parentName = category.getParentCategory() != null ?
-                category.getParentCategory().getLocalizedName(language) : null;
-        String parentNameEn = includeTranslations && category.getParentCategory() != null ?
-                category.getParentCategory().getNameEn() : null;
+        CategoryTreeSnapshot.Node parent = category.getParentId() != null ?
+                snapshot.find(category.getParentId()).orElse(null) : null;
+        String parentName = parent != null ? parent.getLocalizedName(language) : null;
+        String parentNameEn = includeTranslations && parent != null ? parent.getNameEn() : null;
 
         return new CategoryTreeResponse(
                 category.getId(),
@@ -272,7 +306,7 @@ public class CategoryService {
                 includeTranslations ? category.getNameEn() : null,
                 category.getLocalizedDescription(language),
                 includeTranslations ? category.getDescriptionEn() : null,
-                parentId,
+                category.getParentId(),
                 parentName,
                 parentNameEn,
                 hasChildren,
@@ -280,6 +314,25 @@ public class CategoryService {
         );
     }
 
+    /**
+     * category_closure tablosunu doğrular: her kategorinin kendi satırı yoksa (ilk kurulum, dışarıdan eklenen
+     * kategori) tablo parent_id'lerden baştan üretilir.
+     */
+    @Transactional
+    public void ensureCategoryClosure() {
+        long categoryCount = categoryRepository.count();
+        long closureCount = categoryClosureRepository.countByDepth(0);
+        if (categoryCount == closureCount) {
+            logger.info("Category closure is consistent: " + closureCount + " categories");
+            return;
+        }
+
+        logger.warning("Category closure out of sync (" + closureCount + "/" + categoryCount + ") - rebuilding");
+        categoryClosureRepository.deleteAllRows();
+        int rows = categoryClosureRepository.insertAllFromParentLinks();
+        logger.info("Category closure rebuilt with " + rows + " rows");
+    }
+
     private CategorySummary mapToSummary(Category category) {
         Language language = localizationService.getCurrentLanguage();
         boolean includeTranslations = canViewTranslations();
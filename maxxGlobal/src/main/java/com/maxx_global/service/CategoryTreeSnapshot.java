@@ -0,0 +1,179 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.Language;
+
+import java.util.*;
+
+/**
+ * Aktif kategori ağacının değişmez, sürümlü kopyası.
+ * Ağaç render'ı, alt kategori ID'leri ve leaf kontrolü veritabanına gitmeden buradan cevaplanır.
+ * Kardeş kategoriler snapshot'a verilen sırayı (isme göre) korur. Üst kategorisi aktif olmayan kategoriler
+ * ID ile bulunabilir ama root'lardan erişilemez (eski recursive sorgularla aynı davranış).
+ */
+public final class CategoryTreeSnapshot {
+
+    public static final class Node {
+
+        private final long id;
+        private final Long parentId;
+        private final String name;
+        private final String nameEn;
+        private final String description;
+        private final String descriptionEn;
+
+        private Node(long id, Long parentId, String name, String nameEn, String description, String descriptionEn) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.nameEn = nameEn;
+            this.description = description;
+            this.descriptionEn = descriptionEn;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getNameEn() {
+            return nameEn;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getDescriptionEn() {
+            return descriptionEn;
+        }
+
+        // Category.getLocalizedName ile aynı kural
+        public String getLocalizedName(Language language) {
+            if (language == Language.EN) {
+                return defaultIfBlank(nameEn, name);
+            }
+            return defaultIfBlank(name, nameEn);
+        }
+
+        public String getLocalizedDescription(Language language) {
+            if (language == Language.EN) {
+                return defaultIfBlank(descriptionEn, description);
+            }
+            return defaultIfBlank(description, descriptionEn);
+        }
+
+        private static String defaultIfBlank(String primary, String fallback) {
+            if (primary != null && !primary.isBlank()) {
+                return primary;
+            }
+            return fallback;
+        }
+    }
+
+    private static final CategoryTreeSnapshot EMPTY = new CategoryTreeSnapshot(0, Map.of(), Map.of(), List.of());
+
+    private final long version;
+    private final Map<Long, Node> nodes;
+    private final Map<Long, List<Node>> childrenByParent;
+    private final List<Node> roots;
+
+    private CategoryTreeSnapshot(long version, Map<Long, Node> nodes,
+                                 Map<Long, List<Node>> childrenByParent, List<Node> roots) {
+        this.version = version;
+        this.nodes = nodes;
+        this.childrenByParent = childrenByParent;
+        this.roots = roots;
+    }
+
+    public static CategoryTreeSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static Node node(long id, Long parentId, String name, String nameEn,
+                            String description, String descriptionEn) {
+        return new Node(id, parentId, name, nameEn, description, descriptionEn);
+    }
+
+    /**
+     * @param orderedNodes aktif kategoriler, kardeşler arasında istenen sırada (ör. isme göre)
+     */
+    public static CategoryTreeSnapshot of(long version, List<Node> orderedNodes) {
+        Map<Long, Node> nodes = new HashMap<>();
+        Map<Long, List<Node>> childrenByParent = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+
+        for (Node node : orderedNodes) {
+            nodes.put(node.getId(), node);
+            if (node.getParentId() == null) {
+                roots.add(node);
+            } else {
+                childrenByParent.computeIfAbsent(node.getParentId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+        childrenByParent.replaceAll((parentId, children) -> List.copyOf(children));
+
+        return new CategoryTreeSnapshot(version, Map.copyOf(nodes), Map.copyOf(childrenByParent), List.copyOf(roots));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public Optional<Node> find(long categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Kategorinin aktif doğrudan alt kategorileri
+     */
+    public List<Node> getChildren(long categoryId) {
+        return childrenByParent.getOrDefault(categoryId, List.of());
+    }
+
+    public boolean isLeaf(long categoryId) {
+        return getChildren(categoryId).isEmpty();
+    }
+
+    /**
+     * Kategorinin tüm aktif alt kategori ID'leri (kendisi hariç), derinlik öncelikli sırada
+     */
+    public List<Long> getDescendantIds(long categoryId) {
+        List<Long> descendantIds = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        visited.add(categoryId);
+
+        Deque<Node> pending = new ArrayDeque<>();
+        pushChildren(pending, categoryId);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            // add() false ise kategori zaten işlendi (bozuk veride döngüye karşı koruma)
+            if (visited.add(node.getId())) {
+                descendantIds.add(node.getId());
+                pushChildren(pending, node.getId());
+            }
+        }
+        return descendantIds;
+    }
+
+    private void pushChildren(Deque<Node> pending, long categoryId) {
+        List<Node> children = getChildren(categoryId);
+        for (int i = children.size() - 1; i >= 0; i--) {
+            pending.push(children.get(i));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.repository.CategoryRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Kategori ağacı snapshot'ının sahibi.
+ * Snapshot tek bir projeksiyon sorgusuyla (aktif kategoriler, isme göre) derlenir; yeni snapshot hazır olana kadar
+ * okuyucular eskisini görmeye devam eder. Yeniden derleme CategoryTreeChangedEvent ile commit sonrasında tetiklenir,
+ * aynı anda gelen istekler tek derlemede birleşir.
+ */
+@Service
+public class CategoryTreeSnapshotCache {
+
+    private static final Logger logger = Logger.getLogger(CategoryTreeSnapshotCache.class.getName());
+
+    private final CategoryRepository categoryRepository;
+
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private long builtVersion = 0; // rebuildLock ile korunur
+    private volatile CategoryTreeSnapshot snapshot;
+
+    public CategoryTreeSnapshotCache(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public CategoryTreeSnapshot getSnapshot() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Snapshot'ı yeniden derler. Bu çağrıdan sonra başlamış bir derleme zaten bittiyse tekrar derlemez.
+     */
+    public void rebuild() {
+        long requested = requestedVersion.incrementAndGet();
+        synchronized (rebuildLock) {
+            if (builtVersion >= requested) {
+                return;
+            }
+            long target = requestedVersion.get();
+            snapshot = build(target);
+            builtVersion = target;
+        }
+    }
+
+    private CategoryTreeSnapshot build(long version) {
+        long started = System.currentTimeMillis();
+
+        List<Object[]> rows = categoryRepository.findTreeRows(EntityStatus.ACTIVE);
+        List<CategoryTreeSnapshot.Node> nodes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            nodes.add(CategoryTreeSnapshot.node(
+                    (Long) row[0],
+                    (Long) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    (String) row[5]
+            ));
+        }
+
+        CategoryTreeSnapshot built = CategoryTreeSnapshot.of(version, nodes);
+        logger.info("🌳 Category tree snapshot v" + version + " built: " + built.size() + " categories in " +
+                (System.currentTimeMillis() - started) + " ms");
+        return built;
+    }
+}
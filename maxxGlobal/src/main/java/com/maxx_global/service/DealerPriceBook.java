@@ -0,0 +1,175 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.CurrencyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bir bayinin değişmez fiyat defteri.
+ * Fiyatlar para birimi bazında sıralı long[] varyant/ürün ID dizilerinde tutulur ve binary search ile bulunur;
+ * böylece bayi başına binlerce fiyat için kutulanmış Long anahtarlı map'ler oluşturulmaz.
+ * Geçerlilik tarihleri sorgu anında kontrol edilir, bu yüzden süresi dolan fiyatlar defteri yenilemeye gerek bırakmaz.
+ */
+public final class DealerPriceBook {
+
+    /**
+     * Defterdeki tek fiyat satırı (ProductPrice'ın salt-okunur özeti)
+     */
+    public record Price(long priceId,
+                        long variantId,
+                        long productId,
+                        CurrencyType currency,
+                        BigDecimal amount,
+                        LocalDateTime validFrom,
+                        LocalDateTime validUntil,
+                        boolean defaultVariant) {
+
+        // ProductPrice.isValidNow() ile aynı kural
+        public boolean isValidAt(LocalDateTime time) {
+            return (validFrom == null || !validFrom.isAfter(time)) &&
+                    (validUntil == null || validUntil.isAfter(time));
+        }
+
+        public boolean isValidNow() {
+            return isValidAt(LocalDateTime.now());
+        }
+    }
+
+    private final Long dealerId;
+    private final long[] priceIds;
+    private final Price[] pricesById;
+    private final Map<CurrencyType, CurrencySection> sections;
+
+    private DealerPriceBook(Long dealerId, long[] priceIds, Price[] pricesById, Map<CurrencyType, CurrencySection> sections) {
+        this.dealerId = dealerId;
+        this.priceIds = priceIds;
+        this.pricesById = pricesById;
+        this.sections = sections;
+    }
+
+    public static DealerPriceBook of(Long dealerId, List<Price> prices) {
+        Price[] sortedById = prices.toArray(new Price[0]);
+        Arrays.sort(sortedById, Comparator.comparingLong(Price::priceId));
+
+        long[] ids = new long[sortedById.length];
+        for (int i = 0; i < sortedById.length; i++) {
+            ids[i] = sortedById[i].priceId();
+        }
+
+        Map<CurrencyType, List<Price>> byCurrency = new EnumMap<>(CurrencyType.class);
+        for (Price price : prices) {
+            byCurrency.computeIfAbsent(price.currency(), c -> new ArrayList<>()).add(price);
+        }
+
+        Map<CurrencyType, CurrencySection> sections = new EnumMap<>(CurrencyType.class);
+        byCurrency.forEach((currency, currencyPrices) -> sections.put(currency, CurrencySection.of(currencyPrices)));
+
+        return new DealerPriceBook(dealerId, ids, sortedById, sections);
+    }
+
+    public Long getDealerId() {
+        return dealerId;
+    }
+
+    public int size() {
+        return pricesById.length;
+    }
+
+    /**
+     * Fiyat ID'si ile bul (geçerlilik kontrolü yapılmaz)
+     */
+    public Optional<Price> findByPriceId(long priceId) {
+        int index = Arrays.binarySearch(priceIds, priceId);
+        return index >= 0 ? Optional.of(pricesById[index]) : Optional.empty();
+    }
+
+    /**
+     * Varyantın bu para birimindeki geçerli fiyatı
+     */
+    public Optional<Price> findValidPrice(long variantId, CurrencyType currency, LocalDateTime time) {
+        CurrencySection section = sections.get(currency);
+        if (section == null) {
+            return Optional.empty();
+        }
+        int index = Arrays.binarySearch(section.variantIds, variantId);
+        if (index < 0 || !section.pricesByVariant[index].isValidAt(time)) {
+            return Optional.empty();
+        }
+        return Optional.of(section.pricesByVariant[index]);
+    }
+
+    /**
+     * Ürünün liste fiyatı: önce default varyantın, yoksa en küçük ID'li varyantın geçerli fiyatı
+     */
+    public Optional<Price> findValidProductPrice(long productId, CurrencyType currency, LocalDateTime time) {
+        CurrencySection section = sections.get(currency);
+        if (section == null) {
+            return Optional.empty();
+        }
+        int index = Arrays.binarySearch(section.productIds, productId);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        for (Price price : section.pricesByProduct[index]) {
+            if (price.isValidAt(time)) {
+                return Optional.of(price);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tek para birimine ait fiyatlar: varyant ID'sine ve ürün ID'sine göre sıralı diziler
+     */
+    private static final class CurrencySection {
+
+        private static final Comparator<Price> PRODUCT_PREFERENCE = Comparator
+                .comparingLong(Price::productId)
+                .thenComparing(Price::defaultVariant, Comparator.reverseOrder())
+                .thenComparingLong(Price::variantId);
+
+        private final long[] variantIds;
+        private final Price[] pricesByVariant;
+        private final long[] productIds;
+        private final Price[][] pricesByProduct;
+
+        private CurrencySection(long[] variantIds, Price[] pricesByVariant, long[] productIds, Price[][] pricesByProduct) {
+            this.variantIds = variantIds;
+            this.pricesByVariant = pricesByVariant;
+            this.productIds = productIds;
+            this.pricesByProduct = pricesByProduct;
+        }
+
+        private static CurrencySection of(List<Price> prices) {
+            Price[] byVariant = prices.toArray(new Price[0]);
+            Arrays.sort(byVariant, Comparator.comparingLong(Price::variantId));
+            long[] variantIds = new long[byVariant.length];
+            for (int i = 0; i < byVariant.length; i++) {
+                variantIds[i] = byVariant[i].variantId();
+            }
+
+            Price[] byProduct = prices.toArray(new Price[0]);
+            Arrays.sort(byProduct, PRODUCT_PREFERENCE);
+
+            List<Long> productIdList = new ArrayList<>();
+            List<Price[]> groups = new ArrayList<>();
+            int groupStart = 0;
+            for (int i = 1; i <= byProduct.length; i++) {
+                if (i == byProduct.length || byProduct[i].productId() != byProduct[groupStart].productId()) {
+                    productIdList.add(byProduct[groupStart].productId());
+                    groups.add(Arrays.copyOfRange(byProduct, groupStart, i));
+                    groupStart = i;
+                }
+            }
+
+            long[] productIds = new long[productIdList.size()];
+            for (int i = 0; i < productIds.length; i++) {
+                productIds[i] = productIdList.get(i);
+            }
+
+            return new CurrencySection(variantIds, byVariant, productIds, groups.toArray(new Price[0][]));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.maxx_global.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.repository.ProductPriceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Bayi bazlı fiyat defteri cache'i.
+ * Defter ilk istekte tek sorguyla yüklenir; fiyat yazan servisler commit sonrası
+ * ProductPriceChangedEvent ile ilgili bayinin defterini düşürür.
+ * Hit/miss/eviction istatistikleri actuator metrics altında "cache.*{cache=dealerPriceBook}" olarak yayınlanır.
+ */
+@Service
+public class DealerPriceBookCache {
+
+    private static final Logger logger = Logger.getLogger(DealerPriceBookCache.class.getName());
+
+    public static final String CACHE_NAME = "dealerPriceBook";
+
+    private final ProductPriceRepository productPriceRepository;
+    private final LoadingCache<Long, DealerPriceBook> priceBooks;
+
+    public DealerPriceBookCache(ProductPriceRepository productPriceRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.pricing.price-book.maximum-dealers:1000}") long maximumDealers,
+                                @Value("${app.pricing.price-book.expire-after-access-minutes:360}") long expireAfterAccessMinutes) {
+        this.productPriceRepository = productPriceRepository;
+        // Süre sınırı sadece emniyet içindir (DB'ye doğrudan yapılan değişiklikler); asıl invalidation event ile yapılır
+        this.priceBooks = Caffeine.newBuilder()
+                .maximumSize(maximumDealers)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, priceBooks, CACHE_NAME);
+    }
+
+    public DealerPriceBook getPriceBook(Long dealerId) {
+        return priceBooks.get(dealerId);
+    }
+
+    public void evict(Collection<Long> dealerIds) {
+        priceBooks.invalidateAll(dealerIds);
+        logger.fine("Price books evicted for dealers: " + dealerIds);
+    }
+
+    public void evictAll() {
+        priceBooks.invalidateAll();
+    }
+
+    private DealerPriceBook load(Long dealerId) {
+        List<Object[]> rows = productPriceRepository.findPriceBookRows(dealerId, EntityStatus.ACTIVE);
+
+        List<DealerPriceBook.Price> prices = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            prices.add(new DealerPriceBook.Price(
+                    (Long) row[0],
+                    (Long) row[1],
+                    (Long) row[2],
+                    (CurrencyType) row[3],
+                    (BigDecimal) row[4],
+                    (LocalDateTime) row[5],
+                    (LocalDateTime) row[6],
+                    Boolean.TRUE.equals(row[7])
+            ));
+        }
+
+        logger.info("📒 Price book loaded for dealer " + dealerId + ": " + prices.size() + " prices");
+        return DealerPriceBook.of(dealerId, prices);
+    }
+}
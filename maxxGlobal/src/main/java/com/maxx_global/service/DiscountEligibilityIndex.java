@@ -0,0 +1,177 @@
+package com.maxx_global.service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Aktif indirimlerin derlenmiş, değişmez uygunluk indeksi.
+ * Her indirim için uygun varyant ID'leri sıralı long[] olarak (kategori kapsamı açılmış halde),
+ * uygun bayiler BitSet olarak tutulur; sipariş hesabı ve listeleme sırasında entity yüklenmeden
+ * binary search ve bit kontrolüyle karar verilir.
+ * Geçerlilik tarihleri sorgu anında kontrol edilir, bu yüzden süresi dolan indirimler indeksi yenilemeye gerek bırakmaz.
+ */
+public final class DiscountEligibilityIndex {
+
+    /**
+     * Tek indirimin uygunluk kuralı. Varyant dizisi null ise indirim tüm varyantlara,
+     * bayi bitmap'i null ise tüm bayilere uygulanır.
+     */
+    public static final class Eligibility {
+
+        private final long discountId;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final long[] variantIds;
+        private final BitSet dealers;
+
+        private Eligibility(long discountId, LocalDateTime startDate, LocalDateTime endDate,
+                            long[] variantIds, BitSet dealers) {
+            this.discountId = discountId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.variantIds = variantIds;
+            this.dealers = dealers;
+        }
+
+        public long getDiscountId() {
+            return discountId;
+        }
+
+        public boolean isVariantRestricted() {
+            return variantIds != null;
+        }
+
+        public boolean isDealerRestricted() {
+            return dealers != null;
+        }
+
+        public boolean appliesToVariant(long variantId) {
+            return variantIds == null || Arrays.binarySearch(variantIds, variantId) >= 0;
+        }
+
+        public boolean appliesToDealer(long dealerId) {
+            if (dealers == null) {
+                return true;
+            }
+            return dealerId >= 0 && dealerId <= Integer.MAX_VALUE && dealers.get((int) dealerId);
+        }
+
+        // Discount sorgularındaki kuralla aynı: startDate <= now <= endDate
+        public boolean isValidAt(LocalDateTime time) {
+            return !startDate.isAfter(time) && !endDate.isBefore(time);
+        }
+
+        /**
+         * Verilen varyantlardan indirime uygun olanlar (kesişim). Kısıtsız indirimde tümü döner.
+         */
+        public long[] intersectVariants(long[] candidateVariantIds) {
+            if (variantIds == null) {
+                return candidateVariantIds.clone();
+            }
+            return Arrays.stream(candidateVariantIds)
+                    .filter(id -> Arrays.binarySearch(variantIds, id) >= 0)
+                    .toArray();
+        }
+
+        /**
+         * Uygun varyant ID'leri (sıralı); kısıtsız indirimde null
+         */
+        public long[] getEligibleVariantIds() {
+            return variantIds != null ? variantIds.clone() : null;
+        }
+
+        public int getEligibleVariantCount() {
+            return variantIds != null ? variantIds.length : -1;
+        }
+    }
+
+    private static final DiscountEligibilityIndex EMPTY = new DiscountEligibilityIndex(new long[0], new Eligibility[0]);
+
+    private final long[] discountIds;
+    private final Eligibility[] eligibilities;
+
+    private DiscountEligibilityIndex(long[] discountIds, Eligibility[] eligibilities) {
+        this.discountIds = discountIds;
+        this.eligibilities = eligibilities;
+    }
+
+    public static DiscountEligibilityIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * İndirim kuralından uygunluk kaydı oluşturur.
+     *
+     * @param variantIds indirimin kapsadığı varyantlar (doğrudan seçilenler + kategori kapsamından gelenler)
+     * @param variantRestricted indirimde varyant veya kategori kısıtı var mı (yoksa variantIds yok sayılır)
+     * @param dealerIds indirimin kısıtlı olduğu bayiler; boşsa tüm bayiler
+     */
+    public static Eligibility eligibility(long discountId, LocalDateTime startDate, LocalDateTime endDate,
+                                          Collection<Long> variantIds, boolean variantRestricted,
+                                          Collection<Long> dealerIds) {
+        long[] variants = null;
+        if (variantRestricted) {
+            variants = variantIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        }
+
+        BitSet dealers = null;
+        if (!dealerIds.isEmpty()) {
+            dealers = new BitSet();
+            for (Long dealerId : dealerIds) {
+                dealers.set(Math.toIntExact(dealerId));
+            }
+        }
+
+        return new Eligibility(discountId, startDate, endDate, variants, dealers);
+    }
+
+    public static DiscountEligibilityIndex of(List<Eligibility> eligibilities) {
+        Eligibility[] sorted = eligibilities.toArray(new Eligibility[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(Eligibility::getDiscountId));
+
+        long[] ids = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].getDiscountId();
+        }
+        return new DiscountEligibilityIndex(ids, sorted);
+    }
+
+    public int size() {
+        return eligibilities.length;
+    }
+
+    /**
+     * İndirimin uygunluk kaydı; indirim indekste yoksa (pasif, silinmiş ya da henüz derlenmemiş) boş
+     */
+    public Optional<Eligibility> find(long discountId) {
+        int index = Arrays.binarySearch(discountIds, discountId);
+        return index >= 0 ? Optional.of(eligibilities[index]) : Optional.empty();
+    }
+
+    /**
+     * Varyant ve bayi için şu an geçerli indirim ID'leri
+     */
+    public List<Long> findDiscountIds(long variantId, long dealerId, LocalDateTime time) {
+        List<Long> result = new ArrayList<>();
+        for (Eligibility eligibility : eligibilities) {
+            if (eligibility.isValidAt(time) && eligibility.appliesToDealer(dealerId)
+                    && eligibility.appliesToVariant(variantId)) {
+                result.add(eligibility.getDiscountId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bayi için şu an geçerli indirim ID'leri (varyant kısıtına bakılmaz)
+     */
+    public List<Long> findDiscountIdsForDealer(long dealerId, LocalDateTime time) {
+        List<Long> result = new ArrayList<>();
+        for (Eligibility eligibility : eligibilities) {
+            if (eligibility.isValidAt(time) && eligibility.appliesToDealer(dealerId)) {
+                result.add(eligibility.getDiscountId());
+            }
+        }
+        return result;
+    }
+}
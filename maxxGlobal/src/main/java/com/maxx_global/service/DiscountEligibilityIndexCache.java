@@ -0,0 +1,147 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.repository.DiscountRepository;
+import com.maxx_global.repository.ProductVariantRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Derlenmiş indirim uygunluk indeksinin sahibi.
+ * İndeks birkaç projeksiyon sorgusuyla (indirim kuralları, category_closure üzerinden kategori alt ağaçlarındaki
+ * varyant ID'leri) derlenir; ürün/varyant entity'leri yüklenmez. Yeni indeks hazır olana kadar okuyucular eski indeksi görmeye devam eder.
+ * Yeniden derleme DiscountEligibilityChangedEvent ile arka planda tetiklenir; aynı anda gelen istekler tek derlemede birleşir.
+ * Okuyucular yalnızca indeks eskimişse (invalidate sonrası) derleme tetikler; bulunamayan indirim tek başına derleme başlatmaz.
+ */
+@Service
+public class DiscountEligibilityIndexCache {
+
+    private static final Logger logger = Logger.getLogger(DiscountEligibilityIndexCache.class.getName());
+
+    private final DiscountRepository discountRepository;
+    private final ProductVariantRepository productVariantRepository;
+
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private volatile long builtVersion = 0; // rebuildLock altında yazılır
+    private volatile DiscountEligibilityIndex index;
+
+    public DiscountEligibilityIndexCache(DiscountRepository discountRepository,
+                                         ProductVariantRepository productVariantRepository) {
+        this.discountRepository = discountRepository;
+        this.productVariantRepository = productVariantRepository;
+    }
+
+    /**
+     * Güncel indeks. Commit edilmiş bir değişiklik henüz derlenmediyse (arka plan derlemesi sürüyor veya
+     * kuyrukta) derleme çağıran thread'de yapılır; aynı anda bekleyen okuyucular tek derlemeyi paylaşır.
+     * Böylece sipariş fiyatlaması daraltılmış kapsam veya değişmiş tarih aralığını eski haliyle görmez.
+     */
+    public DiscountEligibilityIndex getIndex() {
+        if (index == null) {
+            rebuild();
+        } else if (isStale()) {
+            rebuildIfOlderThan(requestedVersion.get());
+        }
+        return index;
+    }
+
+    /**
+     * İndirimin uygunluk kaydı. İndeks güncelse kaydın olmaması indirimin pasif, silinmiş veya var olmadığı
+     * anlamına gelir; bu durumda bir sonraki geçersiz kılmaya kadar derleme tetiklenmez.
+     */
+    public Optional<DiscountEligibilityIndex.Eligibility> findEligibility(Long discountId) {
+        return getIndex().find(discountId);
+    }
+
+    /**
+     * İndeksi eskimiş olarak işaretler; derlemeyi çağıran taraf (olay dinleyicisi veya indeksi kaçıran okuyucu) yapar
+     */
+    public void invalidate() {
+        requestedVersion.incrementAndGet();
+    }
+
+    /**
+     * İndeksi yeniden derler. Bu çağrıdan sonra başlamış bir derleme zaten bittiyse tekrar derlemez.
+     */
+    public void rebuild() {
+        rebuildIfOlderThan(requestedVersion.incrementAndGet());
+    }
+
+    private boolean isStale() {
+        return builtVersion < requestedVersion.get();
+    }
+
+    private void rebuildIfOlderThan(long requested) {
+        synchronized (rebuildLock) {
+            if (builtVersion >= requested) {
+                return;
+            }
+            long target = requestedVersion.get();
+            index = build();
+            builtVersion = target;
+        }
+    }
+
+    private DiscountEligibilityIndex build() {
+        long started = System.currentTimeMillis();
+
+        Map<Long, Set<Long>> variantsByDiscount = groupLinks(
+                discountRepository.findEligibilityVariantLinks(EntityStatus.ACTIVE));
+        Map<Long, Set<Long>> dealersByDiscount = groupLinks(
+                discountRepository.findEligibilityDealerLinks(EntityStatus.ACTIVE));
+        Map<Long, Set<Long>> categoriesByDiscount = groupLinks(
+                discountRepository.findEligibilityCategoryLinks(EntityStatus.ACTIVE));
+
+        // Kategori kapsamı: seçilen kategori ve tüm alt kategorileri (closure tablosu ile tek sorgu)
+        Map<Long, Set<Long>> variantsByCategory = new HashMap<>();
+        Set<Long> allCategoryIds = new HashSet<>();
+        categoriesByDiscount.values().forEach(allCategoryIds::addAll);
+        if (!allCategoryIds.isEmpty()) {
+            variantsByCategory = groupLinks(
+                    productVariantRepository.findIdsByProductCategorySubtreeIn(allCategoryIds, EntityStatus.ACTIVE), 1, 0);
+        }
+
+        List<DiscountEligibilityIndex.Eligibility> eligibilities = new ArrayList<>();
+        for (Object[] row : discountRepository.findEligibilityHeaders(EntityStatus.ACTIVE)) {
+            Long discountId = (Long) row[0];
+
+            Set<Long> variantIds = new HashSet<>(variantsByDiscount.getOrDefault(discountId, Set.of()));
+            Set<Long> categoryIds = categoriesByDiscount.getOrDefault(discountId, Set.of());
+            for (Long categoryId : categoryIds) {
+                variantIds.addAll(variantsByCategory.getOrDefault(categoryId, Set.of()));
+            }
+
+            boolean variantRestricted = variantsByDiscount.containsKey(discountId) || !categoryIds.isEmpty();
+            eligibilities.add(DiscountEligibilityIndex.eligibility(
+                    discountId,
+                    (LocalDateTime) row[1],
+                    (LocalDateTime) row[2],
+                    variantIds,
+                    variantRestricted,
+                    dealersByDiscount.getOrDefault(discountId, Set.of())
+            ));
+        }
+
+        DiscountEligibilityIndex built = DiscountEligibilityIndex.of(eligibilities);
+        logger.info("🏷️ Discount eligibility index built: " + built.size() + " discounts in " +
+                (System.currentTimeMillis() - started) + " ms");
+        return built;
+    }
+
+    private static Map<Long, Set<Long>> groupLinks(List<Object[]> rows) {
+        return groupLinks(rows, 0, 1);
+    }
+
+    private static Map<Long, Set<Long>> groupLinks(List<Object[]> rows, int keyIndex, int valueIndex) {
+        Map<Long, Set<Long>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[keyIndex], id -> new HashSet<>()).add((Long) row[valueIndex]);
+        }
+        return grouped;
+    }
+}
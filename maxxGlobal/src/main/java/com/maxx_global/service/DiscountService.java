@@ -7,7 +7,9 @@ import com.maxx_global.enums.DiscountType;
 import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
 import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.dto.productVariant.ProductVariantSummary;
 import com.maxx_global.event.DiscountCreatedEvent;
+import com.maxx_global.event.DiscountEligibilityChangedEvent;
 import com.maxx_global.event.DiscountUpdatedEvent;
 import com.maxx_global.repository.DiscountRepository;
 import com.maxx_global.repository.DiscountUsageRepository;
@@ -49,6 +51,10 @@ public class DiscountService {
     private final ProductService productService;
     private final DealerService dealerService;
     private final ProductVariantRepository productVariantRepository;
+    private final DiscountEligibilityIndexCache discountEligibilityIndexCache;
+
+    // Varyant özetleri IN listesi bu boyutta parçalanarak yüklenir
+    private static final int VARIANT_SUMMARY_CHUNK_SIZE = 1000;
 
     private static final List<OrderStatus> VALID_USAGE_STATUSES = Arrays.asList(
             OrderStatus.COMPLETED,
@@ -65,7 +71,8 @@ public class DiscountService {
                            LocalizationService localizationService,
                            ProductService productService,
                            DealerService dealerService,
-                           ProductVariantRepository productVariantRepository) {
+                           ProductVariantRepository productVariantRepository,
+                           DiscountEligibilityIndexCache discountEligibilityIndexCache) {
         this.discountRepository = discountRepository;
         this.discountMapper = discountMapper;
         this.orderRepository = orderRepository;
@@ -76,6 +83,7 @@ public class DiscountService {
         this.productService = productService;
         this.dealerService = dealerService;
         this.productVariantRepository = productVariantRepository;
+        this.discountEligibilityIndexCache = discountEligibilityIndexCache;
     }
 
     // ==================== READ İŞLEMLERİ ====================
@@ -171,8 +179,11 @@ public class DiscountService {
         // Dealer kontrolü
         dealerService.getDealerById(dealerId);
 
-        List<Discount> discounts = discountRepository.findValidDiscountsForDealer(
-                dealerId, EntityStatus.ACTIVE, LocalDateTime.now());
+        // Aday indirimler derlenmiş uygunluk indeksinden (bayi bitmap'i + geçerlilik tarihi)
+        DiscountEligibilityIndex index = discountEligibilityIndexCache.getIndex();
+        List<Long> candidateIds = index.findDiscountIdsForDealer(dealerId, LocalDateTime.now());
+        List<Discount> discounts = candidateIds.isEmpty() ? List.of() :
+                discountRepository.findByIdInOrderByDiscountValueDesc(candidateIds);
 
         logger.info("Found " + discounts.size() + " discounts for dealer " + dealerId);
 
@@ -201,46 +212,53 @@ public class DiscountService {
                     }
                     return canUse;
                 })
-                .map(discount -> {
-                    // ✅ YENİ: Kategori bazlı indirimlere ürünleri yükle
-                    enrichDiscountWithCategoryVariants(discount);
-                    return toLocalizedDiscountResponse(discount);
-                })
+                .map(discount -> toLocalizedDiscountResponse(discount, resolveCategoryVariants(discount, index)))
                 .collect(Collectors.toList());
     }
 
-    // ✅ YENİ METHOD: Kategori bazlı indirimlere ürünleri yükle
-    private void enrichDiscountWithCategoryVariants(Discount discount) {
-        // Eğer kategori bazlı indirim ise ve applicableVariants boş ise
-        if (discount.isCategoryBasedDiscount() &&
-                (discount.getApplicableVariants() == null || discount.getApplicableVariants().isEmpty()) &&
-                discount.getApplicableCategories() != null && !discount.getApplicableCategories().isEmpty()) {
-
-            logger.info("Loading variants for category-based discount: " + discount.getName());
-
-            Set<ProductVariant> categoryVariants = new HashSet<>();
+    /**
+     * Kategori bazlı indirimin kapsadığı varyantların özetleri (yanıt için).
+     * Varyant ID'leri indeksten gelir, özetler projeksiyon sorgusuyla (1000'lik parçalar) yüklenir; ürün entity'leri yüklenmez.
+     * Kategori bazlı değilse null döner (entity'deki varyant listesi kullanılır).
+     */
+    private List<ProductVariantSummary> resolveCategoryVariants(Discount discount, DiscountEligibilityIndex index) {
+        if (!discount.isCategoryBasedDiscount() ||
+                (discount.getApplicableVariants() != null && !discount.getApplicableVariants().isEmpty()) ||
+                discount.getApplicableCategories() == null || discount.getApplicableCategories().isEmpty()) {
+            return null;
+        }
 
-            // Her kategori için ürünleri getir
-            for (Category category : discount.getApplicableCategories()) {
-                try {
-                    // ProductService'den kategoriyle ilgili ürünleri getir
-                    List<Product> products = productService.getProductsByCategory(category.getId());
-                    products.stream()
-                            .filter(Objects::nonNull)
-                            .filter(product -> product.getVariants() != null)
-                            .forEach(product -> categoryVariants.addAll(product.getVariants()));
+        long[] variantIds = index.find(discount.getId())
+                .map(DiscountEligibilityIndex.Eligibility::getEligibleVariantIds)
+                .orElse(null);
+        if (variantIds == null || variantIds.length == 0) {
+            return List.of();
+        }
 
-                    logger.info("Added " + categoryVariants.size() + " variants from category: " + category.getName());
-                } catch (Exception e) {
-                    logger.warning("Failed to load products for category " + category.getId() + ": " + e.getMessage());
-                }
+        List<ProductVariantSummary> summaries = new ArrayList<>(variantIds.length);
+        for (int start = 0; start < variantIds.length; start += VARIANT_SUMMARY_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(variantIds, start, Math.min(start + VARIANT_SUMMARY_CHUNK_SIZE, variantIds.length))
+                    .boxed()
+                    .toList();
+            for (Object[] row : productVariantRepository.findSummaryRowsByIdIn(chunk)) {
+                String productName = (String) row[4];
+                String size = (String) row[2];
+                summaries.add(new ProductVariantSummary(
+                        (Long) row[0],
+                        (String) row[1],
+                        size,
+                        (Long) row[3],
+                        productName,
+                        // ProductVariant.getDisplayName() ile aynı biçim
+                        productName != null ? String.format("%s - %s", productName, size) : size,
+                        (Boolean) row[5],
+                        (Integer) row[6]
+                ));
             }
-
-            // Discount entity'sine varyantları set et (sadece response için)
-            discount.setApplicableVariants(categoryVariants);
-
-            logger.info("Total variants loaded for discount " + discount.getName() + ": " + categoryVariants.size());
         }
+
+        logger.info("Total variants resolved for category discount " + discount.getName() + ": " + summaries.size());
+        return summaries;
     }
 
 
@@ -338,6 +356,7 @@ public class DiscountService {
         validateDiscountConflicts(discount);
 
         Discount savedDiscount = discountRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("discount created: " + savedDiscount.getId()));
 
         // Event publish et
         try {
@@ -453,6 +472,7 @@ public class DiscountService {
         validateDiscountConflicts(existingDiscount, id);
 
         Discount updatedDiscount = discountRepository.save(existingDiscount);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("discount updated: " + id));
 
         // Update event publish et
         try {
@@ -595,6 +615,7 @@ public class DiscountService {
 
         discount.setStatus(EntityStatus.DELETED);
         discountRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("discount deleted: " + id));
 
         logger.info("Discount deleted successfully");
     }
@@ -608,6 +629,7 @@ public class DiscountService {
 
         discount.setStatus(EntityStatus.ACTIVE);
         Discount restoredDiscount = discountRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("discount restored: " + id));
 
         return discountMapper.toDto(restoredDiscount);
     }
@@ -860,8 +882,13 @@ public class DiscountService {
     }
 
     private List<Discount> getAvailableDiscounts(DiscountCalculationRequest request) {
-        List<Discount> discounts = discountRepository.findValidDiscountsForVariantAndDealer(
-                request.variantId(), request.dealerId(), EntityStatus.ACTIVE);
+        // Varyant ve bayi kesişimi derlenmiş indeks üzerinde (kategori kapsamı dahil)
+        List<Long> candidateIds = discountEligibilityIndexCache.getIndex()
+                .findDiscountIds(request.variantId(), request.dealerId(), LocalDateTime.now());
+        if (candidateIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Discount> discounts = discountRepository.findByIdInOrderByDiscountValueDesc(candidateIds);
 
         // Usage limit kontrolü
         discounts = discounts.stream()
@@ -977,6 +1004,13 @@ public class DiscountService {
     }
 
     private DiscountResponse toLocalizedDiscountResponse(Discount discount) {
+        return toLocalizedDiscountResponse(discount, null);
+    }
+
+    /**
+     * @param applicableVariants null değilse entity'deki varyant listesi yerine yanıtta kullanılır
+     */
+    private DiscountResponse toLocalizedDiscountResponse(Discount discount, List<ProductVariantSummary> applicableVariants) {
         DiscountResponse base = discountMapper.toDto(discount);
         Language language = localizationService.getCurrentLanguage();
 
@@ -1006,7 +1040,7 @@ public class DiscountService {
                 base.autoApply(),
                 base.priority(),
                 base.stackable(),
-                base.applicableVariants(),
+                applicableVariants != null ? applicableVariants : base.applicableVariants(),
                 base.applicableDealers(),
                 localizedCategories,
                 base.createdAt(),
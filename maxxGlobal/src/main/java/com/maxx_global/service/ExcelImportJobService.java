@@ -0,0 +1,394 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.excelImport.ExcelImportJobErrorResponse;
+import com.maxx_global.dto.excelImport.ExcelImportJobResponse;
+import com.maxx_global.dto.productExcel.ExcelProductData;
+import com.maxx_global.dto.productExcel.ProductImportChunkResult;
+import com.maxx_global.dto.productExcel.ProductImportError;
+import com.maxx_global.dto.productPriceExcell.PriceImportChunkResult;
+import com.maxx_global.dto.productPriceExcell.PriceImportRow;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.ExcelImportJob;
+import com.maxx_global.entity.ExcelImportJobError;
+import com.maxx_global.enums.ExcelImportJobStatus;
+import com.maxx_global.enums.ExcelImportType;
+import com.maxx_global.event.ExcelImportJobSubmittedEvent;
+import com.maxx_global.repository.AppUserRepository;
+import com.maxx_global.repository.ExcelImportJobErrorRepository;
+import com.maxx_global.repository.ExcelImportJobRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Arka plan Excel import job'larının kaydı ve durum geçişleri.
+ * Yüklenen dosya diske yazılır, job kuyruğa alınır ve commit sonrası ExcelImportJobRunner tarafından işlenir.
+ * Her parça (app.excel.batch-size satır) kendi transaction'ında commit edilir; job sayaçları ve satır hataları
+ * parçayla aynı transaction'da güncellenir, böylece yarıda kalan job kaldığı parçadan devam ettirilebilir.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExcelImportJobService {
+
+    private static final Logger logger = Logger.getLogger(ExcelImportJobService.class.getName());
+
+    private final ExcelImportJobRepository excelImportJobRepository;
+    private final ExcelImportJobErrorRepository excelImportJobErrorRepository;
+    private final ProductExcelService productExcelService;
+    private final ProductPriceExcelService productPriceExcelService;
+    private final AppUserRepository appUserRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${app.excel.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.excel.import-dir:excel-imports}")
+    private String importDir;
+
+    public ExcelImportJobService(ExcelImportJobRepository excelImportJobRepository,
+                                 ExcelImportJobErrorRepository excelImportJobErrorRepository,
+                                 ProductExcelService productExcelService,
+                                 ProductPriceExcelService productPriceExcelService,
+                                 AppUserRepository appUserRepository,
+                                 ApplicationEventPublisher applicationEventPublisher) {
+        this.excelImportJobRepository = excelImportJobRepository;
+        this.excelImportJobErrorRepository = excelImportJobErrorRepository;
+        this.productExcelService = productExcelService;
+        this.productPriceExcelService = productPriceExcelService;
+        this.appUserRepository = appUserRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    // ==================== GÖNDERİM VE SORGULAMA ====================
+
+    /**
+     * Ürün import'unu kuyruğa al
+     */
+    @Transactional
+    public ExcelImportJobResponse submitProductImport(MultipartFile file, boolean updateExisting,
+                                                      boolean skipErrors, AppUser requestedBy) throws IOException {
+        ExcelImportJob job = createJob(ExcelImportType.PRODUCT, null, file, updateExisting, skipErrors, requestedBy);
+        logger.info("Product import job queued: " + job.getId() + " (" + job.getFileName() + ")");
+        return toResponse(job);
+    }
+
+    /**
+     * Bayi fiyat import'unu kuyruğa al
+     */
+    @Transactional
+    public ExcelImportJobResponse submitPriceImport(Long dealerId, MultipartFile file, boolean updateExisting,
+                                                    boolean skipErrors, AppUser requestedBy) throws IOException {
+        productPriceExcelService.validateDealer(dealerId);
+
+        ExcelImportJob job = createJob(ExcelImportType.PRICE, dealerId, file, updateExisting, skipErrors, requestedBy);
+        logger.info("Price import job queued: " + job.getId() + " for dealer " + dealerId);
+        return toResponse(job);
+    }
+
+    public ExcelImportJobResponse getJob(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    public Page<ExcelImportJobErrorResponse> getJobErrors(Long jobId, int page, int size) {
+        findJob(jobId);
+        return excelImportJobErrorRepository.findByJobIdOrderByRowNumberAsc(jobId, PageRequest.of(page, size))
+                .map(error -> new ExcelImportJobErrorResponse(
+                        error.getRowNumber(),
+                        error.getItemCode(),
+                        error.getMessage(),
+                        error.getRowData()
+                ));
+    }
+
+    /**
+     * Başarısız (veya kuyruk dolduğu için hiç başlamamış) job'ı commit edilmiş son parçadan devam ettir
+     */
+    @Transactional
+    public ExcelImportJobResponse resumeJob(Long jobId) {
+        ExcelImportJob job = findJob(jobId);
+
+        if (job.getJobStatus() != ExcelImportJobStatus.FAILED && job.getJobStatus() != ExcelImportJobStatus.QUEUED) {
+            throw new IllegalStateException("Sadece başarısız veya sırada bekleyen import job'ları devam ettirilebilir. Mevcut durum: " +
+                    job.getJobStatus().getDisplayName());
+        }
+        if (!Files.exists(Paths.get(job.getStoredFilePath()))) {
+            throw new IllegalStateException("Import dosyası artık mevcut değil, dosyayı yeniden yükleyin");
+        }
+
+        job.setJobStatus(ExcelImportJobStatus.QUEUED);
+        job.setFinishedAt(null);
+        ExcelImportJob savedJob = excelImportJobRepository.save(job);
+
+        applicationEventPublisher.publishEvent(new ExcelImportJobSubmittedEvent(savedJob.getId()));
+        logger.info("Import job " + jobId + " resumed from chunk " + savedJob.getCommittedChunks());
+        return toResponse(savedJob);
+    }
+
+    // ==================== RUNNER ADIMLARI ====================
+
+    /**
+     * Job'ı QUEUED -> RUNNING geçirir. Job başka bir çalıştırmaya aitse null döner.
+     */
+    @Transactional
+    public ExcelImportJob startJob(Long jobId) {
+        int updated = excelImportJobRepository.transitionToRunning(
+                jobId, ExcelImportJobStatus.QUEUED, ExcelImportJobStatus.RUNNING, LocalDateTime.now());
+        if (updated == 0) {
+            return null;
+        }
+        return findJob(jobId);
+    }
+
+    /**
+     * Okuma sonucunu kaydeder. Devam ettirilen job'da plan zaten kayıtlı olduğundan tekrar yazılmaz.
+     */
+    @Transactional
+    public void recordPlan(Long jobId, int totalRows, int totalChunks, List<ProductImportError> planErrors) {
+        ExcelImportJob job = findJob(jobId);
+        if (job.getTotalChunks() != null) {
+            return;
+        }
+
+        job.setTotalRows(totalRows);
+        job.setTotalChunks(totalChunks);
+
+        if (!planErrors.isEmpty()) {
+            excelImportJobErrorRepository.saveAll(planErrors.stream()
+                    .map(error -> new ExcelImportJobError(jobId, error.rowNumber(), error.productCode(),
+                            error.errorMessage(), error.rowData()))
+                    .toList());
+            job.setErrorCount(job.getErrorCount() + planErrors.size());
+            job.setProcessedRows(job.getProcessedRows() + planErrors.size());
+        }
+        excelImportJobRepository.save(job);
+    }
+
+    /**
+     * Ürün parçasını işler; parça, sayaçlar ve hatalar tek transaction'da commit edilir
+     * Varyant stoğu aynı anda bir sipariş rezervasyonu ile değişirse parça güncel stoklarla yeniden denenir
+     */
+    @Retryable(value = {ObjectOptimisticLockingFailureException.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
+    @Transactional
+    public void applyProductChunk(Long jobId, int chunkIndex, Map<String, List<ExcelProductData>> groups,
+                                  AppUser performedBy) {
+        ExcelImportJob job = findRunningJobAtChunk(jobId, chunkIndex);
+
+        ProductImportChunkResult result = productExcelService.importProductChunk(
+                groups, job.getUpdateExisting(), job.getSkipErrors(), performedBy, job.getBatchId(), job.getFileName());
+
+        excelImportJobErrorRepository.saveAll(result.errors().stream()
+                .map(error -> new ExcelImportJobError(jobId, error.rowNumber(), error.productCode(),
+                        error.errorMessage(), error.rowData()))
+                .toList());
+
+        advance(job, result.rowCount(), result.successCount(), result.errors().size(),
+                result.createdCount(), result.updatedCount());
+    }
+
+    /**
+     * Fiyat parçasını işler; parça, sayaçlar ve hatalar tek transaction'da commit edilir
+     */
+    @Transactional
+    public void applyPriceChunk(Long jobId, int chunkIndex, List<PriceImportRow> rows) {
+        ExcelImportJob job = findRunningJobAtChunk(jobId, chunkIndex);
+
+        PriceImportChunkResult result = productPriceExcelService.importPriceChunk(
+                job.getDealerId(), rows, job.getUpdateExisting(), job.getSkipErrors());
+
+        excelImportJobErrorRepository.saveAll(result.errors().stream()
+                .map(error -> new ExcelImportJobError(jobId, error.rowNumber(), error.productCode(),
+                        error.errorMessage(), error.rowData()))
+                .toList());
+
+        advance(job, result.rowCount(), result.successCount(), result.errors().size(),
+                result.createdCount(), result.updatedCount());
+    }
+
+    @Transactional
+    public void completeJob(Long jobId) {
+        ExcelImportJob job = findJob(jobId);
+        job.setJobStatus(ExcelImportJobStatus.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        excelImportJobRepository.save(job);
+
+        deleteStoredFile(job);
+        logger.info("✅ Import job " + jobId + " completed - Success: " + job.getSuccessCount() +
+                ", Errors: " + job.getErrorCount());
+    }
+
+    @Transactional
+    public void failJob(Long jobId, String errorMessage) {
+        ExcelImportJob job = findJob(jobId);
+        job.setJobStatus(ExcelImportJobStatus.FAILED);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLastError(errorMessage);
+        excelImportJobRepository.save(job);
+
+        logger.warning("❌ Import job " + jobId + " failed at chunk " + job.getCommittedChunks() + ": " + errorMessage);
+    }
+
+    /**
+     * Uygulama kapanırken yarıda kalan job'ları FAILED'a çeker, böylece devam ettirilebilirler
+     */
+    @Transactional
+    public int failInterruptedJobs() {
+        List<ExcelImportJob> interrupted = excelImportJobRepository.findByJobStatus(ExcelImportJobStatus.RUNNING);
+        for (ExcelImportJob job : interrupted) {
+            job.setJobStatus(ExcelImportJobStatus.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setLastError("Uygulama yeniden başlatıldığı için import yarıda kaldı");
+        }
+        excelImportJobRepository.saveAll(interrupted);
+        return interrupted.size();
+    }
+
+    public AppUser findRequestedBy(ExcelImportJob job) {
+        if (job.getRequestedByUserId() == null) {
+            return null;
+        }
+        return appUserRepository.findById(job.getRequestedByUserId()).orElse(null);
+    }
+
+    // ==================== YARDIMCI METODLAR ====================
+
+    private ExcelImportJob createJob(ExcelImportType importType, Long dealerId, MultipartFile file,
+                                     boolean updateExisting, boolean skipErrors, AppUser requestedBy) throws IOException {
+        String batchId = "EXCEL_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        Path storedFile = storeFile(file, batchId);
+
+        try {
+            ExcelImportJob job = new ExcelImportJob();
+            job.setBatchId(batchId);
+            job.setImportType(importType);
+            job.setDealerId(dealerId);
+            job.setFileName(file.getOriginalFilename());
+            job.setStoredFilePath(storedFile.toString());
+            job.setUpdateExisting(updateExisting);
+            job.setSkipErrors(skipErrors);
+            job.setChunkSize(Math.max(1, batchSize));
+            job.setRequestedByUserId(requestedBy != null ? requestedBy.getId() : null);
+
+            ExcelImportJob savedJob = excelImportJobRepository.save(job);
+
+            // Runner sadece commit sonrası başlar (rollback olursa job hiç çalışmaz)
+            applicationEventPublisher.publishEvent(new ExcelImportJobSubmittedEvent(savedJob.getId()));
+            return savedJob;
+
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(storedFile);
+            throw e;
+        }
+    }
+
+    private Path storeFile(MultipartFile file, String batchId) throws IOException {
+        Path directory = Paths.get(importDir).toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+
+        Path target = directory.resolve(batchId + ".xlsx");
+        try (InputStream inputStream = file.getInputStream()) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    private void deleteStoredFile(ExcelImportJob job) {
+        try {
+            Files.deleteIfExists(Paths.get(job.getStoredFilePath()));
+        } catch (IOException e) {
+            logger.warning("Could not delete import file " + job.getStoredFilePath() + ": " + e.getMessage());
+        }
+    }
+
+    private ExcelImportJob findJob(Long jobId) {
+        return excelImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Import job bulunamadı: " + jobId));
+    }
+
+    /**
+     * Parça sadece job hâlâ bu çalıştırmaya aitse ve sıradaki parça buysa işlenir
+     */
+    private ExcelImportJob findRunningJobAtChunk(Long jobId, int chunkIndex) {
+        ExcelImportJob job = findJob(jobId);
+        if (job.getJobStatus() != ExcelImportJobStatus.RUNNING || job.getCommittedChunks() != chunkIndex) {
+            throw new IllegalStateException("Import job " + jobId + " parça " + chunkIndex +
+                    " için beklenen durumda değil (durum: " + job.getJobStatus() +
+                    ", commit edilen parça: " + job.getCommittedChunks() + ")");
+        }
+        return job;
+    }
+
+    private void advance(ExcelImportJob job, int rowCount, int successCount, int errorCount,
+                         int createdCount, int updatedCount) {
+        job.setCommittedChunks(job.getCommittedChunks() + 1);
+        job.setProcessedRows(job.getProcessedRows() + rowCount);
+        job.setSuccessCount(job.getSuccessCount() + successCount);
+        job.setErrorCount(job.getErrorCount() + errorCount);
+        job.setCreatedCount(job.getCreatedCount() + createdCount);
+        job.setUpdatedCount(job.getUpdatedCount() + updatedCount);
+        excelImportJobRepository.save(job);
+    }
+
+    private ExcelImportJobResponse toResponse(ExcelImportJob job) {
+        Double progressPercent = null;
+        if (job.getJobStatus() == ExcelImportJobStatus.COMPLETED) {
+            progressPercent = 100.0;
+        } else if (job.getTotalChunks() != null) {
+            progressPercent = job.getTotalChunks() == 0 ? 100.0 :
+                    Math.round(job.getCommittedChunks() * 1000.0 / job.getTotalChunks()) / 10.0;
+        }
+
+        Double rowsPerSecond = null;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                int rowsThisRun = job.getProcessedRows() - job.getRunStartRows();
+                rowsPerSecond = Math.round(rowsThisRun * 10_000.0 / millis) / 10.0;
+            }
+        }
+
+        return new ExcelImportJobResponse(
+                job.getId(),
+                job.getBatchId(),
+                job.getImportType(),
+                job.getJobStatus(),
+                job.getFileName(),
+                job.getDealerId(),
+                job.getTotalRows(),
+                job.getTotalChunks(),
+                job.getCommittedChunks(),
+                job.getProcessedRows(),
+                job.getSuccessCount(),
+                job.getErrorCount(),
+                job.getCreatedCount(),
+                job.getUpdatedCount(),
+                progressPercent,
+                rowsPerSecond,
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getLastError(),
+                job.getCreatedAt()
+        );
+    }
+}
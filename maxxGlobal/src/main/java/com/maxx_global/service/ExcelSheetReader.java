@@ -0,0 +1,319 @@
+package com.maxx_global.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * XLSX dosyasının ilk sheet'ini satır satır okuyan streaming okuyucu.
+ * Workbook DOM'u oluşturulmaz; sheet XML'i StAX ile okunur, bellekte sadece o anki satır tutulur.
+ * Hücreler import parser'larının beklediği POI Cell semantiğiyle (tip, tarih formatı, formül sonucu) sunulur.
+ */
+public final class ExcelSheetReader implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(ExcelSheetReader.class.getName());
+
+    /**
+     * Tek satır (0 tabanlı satır indeksi, sütun indeksi -> hücre)
+     */
+    public record ExcelRow(int rowNum, Map<Integer, ExcelCell> cells) {
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public ExcelCell getCell(int columnIndex) {
+            return cells.get(columnIndex);
+        }
+    }
+
+    /**
+     * Tek hücre. Formül hücrelerinde tip FORMULA, değer önbelleğe alınmış sonuçtur.
+     */
+    public record ExcelCell(CellType cellType, String stringValue, Double numericValue,
+                            Boolean booleanValue, boolean dateFormatted) {
+
+        public CellType getCellType() {
+            return cellType;
+        }
+
+        public String getStringCellValue() {
+            if (stringValue == null) {
+                throw new IllegalStateException("Hücre metin değeri içermiyor: " + cellType);
+            }
+            return stringValue;
+        }
+
+        public double getNumericCellValue() {
+            if (numericValue == null) {
+                throw new IllegalStateException("Hücre sayısal değer içermiyor: " + cellType);
+            }
+            return numericValue;
+        }
+
+        public boolean getBooleanCellValue() {
+            if (booleanValue == null) {
+                throw new IllegalStateException("Hücre mantıksal değer içermiyor: " + cellType);
+            }
+            return booleanValue;
+        }
+
+        public LocalDateTime getLocalDateTimeCellValue() {
+            return DateUtil.getLocalDateTime(getNumericCellValue());
+        }
+
+        public boolean isDateFormatted() {
+            return dateFormatted && numericValue != null && DateUtil.isValidExcelDate(numericValue);
+        }
+    }
+
+    private final Path file;
+    private final boolean deleteOnClose;
+    private final OPCPackage opcPackage;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final Map<Integer, Boolean> dateStyleCache = new HashMap<>();
+    private int lastRowNum = -1;
+
+    private ExcelSheetReader(Path file, boolean deleteOnClose) throws IOException {
+        this.file = file;
+        this.deleteOnClose = deleteOnClose;
+        OPCPackage pkg = null;
+        InputStream stream = null;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Excel dosyasında sheet bulunamadı");
+            }
+
+            this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            this.styles = reader.getStylesTable();
+            stream = sheets.next();
+
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            this.xml = factory.createXMLStreamReader(stream);
+            this.sheetStream = stream;
+            this.opcPackage = pkg;
+
+        } catch (OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+            closeQuietly(stream);
+            if (pkg != null) {
+                pkg.revert();
+            }
+            deleteIfTemporary();
+            throw new IOException("Excel dosyası okunamadı (sadece .xlsx desteklenir): " + e.getMessage(), e);
+        } catch (IOException e) {
+            closeQuietly(stream);
+            if (pkg != null) {
+                pkg.revert();
+            }
+            deleteIfTemporary();
+            throw e;
+        }
+    }
+
+    /**
+     * Yüklenen dosyayı geçici dosyaya aktarıp okuyucuyu açar (zip erişimi için dosya gerekir)
+     */
+    public static ExcelSheetReader open(InputStream inputStream) throws IOException {
+        Path tempFile = Files.createTempFile("excel-import-", ".xlsx");
+        try (inputStream) {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return new ExcelSheetReader(tempFile, true);
+    }
+
+    /**
+     * Diskteki dosyayı okur; dosya kapanışta silinmez (import job'larının sakladığı dosyalar için)
+     */
+    public static ExcelSheetReader open(Path file) throws IOException {
+        return new ExcelSheetReader(file, false);
+    }
+
+    /**
+     * Sıradaki satır; sheet bittiyse null. Excel'in hiç yazmadığı boş satırlar atlanır.
+     */
+    public ExcelRow nextRow() throws IOException {
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    return readRow();
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    return null;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Excel satırı okunamadı: " + e.getMessage(), e);
+        }
+    }
+
+    private ExcelRow readRow() throws XMLStreamException {
+        String rowRef = xml.getAttributeValue(null, "r");
+        int rowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : lastRowNum + 1;
+        lastRowNum = rowNum;
+
+        Map<Integer, ExcelCell> cells = new HashMap<>();
+        int lastColumn = -1;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String cellRef = xml.getAttributeValue(null, "r");
+                int column = cellRef != null ? new CellReference(cellRef).getCol() : lastColumn + 1;
+                lastColumn = column;
+
+                ExcelCell cell = readCell();
+                if (cell != null) {
+                    cells.put(column, cell);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return new ExcelRow(rowNum, cells);
+    }
+
+    private ExcelCell readCell() throws XMLStreamException {
+        String type = xml.getAttributeValue(null, "t");
+        String styleRef = xml.getAttributeValue(null, "s");
+
+        boolean formula = false;
+        String value = null;
+        StringBuilder inlineText = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "f" -> formula = true;
+                    case "v" -> value = xml.getElementText();
+                    case "t" -> {
+                        // Inline string (rich text parçaları birleştirilir)
+                        if (inlineText == null) {
+                            inlineText = new StringBuilder();
+                        }
+                        inlineText.append(xml.getElementText());
+                    }
+                    default -> {
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+
+        CellType valueType = formula ? CellType.FORMULA : null;
+
+        if ("inlineStr".equals(type)) {
+            return inlineText == null ? null
+                    : new ExcelCell(valueType != null ? valueType : CellType.STRING, inlineText.toString(), null, null, false);
+        }
+        if (value == null) {
+            return null;
+        }
+
+        switch (type == null ? "n" : type) {
+            case "s" -> {
+                String text = sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+                return new ExcelCell(valueType != null ? valueType : CellType.STRING, text, null, null, false);
+            }
+            case "str" -> {
+                return new ExcelCell(CellType.FORMULA, value, null, null, false);
+            }
+            case "b" -> {
+                boolean bool = "1".equals(value.trim());
+                return formula
+                        ? new ExcelCell(CellType.FORMULA, bool ? "TRUE" : "FALSE", null, bool, false)
+                        : new ExcelCell(CellType.BOOLEAN, null, null, bool, false);
+            }
+            case "e" -> {
+                return new ExcelCell(CellType.ERROR, value, null, null, false);
+            }
+            default -> {
+                double number;
+                try {
+                    number = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    logger.warning("Invalid numeric cell value: " + value);
+                    return new ExcelCell(CellType.STRING, value, null, null, false);
+                }
+                boolean dateFormatted = styleRef != null && isDateStyle(Integer.parseInt(styleRef));
+                return new ExcelCell(valueType != null ? valueType : CellType.NUMERIC, null, number, null, dateFormatted);
+            }
+        }
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        return dateStyleCache.computeIfAbsent(styleIndex, index -> {
+            if (styles == null || index >= styles.getNumCellStyles()) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(index);
+            return DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            logger.warning("Could not close sheet reader: " + e.getMessage());
+        }
+        closeQuietly(sheetStream);
+        opcPackage.revert();
+        deleteIfTemporary();
+    }
+
+    private void deleteIfTemporary() throws IOException {
+        if (deleteOnClose) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Okuma bitti, kapanış hatası önemsiz
+        }
+    }
+}
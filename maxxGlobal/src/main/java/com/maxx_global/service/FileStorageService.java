@@ -1,166 +1,240 @@
 package com.maxx_global.service;
 
 import com.maxx_global.config.FileConfigurationService;
+import com.maxx_global.entity.ImageBlob;
+import com.maxx_global.repository.ImageBlobRepository;
+import com.maxx_global.repository.ProductImageRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class FileStorageService {
 
     private static final Logger logger = Logger.getLogger(FileStorageService.class.getName());
 
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
     @Value("${app.file.upload-dir}")
     private String uploadDir;
 
-    @Value("${app.file.product-images-dir}")
-    private String productImagesDir;
-
     @Value("${app.file.base-url}")
     private String baseUrl;
 
+    @Value("${app.file.derived-images-dir:derived}")
+    private String derivedImagesDir;
+
+    @Value("${app.file.blob-dir:blobs}")
+    private String blobDir;
+
     private final FileConfigurationService fileConfigService;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ProductImageRepository productImageRepository;
 
-    public FileStorageService(FileConfigurationService fileConfigService) {
+    public FileStorageService(FileConfigurationService fileConfigService,
+                              ImageBlobRepository imageBlobRepository,
+                              ProductImageRepository productImageRepository) {
         this.fileConfigService = fileConfigService;
+        this.imageBlobRepository = imageBlobRepository;
+        this.productImageRepository = productImageRepository;
     }
 
     /**
-     * Ürün resimlerini kaydet
+     * İçerik adresli depoya kaydedilmiş resim
+     */
+    public record StoredImage(String url, String contentHash, long sizeBytes) {
+    }
+
+    /**
+     * Ürün resimlerini içerik adresli olarak kaydeder: uploads/blobs/ab/{sha256}.{uzantı}.
+     * Dosya yüklenirken özeti hesaplanır (belleğe alınmadan); aynı içerik zaten varsa yeni kopya yazılmaz,
+     * yalnızca referans sayısı artar. Çağıranın transaction'ına katılır, ProductImage kayıtlarıyla birlikte commit olur.
      * @param images Yüklenecek resim dosyaları
-     * @param productId Ürün ID'si
-     * @param primaryImageIndex Ana resim index'i
-     * @return Kaydedilen resimlerin URL listesi
+     * @param productId Ürün ID'si (log için)
+     * @return Kaydedilen resimlerin URL, özet ve boyut bilgisi (yükleme sırasıyla)
      */
-    public List<String> saveProductImages(List<MultipartFile> images, Long productId, Integer primaryImageIndex) {
+    @Transactional
+    public List<StoredImage> saveProductImages(List<MultipartFile> images, Long productId) {
         if (images == null || images.isEmpty()) {
             return new ArrayList<>();
         }
 
         logger.info("Saving " + images.size() + " images for product: " + productId);
 
-        List<String> imageUrls = new ArrayList<>();
-        String productFolderPath = createProductFolder(productId);
-
+        List<StoredImage> storedImages = new ArrayList<>();
         for (int i = 0; i < images.size(); i++) {
-            MultipartFile image = images.get(i);
             try {
-                String imageUrl = saveImage(image, productFolderPath, i,
-                        primaryImageIndex != null && primaryImageIndex == i);
-                imageUrls.add(imageUrl);
+                StoredImage storedImage = storeBlob(images.get(i));
+                storedImages.add(storedImage);
 
-                logger.info("Image saved: " + imageUrl);
+                logger.info("Image saved: " + storedImage.url());
             } catch (IOException e) {
                 logger.severe("Failed to save image at index " + i + ": " + e.getMessage());
                 throw new RuntimeException("Resim kaydetme hatası (Index: " + i + "): " + e.getMessage());
             }
         }
 
-        logger.info("Successfully saved " + imageUrls.size() + " images for product: " + productId);
-        return imageUrls;
+        logger.info("Successfully saved " + storedImages.size() + " images for product: " + productId);
+        return storedImages;
     }
 
     /**
-     * Tek bir resmi kaydet
+     * Sunucuda zaten bulunan bir resme yeni referans ekler; istemci aynı dosyayı tekrar yüklemez
+     * @return resim yoksa boş
      */
-    private String saveImage(MultipartFile image, String productFolderPath, int index, boolean isPrimary) throws IOException {
-        String originalFilename = image.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-
-        // Dosya adı oluştur
-        String filename = generateImageFilename(index, isPrimary, extension);
-
-        // Tam dosya yolu
-        Path targetPath = Paths.get(productFolderPath, filename);
-
-        // Dosyayı kaydet
-        Files.copy(image.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-        // URL oluştur ve döndür
-        return generateImageUrl(targetPath);
+    @Transactional
+    public Optional<StoredImage> acquireStoredImage(String contentHash) {
+        String normalizedHash = normalizeHash(contentHash);
+        if (normalizedHash == null || imageBlobRepository.acquireExisting(normalizedHash, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return imageBlobRepository.findById(normalizedHash)
+                .map(blob -> new StoredImage(blobUrl(blob.getContentHash(), blob.getExtension()),
+                        blob.getContentHash(), blob.getSizeBytes()));
     }
 
     /**
-     * Ürün için klasör oluştur
+     * Verilen özetlerden sunucuda kayıtlı olanları döndürür
      */
-    private String createProductFolder(Long productId) {
-        LocalDate now = LocalDate.now();
-        String year = now.format(DateTimeFormatter.ofPattern("yyyy"));
-        String month = now.format(DateTimeFormatter.ofPattern("MM"));
-
-        // uploads/products/2025/01/product-123
-        String folderPath = String.join("/",
-                uploadDir,
-                productImagesDir,
-                year,
-                month,
-                "product-" + productId
-        );
-
-        // Klasörün var olduğundan emin ol
-        fileConfigService.ensureDirectoryExists(folderPath);
+    public List<String> findStoredHashes(Collection<String> contentHashes) {
+        if (contentHashes == null || contentHashes.isEmpty()) {
+            return List.of();
+        }
+        Set<String> normalized = contentHashes.stream()
+                .map(this::normalizeHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return imageBlobRepository.findExistingHashes(normalized);
+    }
 
-        logger.info("Product folder ready: " + folderPath);
-        return folderPath;
+    /**
+     * İçerik adresli resmin referansını bırakır. Dosya hemen silinmez; referansı kalmayan dosyaları
+     * bekleme süresi sonunda temizleme job'ı siler (silme geri alınan transaction'da dosya kaybolmasın diye).
+     */
+    @Transactional
+    public void releaseStoredImage(String contentHash) {
+        if (contentHash != null && imageBlobRepository.release(contentHash, LocalDateTime.now()) == 0) {
+            logger.warning("Image blob not found or already unreferenced: " + contentHash);
+        }
     }
 
     /**
-     * Resim dosya adı oluştur
+     * Referansı kalmamış dosyanın kaydını siler, ardından dosyayı ve (başka resim kullanmıyorsa) türevlerini kaldırır.
+     * Kayıt silinirken satır kilitlenir; aynı anda aynı içerik yüklenirse yükleme bu transaction'ı bekler ve dosyayı yeniden yazar.
+     * @return dosya silindiyse true
      */
-    private String generateImageFilename(int index, boolean isPrimary, String extension) {
-        String prefix = isPrimary ? "primary" : "image-" + (index + 1);
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        return prefix + "-" + uuid + extension;
+    @Transactional
+    public boolean purgeUnreferencedBlob(String contentHash, LocalDateTime cutoff) {
+        Optional<ImageBlob> blob = imageBlobRepository.findById(contentHash);
+        if (blob.isEmpty() || imageBlobRepository.deleteIfUnreferenced(contentHash, cutoff) == 0) {
+            return false;
+        }
+
+        try {
+            Files.deleteIfExists(blobPath(contentHash, blob.get().getExtension()));
+        } catch (IOException e) {
+            logger.warning("Could not delete image blob " + contentHash + ": " + e.getMessage());
+        }
+        if (productImageRepository.countByContentHash(contentHash) == 0) {
+            deleteDerivedImages(contentHash);
+        }
+        return true;
     }
 
     /**
-     * Resim URL'i oluştur
+     * URL içerik adresli depoya mı ait (eski ürün klasörü düzeni değil)
      */
+    public boolean isContentAddressed(String imageUrl) {
+        return imageUrl != null && imageUrl.contains("/uploads/" + blobDir + "/");
+    }
+
     /**
-     * Resim URL'i oluştur
+     * Yüklenen dosyayı özetini hesaplayarak blob klasöründe geçici dosyaya akıtır, kaydı açar/referansını artırır
+     * ve dosya henüz yoksa yerine taşır
      */
-    private String generateImageUrl(Path imagePath) {
-        try {
-            // Tam dosya yolunu al
-            String fullPath = imagePath.toString().replace("\\", "/");
+    private StoredImage storeBlob(MultipartFile image) throws IOException {
+        Path blobRoot = Paths.get(uploadDir, blobDir);
+        fileConfigService.ensureDirectoryExists(blobRoot.toString());
 
-            String relativePath;
-            if (fullPath.contains(uploadDir + "/")) {
-                relativePath = fullPath.substring(fullPath.indexOf(uploadDir + "/") + (uploadDir + "/").length());
+        // Geçici dosya hedefle aynı disk üzerinde olsun ki taşıma atomik olsun
+        Path tempPath = Files.createTempFile(blobRoot, "upload-", ".part");
+        try {
+            MessageDigest digest = newSha256();
+            long sizeBytes;
+            try (InputStream input = new DigestInputStream(image.getInputStream(), digest)) {
+                sizeBytes = Files.copy(input, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+
+            imageBlobRepository.acquire(contentHash, extensionOf(image.getOriginalFilename()),
+                    image.getContentType(), sizeBytes, LocalDateTime.now());
+            // Aynı içerik daha önce başka uzantıyla yüklendiyse ilk kaydın uzantısı geçerlidir
+            String extension = imageBlobRepository.findById(contentHash)
+                    .map(ImageBlob::getExtension)
+                    .orElseThrow(() -> new IllegalStateException("Image blob kaydı bulunamadı: " + contentHash));
+
+            Path targetPath = blobPath(contentHash, extension);
+            if (Files.exists(targetPath)) {
+                logger.info("Duplicate image content reused: " + contentHash);
             } else {
-                // Fallback: upload directory'den sonrasını al
-                int uploadDirIndex = fullPath.indexOf(uploadDir);
-                if (uploadDirIndex != -1) {
-                    relativePath = fullPath.substring(uploadDirIndex + uploadDir.length() + 1);
-                } else {
-                    throw new RuntimeException("Upload directory bulunamadı path'de: " + fullPath);
-                }
+                fileConfigService.ensureDirectoryExists(targetPath.getParent().toString());
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             }
+            return new StoredImage(blobUrl(contentHash, extension), contentHash, sizeBytes);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
 
-            // Final URL'i oluştur
-            String finalUrl = baseUrl + "/uploads/" + relativePath;
+    private Path blobPath(String contentHash, String extension) {
+        return Paths.get(uploadDir, blobDir, shard(contentHash), contentHash + "." + extension);
+    }
 
-            logger.info("Generated image URL: " + finalUrl);
-            logger.info("Full path: " + fullPath);
-            logger.info("Relative path: " + relativePath);
+    private String blobUrl(String contentHash, String extension) {
+        return baseUrl + "/uploads/" + blobDir + "/" + shard(contentHash) + "/" + contentHash + "." + extension;
+    }
 
-            return finalUrl;
+    private String extensionOf(String originalFilename) {
+        if (originalFilename == null || !originalFilename.contains(".")) {
+            throw new IllegalArgumentException("Dosya uzantısı bulunamadı: " + originalFilename);
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return extension.equals("jpeg") ? "jpg" : extension;
+    }
 
-        } catch (Exception e) {
-            logger.severe("Error generating image URL: " + e.getMessage());
-            throw new RuntimeException("URL oluşturma hatası: " + e.getMessage());
+    private String normalizeHash(String contentHash) {
+        if (contentHash == null) {
+            return null;
+        }
+        String normalized = contentHash.trim().toLowerCase(Locale.ROOT);
+        return SHA256_HEX.matcher(normalized).matches() ? normalized : null;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
         }
     }
 
@@ -187,4 +261,70 @@ public class FileStorageService {
             throw new RuntimeException("Resim dosyası silinemedi: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resim URL'ini yerel dosya yoluna çevirir (uploads/... altındaki göreli kısım)
+     */
+    public Path resolveImagePath(String imageUrl) {
+        String marker = "/uploads/";
+        int markerIndex = imageUrl.indexOf(marker);
+        if (markerIndex == -1) {
+            throw new IllegalArgumentException("Resim URL'i uploads altında değil: " + imageUrl);
+        }
+        return Paths.get(uploadDir, imageUrl.substring(markerIndex + marker.length()));
+    }
+
+    /**
+     * İçerik özetli türev dosyayı uploads/derived/ab/abcd...-w320.jpg altına yazar ve URL'ini döndürür.
+     * Aynı ad her zaman aynı içeriği taşıdığı için dosya varsa tekrar yazılmaz.
+     */
+    public String saveDerivedImage(String fileName, byte[] content) throws IOException {
+        Path targetPath = derivedImagePath(fileName);
+        if (!Files.exists(targetPath)) {
+            fileConfigService.ensureDirectoryExists(targetPath.getParent().toString());
+            // Yarım dosya sunulmasın diye önce geçici dosyaya yazılıp taşınır
+            Path tempPath = Files.createTempFile(targetPath.getParent(), "tmp-", ".part");
+            Files.write(tempPath, content);
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return derivedImageUrl(fileName);
+    }
+
+    public boolean derivedImageExists(String fileName) {
+        return Files.exists(derivedImagePath(fileName));
+    }
+
+    public String derivedImageUrl(String fileName) {
+        return baseUrl + "/uploads/" + derivedImagesDir + "/" + shard(fileName) + "/" + fileName;
+    }
+
+    /**
+     * Bir içerik özetine ait tüm türev dosyaları siler
+     */
+    public void deleteDerivedImages(String contentHash) {
+        if (contentHash == null || contentHash.isBlank()) {
+            return;
+        }
+        Path shardDir = Paths.get(uploadDir, derivedImagesDir, shard(contentHash));
+        if (!Files.isDirectory(shardDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(shardDir, contentHash + "-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                logger.info("Deleted derived image: " + file);
+            }
+        } catch (IOException e) {
+            logger.warning("Could not delete derived images for " + contentHash + ": " + e.getMessage());
+        }
+    }
+
+    private Path derivedImagePath(String fileName) {
+        return Paths.get(uploadDir, derivedImagesDir, shard(fileName), fileName);
+    }
+
+    // Tek klasörde çok sayıda dosya birikmesin diye özetin ilk iki karakteri alt klasör olur
+    private String shard(String fileName) {
+        return fileName.substring(0, 2);
+    }
+}
@@ -0,0 +1,276 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.ProductImage;
+import com.maxx_global.repository.ProductImageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Ürün resimleri için sabit boyutlu türevler üretir: liste kartları için küçük resim, detay için orta boy JPEG
+ * ve (ImageIO WebP yazıcısı varsa) orta boy WebP.
+ * Türev dosya adları orijinalin SHA-256 özeti ve boyuttan oluşur; aynı ad hep aynı içeriği taşıdığından
+ * statik sunumda süresiz (immutable) önbelleklenebilir ve aynı resim iki kez yüklenirse türevler tekrar üretilmez.
+ * Yükleme isteğini bekletmemek için arka planda, sınırlı image executor'ında çalışır.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = Logger.getLogger(ImageDerivativeService.class.getName());
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final float WEBP_QUALITY = 0.80f;
+
+    private final ProductImageRepository productImageRepository;
+    private final FileStorageService fileStorageService;
+    private final int thumbnailSize;
+    private final int mediumSize;
+    private final boolean webpSupported;
+
+    public ImageDerivativeService(ProductImageRepository productImageRepository,
+                                  FileStorageService fileStorageService,
+                                  @Value("${app.file.derivatives.thumbnail-size:320}") int thumbnailSize,
+                                  @Value("${app.file.derivatives.medium-size:800}") int mediumSize) {
+        this.productImageRepository = productImageRepository;
+        this.fileStorageService = fileStorageService;
+        this.thumbnailSize = thumbnailSize;
+        this.mediumSize = mediumSize;
+        this.webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+
+        if (!webpSupported) {
+            logger.warning("No ImageIO WebP writer found - only JPEG image derivatives will be generated");
+        }
+    }
+
+    /**
+     * Verilen resimlerin türevlerini sırayla üretir; biri başarısız olursa diğerleri devam eder
+     */
+    public int generateAll(List<Long> imageIds) {
+        int generated = 0;
+        for (Long imageId : imageIds) {
+            if (generate(imageId)) {
+                generated++;
+            }
+        }
+        return generated;
+    }
+
+    /**
+     * Tek resmin türevlerini üretip ProductImage kaydına yazar
+     * @return türevler yazıldıysa true; resim yoksa, okunamıyorsa veya hata olursa false
+     */
+    public boolean generate(Long imageId) {
+        Optional<ProductImage> found = productImageRepository.findById(imageId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        ProductImage image = found.get();
+
+        try {
+            // Aynı içerik daha önce işlendiyse (tekrar yüklenen veya özetle eklenen resim) dosyaları yeniden üretme
+            if (image.getContentHash() != null && reuseExistingDerivatives(imageId, image.getContentHash())) {
+                return true;
+            }
+
+            Path originalPath = fileStorageService.resolveImagePath(image.getImageUrl());
+            if (!Files.exists(originalPath)) {
+                logger.warning("Original image missing, derivatives skipped: " + originalPath);
+                return false;
+            }
+
+            byte[] original = Files.readAllBytes(originalPath);
+            String contentHash = sha256Hex(original);
+
+            String thumbnailName = derivedFileName(contentHash, thumbnailSize, "jpg");
+            String mediumName = derivedFileName(contentHash, mediumSize, "jpg");
+            String webpName = webpSupported ? derivedFileName(contentHash, mediumSize, "webp") : null;
+
+            // Tek decode: orta boyun iki katına kadar alt örneklenmiş kaynak her türev için yeterli
+            BufferedImage source = decode(original, mediumSize * 2);
+            if (source == null) {
+                logger.warning("Unsupported image format, derivatives skipped: " + originalPath);
+                return false;
+            }
+
+            BufferedImage medium = resize(source, mediumSize);
+            String thumbnailUrl = fileStorageService.saveDerivedImage(thumbnailName,
+                    encode(resize(medium, thumbnailSize), "jpg", JPEG_QUALITY));
+            String mediumUrl = fileStorageService.saveDerivedImage(mediumName, encode(medium, "jpg", JPEG_QUALITY));
+            String webpUrl = webpName != null
+                    ? fileStorageService.saveDerivedImage(webpName, encode(medium, "webp", WEBP_QUALITY))
+                    : null;
+
+            productImageRepository.updateDerivatives(imageId, contentHash, thumbnailUrl, mediumUrl, webpUrl);
+            logger.info("Image derivatives ready for image " + imageId + " (" + original.length + " bytes original)");
+            return true;
+
+        } catch (Exception e) {
+            logger.warning("Could not generate derivatives for image " + imageId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reuseExistingDerivatives(Long imageId, String contentHash) {
+        String thumbnailName = derivedFileName(contentHash, thumbnailSize, "jpg");
+        String mediumName = derivedFileName(contentHash, mediumSize, "jpg");
+        String webpName = webpSupported ? derivedFileName(contentHash, mediumSize, "webp") : null;
+
+        if (!fileStorageService.derivedImageExists(thumbnailName) || !fileStorageService.derivedImageExists(mediumName)
+                || (webpName != null && !fileStorageService.derivedImageExists(webpName))) {
+            return false;
+        }
+
+        productImageRepository.updateDerivatives(imageId, contentHash,
+                fileStorageService.derivedImageUrl(thumbnailName),
+                fileStorageService.derivedImageUrl(mediumName),
+                webpName != null ? fileStorageService.derivedImageUrl(webpName) : null);
+        logger.info("Existing image derivatives reused for image " + imageId);
+        return true;
+    }
+
+    /**
+     * Silinen resmin türev dosyalarını, aynı içeriği kullanan başka resim kaydı yoksa siler.
+     * Silinecek kayıt henüz veritabanında durduğu için sayı 1 ise son kullanıcı odur.
+     */
+    public void releaseDerivatives(ProductImage image) {
+        String contentHash = image.getContentHash();
+        if (contentHash == null) {
+            return;
+        }
+        if (productImageRepository.countByContentHash(contentHash) <= 1) {
+            fileStorageService.deleteDerivedImages(contentHash);
+        }
+    }
+
+    static String derivedFileName(String contentHash, int size, String extension) {
+        return contentHash + "-w" + size + "." + extension;
+    }
+
+    static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    /**
+     * Resmi okur; kaynak hedefin çok üstündeyse okuma sırasında alt örnekleyerek belleği sınırlar
+     */
+    static BufferedImage decode(byte[] content, int maxUsefulSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longestSide / Math.max(1, maxUsefulSize));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * En uzun kenarı maxSize olacak şekilde küçültür (büyütmez). Büyük oranlarda yarıya inerek ilerler,
+     * tek adımlı bilinear küçültmenin bulanıklığını önler. Sonuç her zaman beyaz zeminli RGB'dir (JPEG için alfa yok).
+     */
+    static BufferedImage resize(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = draw(source, width, height);
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = draw(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    param.setCompressionType(lossyType(types));
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static String lossyType(String[] types) {
+        for (String type : types) {
+            if (type.toLowerCase().contains("lossy")) {
+                return type;
+            }
+        }
+        return types[0];
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
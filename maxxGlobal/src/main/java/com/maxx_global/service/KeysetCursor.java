@@ -0,0 +1,100 @@
+package com.maxx_global.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset sayfalama imleci: son görülen kaydın (sıralama anahtarı, id) çifti.
+ * İstemciye base64url ile kodlanmış opak bir metin olarak verilir; içeriğine güvenilmez, çözülemezse
+ * IllegalArgumentException fırlatılır.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // İlk sayfa için sınır değerleri (azalan sıralamada "her şeyden sonra", artanda "her şeyden önce")
+    public static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final LocalDateTime MIN_TIME = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private static final char TIME = 'T';
+    private static final char TEXT = 'S';
+
+    private final char type;
+    private final String key;
+    private final long id;
+
+    private KeysetCursor(char type, String key, long id) {
+        this.type = type;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime key, Long id) {
+        return encode(TIME, key.toString(), id);
+    }
+
+    public static String encode(String key, Long id) {
+        return encode(TEXT, key, id);
+    }
+
+    private static String encode(char type, String key, Long id) {
+        // Anahtar en sonda: metin anahtarı ayraç içerebilir
+        String raw = type + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İmleci çözer; boş imleç ilk sayfa demektir ve null döner
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('|');
+            int second = raw.indexOf('|', first + 1);
+            if (first != 1 || second < 0) {
+                throw new IllegalArgumentException("Geçersiz sayfalama imleci");
+            }
+            return new KeysetCursor(raw.charAt(0), raw.substring(second + 1),
+                    Long.parseLong(raw.substring(first + 1, second)));
+        } catch (IllegalArgumentException e) { // NumberFormatException dahil
+            throw new IllegalArgumentException("Geçersiz sayfalama imleci");
+        }
+    }
+
+    /**
+     * Slice sorguları için ilk sayfa isteği; Spring Data size + 1 satır çekerek hasNext'i belirler, COUNT çalışmaz
+     */
+    public static Pageable pageRequest(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime timeKey() {
+        if (type != TIME) {
+            throw new IllegalArgumentException("Geçersiz sayfalama imleci");
+        }
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Geçersiz sayfalama imleci");
+        }
+    }
+
+    public String textKey() {
+        if (type != TEXT) {
+            throw new IllegalArgumentException("Geçersiz sayfalama imleci");
+        }
+        return key;
+    }
+}
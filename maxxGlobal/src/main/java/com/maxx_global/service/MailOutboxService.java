@@ -0,0 +1,147 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.MailOutboxMessage;
+import com.maxx_global.enums.MailOutboxStatus;
+import com.maxx_global.enums.OrderMailType;
+import com.maxx_global.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Mail outbox kaydı ve durum geçişleri.
+ * enqueue() çağıranın transaction'ına katılır: sipariş mailleri OrderMailEventListener ile siparişin transaction'ı
+ * içinden yazılır, böylece sipariş ve maili birlikte commit edilir ya da birlikte geri alınır. Sipariş maillerinin
+ * içeriği transaction içinde üretilmez (enqueueOrderMail); MailOutboxDispatchJob commit edilmiş siparişten üretip
+ * markRendered ile kaydeder. Gönderimi MailOutboxDispatchJob yapar; başarısız denemeler üstel bekleme ile tekrar sıraya girer,
+ * deneme hakkı biten mail DEAD olarak tabloda kalır.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MailOutboxService {
+
+    private static final Logger logger = Logger.getLogger(MailOutboxService.class.getName());
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${app.mail.retry-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.mail.retry-delay:2000}")
+    private long initialBackoffMs;
+
+    @Value("${app.mail.outbox.max-backoff-ms:1800000}")
+    private long maxBackoffMs;
+
+    @Value("${app.mail.outbox.claim-lease-ms:300000}")
+    private long claimLeaseMs;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository) {
+        this.mailOutboxRepository = mailOutboxRepository;
+    }
+
+    @Transactional
+    public MailOutboxMessage enqueue(String toEmail, String subject, String htmlContent,
+                                     byte[] attachment, String attachmentName) {
+        MailOutboxMessage message = new MailOutboxMessage(
+                toEmail, subject, htmlContent, attachment, attachmentName, LocalDateTime.now());
+        return mailOutboxRepository.save(message);
+    }
+
+    /**
+     * Sipariş mailini içeriği olmadan yazar; şablon ve PDF gönderim sırasında commit edilmiş siparişten üretilir
+     */
+    @Transactional
+    public MailOutboxMessage enqueueOrderMail(String toEmail, String subject, OrderMailType orderMailType, Long orderId,
+                                              Locale locale, boolean showPrices, boolean adminNotification,
+                                              String mailArgument) {
+        MailOutboxMessage message = MailOutboxMessage.forOrder(toEmail, subject, orderMailType, orderId,
+                locale != null ? locale.toLanguageTag() : null, showPrices, adminNotification, mailArgument,
+                LocalDateTime.now());
+        return mailOutboxRepository.save(message);
+    }
+
+    /**
+     * Üretilen içeriği kaydeder; sonraki denemeler aynı içeriği gönderir
+     */
+    @Transactional
+    public void markRendered(Long id, String htmlContent, byte[] attachment, String attachmentName) {
+        mailOutboxRepository.markRendered(id, htmlContent, attachment, attachmentName);
+    }
+
+    /**
+     * Zamanı gelmiş en fazla limit kadar maili gönderime alır (SENDING + kiralama)
+     */
+    @Transactional
+    public List<MailOutboxMessage> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = mailOutboxRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        mailOutboxRepository.markSending(ids, MailOutboxStatus.SENDING, now.plusNanos(claimLeaseMs * 1_000_000));
+        return mailOutboxRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(MailOutboxMessage::getId))
+                .toList();
+    }
+
+    @Transactional
+    public void markSent(Long id, String providerMessageId) {
+        mailOutboxRepository.markSent(id, MailOutboxStatus.SENT, LocalDateTime.now(), providerMessageId);
+    }
+
+    /**
+     * Başarısız denemeyi kaydeder: hakkı kaldıysa bekleme sonrası tekrar PENDING, kalmadıysa DEAD
+     */
+    @Transactional
+    public void markFailed(MailOutboxMessage message, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        int attempts = message.getAttempts();
+
+        if (attempts >= maxAttempts) {
+            mailOutboxRepository.markFailed(message.getId(), MailOutboxStatus.DEAD, LocalDateTime.now(), lastError);
+            logger.severe("💀 Mail to " + message.getToEmail() + " dead-lettered after " + attempts +
+                    " attempts (outbox id " + message.getId() + "): " + lastError);
+            return;
+        }
+
+        long delayMs = withJitter(backoffMillis(attempts, initialBackoffMs, maxBackoffMs));
+        mailOutboxRepository.markFailed(message.getId(), MailOutboxStatus.PENDING,
+                LocalDateTime.now().plusNanos(delayMs * 1_000_000), lastError);
+        logger.warning("Mail to " + message.getToEmail() + " failed (attempt " + attempts + "/" + maxAttempts +
+                "), retrying in " + delayMs + " ms: " + lastError);
+    }
+
+    public long countByStatus(MailOutboxStatus status) {
+        return mailOutboxRepository.countByMailStatus(status);
+    }
+
+    @Transactional
+    public int purgeSent(int retentionDays) {
+        return mailOutboxRepository.deleteSentBefore(MailOutboxStatus.SENT, LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * attempts. başarısız denemeden sonraki bekleme: initial * 2^(attempts-1), en fazla max
+     */
+    static long backoffMillis(int attempts, long initialMs, long maxMs) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = initialMs << exponent;
+        return delay <= 0 || delay > maxMs ? maxMs : delay;
+    }
+
+    // Aynı anda düşen mailler (ör. toplu onay) aynı anda tekrar denenmesin
+    private static long withJitter(long delayMs) {
+        return delayMs + ThreadLocalRandom.current().nextLong(delayMs / 5 + 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.maxx_global.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Dakikalık ve saatlik iki token bucket'tan oluşan gönderim sınırlayıcı (app.mail.rate-limit.*).
+ * Kova dolu başlar ve sürekli dolar; bir mail her iki kovadan birer token harcar.
+ * Bekleme yapmaz: tryAcquire o an verilebilecek kadar izin döner, kalanı bir sonraki turda gönderilir.
+ */
+public final class MailRateLimiter {
+
+    private final boolean enabled;
+    private final Bucket perMinute;
+    private final Bucket perHour;
+    private final LongSupplier nanoClock;
+
+    public MailRateLimiter(boolean enabled, int maxPerMinute, int maxPerHour) {
+        this(enabled, maxPerMinute, maxPerHour, System::nanoTime);
+    }
+
+    MailRateLimiter(boolean enabled, int maxPerMinute, int maxPerHour, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.perMinute = new Bucket(maxPerMinute, TimeUnit.MINUTES.toNanos(1), now);
+        this.perHour = new Bucket(maxPerHour, TimeUnit.HOURS.toNanos(1), now);
+    }
+
+    /**
+     * En fazla requested kadar izin alır; dönen sayı 0 ise şu an gönderilemez
+     */
+    public synchronized int tryAcquire(int requested) {
+        if (!enabled) {
+            return requested;
+        }
+        long now = nanoClock.getAsLong();
+        perMinute.refill(now);
+        perHour.refill(now);
+
+        int granted = (int) Math.min(requested, Math.min(perMinute.available(), perHour.available()));
+        if (granted > 0) {
+            perMinute.take(granted);
+            perHour.take(granted);
+        }
+        return granted;
+    }
+
+    /**
+     * Alınıp kullanılmayan izinleri geri verir (ör. kuyrukta beklenenden az mail vardı)
+     */
+    public synchronized void release(int unused) {
+        if (!enabled || unused <= 0) {
+            return;
+        }
+        perMinute.give(unused);
+        perHour.give(unused);
+    }
+
+    private static final class Bucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(int capacity, long periodNanos, long now) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerNano = this.capacity / periodNanos;
+            this.tokens = this.capacity;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+
+        private long available() {
+            return (long) Math.floor(tokens);
+        }
+
+        private void take(int count) {
+            tokens -= count;
+        }
+
+        private void give(int count) {
+            tokens = Math.min(capacity, tokens + count);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.maxx_global.service;
 
 import com.maxx_global.entity.AppUser;
 import com.maxx_global.entity.Discount;
+import com.maxx_global.entity.MailOutboxMessage;
 import com.maxx_global.entity.Order;
 import com.maxx_global.entity.OrderItem;
 import com.maxx_global.entity.Permission;
@@ -10,12 +11,14 @@ import com.maxx_global.entity.Role;
 import com.maxx_global.enums.CurrencyType;
 import com.maxx_global.enums.DiscountType;
 import com.maxx_global.enums.Language;
+import com.maxx_global.enums.MailOutboxStatus;
+import com.maxx_global.enums.OrderMailType;
 import com.maxx_global.repository.AppUserRepository;
+import com.maxx_global.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
@@ -26,7 +29,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.Currency;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,9 +42,11 @@ public class MailService {
     @Value("${app.notifications.email.order-edit-rejected.enabled:true}")
     private Boolean orderEditRejectedNotificationEnabled;
     private final ResendEmailService resendEmailService;
+    private final MailOutboxService mailOutboxService;
 
     private final TemplateEngine templateEngine;
     private final AppUserRepository appUserRepository;
+    private final OrderRepository orderRepository;
     private final OrderPdfService orderPdfService;
     private final LocalizationService localizationService;
 
@@ -74,27 +78,32 @@ public class MailService {
     private Boolean statusChangeNotificationEnabled;
 
     public MailService(ResendEmailService resendEmailService,
+                       MailOutboxService mailOutboxService,
                        TemplateEngine templateEngine,
                        AppUserRepository appUserRepository,
+                       OrderRepository orderRepository,
                        OrderPdfService orderPdfService,
                        LocalizationService localizationService) {
         this.resendEmailService = resendEmailService;
+        this.mailOutboxService = mailOutboxService;
         this.templateEngine = templateEngine;
         this.appUserRepository = appUserRepository;
+        this.orderRepository = orderRepository;
         this.orderPdfService = orderPdfService;
         this.localizationService = localizationService;
     }
 
     // ==================== PUBLIC MAIL METHODS ====================
+    // Sipariş mailleri çağıranın transaction'ında yalnızca alıcı/tür/dil bilgisiyle outbox'a yazılır
+    // (OrderMailEventListener, commit öncesi); şablon ve PDF gönderimden önce renderOrderMail ile üretilir
 
     /**
      * Yeni sipariş oluşturulduğunda admin/super admin'lere mail gönder
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendNewOrderNotificationToAdmins(Order order) {
+    public boolean sendNewOrderNotificationToAdmins(Order order) {
         if (!isMailEnabled() || !newOrderNotificationEnabled) {
             logger.info("New order notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending new order notification for order: " + order.getOrderNumber());
@@ -125,31 +134,18 @@ public class MailService {
 
             if (recipients.isEmpty()) {
                 logger.warning("No eligible recipients found for new order notification (dealerOrder=" + dealerOrder + ")");
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             int successCount = 0;
-            Map<Locale, byte[]> pdfCache = new HashMap<>();
             for (AppUser recipient : recipients) {
                 try {
                     boolean showPrices = userHasPriceViewPermission(recipient);
                     Locale locale = localizationService.getPreferredLocaleOrDefault(recipient);
                     String subject = generateSubject("NEW_ORDER", order.getOrderNumber(), locale);
-                    boolean adminNotification = isAdminUser(recipient);
-                    String htmlContent = generateNewOrderEmailTemplate(order, locale, showPrices, adminNotification);
-                    byte[] attachment = null;
-                    if (showPrices && pdfAttachmentEnabled) {
-                        attachment = pdfCache.computeIfAbsent(locale, loc -> orderPdfService.generateOrderPdf(order, loc));
-                    }
-                    String attachmentName = showPrices && attachment != null ? generatePdfFileName(order) : null;
-
-                    boolean sent = sendEmailWithAttachment(
-                            recipient.getEmail(),
-                            subject,
-                            htmlContent,
-                            attachment,
-                            attachmentName
-                    );
+
+                    boolean sent = queueOrderMail(recipient.getEmail(), subject, OrderMailType.NEW_ORDER, order,
+                            locale, showPrices, isAdminUser(recipient), null);
                     if (sent) {
                         successCount++;
                     }
@@ -159,22 +155,21 @@ public class MailService {
             }
 
             logger.info("New order notification sent to " + successCount + "/" + recipients.size() + " recipients");
-            return CompletableFuture.completedFuture(successCount > 0);
+            return successCount > 0;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending new order notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
     /**
      * Sipariş onaylandığında müşteriye mail gönder
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderApprovedNotificationToCustomer(Order order) {
+    public boolean sendOrderApprovedNotificationToCustomer(Order order) {
         if (!isMailEnabled() || !orderApprovedNotificationEnabled) {
             logger.info("Order approved notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending order approved notification for order: " + order.getOrderNumber());
@@ -184,35 +179,33 @@ public class MailService {
 
             if (!isCustomerNotificationEnabled(customer)) {
                 logger.info("Customer email notifications disabled for: " + customer.getEmail());
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             Locale locale = localizationService.getPreferredLocaleOrDefault(customer);
             String subject = generateSubject("ORDER_APPROVED", order.getOrderNumber(), locale);
-            String htmlContent = generateOrderApprovedEmailTemplate(order, locale);
 
-            boolean sent = sendEmailWithRetry(customer.getEmail(), subject, htmlContent);
+            boolean sent = queueOrderMail(customer.getEmail(), subject, OrderMailType.ORDER_APPROVED, order, locale);
 
             if (sent) {
                 logger.info("Order approved notification sent to customer: " + customer.getEmail());
             }
 
-            return CompletableFuture.completedFuture(sent);
+            return sent;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending order approved notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
     /**
      * Sipariş reddedildiğinde müşteriye mail gönder
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderRejectedNotificationToCustomer(Order order) {
+    public boolean sendOrderRejectedNotificationToCustomer(Order order) {
         if (!isMailEnabled() || !orderRejectedNotificationEnabled) {
             logger.info("Order rejected notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending order rejected notification for order: " + order.getOrderNumber());
@@ -222,35 +215,33 @@ public class MailService {
 
             if (!isCustomerNotificationEnabled(customer)) {
                 logger.info("Customer email notifications disabled for: " + customer.getEmail());
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             Locale locale = localizationService.getPreferredLocaleOrDefault(customer);
             String subject = generateSubject("ORDER_REJECTED", order.getOrderNumber(), locale);
-            String htmlContent = generateOrderRejectedEmailTemplate(order, locale);
 
-            boolean sent = sendEmailWithRetry(customer.getEmail(), subject, htmlContent);
+            boolean sent = queueOrderMail(customer.getEmail(), subject, OrderMailType.ORDER_REJECTED, order, locale);
 
             if (sent) {
                 logger.info("Order rejected notification sent to customer: " + customer.getEmail());
             }
 
-            return CompletableFuture.completedFuture(sent);
+            return sent;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending order rejected notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
     /**
      * Sipariş düzenlendiğinde müşteriye mail gönder (PDF eki ile)
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderEditedNotificationToCustomer(Order order) {
+    public boolean sendOrderEditedNotificationToCustomer(Order order) {
         if (!isMailEnabled() || !orderEditedNotificationEnabled) {
             logger.info("Order edited notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending order edited notification for order: " + order.getOrderNumber());
@@ -260,53 +251,34 @@ public class MailService {
 
             if (!isCustomerNotificationEnabled(customer)) {
                 logger.info("Customer email notifications disabled for: " + customer.getEmail());
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             Locale locale = localizationService.getPreferredLocaleOrDefault(customer);
             String subject = generateSubject("ORDER_EDITED", order.getOrderNumber(), locale);
-            String htmlContent = generateOrderEditedEmailTemplate(order, locale);
-
-            // PDF attachment için kontrol
-            byte[] pdfAttachment = null;
-            if (pdfAttachmentEnabled) {
-                try {
-                    pdfAttachment = orderPdfService.generateOrderPdf(order, locale);
-                    logger.info("PDF attachment prepared for edited order: " + order.getOrderNumber());
-                } catch (Exception e) {
-                    logger.warning("Could not generate PDF attachment for edited order: " + e.getMessage());
-                }
-            }
 
-            // PDF eki ile mail gönder
-            boolean sent = sendEmailWithAttachment(
-                    customer.getEmail(),
-                    subject,
-                    htmlContent,
-                    pdfAttachment,
-                    generatePdfFileName(order)
-            );
+            // PDF eki gönderimden önce düzenlenmiş (commit edilmiş) kalemlerle üretilir
+            boolean sent = queueOrderMail(customer.getEmail(), subject, OrderMailType.ORDER_EDITED, order, locale);
 
             if (sent) {
                 logger.info("Order edited notification sent to customer: " + customer.getEmail());
             }
 
-            return CompletableFuture.completedFuture(sent);
+            return sent;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending order edited notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
     /**
      * Sipariş durumu değiştiğinde müşteriye mail gönder
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderStatusChangeNotificationToCustomer(Order order, String previousStatus) {
+    public boolean sendOrderStatusChangeNotificationToCustomer(Order order, String previousStatus) {
         if (!isMailEnabled() || !statusChangeNotificationEnabled) {
             logger.info("Order status change notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending order status change notification for order: " + order.getOrderNumber());
@@ -316,47 +288,106 @@ public class MailService {
 
             if (!isCustomerNotificationEnabled(customer)) {
                 logger.info("Customer email notifications disabled for: " + customer.getEmail());
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             Locale locale = localizationService.getLocaleForUser(customer);
             String subject = generateSubject("STATUS_CHANGE", order.getOrderNumber(), locale);
-            String htmlContent = generateOrderStatusChangeEmailTemplate(order, previousStatus, locale);
 
-            boolean sent = sendEmailWithRetry(customer.getEmail(), subject, htmlContent);
+            boolean sent = queueOrderMail(customer.getEmail(), subject, OrderMailType.STATUS_CHANGE, order,
+                    locale, false, false, previousStatus);
 
             if (sent) {
                 logger.info("Order status change notification sent to customer: " + customer.getEmail());
             }
 
-            return CompletableFuture.completedFuture(sent);
+            return sent;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending order status change notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
+        }
+    }
+
+    private boolean queueOrderMail(String toEmail, String subject, OrderMailType type, Order order, Locale locale) {
+        return queueOrderMail(toEmail, subject, type, order, locale, false, false, null);
+    }
+
+    /**
+     * Sipariş mailini içeriksiz outbox'a yazar; gönderimi MailOutboxDispatchJob yapar.
+     * Şablon ve PDF burada üretilmez: sipariş transaction'ı henüz flush edilmediği için kalemlerin
+     * güncellenme zamanı eski olur ve PDF önbelleği düzenleme öncesi PDF'i döndürebilir.
+     */
+    private boolean queueOrderMail(String toEmail, String subject, OrderMailType type, Order order, Locale locale,
+                                   boolean showPrices, boolean adminNotification, String argument) {
+        try {
+            validateEmailParams(toEmail, subject);
+            mailOutboxService.enqueueOrderMail(toEmail, subject, type, order.getId(), locale,
+                    showPrices, adminNotification, argument);
+            return true;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to queue " + type + " mail to " + toEmail, e);
+            return false;
         }
     }
 
     /**
-     * PDF eki ile mail gönder (SES Raw Message kullanarak)
+     * Outbox'taki sipariş mailinin içeriğini commit edilmiş siparişten üretir (MailOutboxDispatchJob, gönderimden önce)
+     */
+    @Transactional(readOnly = true)
+    public RenderedMail renderOrderMail(MailOutboxMessage message) {
+        Order order = orderRepository.findById(message.getOrderId())
+                .orElseThrow(() -> new EntityNotFoundException("Sipariş bulunamadı: " + message.getOrderId()));
+        Locale locale = message.getMailLocale() != null
+                ? Locale.forLanguageTag(message.getMailLocale())
+                : localizationService.getPreferredLocaleOrDefault(order.getUser());
+        String argument = message.getMailArgument();
+
+        return switch (message.getOrderMailType()) {
+            case NEW_ORDER -> {
+                boolean showPrices = Boolean.TRUE.equals(message.getShowPrices());
+                String html = generateNewOrderEmailTemplate(order, locale, showPrices,
+                        Boolean.TRUE.equals(message.getAdminNotification()));
+                yield showPrices && pdfAttachmentEnabled
+                        ? new RenderedMail(html, orderPdfService.generateOrderPdf(order, locale), generatePdfFileName(order))
+                        : new RenderedMail(html, null, null);
+            }
+            case ORDER_APPROVED -> new RenderedMail(generateOrderApprovedEmailTemplate(order, locale), null, null);
+            case ORDER_REJECTED -> new RenderedMail(generateOrderRejectedEmailTemplate(order, locale), null, null);
+            case ORDER_EDITED -> renderOrderEditedMail(order, locale);
+            case STATUS_CHANGE -> new RenderedMail(
+                    generateOrderStatusChangeEmailTemplate(order, argument, locale), null, null);
+            case ORDER_AUTO_CANCELLED -> new RenderedMail(
+                    generateOrderAutoCancelledEmailTemplate(order, argument, locale), null, null);
+            case ORDER_AUTO_CANCELLED_ADMIN -> new RenderedMail(
+                    generateOrderAutoCancelledAdminEmailTemplate(order, argument, locale), null, null);
+            case ORDER_EDIT_REJECTED -> new RenderedMail(
+                    generateOrderEditRejectedEmailTemplate(order, argument, locale), null, null);
+        };
+    }
+
+    /**
+     * Düzenlenen sipariş maili - PDF üretilemezse mail eksiz gönderilir
      */
-    private boolean sendEmailWithAttachment(String toEmail, String subject, String htmlContent,
-                                            byte[] pdfAttachment, String attachmentName) {
-        if (pdfAttachment == null || !pdfAttachmentEnabled) {
-            return sendEmailWithRetry(toEmail, subject, htmlContent);
+    private RenderedMail renderOrderEditedMail(Order order, Locale locale) {
+        String htmlContent = generateOrderEditedEmailTemplate(order, locale);
+        if (!pdfAttachmentEnabled) {
+            return new RenderedMail(htmlContent, null, null);
         }
 
         try {
-            return resendEmailService.sendEmailWithAttachment(
-                    toEmail, subject, htmlContent, pdfAttachment, attachmentName
-            );
+            byte[] pdfAttachment = orderPdfService.generateOrderPdf(order, locale);
+            logger.info("PDF attachment prepared for edited order: " + order.getOrderNumber());
+            return new RenderedMail(htmlContent, pdfAttachment, generatePdfFileName(order));
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Failed to send email with attachment to " + toEmail, e);
-            // Fallback: PDF olmadan gönder
-            return sendEmailWithRetry(toEmail, subject, htmlContent);
+            logger.warning("Could not generate PDF attachment for edited order: " + e.getMessage());
+            return new RenderedMail(htmlContent, null, null);
         }
     }
 
+    public record RenderedMail(String htmlContent, byte[] attachment, String attachmentName) {
+    }
+
     /**
      * String'i Quoted-Printable formatına çevir
      */
@@ -415,7 +446,7 @@ public class MailService {
         }
 
         try {
-            return sendEmailWithRetry(toEmail, subject, content);
+            return sendEmail(toEmail, subject, content);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending test email", e);
             return false;
@@ -424,14 +455,6 @@ public class MailService {
 
     // ==================== PRIVATE HELPER METHODS ====================
 
-    /**
-     * Retry mekanizması ile mail gönder
-     */
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    private boolean sendEmailWithRetry(String toEmail, String subject, String htmlContent) {
-        return sendEmail(toEmail, subject, htmlContent);
-    }
-
     private boolean sendEmail(String toEmail, String subject, String htmlContent) {
         try {
             validateEmailParams(toEmail, subject, htmlContent);
@@ -446,15 +469,19 @@ public class MailService {
      * Email parametrelerini validate et
      */
     private void validateEmailParams(String toEmail, String subject, String content) {
+        validateEmailParams(toEmail, subject);
+        if (content == null || content.trim().isEmpty()) {
+            throw new IllegalArgumentException("Content cannot be empty");
+        }
+    }
+
+    private void validateEmailParams(String toEmail, String subject) {
         if (toEmail == null || toEmail.trim().isEmpty()) {
             throw new IllegalArgumentException("To email cannot be empty");
         }
         if (subject == null || subject.trim().isEmpty()) {
             throw new IllegalArgumentException("Subject cannot be empty");
         }
-        if (content == null || content.trim().isEmpty()) {
-            throw new IllegalArgumentException("Content cannot be empty");
-        }
         if (fromEmail == null || fromEmail.trim().isEmpty()) {
             throw new IllegalStateException("From email is not configured");
         }
@@ -1001,6 +1028,8 @@ public class MailService {
                 public final boolean pdfAttachmentEnabled = MailService.this.pdfAttachmentEnabled;
                 public final String provider = "Resend";
                 public final String fromEmail = MailService.this.fromEmail;
+                public final long outboxPending = mailOutboxService.countByStatus(MailOutboxStatus.PENDING);
+                public final long outboxDead = mailOutboxService.countByStatus(MailOutboxStatus.DEAD);
             };
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error getting mail service info", e);
@@ -1325,11 +1354,10 @@ public class MailService {
         return itemInfo;
     }
 
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderAutoCancelledNotificationToCustomer(Order order, String reason) {
+    public boolean sendOrderAutoCancelledNotificationToCustomer(Order order, String reason) {
         if (!isMailEnabled()) {
             logger.info("Auto-cancelled customer notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending auto-cancelled notification to customer for order: " + order.getOrderNumber());
@@ -1339,35 +1367,34 @@ public class MailService {
 
             if (!isCustomerNotificationEnabled(customer)) {
                 logger.info("Customer email notifications disabled for: " + customer.getEmail());
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             Locale locale = localizationService.getLocaleForUser(customer);
             String subject = generateSubject("ORDER_AUTO_CANCELLED", order.getOrderNumber(), locale);
-            String htmlContent = generateOrderAutoCancelledEmailTemplate(order, reason, locale);
 
-            boolean sent = sendEmailWithRetry(customer.getEmail(), subject, htmlContent);
+            boolean sent = queueOrderMail(customer.getEmail(), subject, OrderMailType.ORDER_AUTO_CANCELLED, order,
+                    locale, false, false, reason);
 
             if (sent) {
                 logger.info("Auto-cancelled notification sent to customer: " + customer.getEmail());
             }
 
-            return CompletableFuture.completedFuture(sent);
+            return sent;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending auto-cancelled customer notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
     /**
      * Admin'lere otomatik iptal bildirimi gönder
      */
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderAutoCancelledNotificationToAdmins(Order order, String reason) {
+    public boolean sendOrderAutoCancelledNotificationToAdmins(Order order, String reason) {
         if (!isMailEnabled()) {
             logger.info("Auto-cancelled admin notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending auto-cancelled notification to admins for order: " + order.getOrderNumber());
@@ -1378,21 +1405,19 @@ public class MailService {
 
             if (adminUsers.isEmpty()) {
                 logger.warning("No admin users found for auto-cancel notification");
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             int successCount = 0;
-            Map<Locale, String> htmlCache = new HashMap<>();
             for (AppUser admin : adminUsers) {
                 if (!canReceiveEmail(admin)) {
                     continue;
                 }
                 Locale locale = localizationService.getLocaleForUser(admin);
                 String subject = generateSubject("ORDER_AUTO_CANCELLED", order.getOrderNumber(), locale);
-                String htmlContent = htmlCache.computeIfAbsent(locale,
-                        loc -> generateOrderAutoCancelledAdminEmailTemplate(order, reason, loc));
                 try {
-                    boolean sent = sendEmailWithRetry(admin.getEmail(), subject, htmlContent);
+                    boolean sent = queueOrderMail(admin.getEmail(), subject, OrderMailType.ORDER_AUTO_CANCELLED_ADMIN,
+                            order, locale, false, true, reason);
                     if (sent) successCount++;
                 } catch (Exception e) {
                     logger.log(Level.WARNING, "Failed to send auto-cancel notification to admin: " + admin.getEmail(), e);
@@ -1400,19 +1425,18 @@ public class MailService {
             }
 
             logger.info("Auto-cancel notification sent to " + successCount + "/" + adminUsers.size() + " admins");
-            return CompletableFuture.completedFuture(successCount > 0);
+            return successCount > 0;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending auto-cancelled admin notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
-    @Async("mailTaskExecutor")
-    public CompletableFuture<Boolean> sendOrderEditRejectedNotificationToAdmins(Order order, String rejectionReason) {
+    public boolean sendOrderEditRejectedNotificationToAdmins(Order order, String rejectionReason) {
         if (!isMailEnabled() || !orderEditRejectedNotificationEnabled) {
             logger.info("Order edit rejected notification disabled, skipping");
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
 
         logger.info("Sending order edit rejected notification to admins for order: " + order.getOrderNumber());
@@ -1424,21 +1448,19 @@ public class MailService {
 
             if (adminUsers.isEmpty()) {
                 logger.warning("No admin users found for order edit rejected notification");
-                return CompletableFuture.completedFuture(false);
+                return false;
             }
 
             int successCount = 0;
-            Map<Locale, String> htmlCache = new HashMap<>();
             for (AppUser admin : adminUsers) {
                 if (!canReceiveEmail(admin)) {
                     continue;
                 }
                 Locale locale = localizationService.getLocaleForUser(admin);
                 String subject = generateSubject("ORDER_EDIT_REJECTED", order.getOrderNumber(), locale);
-                String htmlContent = htmlCache.computeIfAbsent(locale,
-                        loc -> generateOrderEditRejectedEmailTemplate(order, rejectionReason, loc));
                 try {
-                    boolean sent = sendEmailWithRetry(admin.getEmail(), subject, htmlContent);
+                    boolean sent = queueOrderMail(admin.getEmail(), subject, OrderMailType.ORDER_EDIT_REJECTED,
+                            order, locale, false, true, rejectionReason);
                     if (sent) {
                         successCount++;
                     }
@@ -1448,11 +1470,11 @@ public class MailService {
             }
 
             logger.info("Order edit rejected notification sent to " + successCount + "/" + adminUsers.size() + " admin users");
-            return CompletableFuture.completedFuture(successCount > 0);
+            return successCount > 0;
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error sending order edit rejected notification", e);
-            return CompletableFuture.completedFuture(false);
+            return false;
         }
     }
 
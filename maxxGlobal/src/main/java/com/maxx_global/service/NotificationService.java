@@ -1,23 +1,31 @@
 package com.maxx_global.service;
 
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.notification.*;
 import com.maxx_global.entity.AppUser;
 import com.maxx_global.entity.Notification;
 import com.maxx_global.entity.NotificationRecipient;
-import com.maxx_global.entity.Role;
 import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
 import com.maxx_global.enums.NotificationStatus;
 import com.maxx_global.enums.NotificationType;
+import com.maxx_global.event.NotificationBroadcastRequestedEvent;
+import com.maxx_global.event.NotificationUnreadCountChangedEvent;
+import com.maxx_global.event.NotificationsCreatedEvent;
 import com.maxx_global.repository.AppUserRepository;
 import com.maxx_global.repository.DealerRepository;
 import com.maxx_global.repository.NotificationRecipientRepository;
 import com.maxx_global.repository.NotificationRepository;
+import com.maxx_global.repository.NotificationSpecifications;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,12 +42,23 @@ public class NotificationService {
 
     private static final List<NotificationStatus> CLEANUP_STATUSES = List.of(NotificationStatus.READ, NotificationStatus.ARCHIVED);
 
+    // NotificationRecipient.isRead() ile aynı
+    private static final List<NotificationStatus> READ_STATUSES = List.of(NotificationStatus.READ, NotificationStatus.ARCHIVED);
+
+    // Bu yetkilerden birine sahip kullanıcıların oluşturduğu bildirimler admin listesinde görünür
+    private static final List<String> ADMIN_SENDER_PERMISSIONS = List.of("NOTIFICATION_WRITE", "NOTIFICATION_ADMIN", "NOTIFICATION_MANAGEMENT");
+
     private final NotificationRepository notificationRepository;
     private final NotificationRecipientRepository notificationRecipientRepository;
     private final AppUserRepository appUserRepository;
     private final DealerRepository dealerRepository;
     private final LocalizationService localizationService;
     private final RoleService roleService;
+    private final NotificationStreamHub notificationStreamHub;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.notifications.broadcast.async-threshold:5000}")
+    private long broadcastAsyncThreshold;
 
     private LocalDateTime lastCleanupTime;
 
@@ -47,13 +66,17 @@ public class NotificationService {
                                NotificationRecipientRepository notificationRecipientRepository,
                                AppUserRepository appUserRepository,
                                DealerRepository dealerRepository,
-                               LocalizationService localizationService, RoleService roleService) {
+                               LocalizationService localizationService, RoleService roleService,
+                               NotificationStreamHub notificationStreamHub,
+                               ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.notificationRecipientRepository = notificationRecipientRepository;
         this.appUserRepository = appUserRepository;
         this.dealerRepository = dealerRepository;
         this.localizationService = localizationService;
         this.roleService = roleService;
+        this.notificationStreamHub = notificationStreamHub;
+        this.eventPublisher = eventPublisher;
     }
 
     private String resolveLocalizedText(AppUser user, String textTr, String textEn) {
@@ -158,9 +181,21 @@ public class NotificationService {
                 .collect(Collectors.toList());
         notificationRecipientRepository.saveAll(recipientLinks);
 
-        return recipientLinks.stream()
-                .map(r -> NotificationResponse.fromRecipient(r, localizationService))
-                .toList();
+        return toResponsesAndPublish(recipientLinks);
+    }
+
+    /**
+     * Alıcı kayıtlarını yanıta çevirir ve commit sonrası SSE akışına iletilmek üzere yayınlar
+     */
+    private List<NotificationResponse> toResponsesAndPublish(List<NotificationRecipient> links) {
+        Map<Long, NotificationResponse> byUserId = new LinkedHashMap<>();
+        for (NotificationRecipient link : links) {
+            byUserId.put(link.getUser().getId(), NotificationResponse.fromRecipient(link, localizationService));
+        }
+        if (!byUserId.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsCreatedEvent(byUserId));
+        }
+        return new ArrayList<>(byUserId.values());
     }
 
     public void createNotificationByEvent(NotificationRequest request) {
@@ -183,23 +218,51 @@ public class NotificationService {
         createNotification(request, users);
     }
 
-    public List<NotificationResponse> createNotificationForAllUsers(NotificationBroadcastRequest request) {
-        List<AppUser> activeUsers = filterEligibleUsers(appUserRepository.findByStatus(EntityStatus.ACTIVE));
-        Notification notification = createNotificationRecord(toRequest(null, request));
-        List<NotificationRecipient> links = activeUsers.stream()
-                .map(user -> buildRecipient(notification, user))
-                .toList();
-        notificationRecipientRepository.saveAll(links);
-        return links.stream().map(r -> NotificationResponse.fromRecipient(r, localizationService)).toList();
+    public NotificationBroadcastResult createNotificationForAllUsers(NotificationBroadcastRequest request) {
+        return broadcast(null, request);
     }
 
-    public List<NotificationResponse> createNotificationForUsersByRole(String role, NotificationBroadcastRequest request) {
-        Role roleEntity = roleService.getRoleByName(role).get();
-        List<AppUser> usersByRole = filterEligibleUsers(appUserRepository.findUsersByRoles(roleEntity));
+    public NotificationBroadcastResult createNotificationForUsersByRole(String role, NotificationBroadcastRequest request) {
+        roleService.getRoleByName(role)
+                .orElseThrow(() -> new EntityNotFoundException("Rol bulunamadı: " + role));
+        return broadcast(role, request);
+    }
+
+    /**
+     * Toplu bildirim: alıcılar tek INSERT ... SELECT ile DB'de yazılır, kullanıcı entity'leri yüklenmez.
+     * Hedef kitle eşikten büyükse bildirim kaydı hemen döner, alıcılar commit sonrası arka planda yazılır.
+     */
+    private NotificationBroadcastResult broadcast(String roleName, NotificationBroadcastRequest request) {
+        long audience = notificationRecipientRepository.countBroadcastAudience(roleName);
         Notification notification = createNotificationRecord(toRequest(null, request));
-        List<NotificationRecipient> links = usersByRole.stream().map(u -> buildRecipient(notification, u)).toList();
-        notificationRecipientRepository.saveAll(links);
-        return links.stream().map(r -> NotificationResponse.fromRecipient(r, localizationService)).toList();
+
+        if (audience > broadcastAsyncThreshold) {
+            eventPublisher.publishEvent(new NotificationBroadcastRequestedEvent(notification.getId(), roleName));
+            logger.info("Broadcast notification " + notification.getId() + " queued for " + audience + " users");
+            return new NotificationBroadcastResult(notification.getId(), audience, true);
+        }
+
+        int inserted = insertBroadcastRecipients(notification, roleName);
+        return new NotificationBroadcastResult(notification.getId(), inserted, false);
+    }
+
+    public int insertBroadcastRecipients(Long notificationId, String roleName) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new EntityNotFoundException("Bildirim bulunamadı: " + notificationId));
+        return insertBroadcastRecipients(notification, roleName);
+    }
+
+    private int insertBroadcastRecipients(Notification notification, String roleName) {
+        int inserted = notificationRecipientRepository.insertBroadcastRecipients(
+                notification.getId(), roleName, LocalDateTime.now(), notification.getCreatedBy());
+
+        // SSE akışına yalnızca bağlı alıcıların kayıtları yüklenir
+        Set<Long> connectedUserIds = notificationStreamHub.getConnectedUserIds();
+        if (inserted > 0 && !connectedUserIds.isEmpty()) {
+            toResponsesAndPublish(notificationRecipientRepository
+                    .findWithUserByNotificationIdAndUserIdIn(notification.getId(), connectedUserIds));
+        }
+        return inserted;
     }
 
     public List<NotificationResponse> createNotificationForSpecificUsers(List<Long> userIds, NotificationBroadcastRequest request) {
@@ -210,7 +273,7 @@ public class NotificationService {
         Notification notification = createNotificationRecord(toRequest(null, request));
         List<NotificationRecipient> links = users.stream().map(u -> buildRecipient(notification, u)).toList();
         notificationRecipientRepository.saveAll(links);
-        return links.stream().map(r -> NotificationResponse.fromRecipient(r, localizationService)).toList();
+        return toResponsesAndPublish(links);
     }
 
     public List<NotificationResponse> createNotificationForMultipleDealers(List<Long> dealerIds, NotificationBroadcastRequest request) {
@@ -262,6 +325,33 @@ public class NotificationService {
         return recipients.map(r -> NotificationResponse.fromRecipient(r, localizationService));
     }
 
+    /**
+     * Kullanıcı bildirimleri, keyset sayfalama (createdAt DESC, id DESC). COUNT ve OFFSET çalışmaz.
+     * Durum, tip ve öncelik filtreleri birlikte uygulanır; boş imleç ilk sayfadır.
+     */
+    public CursorSlice<NotificationResponse> getUserNotificationsByCursor(Long userId, String cursor, int size,
+                                                                          NotificationFilterRequest filter) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        NotificationStatus status = null;
+        NotificationType type = null;
+        String priority = null;
+        if (filter != null) {
+            status = filter.unreadOnly() ? NotificationStatus.UNREAD : filter.notificationStatus();
+            type = filter.type();
+            priority = filter.priority();
+        }
+
+        Slice<NotificationRecipient> recipients = notificationRecipientRepository.findUserNotificationsBefore(
+                userId, status, type, priority,
+                after != null ? after.timeKey() : KeysetCursor.MAX_TIME,
+                after != null ? after.getId() : Long.MAX_VALUE,
+                KeysetCursor.pageRequest(size));
+
+        return CursorSlice.of(recipients, r -> NotificationResponse.fromRecipient(r, localizationService),
+                r -> KeysetCursor.encode(r.getCreatedAt(), r.getId()));
+    }
+
     private Page<NotificationRecipient> getFilteredRecipients(Long userId, NotificationFilterRequest filter, Pageable pageable) {
         if (filter != null) {
             if (filter.unreadOnly()) {
@@ -285,6 +375,11 @@ public class NotificationService {
     }
 
     public long getUnreadCount(Long userId) {
+        // SSE akışına bağlı kullanıcının sayacı bellekte tutulur
+        OptionalLong cached = notificationStreamHub.cachedUnreadCount(userId);
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
         return notificationRecipientRepository.countByUserIdAndNotificationStatus(userId, NotificationStatus.UNREAD);
     }
 
@@ -328,18 +423,26 @@ public class NotificationService {
             recipient.setNotificationStatus(NotificationStatus.READ);
             recipient.setReadAt(LocalDateTime.now());
             notificationRecipientRepository.save(recipient);
+            eventPublisher.publishEvent(new NotificationUnreadCountChangedEvent(List.of(currentUserId), -1L));
         }
         return NotificationResponse.fromRecipient(recipient, localizationService);
     }
 
     public void markAllAsRead(Long userId) {
-        notificationRecipientRepository.markAllAsRead(userId, NotificationStatus.READ, LocalDateTime.now(), NotificationStatus.UNREAD);
+        int updated = notificationRecipientRepository.markAllAsRead(userId, NotificationStatus.READ, LocalDateTime.now(), NotificationStatus.UNREAD);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new NotificationUnreadCountChangedEvent(List.of(userId), (long) -updated));
+        }
     }
 
     public void bulkUpdateStatus(List<Long> notificationIds, Long userId, NotificationStatusUpdateRequest request) {
         LocalDateTime readAt = (request.notificationStatus() == NotificationStatus.READ ||
                 request.notificationStatus() == NotificationStatus.ARCHIVED) ? LocalDateTime.now() : null;
-        notificationRecipientRepository.bulkUpdateStatus(notificationIds, userId, request.notificationStatus(), readAt);
+        int updated = notificationRecipientRepository.bulkUpdateStatus(notificationIds, userId, request.notificationStatus(), readAt);
+        if (updated > 0) {
+            // Önceki durumlar bilinmediği için sayaç yeniden sayılır
+            eventPublisher.publishEvent(new NotificationUnreadCountChangedEvent(List.of(userId), null));
+        }
     }
 
     public void deleteNotification(Long notificationId, Long currentUserId) {
@@ -354,8 +457,14 @@ public class NotificationService {
             Notification notification = notificationRepository.findById(notificationId)
                     .orElseThrow(() -> new EntityNotFoundException("Bildirim bulunamadı: " + notificationId));
 
+            List<Long> unreadUserIds = notificationRecipientRepository
+                    .findUserIdsByNotificationIdAndStatus(notificationId, NotificationStatus.UNREAD);
+
             // Önce bu notification'a ait tüm recipient kayıtlarını sil
             notificationRecipientRepository.deleteByNotificationId(notificationId);
+            if (!unreadUserIds.isEmpty()) {
+                eventPublisher.publishEvent(new NotificationUnreadCountChangedEvent(unreadUserIds, -1L));
+            }
 
             // Sonra notification'ı sil
             notificationRepository.delete(notification);
@@ -375,43 +484,19 @@ public class NotificationService {
     }
 
     public Page<AdminNotificationResponse> getAdminSentNotifications(int page, int size, AdminNotificationFilter filter) {
-        Pageable pageable = PageRequest.of(page, size);
-
-        List<Notification> notifications = notificationRepository.findAll();
-        Set<Long> adminUserIds = appUserRepository
-                .findUsersWithUserPermissions(List.of("NOTIFICATION_WRITE", "NOTIFICATION_ADMIN", "NOTIFICATION_MANAGEMENT"))
-                .stream()
-                .map(AppUser::getId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        List<Notification> filtered = notifications.stream()
-                .filter(n -> n.getCreatedBy() != null && adminUserIds.contains(n.getCreatedBy()))
-                .filter(n -> filter.type() == null || matchesType(n, filter.type()))
-                .filter(n -> filter.priority() == null || n.getPriority().equalsIgnoreCase(filter.priority()))
-                .filter(n -> withinDateRange(n, filter.startDate(), filter.endDate()))
-                .filter(n -> matchesSearch(n, filter.searchTerm()))
-                .sorted(Comparator.comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .toList();
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), filtered.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, filtered.size());
-        }
-
-        List<Notification> pageContent = filtered.subList(start, end);
-        List<Long> ids = pageContent.stream().map(Notification::getId).toList();
-        Map<Long, List<NotificationRecipient>> recipientsByNotification = notificationRecipientRepository
-                .findByNotificationIdIn(ids)
+        // Filtre, sıralama ve sayfalama DB'de; idx_notifications_created_by_created_at kullanılır
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        Page<Notification> notifications = notificationRepository.findAll(
+                NotificationSpecifications.adminSent(filter, ADMIN_SENDER_PERMISSIONS), pageable);
+
+        List<Long> ids = notifications.getContent().stream().map(Notification::getId).toList();
+        Map<Long, Object[]> statsByNotification = ids.isEmpty() ? Map.of() : notificationRecipientRepository
+                .summarizeRecipientsByNotificationIds(ids, READ_STATUSES)
                 .stream()
-                .collect(Collectors.groupingBy(recipient -> recipient.getNotification().getId()));
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> row));
 
-        List<AdminNotificationResponse> responses = pageContent.stream()
-                .map(notification -> toAdminResponse(notification, recipientsByNotification.getOrDefault(notification.getId(), List.of())))
-                .toList();
-
-        return new PageImpl<>(responses, pageable, filtered.size());
+        return notifications.map(notification -> toAdminResponse(notification, statsByNotification.get(notification.getId())));
     }
 
     public AdminNotificationDetailResponse getNotificationDetails(Long id) {
@@ -477,16 +562,15 @@ public class NotificationService {
         );
     }
 
-    private AdminNotificationResponse toAdminResponse(Notification notification, List<NotificationRecipient> recipients) {
-        int totalRecipients = recipients.size();
-        int readCount = (int) recipients.stream().filter(NotificationRecipient::isRead).count();
+    /**
+     * stats: [notificationId, totalRecipients, readCount, lastReadAt]; alıcısı yoksa null
+     */
+    private AdminNotificationResponse toAdminResponse(Notification notification, Object[] stats) {
+        int totalRecipients = stats != null ? ((Number) stats[1]).intValue() : 0;
+        int readCount = stats != null && stats[2] != null ? ((Number) stats[2]).intValue() : 0;
         int unreadCount = totalRecipients - readCount;
         double readPercentage = totalRecipients == 0 ? 0.0 : (double) readCount / totalRecipients * 100;
-        LocalDateTime lastReadAt = recipients.stream()
-                .map(NotificationRecipient::getReadAt)
-                .filter(Objects::nonNull)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+        LocalDateTime lastReadAt = stats != null ? (LocalDateTime) stats[3] : null;
 
         return new AdminNotificationResponse(
                 notification.getId(),
@@ -507,44 +591,6 @@ public class NotificationService {
         );
     }
 
-    private boolean matchesType(Notification notification, String type) {
-        try {
-            NotificationType notificationType = NotificationType.valueOf(type);
-            return notification.getType() == notificationType;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
-    }
-
-    private boolean withinDateRange(Notification notification, String startDate, String endDate) {
-        if (notification.getCreatedAt() == null) {
-            return false;
-        }
-        LocalDateTime createdAt = notification.getCreatedAt();
-        if (startDate != null) {
-            LocalDateTime start = LocalDateTime.parse(startDate + "T00:00:00");
-            if (createdAt.isBefore(start)) {
-                return false;
-            }
-        }
-        if (endDate != null) {
-            LocalDateTime end = LocalDateTime.parse(endDate + "T23:59:59");
-            if (createdAt.isAfter(end)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private boolean matchesSearch(Notification notification, String searchTerm) {
-        if (searchTerm == null || searchTerm.isBlank()) {
-            return true;
-        }
-        String term = searchTerm.toLowerCase(Locale.ROOT);
-        return (notification.getTitle() != null && notification.getTitle().toLowerCase(Locale.ROOT).contains(term)) ||
-                (notification.getMessage() != null && notification.getMessage().toLowerCase(Locale.ROOT).contains(term));
-    }
-
     private Map<String, Integer> buildHourlyReadStats(List<NotificationRecipient> recipients) {
         Map<String, Integer> stats = new LinkedHashMap<>();
         recipients.stream()
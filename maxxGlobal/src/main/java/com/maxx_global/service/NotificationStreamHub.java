@@ -0,0 +1,254 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.notification.NotificationResponse;
+import com.maxx_global.enums.NotificationStatus;
+import com.maxx_global.repository.NotificationRecipientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Bildirimlerin SSE (/api/notifications/stream) ile anlık iletildiği süreç içi dağıtım merkezi.
+ * Kullanıcı başına açık bağlantılar ConcurrentHashMap + CopyOnWriteArrayList'te tutulur; yayın sırasında
+ * kilit alınmaz, bağlantı ekleme/çıkarma seyrek olduğundan liste kopyalama maliyeti önemsizdir.
+ *
+ * Bağlı kullanıcıların okunmamış sayısı bellekte tutulur: bağlantıda bir kez DB'den sayılır, sonra
+ * commit sonrası event'lerle artırılıp azaltılır. Son bağlantı kapanınca sayaç bırakılır ve
+ * getUnreadCount tekrar DB'ye düşer. Tek instance içindir; birden fazla instance'ta her instance
+ * yalnızca kendi commit ettiği bildirimleri iletir.
+ */
+@Service
+public class NotificationStreamHub {
+
+    private static final Logger logger = Logger.getLogger(NotificationStreamHub.class.getName());
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final NotificationRecipientRepository notificationRecipientRepository;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMs;
+    private final long reconnectDelayMs;
+
+    private final Map<Long, CopyOnWriteArrayList<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> unreadCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    public NotificationStreamHub(NotificationRecipientRepository notificationRecipientRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.notifications.stream.max-connections:2000}") int maxConnections,
+                                 @Value("${app.notifications.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                 @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${app.notifications.stream.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.notificationRecipientRepository = notificationRecipientRepository;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMs = timeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        meterRegistry.gauge("notifications.stream.connections", connectionCount);
+    }
+
+    /**
+     * Kullanıcı için yeni bir SSE bağlantısı açar ve güncel okunmamış sayısını ilk event olarak gönderir.
+     * Toplam bağlantı sınırı doluysa IllegalStateException fırlatır. Kullanıcının sekme sınırı doluysa
+     * en eski bağlantısı kapatılır (yenilenen sekmelerin kopan bağlantıları zaman aşımını beklemez).
+     */
+    public SseEmitter connect(Long userId) {
+        if (!tryReserveConnection()) {
+            throw new IllegalStateException("Bildirim akışı bağlantı sınırına ulaşıldı: " + maxConnections);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        CopyOnWriteArrayList<SseEmitter> userEmitters = emitters.compute(userId, (id, current) -> {
+            CopyOnWriteArrayList<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        while (userEmitters.size() > maxConnectionsPerUser) {
+            SseEmitter oldest = userEmitters.get(0);
+            remove(userId, oldest);
+            oldest.complete();
+        }
+
+        AtomicLong unread = unreadCounts.get(userId);
+        if (unread == null) {
+            // Sorgu map kilidi dışında yapılır; aynı anda bağlanan sekmelerden ilk yazan kazanır
+            AtomicLong seeded = new AtomicLong(countUnread(userId));
+            unread = unreadCounts.putIfAbsent(userId, seeded);
+            unread = unread != null ? unread : seeded;
+            if (!isConnected(userId)) {
+                // Bu arada son bağlantı kapandıysa sayaç bayat kalmasın
+                unreadCounts.remove(userId, unread);
+            }
+        }
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(UNREAD_COUNT_EVENT)
+                    .reconnectTime(reconnectDelayMs)
+                    .data(unread.get()));
+        } catch (IOException e) {
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Commit edilmiş yeni bildirimleri bağlı alıcılara iletir; bağlı olmayan alıcılar atlanır
+     */
+    public void publishNotifications(Map<Long, NotificationResponse> notificationsByUserId) {
+        notificationsByUserId.forEach((userId, notification) -> {
+            List<SseEmitter> userEmitters = emitters.get(userId);
+            if (userEmitters == null || userEmitters.isEmpty()) {
+                return;
+            }
+            AtomicLong unread = unreadCounts.get(userId);
+            long count = unread != null ? unread.incrementAndGet() : countUnread(userId);
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, NOTIFICATION_EVENT, notification);
+                send(userId, emitter, UNREAD_COUNT_EVENT, count);
+            }
+        });
+    }
+
+    /**
+     * Okundu işaretleme gibi değişikliği bilinen işlemler için sayaç düzeltmesi (delta negatif olabilir)
+     */
+    public void adjustUnreadCount(Long userId, long delta) {
+        AtomicLong unread = unreadCounts.get(userId);
+        if (unread == null) {
+            return;
+        }
+        long count = unread.updateAndGet(current -> Math.max(0, current + delta));
+        broadcastUnreadCount(userId, count);
+    }
+
+    /**
+     * Değişikliği hesaplanamayan işlemlerden (toplu durum güncelleme, silme) sonra sayacı DB'den yeniler
+     */
+    public void refreshUnreadCount(Long userId) {
+        AtomicLong unread = unreadCounts.get(userId);
+        if (unread == null) {
+            return;
+        }
+        long count = countUnread(userId);
+        unread.set(count);
+        broadcastUnreadCount(userId, count);
+    }
+
+    /**
+     * Kullanıcı bağlıysa bellekteki okunmamış sayısı, değilse boş
+     */
+    public OptionalLong cachedUnreadCount(Long userId) {
+        AtomicLong unread = unreadCounts.get(userId);
+        return unread != null ? OptionalLong.of(unread.get()) : OptionalLong.empty();
+    }
+
+    public boolean isConnected(Long userId) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        return userEmitters != null && !userEmitters.isEmpty();
+    }
+
+    public Set<Long> getConnectedUserIds() {
+        return Set.copyOf(emitters.keySet());
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Boşta kalan bağlantılara yorum satırı gönderir; proxy'lerin bağlantıyı kesmesini engeller ve
+     * kopmuş istemcileri yazma hatasıyla tespit edip kayıttan düşürür
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        unreadCounts.clear();
+        connectionCount.set(0);
+    }
+
+    private boolean tryReserveConnection() {
+        while (true) {
+            int current = connectionCount.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+            if (connectionCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void broadcastUnreadCount(Long userId, long count) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            send(userId, emitter, UNREAD_COUNT_EVENT, count);
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // İstemci gitmiş; completion callback'i gelmeyebilir, kayıttan burada düşürülür
+            logger.fine("Dropping notification stream of user " + userId + ": " + e.getMessage());
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            if (userEmitters.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            if (userEmitters.isEmpty()) {
+                unreadCounts.remove(id);
+                return null;
+            }
+            return userEmitters;
+        });
+    }
+
+    private long countUnread(Long userId) {
+        return notificationRecipientRepository.countByUserIdAndNotificationStatus(userId, NotificationStatus.UNREAD);
+    }
+}
@@ -0,0 +1,141 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.OrderDailyStat;
+import com.maxx_global.entity.OrderProductDailyStat;
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.repository.OrderDailyStatRepository;
+import com.maxx_global.repository.OrderItemRepository;
+import com.maxx_global.repository.OrderProductDailyStatRepository;
+import com.maxx_global.repository.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Dashboard için günlük sipariş rollup tablolarını (order_daily_stats, order_product_daily_stats) yönetir.
+ * Bir gün her yeniden hesaplandığında o günün satırları silinip siparişlerden tekrar oluşturulur,
+ * böylece sipariş olayları kaç kez işlenirse işlensin sonuç aynı kalır.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderAnalyticsService {
+
+    private static final Logger logger = Logger.getLogger(OrderAnalyticsService.class.getName());
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final OrderProductDailyStatRepository orderProductDailyStatRepository;
+
+    private record DailyStatKey(LocalDate date, Long dealerId, OrderStatus status, CurrencyType currency) {}
+
+    public OrderAnalyticsService(OrderRepository orderRepository,
+                                 OrderItemRepository orderItemRepository,
+                                 OrderDailyStatRepository orderDailyStatRepository,
+                                 OrderProductDailyStatRepository orderProductDailyStatRepository) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderDailyStatRepository = orderDailyStatRepository;
+        this.orderProductDailyStatRepository = orderProductDailyStatRepository;
+    }
+
+    /**
+     * Tek bir günün rollup satırlarını yeniden hesapla (sipariş olaylarından çağrılır)
+     */
+    @Transactional
+    public void refreshDay(LocalDate date) {
+        refreshRange(date, date);
+    }
+
+    /**
+     * Verilen tarih aralığının (dahil) rollup satırlarını yeniden hesapla
+     */
+    @Transactional
+    public int refreshRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Geçersiz tarih aralığı: " + from + " - " + to);
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        orderDailyStatRepository.deleteByStatDateBetween(from, to);
+        orderProductDailyStatRepository.deleteByStatDateBetween(from, to);
+
+        // Sipariş bazlı toplamlar
+        Map<DailyStatKey, OrderDailyStat> dailyStats = new LinkedHashMap<>();
+        for (Object[] row : orderRepository.aggregateDailyOrderStats(start, end)) {
+            DailyStatKey key = new DailyStatKey((LocalDate) row[0], (Long) row[1],
+                    (OrderStatus) row[2], (CurrencyType) row[3]);
+
+            OrderDailyStat stat = new OrderDailyStat(key.date(), key.dealerId(), key.status(), key.currency());
+            stat.setOrderCount(((Number) row[4]).longValue());
+            stat.setTotalAmount(toBigDecimal(row[5]));
+            stat.setDiscountAmount(toBigDecimal(row[6]));
+            dailyStats.put(key, stat);
+        }
+
+        // Kalem adetleri
+        for (Object[] row : orderItemRepository.aggregateDailyItemQuantities(start, end)) {
+            DailyStatKey key = new DailyStatKey((LocalDate) row[0], (Long) row[1],
+                    (OrderStatus) row[2], (CurrencyType) row[3]);
+            OrderDailyStat stat = dailyStats.get(key);
+            if (stat != null) {
+                stat.setItemQuantity(((Number) row[4]).longValue());
+            }
+        }
+
+        // Ürün bazlı toplamlar
+        List<OrderProductDailyStat> productStats = new ArrayList<>();
+        for (Object[] row : orderItemRepository.aggregateDailyProductStats(start, end)) {
+            OrderProductDailyStat stat = new OrderProductDailyStat((LocalDate) row[0], (Long) row[1], (OrderStatus) row[2]);
+            stat.setQuantity(((Number) row[3]).longValue());
+            stat.setOrderCount(((Number) row[4]).longValue());
+            stat.setTotalPrice(toBigDecimal(row[5]));
+            productStats.add(stat);
+        }
+
+        orderDailyStatRepository.saveAll(dailyStats.values());
+        orderProductDailyStatRepository.saveAll(productStats);
+
+        logger.fine("Order rollups refreshed for " + from + " - " + to + ": " +
+                dailyStats.size() + " daily rows, " + productStats.size() + " product rows");
+
+        return dailyStats.size();
+    }
+
+    /**
+     * Backfill için ilk sipariş tarihi (sipariş yoksa null)
+     */
+    public LocalDate getFirstOrderDate() {
+        LocalDateTime first = orderRepository.findFirstOrderDate();
+        return first != null ? first.toLocalDate() : null;
+    }
+
+    /**
+     * since anından sonra değişmiş siparişlerin sipariş günleri
+     */
+    public List<LocalDate> getOrderDaysUpdatedSince(LocalDateTime since) {
+        return orderRepository.findOrderDaysUpdatedSince(since);
+    }
+
+    public boolean hasRollupData() {
+        return orderDailyStatRepository.count() > 0;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal bigDecimal) {
+            return bigDecimal;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
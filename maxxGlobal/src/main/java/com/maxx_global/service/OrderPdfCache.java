@@ -0,0 +1,242 @@
+package com.maxx_global.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Oluşturulmuş sipariş PDF'lerinin yerel diskte, boyutu sınırlı önbelleği.
+ * Anahtar (sipariş ID, sipariş versiyonu, dil): sipariş veya kalemleri değiştiğinde versiyon değişir ve eski dosya
+ * bir daha okunmaz, yeni versiyon yazılırken silinir. Bellekteki LRU indeksi toplam boyutu max-size-mb altında tutar;
+ * açılışta dizindeki dosyalar son erişim sırasına göre indekse geri yüklenir.
+ */
+@Component
+public class OrderPdfCache {
+
+    private static final Logger logger = Logger.getLogger(OrderPdfCache.class.getName());
+
+    private static final String FILE_PREFIX = "order-";
+    private static final String FILE_SUFFIX = ".pdf";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+
+    // Dosya adı -> boyut, erişim sırasında (en eski ilk)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public OrderPdfCache(@Value("${app.pdf.cache.enabled:true}") boolean enabled,
+                         @Value("${app.pdf.cache.dir:${java.io.tmpdir}/maxx-pdf-cache}") String directory,
+                         @Value("${app.pdf.cache.max-size-mb:200}") long maxSizeMb) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.enabled = enabled && prepareDirectory();
+    }
+
+    /**
+     * Önbellekte varsa dosyayı döndürür, yoksa loader ile üretip yazar.
+     * Versiyon bilinmiyorsa (kaydedilmemiş sipariş) önbellek atlanır.
+     */
+    public byte[] getOrCreate(Long orderId, LocalDateTime version, Locale locale, Supplier<byte[]> loader) {
+        if (!enabled || orderId == null || version == null) {
+            return loader.get();
+        }
+
+        String fileName = fileName(orderId, version, locale);
+        byte[] cached = read(fileName);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] pdf = loader.get();
+        if (pdf != null && pdf.length > 0) {
+            write(orderId, versionPrefix(orderId, version), fileName, pdf);
+        }
+        return pdf;
+    }
+
+    /**
+     * Siparişin tüm önbellek dosyalarını siler (tüm versiyon ve diller)
+     */
+    public void evictOrder(Long orderId) {
+        if (!enabled || orderId == null) {
+            return;
+        }
+        String orderPrefix = FILE_PREFIX + orderId + "-";
+        List<String> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                if (entry.getKey().startsWith(orderPrefix)) {
+                    totalBytes -= entry.getValue();
+                    removed.add(entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+        removed.forEach(this::deleteQuietly);
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", index.size());
+        stats.put("sizeBytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        return stats;
+    }
+
+    static String fileName(Long orderId, LocalDateTime version, Locale locale) {
+        String language = locale != null ? locale.toLanguageTag() : "default";
+        return versionPrefix(orderId, version) + language + FILE_SUFFIX;
+    }
+
+    private static String versionPrefix(Long orderId, LocalDateTime version) {
+        return FILE_PREFIX + orderId + "-" + version.toInstant(ZoneOffset.UTC).toEpochMilli() + "-";
+    }
+
+    private byte[] read(String fileName) {
+        synchronized (this) {
+            // get() erişim sırasını günceller
+            if (index.get(fileName) == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+
+        try {
+            Path file = directory.resolve(fileName);
+            byte[] pdf = Files.readAllBytes(file);
+            // Yeniden başlatmada LRU sırası dosya zamanından kurulur
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return pdf;
+        } catch (IOException e) {
+            // Dosya dışarıdan silinmiş: indeksten de düş
+            logger.warning("PDF cache file unreadable, dropping: " + fileName + " - " + e.getMessage());
+            synchronized (this) {
+                Long size = index.remove(fileName);
+                if (size != null) {
+                    totalBytes -= size;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void write(Long orderId, String versionPrefix, String fileName, byte[] pdf) {
+        if (pdf.length > maxBytes) {
+            return;
+        }
+
+        Path target = directory.resolve(fileName);
+        try {
+            // Yarım yazılmış dosya okunmasın diye önce geçici dosyaya yazılıp taşınır
+            Path temp = Files.createTempFile(directory, "tmp-", FILE_SUFFIX);
+            Files.write(temp, pdf);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Could not write PDF cache file " + fileName + ": " + e.getMessage());
+            return;
+        }
+
+        String orderPrefix = FILE_PREFIX + orderId + "-";
+        List<String> removed = new ArrayList<>();
+        synchronized (this) {
+            Long previous = index.put(fileName, (long) pdf.length);
+            totalBytes += pdf.length - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                String key = entry.getKey();
+                // Aynı siparişin eski versiyonları artık okunmaz; LRU tavanını beklemeden bırakılır
+                boolean staleVersion = key.startsWith(orderPrefix) && !key.startsWith(versionPrefix);
+                boolean overCapacity = totalBytes > maxBytes && !key.equals(fileName);
+                if (staleVersion || overCapacity) {
+                    totalBytes -= entry.getValue();
+                    removed.add(key);
+                    it.remove();
+                }
+            }
+        }
+        removed.forEach(this::deleteQuietly);
+    }
+
+    private boolean prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            loadIndex();
+            logger.info("PDF cache ready at " + directory + " - entries: " + index.size() + ", size: " + totalBytes + " bytes");
+            return true;
+        } catch (IOException e) {
+            logger.warning("PDF cache disabled, directory not usable: " + directory + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        record CachedFile(String name, long size, long lastAccess) {
+        }
+
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(FILE_SUFFIX)) {
+                    continue;
+                }
+                if (!name.startsWith(FILE_PREFIX)) {
+                    // Yarım kalmış geçici dosya
+                    deleteQuietly(name);
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                files.add(new CachedFile(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+            }
+        }
+
+        files.sort(Comparator.comparingLong(CachedFile::lastAccess));
+        synchronized (this) {
+            for (CachedFile file : files) {
+                index.put(file.name(), file.size());
+                totalBytes += file.size();
+            }
+        }
+
+        // Boyut sınırı düşürülmüşse en eski dosyalardan başlayarak sığdır
+        for (CachedFile file : files) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            index.remove(file.name());
+            totalBytes -= file.size();
+            deleteQuietly(file.name());
+        }
+    }
+
+    private void deleteQuietly(String fileName) {
+        try {
+            Files.deleteIfExists(directory.resolve(fileName));
+        } catch (IOException e) {
+            logger.warning("Could not delete PDF cache file " + fileName + ": " + e.getMessage());
+        }
+    }
+}
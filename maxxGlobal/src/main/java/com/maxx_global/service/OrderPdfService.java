@@ -2,22 +2,17 @@
 
 package com.maxx_global.service;
 
-import com.lowagie.text.pdf.BaseFont;
 import com.maxx_global.entity.Discount;
 import com.maxx_global.entity.Order;
 import com.maxx_global.entity.OrderItem;
 import com.maxx_global.repository.OrderRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.xhtmlrenderer.pdf.ITextRenderer;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import java.util.logging.Logger;
@@ -41,13 +36,19 @@ public class OrderPdfService {
     private final OrderRepository orderRepository;
     private final TemplateEngine templateEngine;
     private final LocalizationService localizationService;
+    private final PdfRendererPool rendererPool;
+    private final OrderPdfCache pdfCache;
 
     public OrderPdfService(OrderRepository orderRepository,
                           TemplateEngine templateEngine,
-                          LocalizationService localizationService) {
+                          LocalizationService localizationService,
+                          PdfRendererPool rendererPool,
+                          OrderPdfCache pdfCache) {
         this.orderRepository = orderRepository;
         this.templateEngine = templateEngine;
         this.localizationService = localizationService;
+        this.rendererPool = rendererPool;
+        this.pdfCache = pdfCache;
     }
 
     public byte[] generateOrderPdf(Long orderId) {
@@ -61,8 +62,7 @@ public class OrderPdfService {
             Order order = orderRepository.findById(orderId)
                     .orElseThrow(() -> new EntityNotFoundException("Siparis bulunamadi: " + orderId));
 
-            String htmlContent = generateOrderHtmlContent(order, locale);
-            return convertHtmlToPdf(htmlContent);
+            return generateOrderPdf(order, locale);
 
         } catch (Exception e) {
             logger.severe("Error generating PDF for order " + orderId + ": " + e.getMessage());
@@ -76,20 +76,25 @@ public class OrderPdfService {
 
     public byte[] generateOrderPdf(Order order, Locale locale) {
         try {
-            String htmlContent = generateOrderHtmlContent(order, locale);
-            return convertHtmlToPdf(htmlContent);
+            Locale templateLocale = resolveLocale(order, locale);
+            return pdfCache.getOrCreate(order.getId(), orderVersion(order), templateLocale,
+                    () -> convertHtmlToPdf(generateOrderHtmlContent(order, templateLocale)));
         } catch (Exception e) {
             throw new RuntimeException("PDF olusturulurken hata olustu: " + e.getMessage(), e);
         }
     }
 
+    private Locale resolveLocale(Order order, Locale locale) {
+        return locale != null
+                ? locale
+                : localizationService.getPreferredLocaleOrDefault(order.getUser());
+    }
+
     /**
      * ✅ HTML içeriği oluştururken Türkçe karakterleri düzelt
      */
-    private String generateOrderHtmlContent(Order order, Locale locale) {
-        Locale templateLocale = locale != null
-                ? locale
-                : localizationService.getPreferredLocaleOrDefault(order.getUser());
+    String generateOrderHtmlContent(Order order, Locale locale) {
+        Locale templateLocale = resolveLocale(order, locale);
         Context context = new Context(templateLocale);
 
         // Sipariş bilgileri
@@ -123,179 +128,29 @@ public class OrderPdfService {
     }
 
     /**
-     * ✅ Gelişmiş HTML'den PDF'e çevirme - Font desteği ile
+     * ✅ HTML'den PDF'e çevirme - font bir kez yüklenmiş havuzdaki renderer ile
      */
-    private byte[] convertHtmlToPdf(String htmlContent) throws IOException {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-            ITextRenderer renderer = new ITextRenderer();
-
-            // ✅ YENİ: Font resolver ile Türkçe karakter desteği
-            configureFonts(renderer);
-
-            renderer.setDocumentFromString(htmlContent);
-            renderer.layout();
-            renderer.createPDF(outputStream);
-
-            byte[] pdfBytes = outputStream.toByteArray();
-            logger.info("✅ PDF generated successfully, size: " + pdfBytes.length + " bytes");
-
-            return pdfBytes;
-
-        } catch (Exception e) {
-            logger.severe("❌ PDF generation failed: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("PDF olusturulamadi: " + e.getMessage(), e);
-        }
+    private byte[] convertHtmlToPdf(String htmlContent) {
+        byte[] pdfBytes = rendererPool.render(htmlContent);
+        logger.info("✅ PDF generated successfully, size: " + pdfBytes.length + " bytes");
+        return pdfBytes;
     }
 
     /**
-     * ✅ YENİ: Font yapılandırması
-     */
-    /**
-     * ✅ DÜZELTME: Font yapılandırması - Doğru IText API kullanımı
+     * PDF önbelleği için sipariş versiyonu: sipariş ve kalemlerinin en son güncellenme zamanı
      */
-    private void configureFonts(ITextRenderer renderer) {
-        try {
-            logger.info("🔍 Font loading started...");
-
-            // ✅ YÖNTEM 1: ClassPathResource ile doğru font yükleme
-            try {
-                ClassPathResource fontResource = new ClassPathResource("fonts/DejaVuSans.ttf");
-                logger.info("📂 Font resource path: " + fontResource.getPath());
-                logger.info("📄 Font resource exists: " + fontResource.exists());
-
-                if (fontResource.exists()) {
-                    // ✅ DÜZELTME: URL üzerinden font yükleme
-                    String fontPath = fontResource.getURL().toString();
-                    renderer.getFontResolver().addFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-                    logger.info("✅ DejaVu Sans font loaded successfully from classpath via URL");
-                    return;
-                }
-            } catch (Exception e) {
-                logger.warning("❌ Could not load DejaVu Sans from classpath URL: " + e.getMessage());
-            }
-
-            // ✅ YÖNTEM 2: Temporary file approach (ClassPathResource için)
-            try {
-                ClassPathResource fontResource = new ClassPathResource("fonts/DejaVuSans.ttf");
-                if (fontResource.exists()) {
-                    try (InputStream fontStream = fontResource.getInputStream()) {
-                        // ✅ Geçici dosya oluştur
-                        java.io.File tempFontFile = java.io.File.createTempFile("dejavu-sans", ".ttf");
-                        tempFontFile.deleteOnExit(); // JVM çıkışında sil
-
-                        // InputStream'i geçici dosyaya yaz
-                        try (java.io.FileOutputStream fos = new java.io.FileOutputStream(tempFontFile)) {
-                            byte[] buffer = new byte[4096];
-                            int bytesRead;
-                            while ((bytesRead = fontStream.read(buffer)) != -1) {
-                                fos.write(buffer, 0, bytesRead);
-                            }
-                        }
-
-                        // Geçici dosyayı font resolver'a ekle
-                        renderer.getFontResolver().addFont(tempFontFile.getAbsolutePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-                        logger.info("✅ DejaVu Sans font loaded via temporary file: " + tempFontFile.getAbsolutePath());
-                        return;
-                    }
-                }
-            } catch (Exception e) {
-                logger.warning("❌ Could not load DejaVu Sans via temporary file: " + e.getMessage());
-            }
-
-            // ✅ YÖNTEM 3: Target/classes klasöründen doğrudan yükleme
-            try {
-                String targetFontPath = "target/classes/fonts/DejaVuSans.ttf";
-                java.io.File targetFont = new java.io.File(targetFontPath);
-                logger.info("🔍 Checking target font path: " + targetFont.getAbsolutePath());
-                logger.info("📄 Target font exists: " + targetFont.exists());
-
-                if (targetFont.exists()) {
-                    renderer.getFontResolver().addFont(targetFont.getAbsolutePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-                    logger.info("✅ Font loaded from target directory: " + targetFont.getAbsolutePath());
-                    return;
-                }
-            } catch (Exception e) {
-                logger.warning("❌ Could not load font from target directory: " + e.getMessage());
-            }
-
-            // ✅ YÖNTEM 4: Çalışma dizini + relative path
-            try {
-                String workingDir = System.getProperty("user.dir");
-                String[] relativePaths = {
-                        workingDir + "/target/classes/fonts/DejaVuSans.ttf",
-                        workingDir + "/src/main/resources/fonts/DejaVuSans.ttf",
-                        "fonts/DejaVuSans.ttf"
-                };
-
-                for (String path : relativePaths) {
-                    java.io.File fontFile = new java.io.File(path);
-                    logger.info("🔍 Trying relative path: " + fontFile.getAbsolutePath());
-
-                    if (fontFile.exists()) {
-                        renderer.getFontResolver().addFont(fontFile.getAbsolutePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-                        logger.info("✅ Font loaded from relative path: " + fontFile.getAbsolutePath());
-                        return;
-                    }
-                }
-            } catch (Exception e) {
-                logger.warning("❌ Relative path loading failed: " + e.getMessage());
-            }
-
-            // ✅ YÖNTEM 5: Sistem fontlarını dene
-            try {
-                String[] systemFontPaths = getSystemFontPaths();
-
-                for (String systemPath : systemFontPaths) {
-                    try {
-                        java.io.File systemFont = new java.io.File(systemPath);
-                        if (systemFont.exists()) {
-                            renderer.getFontResolver().addFont(systemPath, BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
-                            logger.info("✅ System font loaded: " + systemPath);
-                            return;
-                        }
-                    } catch (Exception e) {
-                        // Sessizce devam et
-                    }
-                }
-            } catch (Exception e) {
-                logger.warning("❌ System font loading failed: " + e.getMessage());
+    static LocalDateTime orderVersion(Order order) {
+        LocalDateTime version = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
+        if (version == null || order.getItems() == null) {
+            return version;
+        }
+        for (OrderItem item : order.getItems()) {
+            LocalDateTime itemVersion = item.getUpdatedAt() != null ? item.getUpdatedAt() : item.getCreatedAt();
+            if (itemVersion != null && itemVersion.isAfter(version)) {
+                version = itemVersion;
             }
-
-            // ✅ Son durum
-            logger.warning("⚠️ Using default font - Turkish characters may not display correctly");
-            logger.warning("💡 To fix this issue:");
-            logger.warning("   1. Ensure fonts exist in: target/classes/fonts/DejaVuSans.ttf");
-            logger.warning("   2. Run: mvn clean compile");
-            logger.warning("   3. Check file permissions");
-
-        } catch (Exception e) {
-            logger.severe("💥 Font configuration completely failed: " + e.getMessage());
-            e.printStackTrace();
         }
-    }
-
-    /**
-     * ✅ Sistem font yollarını döndür
-     */
-    private String[] getSystemFontPaths() {
-        return new String[] {
-                // Windows paths
-                "C:/Windows/Fonts/arial.ttf",
-                "C:/Windows/Fonts/calibri.ttf",
-                "C:/Windows/Fonts/tahoma.ttf",
-                "C:/Windows/Fonts/verdana.ttf",
-                // Linux paths
-                "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
-                "/usr/share/fonts/TTF/DejaVuSans.ttf",
-                "/usr/share/fonts/truetype/liberation/LiberationSans-Regular.ttf",
-                "/usr/share/fonts/ubuntu/Ubuntu-R.ttf",
-                // Mac paths
-                "/System/Library/Fonts/Arial.ttf",
-                "/System/Library/Fonts/Helvetica.ttc",
-                "/Library/Fonts/Arial.ttf"
-        };
+        return version;
     }
 
     /**
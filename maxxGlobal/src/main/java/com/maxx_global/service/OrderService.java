@@ -1,6 +1,6 @@
 package com.maxx_global.service;
 
-import com.maxx_global.dto.category.CategoryResponse;
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.discount.DiscountItemResult;
 import com.maxx_global.dto.discount.DiscountResponse;
 import com.maxx_global.dto.discount.ProductBasedDiscountCalculation;
@@ -18,6 +18,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,12 +51,46 @@ public class OrderService {
     private final OrderPdfService orderPdfService;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final StockTrackerService stockTrackerService;
-    private final CategoryService categoryService;
+    private final StockReservationService stockReservationService;
+    private final DiscountEligibilityIndexCache discountEligibilityIndexCache;
     private final CartService cartService;
     private final LocalizationService localizationService;
 
     private record ResolvedOrderItems(List<OrderProductRequest> productRequests, Cart cart) {}
 
+    /**
+     * Raporlar için durum bazında gruplanmış sipariş sayısı ve tutarı ([status, count, sum, ...] satırlarından)
+     */
+    private record OrderStatusTotals(Map<OrderStatus, Long> counts, Map<OrderStatus, BigDecimal> amounts) {
+
+        static OrderStatusTotals of(List<Object[]> rows) {
+            Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            Map<OrderStatus, BigDecimal> amounts = new EnumMap<>(OrderStatus.class);
+            for (Object[] row : rows) {
+                OrderStatus status = (OrderStatus) row[0];
+                counts.merge(status, (Long) row[1], Long::sum);
+                amounts.merge(status, (BigDecimal) row[2], BigDecimal::add);
+            }
+            return new OrderStatusTotals(counts, amounts);
+        }
+
+        long total() {
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        long count(OrderStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+
+        BigDecimal amount(OrderStatus... statuses) {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (OrderStatus status : statuses) {
+                sum = sum.add(amounts.getOrDefault(status, BigDecimal.ZERO));
+            }
+            return sum;
+        }
+    }
+
     public OrderService(OrderRepository orderRepository,
                         ProductPriceRepository productPriceRepository,
                         ProductRepository productRepository,
@@ -67,7 +102,8 @@ public class OrderService {
                         OrderPdfService orderPdfService,
                         ApplicationEventPublisher applicationEventPublisher,
                         StockTrackerService stockTrackerService,
-                        CategoryService categoryService,
+                        StockReservationService stockReservationService,
+                        DiscountEligibilityIndexCache discountEligibilityIndexCache,
                         CartService cartService,
                         LocalizationService localizationService) {
         this.orderRepository = orderRepository;
@@ -81,7 +117,8 @@ public class OrderService {
         this.orderPdfService = orderPdfService;
         this.applicationEventPublisher = applicationEventPublisher;
         this.stockTrackerService = stockTrackerService;
-        this.categoryService = categoryService;
+        this.stockReservationService = stockReservationService;
+        this.discountEligibilityIndexCache = discountEligibilityIndexCache;
         this.cartService = cartService;
         this.localizationService = localizationService;
     }
@@ -473,21 +510,25 @@ public class OrderService {
      * İndirim bu varyantlar için geçerli mi kontrol et
      */
     private boolean isDiscountValidForVariants(DiscountResponse discount, Set<OrderItem> orderItems) {
+        // Uygunluk indeksi doğrudan seçilen varyantları ve kategori kapsamını birlikte içerir
+        Optional<DiscountEligibilityIndex.Eligibility> eligibility =
+                discountEligibilityIndexCache.findEligibility(discount.id());
+        if (eligibility.isEmpty()) {
+            logger.warning("Discount " + discount.name() + " is not in eligibility index");
+            return false;
+        }
+
         // Eğer indirim belirli varyantlar için kısıtlı değilse (genel indirim), geçerlidir
-        if (discount.applicableVariants() == null || discount.applicableVariants().isEmpty()) {
+        if (!eligibility.get().isVariantRestricted()) {
             logger.info("Discount " + discount.name() + " is valid for all variants");
             return true;
         }
 
-        // En az bir varyant indirim listesinde var mı kontrol et
-        Set<Long> discountVariantIds = discount.applicableVariants().stream()
-                .map(variant -> variant.id())
-                .collect(Collectors.toSet());
-
+        // En az bir varyant indirim kapsamında mı kontrol et
         boolean hasValidVariant = orderItems.stream()
                 .map(OrderItem::getProductVariant)
                 .filter(Objects::nonNull)
-                .anyMatch(variant -> discountVariantIds.contains(variant.getId()));
+                .anyMatch(variant -> eligibility.get().appliesToVariant(variant.getId()));
 
         if (!hasValidVariant) {
             String orderVariantNames = orderItems.stream()
@@ -496,13 +537,9 @@ public class OrderService {
                     .map(ProductVariant::getDisplayName)
                     .collect(Collectors.joining(", "));
 
-            String discountVariantNames = discount.applicableVariants().stream()
-                    .map(variant -> variant.productName())
-                    .collect(Collectors.joining(", "));
-
             logger.warning("Discount " + discount.name() + " is not valid for any variants in order. " +
                     "Order variants: [" + orderVariantNames + "], " +
-                    "Discount variants: [" + discountVariantNames + "]");
+                    "Eligible variant count: " + eligibility.get().getEligibleVariantCount());
         }
 
         return hasValidVariant;
@@ -820,8 +857,10 @@ public class OrderService {
     private ProductBasedDiscountCalculation calculateDiscountByApplicability(Discount discount,
                                                                              Set<OrderItem> orderItems,
                                                                              Long dealerId) {
-        // İndirim türünü belirle
-        DiscountApplicabilityType applicabilityType = determineDiscountApplicability(discount, dealerId);
+        // İndirim türünü belirle - derlenmiş uygunluk indeksinden
+        DiscountEligibilityIndex.Eligibility eligibility =
+                discountEligibilityIndexCache.findEligibility(discount.getId()).orElse(null);
+        DiscountApplicabilityType applicabilityType = determineDiscountApplicability(eligibility, dealerId);
         Dealer dealer = dealerService.findById(dealerId);
 
         Map<Long, BigDecimal> itemDiscountAmounts = new HashMap<>();
@@ -831,7 +870,7 @@ public class OrderService {
         switch (applicabilityType) {
             case PRODUCT_SPECIFIC:
                 // Sadece belirli varyantlara indirim uygula
-                var productSpecificResult = calculateProductSpecificDiscount(discount, orderItems);
+                var productSpecificResult = calculateProductSpecificDiscount(discount, eligibility, orderItems);
                 itemDiscountAmounts = productSpecificResult.itemDiscounts();
                 totalDiscountAmount = productSpecificResult.totalDiscount();
                 discountDescription = String.format("%s - Varyant bazlı indirim (%s: %s%s)",
@@ -855,7 +894,7 @@ public class OrderService {
 
             case MIXED:
                 // Karışık: Bazı varyantlara var, bazılarına yok
-                var mixedResult = calculateMixedDiscount(discount, orderItems);
+                var mixedResult = calculateMixedDiscount(discount, eligibility, orderItems);
                 itemDiscountAmounts = mixedResult.itemDiscounts();
                 totalDiscountAmount = mixedResult.totalDiscount();
                 discountDescription = String.format("%s - Seçili varyantlarda indirim (%s: %s%s)",
@@ -883,40 +922,16 @@ public class OrderService {
     /**
      * İndirimin uygulanabilirlik türünü belirle
      */
-    private DiscountApplicabilityType determineDiscountApplicability(Discount discount, Long dealerId) {
-        Set<Category> category = discount.getApplicableCategories();
-        List<ProductVariant> variants = new ArrayList<>();
-        if (!category.isEmpty()) {
-            for (Category c : category) {
-                 List<CategoryResponse> categoryResponse = categoryService.getSubCategories(c.getId());
-                 if(categoryResponse.isEmpty()){
-                     productRepository.findByCategory_IdAndStatus(c.getId(), EntityStatus.ACTIVE)
-                             .forEach(product -> {
-                                 if (product.getVariants() != null) {
-                                     variants.addAll(product.getVariants());
-                                 }
-                             });
-                 }else {
-                     productRepository.findByCategory_IdInAndStatus(
-                             categoryResponse.stream().map(CategoryResponse::id).collect(Collectors.toList()),
-                             EntityStatus.ACTIVE)
-                             .forEach(product -> {
-                                 if (product.getVariants() != null) {
-                                     variants.addAll(product.getVariants());
-                                 }
-                             });
-                 }
-            }
-        }
-
-        if(!variants.isEmpty()) {
-            discount.getApplicableVariants().addAll(variants);
+    private DiscountApplicabilityType determineDiscountApplicability(DiscountEligibilityIndex.Eligibility eligibility,
+                                                                     Long dealerId) {
+        if (eligibility == null) {
+            // İndirim indekste yok (pasif veya silinmiş)
+            return DiscountApplicabilityType.NOT_APPLICABLE;
         }
 
-        boolean hasApplicableVariants = discount.getApplicableVariants() != null &&
-                !discount.getApplicableVariants().isEmpty();
-        boolean hasApplicableDealers = discount.getApplicableDealers() != null &&
-                !discount.getApplicableDealers().isEmpty();
+        // Kategori bazlı indirimler indekste varyant kısıtı olarak açılmış durumdadır
+        boolean hasApplicableVariants = eligibility.isVariantRestricted();
+        boolean hasApplicableDealers = eligibility.isDealerRestricted();
 
         if (!hasApplicableVariants && !hasApplicableDealers) {
             // Genel indirim - tüm ürünler ve tüm bayiler
@@ -925,8 +940,7 @@ public class OrderService {
 
         if (!hasApplicableVariants && hasApplicableDealers) {
             // Bayi bazlı indirim - bu bayinin tüm ürünleri
-            boolean isDealerIncluded = discount.getApplicableDealers().stream()
-                    .anyMatch(dealer -> dealer.getId().equals(dealerId));
+            boolean isDealerIncluded = eligibility.appliesToDealer(dealerId);
             return isDealerIncluded ? DiscountApplicabilityType.DEALER_WIDE : DiscountApplicabilityType.NOT_APPLICABLE;
         }
 
@@ -936,10 +950,7 @@ public class OrderService {
         }
 
         // Hem varyant hem bayi kısıtlaması var
-        boolean isDealerIncluded = discount.getApplicableDealers().stream()
-                .anyMatch(dealer -> dealer.getId().equals(dealerId));
-
-        if (!isDealerIncluded) {
+        if (!eligibility.appliesToDealer(dealerId)) {
             return DiscountApplicabilityType.NOT_APPLICABLE;
         }
 
@@ -949,15 +960,12 @@ public class OrderService {
     /**
      * Ürün spesifik indirim hesapla
      */
-    private DiscountItemResult calculateProductSpecificDiscount(Discount discount, Set<OrderItem> orderItems) {
+    private DiscountItemResult calculateProductSpecificDiscount(Discount discount,
+                                                                DiscountEligibilityIndex.Eligibility eligibility,
+                                                                Set<OrderItem> orderItems) {
         Map<Long, BigDecimal> itemDiscounts = new HashMap<>();
         BigDecimal totalDiscount = BigDecimal.ZERO;
 
-        // İndirim tanımlı varyant ID'lerini al
-        Set<Long> discountVariantIds = discount.getApplicableVariants().stream()
-                .map(ProductVariant::getId)
-                .collect(Collectors.toSet());
-
         for (OrderItem item : orderItems) {
             ProductVariant variant = item.getProductVariant();
             if (variant == null) {
@@ -965,7 +973,7 @@ public class OrderService {
             }
             Long variantId = variant.getId();
 
-            if (discountVariantIds.contains(variantId)) {
+            if (eligibility.appliesToVariant(variantId)) {
                 // Bu varyanta indirim uygulanabilir
                 BigDecimal itemDiscountAmount = calculateItemDiscount(discount, item);
 
@@ -1035,15 +1043,12 @@ public class OrderService {
     /**
      * Karışık indirim hesapla (bazı ürünlere var, bazılarına yok)
      */
-    private DiscountItemResult calculateMixedDiscount(Discount discount, Set<OrderItem> orderItems) {
+    private DiscountItemResult calculateMixedDiscount(Discount discount,
+                                                      DiscountEligibilityIndex.Eligibility eligibility,
+                                                      Set<OrderItem> orderItems) {
         Map<Long, BigDecimal> itemDiscounts = new HashMap<>();
         BigDecimal totalDiscount = BigDecimal.ZERO;
 
-        // İndirim tanımlı varyant ID'lerini al
-        Set<Long> discountVariantIds = discount.getApplicableVariants().stream()
-                .map(ProductVariant::getId)
-                .collect(Collectors.toSet());
-
         // İndirimi sadece tanımlı ürünlere uygula
         for (OrderItem item : orderItems) {
             ProductVariant variant = item.getProductVariant();
@@ -1052,7 +1057,7 @@ public class OrderService {
             }
             Long variantId = variant.getId();
 
-            if (discountVariantIds.contains(variantId)) {
+            if (eligibility.appliesToVariant(variantId)) {
                 // Bu varyanta indirim uygulanabilir
                 BigDecimal itemDiscountAmount = calculateItemDiscount(discount, item);
 
@@ -1170,6 +1175,12 @@ public class OrderService {
         List<ProductPrice> productPrices = new ArrayList<>();
         CurrencyType orderCurrency = null;
 
+        // Tüm fiyatları tek sorguda persistence context'e al; döngüdeki findById çağrıları DB'ye gitmez
+        productPriceRepository.findAllById(productRequests.stream()
+                .map(OrderProductRequest::productPriceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
         for (OrderProductRequest productRequest : productRequests) {
             // ProductPrice'ı bul
             ProductPrice productPrice = productPriceRepository.findById(productRequest.productPriceId())
@@ -1237,6 +1248,26 @@ public class OrderService {
         return orders.map(orderMapper::toDto);
     }
 
+    /**
+     * Admin - Tüm siparişler, keyset sayfalama (orderDate DESC, id DESC).
+     * COUNT ve OFFSET çalışmaz; derin sayfalarda da maliyet sabittir. Boş imleç ilk sayfadır.
+     */
+    public CursorSlice<OrderResponse> getAllOrdersForAdminByCursor(String cursor, int size,
+                                                                   String status, Long dealerId, Long userId) {
+        logger.info("Admin fetching orders by cursor");
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<Order> orders = orderRepository.findOrdersWithFiltersBefore(
+                status != null ? OrderStatus.valueOf(status.toUpperCase()) : null,
+                dealerId, userId,
+                after != null ? after.timeKey() : KeysetCursor.MAX_TIME,
+                after != null ? after.getId() : Long.MAX_VALUE,
+                KeysetCursor.pageRequest(size));
+
+        return CursorSlice.of(orders, orderMapper::toDto,
+                order -> KeysetCursor.encode(order.getOrderDate(), order.getId()));
+    }
+
     /**
      * 3. Kullanıcı kendi siparişinin detayını görür
      */
@@ -1302,6 +1333,8 @@ public class OrderService {
         Order savedOrder = orderRepository.save(order);
         logger.info("Order cancelled successfully: " + savedOrder.getOrderNumber());
 
+        applicationEventPublisher.publishEvent(new OrderCancelledEvent(savedOrder));
+
         return orderMapper.toDto(savedOrder);
     }
     /**
@@ -1310,42 +1343,28 @@ public class OrderService {
     public OrderSummaryResponse getOrderSummaryByUser(Long userId) {
         logger.info("Fetching order summary for user: " + userId);
 
-        List<Order> userOrders = orderRepository.findByUserId(userId);
-
-        // İstatistikleri hesapla
-        Long totalOrders = (long) userOrders.size();
-        Long pendingOrders = userOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.PENDING ? 1 : 0).sum();
-        Long approvedOrders = userOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.APPROVED ? 1 : 0).sum();
-        Long completedOrders = userOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum();
-        Long cancelledOrders = userOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.CANCELLED ? 1 : 0).sum();
-        Long rejectedOrders = userOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.REJECTED ? 1 : 0).sum();
-
-        BigDecimal totalSpent = userOrders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal pendingAmount = userOrders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.PENDING || o.getOrderStatus() == OrderStatus.APPROVED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // İstatistikler veritabanında durum bazında gruplanır - sipariş entity'leri yüklenmez
+        List<Object[]> rows = orderRepository.sumByStatusForUser(userId);
+        OrderStatusTotals totals = OrderStatusTotals.of(rows);
 
-        LocalDateTime lastOrderDate = userOrders.stream()
-                .map(Order::getOrderDate)
+        LocalDateTime lastOrderDate = rows.stream()
+                .map(row -> (LocalDateTime) row[3])
+                .filter(Objects::nonNull)
                 .max(LocalDateTime::compareTo)
                 .orElse(null);
 
         // En çok sipariş edilen ürün
-        String mostOrderedProduct = findMostOrderedProduct(userOrders);
+        String mostOrderedProduct = findMostOrderedProduct(userId);
 
         return new OrderSummaryResponse(
-                totalOrders, pendingOrders, approvedOrders, completedOrders,
-                cancelledOrders, rejectedOrders, totalSpent, pendingAmount,
+                totals.total(),
+                totals.count(OrderStatus.PENDING),
+                totals.count(OrderStatus.APPROVED),
+                totals.count(OrderStatus.COMPLETED),
+                totals.count(OrderStatus.CANCELLED),
+                totals.count(OrderStatus.REJECTED),
+                totals.amount(OrderStatus.COMPLETED),
+                totals.amount(OrderStatus.PENDING, OrderStatus.APPROVED),
                 lastOrderDate, mostOrderedProduct
         );
     }
@@ -1527,18 +1546,11 @@ public class OrderService {
         return "SPRS-" + datePart + "-" + order.getUser().getDealer().getName().substring(0,5) + "-" + randomPart;
     }
 
-    private String findMostOrderedProduct(List<Order> orders) {
-        Map<String, Long> productCounts = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .flatMap(o -> o.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProduct().getName(),
-                        Collectors.summingLong(OrderItem::getQuantity)
-                ));
-
-        return productCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+    private String findMostOrderedProduct(Long userId) {
+        return orderItemRepository.sumQuantityByProductForUser(userId, OrderStatus.COMPLETED, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .map(row -> (String) row[0])
                 .orElse("Henüz tamamlanmış sipariş yok");
     }
 
@@ -1670,25 +1682,18 @@ public class OrderService {
         LocalDateTime start = startDate != null ? LocalDate.parse(startDate).atStartOfDay() : LocalDateTime.now().minusMonths(1);
         LocalDateTime end = endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : LocalDateTime.now();
 
-        List<Order> orders = orderRepository.findOrdersInDateRange(start, end);
+        // İstatistikleri hesapla - tek GROUP BY sorgusu
+        OrderStatusTotals totals = OrderStatusTotals.of(orderRepository.sumByStatusInDateRange(start, end));
 
-        // İstatistikleri hesapla
-        Long totalOrders = (long) orders.size();
-        Long pendingOrders = orders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.PENDING ? 1 : 0).sum();
-        Long approvedOrders = orders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.APPROVED ? 1 : 0).sum();
-        Long completedOrders = orders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum();
-        Long cancelledOrders = orders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.CANCELLED ? 1 : 0).sum();
-        Long rejectedOrders = orders.stream().mapToLong(o -> o.getOrderStatus() == OrderStatus.REJECTED ? 1 : 0).sum();
+        Long totalOrders = totals.total();
+        Long pendingOrders = totals.count(OrderStatus.PENDING);
+        Long approvedOrders = totals.count(OrderStatus.APPROVED);
+        Long completedOrders = totals.count(OrderStatus.COMPLETED);
+        Long cancelledOrders = totals.count(OrderStatus.CANCELLED);
+        Long rejectedOrders = totals.count(OrderStatus.REJECTED);
 
-        BigDecimal totalRevenue = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal pendingRevenue = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.PENDING || o.getOrderStatus() == OrderStatus.APPROVED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = totals.amount(OrderStatus.COMPLETED);
+        BigDecimal pendingRevenue = totals.amount(OrderStatus.PENDING, OrderStatus.APPROVED);
 
         return new OrderStatisticsResponse(
                 totalOrders, pendingOrders, approvedOrders, completedOrders,
@@ -2048,23 +2053,15 @@ public class OrderService {
         LocalDateTime startOfDay = targetDate.atStartOfDay();
         LocalDateTime endOfDay = targetDate.atTime(23, 59, 59);
 
-        List<Order> orders = orderRepository.findByUserIdAndOrderDateBetween(
-                currentUser.getId(), startOfDay, endOfDay);
+        OrderStatusTotals totals = OrderStatusTotals.of(
+                orderRepository.sumByStatusForUserInDateRange(currentUser.getId(), startOfDay, endOfDay));
 
         // Günlük istatistikleri hesapla
-        Long totalOrders = (long) orders.size();
-        BigDecimal totalRevenue = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal pendingAmount = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.PENDING)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Long totalOrders = totals.total();
+        BigDecimal totalRevenue = totals.amount(OrderStatus.COMPLETED);
+        BigDecimal pendingAmount = totals.amount(OrderStatus.PENDING);
 
-        Map<OrderStatus, Long> enumStatusCounts = orders.stream()
-                .collect(Collectors.groupingBy(Order::getOrderStatus, Collectors.counting()));
+        Map<OrderStatus, Long> enumStatusCounts = new HashMap<>(totals.counts());
 
         // Factory method kullanarak Türkçe statuslar ile response oluştur
         return OrderDailyReportResponse.create(
@@ -2095,25 +2092,20 @@ public class OrderService {
         LocalDateTime startDateTime = startOfMonth.atStartOfDay();
         LocalDateTime endDateTime = endOfMonth.atTime(23, 59, 59);
 
-        List<Order> orders = orderRepository.findByUserIdAndOrderDateBetween(
-                currentUser.getId(), startDateTime, endDateTime);
+        OrderStatusTotals totals = OrderStatusTotals.of(
+                orderRepository.sumByStatusForUserInDateRange(currentUser.getId(), startDateTime, endDateTime));
 
         // Aylık istatistikleri hesapla
-        Long totalOrders = (long) orders.size();
-        BigDecimal totalRevenue = orders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Long totalOrders = totals.total();
+        BigDecimal totalRevenue = totals.amount(OrderStatus.COMPLETED);
 
         // Günlük bazda dağılım
-        Map<LocalDate, Long> dailyOrderCounts = orders.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.getOrderDate().toLocalDate(),
-                        Collectors.counting()
-                ));
+        Map<LocalDate, Long> dailyOrderCounts = new LinkedHashMap<>();
+        for (Object[] row : orderRepository.countByDayForUserInDateRange(currentUser.getId(), startDateTime, endDateTime)) {
+            dailyOrderCounts.put((LocalDate) row[0], (Long) row[1]);
+        }
 
-        Map<OrderStatus, Long> enumStatusCounts = orders.stream()
-                .collect(Collectors.groupingBy(Order::getOrderStatus, Collectors.counting()));
+        Map<OrderStatus, Long> enumStatusCounts = new HashMap<>(totals.counts());
 
         // Factory method kullanarak Türkçe statuslar ile response oluştur
         return OrderMonthlyReportResponse.create(
@@ -2138,24 +2130,25 @@ public class OrderService {
         LocalDateTime end = endDate != null ?
                 LocalDate.parse(endDate).atTime(23, 59, 59) : LocalDateTime.now();
 
-        List<Order> orders;
-        if (dealerId != null) {
-            // Belirli bayi için
-            orders = orderRepository.findByUserDealerIdAndOrderDateBetween(dealerId, start, end);
-        } else {
-            // Tüm bayiler için
-            orders = orderRepository.findOrdersInDateRange(start, end);
-        }
-
-        // Bayi bazında performans hesapla
-        Map<Long, DealerPerformanceData> dealerPerformance = orders.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.getUser().getDealer().getId(),
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                this::calculateDealerPerformance
-                        )
-                ));
+        List<Object[]> rows = dealerId != null
+                // Belirli bayi için
+                ? orderRepository.sumByStatusForDealerInDateRange(dealerId, start, end)
+                // Tüm bayiler için
+                : orderRepository.sumByDealerAndStatusInDateRange(start, end);
+
+        // Bayi bazında performans hesapla - satırlar bayi x durum gruplarıdır
+        Map<Long, String> dealerNames = new LinkedHashMap<>();
+        Map<Long, List<Object[]>> rowsByDealer = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long rowDealerId = (Long) row[0];
+            dealerNames.putIfAbsent(rowDealerId, (String) row[1]);
+            rowsByDealer.computeIfAbsent(rowDealerId, id -> new ArrayList<>())
+                    .add(new Object[]{row[2], row[3], row[4]});
+        }
+
+        Map<Long, DealerPerformanceData> dealerPerformance = new HashMap<>();
+        rowsByDealer.forEach((id, dealerRows) -> dealerPerformance.put(id,
+                calculateDealerPerformance(id, dealerNames.get(id), OrderStatusTotals.of(dealerRows))));
 
         return new DealerPerformanceReportResponse(
                 start.toLocalDate(),
@@ -2329,36 +2322,24 @@ public class OrderService {
         );
     }
 
-    private DealerPerformanceData calculateDealerPerformance(List<Order> dealerOrders) {
-        Long totalOrders = (long) dealerOrders.size();
-        BigDecimal totalRevenue = dealerOrders.stream()
-                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private DealerPerformanceData calculateDealerPerformance(Long dealerId, String dealerName, OrderStatusTotals totals) {
+        Long totalOrders = totals.total();
+        BigDecimal totalRevenue = totals.amount(OrderStatus.COMPLETED);
 
         BigDecimal avgOrderValue = totalOrders > 0 ?
                 totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, BigDecimal.ROUND_HALF_UP) :
                 BigDecimal.ZERO;
 
-        Long completedOrders = dealerOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.COMPLETED ? 1 : 0).sum();
+        Long completedOrders = totals.count(OrderStatus.COMPLETED);
 
         Double completionRate = totalOrders > 0 ?
                 (completedOrders.doubleValue() / totalOrders.doubleValue()) * 100 : 0.0;
 
-        Long cancelledOrders = dealerOrders.stream()
-                .mapToLong(o -> o.getOrderStatus() == OrderStatus.CANCELLED ? 1 : 0).sum();
+        Long cancelledOrders = totals.count(OrderStatus.CANCELLED);
 
         Double cancellationRate = totalOrders > 0 ?
                 (cancelledOrders.doubleValue() / totalOrders.doubleValue()) * 100 : 0.0;
 
-        String dealerName = dealerOrders.isEmpty() ? "Bilinmeyen" :
-                dealerOrders.get(0).getUser().getDealer().getName();
-
-        Long dealerId = dealerOrders.isEmpty() ? null :
-                dealerOrders.get(0).getUser().getDealer().getId();
-
-
         return new DealerPerformanceData(
                 dealerId,
                 dealerName,
@@ -2792,44 +2773,18 @@ public class OrderService {
 
     private void updateProductStocksWithTracking(Set<OrderItem> orderItems, AppUser performedBy,
                                                  Order order, boolean reserve) {
+        // Varyantlı kalemler: koşullu UPDATE ile atomik rezervasyon / iade (tek seferde, tüm sipariş için)
+        if (reserve) {
+            stockReservationService.reserve(orderItems, performedBy, order.getOrderNumber(), order.getId());
+        } else {
+            stockReservationService.release(orderItems, performedBy, order.getOrderNumber(), order.getId());
+        }
+
+        // Varyantı olmayan eski kalemler (product bazlı stok)
         for (OrderItem item : orderItems) {
-            ProductVariant variant = item.getProductVariant();
             Product product = item.getProduct();
 
-            if (variant != null) {
-                Integer currentStock = variant.getStockQuantity();
-                if (currentStock == null) {
-                    currentStock = 0;
-                }
-                Integer newStock;
-
-                if (reserve) {
-                    newStock = Math.max(0, currentStock - item.getQuantity());
-                    stockTrackerService.trackOrderReservation(
-                            variant,
-                            item.getQuantity(),
-                            performedBy,
-                            order.getOrderNumber(),
-                            order.getId()
-                    );
-                } else {
-                    newStock = currentStock + item.getQuantity();
-                    stockTrackerService.trackOrderCancellation(
-                            variant,
-                            item.getQuantity(),
-                            performedBy,
-                            order.getOrderNumber(),
-                            order.getId()
-                    );
-                }
-
-                variant.setStockQuantity(newStock);
-                productVariantRepository.save(variant);
-
-                logger.info("Updated stock for variant " + variant.getSku() +
-                        ": " + currentStock + " -> " + newStock +
-                        " (reserve: " + reserve + ", quantity: " + item.getQuantity() + ")");
-            } else if (product != null) {
+            if (item.getProductVariant() == null && product != null) {
                 Integer currentStock = product.getStockQuantity();
                 Integer newStock;
 
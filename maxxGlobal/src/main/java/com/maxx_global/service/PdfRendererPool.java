@@ -0,0 +1,166 @@
+package com.maxx_global.service;
+
+import com.lowagie.text.pdf.BaseFont;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * HTML -> PDF çevirisi için ITextRenderer havuzu.
+ * Font dosyası açılışta bir kez bulunur (classpath, jar içindeyse geçici dosya, sistem fontları);
+ * her renderer oluşturulurken yalnızca bu yol kaydedilir, OpenPDF BaseFont önbelleği sayesinde font tekrar parse edilmez.
+ * Renderer'lar thread-safe olmadığı için ödünç alınıp iade edilir; hata veren renderer havuza geri konmaz.
+ */
+@Component
+public class PdfRendererPool {
+
+    private static final Logger logger = Logger.getLogger(PdfRendererPool.class.getName());
+
+    private static final String CLASSPATH_FONT = "fonts/DejaVuSans.ttf";
+
+    private static final String[] SYSTEM_FONT_PATHS = {
+            // Linux
+            "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
+            "/usr/share/fonts/TTF/DejaVuSans.ttf",
+            "/usr/share/fonts/truetype/liberation/LiberationSans-Regular.ttf",
+            // Windows
+            "C:/Windows/Fonts/arial.ttf",
+            "C:/Windows/Fonts/tahoma.ttf",
+            // Mac
+            "/Library/Fonts/Arial.ttf"
+    };
+
+    private final BlockingQueue<ITextRenderer> idleRenderers;
+    private final String fontPath;
+    private final boolean fontEmbedded;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+
+    public PdfRendererPool(@Value("${app.pdf.renderer-pool-size:4}") int poolSize) {
+        this.idleRenderers = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+
+        String classpathFont = resolveClasspathFont();
+        if (classpathFont != null) {
+            this.fontPath = classpathFont;
+            this.fontEmbedded = BaseFont.EMBEDDED;
+        } else {
+            this.fontPath = resolveSystemFont();
+            this.fontEmbedded = BaseFont.NOT_EMBEDDED;
+        }
+
+        if (fontPath != null) {
+            logger.info("PDF renderer font resolved once: " + fontPath + " (pool size: " + poolSize + ")");
+        } else {
+            logger.warning("⚠️ No PDF font found - Turkish characters may not display correctly");
+        }
+    }
+
+    /**
+     * HTML içeriğini PDF'e çevirir; havuzdan bir renderer kullanır, yoksa yenisini oluşturur
+     */
+    public byte[] render(String htmlContent) {
+        ITextRenderer renderer = borrow();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            renderer.setDocumentFromString(htmlContent);
+            renderer.layout();
+            renderer.createPDF(outputStream);
+            byte[] pdfBytes = outputStream.toByteArray();
+
+            release(renderer);
+            return pdfBytes;
+
+        } catch (Exception e) {
+            // Yarım kalmış durumdaki renderer tekrar kullanılmaz
+            logger.severe("❌ PDF generation failed: " + e.getMessage());
+            throw new RuntimeException("PDF olusturulamadi: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Font kaydı yapılmış yeni bir renderer (havuz dışı). Karşılaştırma ve teşhis için de kullanılır.
+     */
+    ITextRenderer createRenderer() {
+        ITextRenderer renderer = new ITextRenderer();
+        if (fontPath != null) {
+            try {
+                renderer.getFontResolver().addFont(fontPath, BaseFont.IDENTITY_H, fontEmbedded);
+            } catch (Exception e) {
+                logger.warning("Could not register PDF font " + fontPath + ": " + e.getMessage());
+            }
+        }
+        created.incrementAndGet();
+        return renderer;
+    }
+
+    String getFontPath() {
+        return fontPath;
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getBorrowCount() {
+        return borrowed.get();
+    }
+
+    private ITextRenderer borrow() {
+        borrowed.incrementAndGet();
+        ITextRenderer renderer = idleRenderers.poll();
+        return renderer != null ? renderer : createRenderer();
+    }
+
+    private void release(ITextRenderer renderer) {
+        // Havuz doluysa fazlalık renderer bırakılır
+        idleRenderers.offer(renderer);
+    }
+
+    /**
+     * Classpath fontunu dosya yolu olarak döndürür; font jar içindeyse bir kez geçici dosyaya kopyalanır
+     */
+    private String resolveClasspathFont() {
+        ClassPathResource fontResource = new ClassPathResource(CLASSPATH_FONT);
+        if (!fontResource.exists()) {
+            return null;
+        }
+
+        try {
+            if ("file".equals(fontResource.getURL().getProtocol())) {
+                return fontResource.getFile().getAbsolutePath();
+            }
+
+            Path tempFont = Files.createTempFile("dejavu-sans", ".ttf");
+            try (InputStream fontStream = fontResource.getInputStream()) {
+                Files.copy(fontStream, tempFont, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFont.toFile().deleteOnExit();
+            return tempFont.toAbsolutePath().toString();
+
+        } catch (Exception e) {
+            logger.warning("Could not resolve classpath font " + CLASSPATH_FONT + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String resolveSystemFont() {
+        for (String path : SYSTEM_FONT_PATHS) {
+            if (new File(path).exists()) {
+                return path;
+            }
+        }
+        return null;
+    }
+}
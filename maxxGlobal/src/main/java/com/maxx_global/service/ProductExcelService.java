@@ -1,20 +1,33 @@
 package com.maxx_global.service;
 
 import com.maxx_global.dto.productExcel.ExcelProductData;
+import com.maxx_global.dto.productExcel.ProductImportChunkResult;
 import com.maxx_global.dto.productExcel.ProductImportError;
+import com.maxx_global.dto.productExcel.ProductImportPlan;
 import com.maxx_global.dto.productExcel.ProductImportResult;
 import com.maxx_global.entity.AppUser;
 import com.maxx_global.entity.Category;
 import com.maxx_global.entity.Product;
 import com.maxx_global.entity.ProductVariant;
 import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.event.DiscountEligibilityChangedEvent;
 import com.maxx_global.repository.CategoryRepository;
 import com.maxx_global.repository.ProductRepository;
 import com.maxx_global.repository.ProductVariantRepository;
+import com.maxx_global.service.ExcelSheetReader.ExcelCell;
+import com.maxx_global.service.ExcelSheetReader.ExcelRow;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -23,6 +36,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -70,6 +84,10 @@ public class ProductExcelService {
     private static final int COL_MIN_ORDER_QUANTITY = 28;
     private static final int COL_MAX_ORDER_QUANTITY = 29;
 
+    // Streaming export: bellekte tutulan satır penceresi ve DB'den tek seferde yüklenen ürün sayısı
+    private static final int EXPORT_ROW_WINDOW = 100;
+    private static final int EXPORT_CHUNK_SIZE = 200;
+
     private static final short[] PRODUCT_ROW_COLORS = new short[]{
             IndexedColors.LEMON_CHIFFON.getIndex(),
             IndexedColors.LIGHT_TURQUOISE.getIndex(),
@@ -88,17 +106,23 @@ public class ProductExcelService {
     private final ProductVariantRepository productVariantRepository;
     private final AppUserService appUserService;
     private final StockTrackerService stockTrackerService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public ProductExcelService(ProductRepository productRepository,
                                CategoryRepository categoryRepository,
                                ProductVariantRepository productVariantRepository,
                                AppUserService appUserService,
-                               StockTrackerService stockTrackerService) {
+                               StockTrackerService stockTrackerService,
+                               ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.productVariantRepository = productVariantRepository;
         this.appUserService = appUserService;
         this.stockTrackerService = stockTrackerService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -135,72 +159,108 @@ public class ProductExcelService {
     }
 
     /**
-     * Mevcut ürünleri Excel'e aktar
+     * Mevcut ürünleri Excel'e aktar (streaming).
+     * Ürünler ID listesi üzerinden parça parça yüklenir, satırlar SXSSF penceresi ile diske boşaltılır;
+     * bellek kullanımı toplam ürün sayısından bağımsızdır.
      */
-    public byte[] exportProducts(Long categoryId, boolean activeOnly, boolean inStockOnly) throws IOException {
+    public void exportProducts(Long categoryId, boolean activeOnly, boolean inStockOnly,
+                               OutputStream outputStream) throws IOException {
         logger.info("Exporting products - categoryId: " + categoryId +
                 ", activeOnly: " + activeOnly + ", inStockOnly: " + inStockOnly);
 
-        // Ürünleri getir
-        List<Product> products = getProductsForExport(categoryId, activeOnly, inStockOnly);
+        // Sıralı ürün ID'leri - entity'ler export sırasında parça parça yüklenir
+        List<Long> productIds = findProductIdsForExport(categoryId, activeOnly, inStockOnly);
 
-        // Her ürün için aktif varyantları önceden çek
-        Map<Long, List<ProductVariant>> variantsByProduct = new LinkedHashMap<>();
+        // Header sayıları için varyant adetleri tek sorguda (varyant yoksa bile en az bir satır)
+        Map<Long, Long> variantCounts = new HashMap<>();
+        for (Object[] row : productVariantRepository.countVariantsByProduct(EntityStatus.ACTIVE)) {
+            variantCounts.put((Long) row[0], (Long) row[1]);
+        }
         int totalVariantCount = 0;
-
-        for (Product product : products) {
-            List<ProductVariant> variants = productVariantRepository
-                    .findByProductIdAndStatusOrderBySizeAsc(product.getId(), EntityStatus.ACTIVE);
-
-            variantsByProduct.put(product.getId(), variants);
-
-            // Varyant yoksa bile en az bir satır oluşturacağız
-            totalVariantCount += variants.isEmpty() ? 1 : variants.size();
+        for (Long productId : productIds) {
+            totalVariantCount += (int) Math.max(1L, variantCounts.getOrDefault(productId, 0L));
         }
 
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Ürün Listesi");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Ürün Listesi");
+            sheet.trackAllColumnsForAutoSizing();
 
             // Export header'ını oluştur
-            createExportHeader(workbook, sheet, products.size(), totalVariantCount);
+            createExportHeader(workbook, sheet, productIds.size(), totalVariantCount);
 
             // Sütun başlıklarını oluştur
             createProductColumnHeaders(workbook, sheet, 4);
 
+            // Renk başına tek stil (satır başına stil oluşturmak workbook stil limitini doldurur)
+            Map<Short, CellStyle> rowStyles = new HashMap<>();
+
             // Ürün ve varyant verilerini ekle (her ürün farklı renkte)
             int rowIndex = 5;
             int productIndex = 0;
-            for (Product product : products) {
-                List<ProductVariant> variants = variantsByProduct.getOrDefault(product.getId(), Collections.emptyList());
+            for (int from = 0; from < productIds.size(); from += EXPORT_CHUNK_SIZE) {
+                List<Long> chunkIds = productIds.subList(from, Math.min(from + EXPORT_CHUNK_SIZE, productIds.size()));
+
+                Map<Long, Product> productsById = productRepository.findAllById(chunkIds).stream()
+                        .collect(Collectors.toMap(Product::getId, product -> product));
+                Map<Long, List<ProductVariant>> variantsByProduct = productVariantRepository
+                        .findByProductIdsAndStatus(chunkIds, EntityStatus.ACTIVE).stream()
+                        .collect(Collectors.groupingBy(variant -> variant.getProduct().getId()));
+
+                for (Long productId : chunkIds) {
+                    Product product = productsById.get(productId);
+                    if (product == null) {
+                        continue;
+                    }
+                    List<ProductVariant> variants = variantsByProduct.getOrDefault(productId, Collections.emptyList());
 
-                // Her ürün için paletten bir renk seç
-                short colorIndex = PRODUCT_ROW_COLORS[productIndex % PRODUCT_ROW_COLORS.length];
+                    // Her ürün için paletten bir renk seç
+                    short colorIndex = PRODUCT_ROW_COLORS[productIndex % PRODUCT_ROW_COLORS.length];
+                    CellStyle dataCellStyle = rowStyles.computeIfAbsent(colorIndex,
+                            color -> createColoredDataCellStyle(workbook, color));
 
-                if (variants.isEmpty()) {
-                    createProductVariantDataRow(sheet, rowIndex++, product, null, colorIndex);
-                } else {
-                    for (ProductVariant variant : variants) {
-                        createProductVariantDataRow(sheet, rowIndex++, product, variant, colorIndex);
+                    if (variants.isEmpty()) {
+                        createProductVariantDataRow(sheet, rowIndex++, product, null, dataCellStyle);
+                    } else {
+                        for (ProductVariant variant : variants) {
+                            createProductVariantDataRow(sheet, rowIndex++, product, variant, dataCellStyle);
+                        }
                     }
+
+                    productIndex++;
                 }
 
-                productIndex++;
+                // Yazılan parçanın entity'lerini persistence context'ten at
+                entityManager.clear();
             }
 
             autoSizeColumns(sheet);
             workbook.write(outputStream);
 
-            logger.info("Products exported successfully: " + products.size() +
+            logger.info("Products exported successfully: " + productIds.size() +
                     " products, " + totalVariantCount + " variants");
-            return outputStream.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Export başlamadan kategori kontrolü; streaming yanıt açıldıktan sonra 404 dönülemez
+     */
+    public void validateExportCategory(Long categoryId) {
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new EntityNotFoundException("Category not found: " + categoryId);
         }
     }
 
     /**
      * Excel'den ürün verilerini import et - VARYANT BAZLI
+     * Güncellenen bir varyantın stoğu aynı anda bir sipariş rezervasyonu ile değişirse (@Version çakışması)
+     * import dosyadan yeniden okunarak tekrar denenir
      */
+    @Retryable(value = {ObjectOptimisticLockingFailureException.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
     @Transactional
     public ProductImportResult importProductsFromExcel(MultipartFile file,
                                                        boolean updateExisting,
@@ -208,161 +268,192 @@ public class ProductExcelService {
         logger.info("Importing products from Excel with VARIANT support - updateExisting: " + updateExisting +
                 ", skipErrors: " + skipErrors);
 
-        List<ProductImportError> errors = new ArrayList<>();
-        int totalRows = 0;
-        int successCount = 0;
-        int updatedProductCount = 0;
-        int createdProductCount = 0;
-        int variantCount = 0;
-
         String batchId = generateBatchId();
         String fileName = file.getOriginalFilename();
         AppUser currentUser = getCurrentUser();
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+        try (ExcelSheetReader reader = ExcelSheetReader.open(file.getInputStream())) {
 
-            int startRow = findProductDataStartRow(sheet);
-            if (startRow == -1) {
-                throw new IllegalArgumentException("Excel dosyasında veri satırları bulunamadı");
+            // ✅ 1. ADIM: Tüm satırları oku ve product code'a göre grupla
+            ProductImportPlan plan = planProductImport(reader);
+            List<ProductImportError> errors = new ArrayList<>(plan.errors());
+
+            if (!skipErrors && !errors.isEmpty()) {
+                ProductImportError firstError = errors.get(0);
+                String errorMessage = firstError.errorMessage();
+                boolean alreadyHasRowInfo = errorMessage != null && errorMessage.matches("^Satır \\d+:.*");
+                throw new IllegalArgumentException(alreadyHasRowInfo ? errorMessage :
+                        "Satır " + firstError.rowNumber() + ": " + errorMessage);
             }
 
-            // Cache'ler oluştur
-            Map<String, Category> categoryMap = createCategoryNameMap();
-            Map<String, Product> existingProductMap = createProductCodeMap();
+            // ✅ 2. ADIM: Her grup için Product + Variants oluştur/güncelle
+            ProductImportChunkResult result = importProductChunk(
+                    plan.groups(), updateExisting, skipErrors, currentUser, batchId, fileName);
+            errors.addAll(result.errors());
 
-            // ✅ 1. ADIM: Tüm satırları oku ve product code'a göre grupla
-            Map<String, List<ExcelProductData>> groupedData = new LinkedHashMap<>();
+            int successCount = result.successCount();
+            boolean success = errors.isEmpty() || (skipErrors && successCount > 0);
+            String message = String.format(
+                    "Import tamamlandı. Toplam Satır: %d, Başarılı: %d, Hatalı: %d, " +
+                    "Ürün Güncellenen: %d, Ürün Yeni: %d, Toplam Variant: %d (Batch ID: %s)",
+                    plan.totalRows(), successCount, errors.size(),
+                    result.updatedCount(), result.createdCount(), successCount, batchId);
 
-            for (int rowIndex = startRow; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null || isEmptyProductRow(row)) {
-                    continue;
-                }
+            logger.info(message);
 
-                totalRows++;
+            return new ProductImportResult(
+                    plan.totalRows(),
+                    successCount,
+                    errors.size(),
+                    result.updatedCount(),
+                    result.createdCount(),
+                    errors,
+                    success,
+                    message
+            );
 
-                try {
-                    ExcelProductData productData = parseRowToProductData(row, rowIndex + 1);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.severe("Excel import failed: " + e.getMessage());
+            throw new RuntimeException("Excel import hatası: " + e.getMessage(), e);
+        }
+    }
 
-                    if (!productData.isValid()) {
-                        errors.add(new ProductImportError(
-                                productData.getRowNumber(),
-                                productData.getProductCode(),
-                                productData.getValidationError(),
-                                getRowDataAsString(row)
-                        ));
-                        if (!skipErrors) {
-                            throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " +
-                                    productData.getValidationError());
-                        }
-                        continue;
-                    }
+    /**
+     * Import planı: satırlar dosyadan sırayla okunur (workbook belleğe alınmaz), doğrulanır
+     * ve ürün koduna göre gruplanır. Hatalı satırlar planın hata listesine yazılır.
+     */
+    public ProductImportPlan planProductImport(ExcelSheetReader reader) throws IOException {
+        if (!skipToProductDataStart(reader)) {
+            throw new IllegalArgumentException("Excel dosyasında veri satırları bulunamadı");
+        }
 
-                    // Kategori kontrolü
-                    if (!categoryMap.containsKey(productData.getCategoryName().toUpperCase())) {
-                        String error = "Kategori bulunamadı: " + productData.getCategoryName();
-                        errors.add(new ProductImportError(
-                                productData.getRowNumber(),
-                                productData.getProductCode(),
-                                error,
-                                getRowDataAsString(row)
-                        ));
-                        if (!skipErrors) {
-                            throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                        }
-                        continue;
-                    }
+        Map<String, Category> categoryMap = createCategoryNameMap();
+        List<ProductImportError> errors = new ArrayList<>();
+        LinkedHashMap<String, List<ExcelProductData>> groupedData = new LinkedHashMap<>();
+        int totalRows = 0;
 
-                    // Product code'a göre grupla
-                    String productCode = productData.getProductCode().toUpperCase();
-                    groupedData.computeIfAbsent(productCode, k -> new ArrayList<>()).add(productData);
+        ExcelRow row;
+        while ((row = reader.nextRow()) != null) {
+            int rowIndex = row.getRowNum();
+            if (isEmptyProductRow(row)) {
+                continue;
+            }
 
-                } catch (Exception e) {
-                    // Eğer hata mesajı zaten "Satır X:" ile başlıyorsa, tekrar eklemeyelim
-                    String errorMessage = e.getMessage();
-                    boolean alreadyHasRowInfo = errorMessage != null && errorMessage.matches("^Satır \\d+:.*");
+            totalRows++;
 
-                    String error = alreadyHasRowInfo ? errorMessage : ("Satır işleme hatası: " + errorMessage);
+            try {
+                ExcelProductData productData = parseRowToProductData(row, rowIndex + 1);
 
+                if (!productData.isValid()) {
                     errors.add(new ProductImportError(
-                            rowIndex + 1,
-                            getCellValueAsString(row.getCell(COL_PRODUCT_CODE)),
-                            error,
+                            productData.getRowNumber(),
+                            productData.getProductCode(),
+                            productData.getValidationError(),
                             getRowDataAsString(row)
                     ));
+                    continue;
+                }
 
-                    if (!skipErrors) {
-                        // Eğer hata mesajı zaten satır bilgisi içeriyorsa, tekrar ekleme
-                        String exceptionMessage = alreadyHasRowInfo ? errorMessage : ("Satır " + (rowIndex + 1) + ": " + errorMessage);
-                        throw new IllegalArgumentException(exceptionMessage);
-                    }
+                // Kategori kontrolü
+                if (!categoryMap.containsKey(productData.getCategoryName().toUpperCase())) {
+                    errors.add(new ProductImportError(
+                            productData.getRowNumber(),
+                            productData.getProductCode(),
+                            "Kategori bulunamadı: " + productData.getCategoryName(),
+                            getRowDataAsString(row)
+                    ));
+                    continue;
                 }
-            }
 
-            // ✅ 2. ADIM: Her grup için Product + Variants oluştur/güncelle
-            for (Map.Entry<String, List<ExcelProductData>> entry : groupedData.entrySet()) {
-                String productCode = entry.getKey();
-                List<ExcelProductData> variants = entry.getValue();
+                // Product code'a göre grupla
+                String productCode = productData.getProductCode().toUpperCase();
+                groupedData.computeIfAbsent(productCode, k -> new ArrayList<>()).add(productData);
 
-                try {
-                    Category category = categoryMap.get(variants.get(0).getCategoryName().toUpperCase());
+            } catch (Exception e) {
+                errors.add(new ProductImportError(
+                        rowIndex + 1,
+                        getCellValueAsString(row.getCell(COL_PRODUCT_CODE)),
+                        "Satır işleme hatası: " + e.getMessage(),
+                        getRowDataAsString(row)
+                ));
+            }
+        }
 
-                    boolean isUpdate = saveOrUpdateProductWithVariants(
-                            productCode, variants, category, existingProductMap,
-                            updateExisting, currentUser, batchId, fileName);
+        return new ProductImportPlan(totalRows, groupedData, errors);
+    }
 
-                    if (isUpdate) {
-                        updatedProductCount++;
-                    } else {
-                        createdProductCount++;
-                    }
+    /**
+     * Ürün gruplarından bir parçayı tek transaction'da kaydeder.
+     * Parçadaki mevcut ürünler tek sorguyla yüklenir; skipErrors kapalıyken ilk hata parçayı geri alır.
+     * Varyant sürüm çakışması satır hatası sayılmaz; çağıranın transaction'ı geri alınıp parça yeniden denenir.
+     */
+    @Transactional
+    public ProductImportChunkResult importProductChunk(Map<String, List<ExcelProductData>> groups,
+                                                       boolean updateExisting,
+                                                       boolean skipErrors,
+                                                       AppUser performedBy,
+                                                       String batchId,
+                                                       String fileName) {
+        Map<String, Category> categoryMap = createCategoryNameMap();
+        Map<String, Product> existingProductMap = createProductCodeMap(groups.keySet());
 
-                    variantCount += variants.size();
-                    successCount += variants.size();
+        List<ProductImportError> errors = new ArrayList<>();
+        int rowCount = 0;
+        int successCount = 0;
+        int updatedProductCount = 0;
+        int createdProductCount = 0;
 
-                } catch (Exception e) {
-                    for (ExcelProductData variantData : variants) {
-                        errors.add(new ProductImportError(
-                                variantData.getRowNumber(),
-                                productCode,
-                                "Product/Variant kaydetme hatası: " + e.getMessage(),
-                                ""
-                        ));
-                    }
+        for (Map.Entry<String, List<ExcelProductData>> entry : groups.entrySet()) {
+            String productCode = entry.getKey();
+            List<ExcelProductData> variants = entry.getValue();
+            rowCount += variants.size();
 
-                    if (!skipErrors) {
-                        throw new IllegalArgumentException("Product " + productCode + " kaydedilemedi: " + e.getMessage());
-                    }
+            try {
+                Category category = categoryMap.get(variants.get(0).getCategoryName().toUpperCase());
+                if (category == null) {
+                    throw new IllegalArgumentException("Kategori bulunamadı: " + variants.get(0).getCategoryName());
+                }
+
+                boolean isUpdate = saveOrUpdateProductWithVariants(
+                        productCode, variants, category, existingProductMap,
+                        updateExisting, performedBy, batchId, fileName);
 
-                    logger.warning("Product " + productCode + " failed: " + e.getMessage());
+                if (isUpdate) {
+                    updatedProductCount++;
+                } else {
+                    createdProductCount++;
                 }
-            }
 
-            boolean success = errors.isEmpty() || (skipErrors && successCount > 0);
-            String message = String.format(
-                    "Import tamamlandı. Toplam Satır: %d, Başarılı: %d, Hatalı: %d, " +
-                    "Ürün Güncellenen: %d, Ürün Yeni: %d, Toplam Variant: %d (Batch ID: %s)",
-                    totalRows, successCount, errors.size(),
-                    updatedProductCount, createdProductCount, variantCount, batchId);
+                successCount += variants.size();
 
-            logger.info(message);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                throw e;
+            } catch (Exception e) {
+                for (ExcelProductData variantData : variants) {
+                    errors.add(new ProductImportError(
+                            variantData.getRowNumber(),
+                            productCode,
+                            "Product/Variant kaydetme hatası: " + e.getMessage(),
+                            ""
+                    ));
+                }
 
-            return new ProductImportResult(
-                    totalRows,
-                    successCount,
-                    errors.size(),
-                    updatedProductCount,
-                    createdProductCount,
-                    errors,
-                    success,
-                    message
-            );
+                if (!skipErrors) {
+                    throw new IllegalArgumentException("Product " + productCode + " kaydedilemedi: " + e.getMessage());
+                }
 
-        } catch (Exception e) {
-            logger.severe("Excel import failed: " + e.getMessage());
-            throw new RuntimeException("Excel import hatası: " + e.getMessage(), e);
+                logger.warning("Product " + productCode + " failed: " + e.getMessage());
+            }
         }
+
+        if (successCount > 0) {
+            // Yeni/taşınan ürünler kategori bazlı indirimlerin kapsamını değiştirebilir
+            eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("product import chunk: " + batchId));
+        }
+
+        return new ProductImportChunkResult(rowCount, successCount, createdProductCount, updatedProductCount, errors);
     }
 
 
@@ -401,20 +492,20 @@ public class ProductExcelService {
         List<ProductImportError> errors = new ArrayList<>();
         int totalRows = 0;
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+        try (ExcelSheetReader reader = ExcelSheetReader.open(file.getInputStream())) {
 
-            int startRow = findProductDataStartRow(sheet);
-            if (startRow == -1) {
+            if (!skipToProductDataStart(reader)) {
                 throw new IllegalArgumentException("Excel dosyasında veri satırları bulunamadı");
             }
 
             Map<String, Category> categoryMap = createCategoryNameMap();
             Set<String> productCodes = new HashSet<>();
 
-            for (int rowIndex = startRow; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null || isEmptyProductRow(row)) {
+            // Satırlar dosyadan sırayla okunur, workbook belleğe alınmaz
+            ExcelRow row;
+            while ((row = reader.nextRow()) != null) {
+                int rowIndex = row.getRowNum();
+                if (isEmptyProductRow(row)) {
                     continue;
                 }
 
@@ -716,13 +807,9 @@ public class ProductExcelService {
     }
 
     private void createProductVariantDataRow(Sheet sheet, int rowIndex, Product product,
-                                            ProductVariant variant, short colorIndex) {
+                                            ProductVariant variant, CellStyle dataCellStyle) {
         Row row = sheet.createRow(rowIndex);
 
-        // Renkli veri hücresi stili oluştur (aynı ürünün varyantları aynı renkte)
-        Workbook workbook = sheet.getWorkbook();
-        CellStyle dataCellStyle = createColoredDataCellStyle(workbook, colorIndex);
-
         // Ortak ürün alanları
         setCellValueWithStyle(row, COL_PRODUCT_CODE, product.getCode(), dataCellStyle);
         setCellValueWithStyle(row, COL_PRODUCT_NAME_TR, product.getName(), dataCellStyle);
@@ -798,63 +885,42 @@ public class ProductExcelService {
         return value ? "EVET" : "HAYIR";
     }
 
-    private List<Product> getProductsForExport(Long categoryId, boolean activeOnly, boolean inStockOnly) {
+    private List<Long> findProductIdsForExport(Long categoryId, boolean activeOnly, boolean inStockOnly) {
         if (categoryId != null) {
             // Kategori kontrolü
-            categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new EntityNotFoundException("Category not found: " + categoryId));
-
-            List<Product> products = productRepository.findByCategoryIdAndStatusOrderByNameAsc(
-                    categoryId, EntityStatus.ACTIVE);
-
-            return filterProducts(products, inStockOnly);
-        } else {
-            List<Product> products = activeOnly ?
-                    productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE) :
-                    productRepository.findAll();
+            validateExportCategory(categoryId);
 
-            return filterProducts(products, inStockOnly);
+            return productRepository.findIdsForExportByCategory(categoryId, EntityStatus.ACTIVE, inStockOnly);
         }
+        return productRepository.findIdsForExport(!activeOnly, EntityStatus.ACTIVE, inStockOnly);
     }
 
-    private List<Product> filterProducts(List<Product> products, boolean inStockOnly) {
-        if (!inStockOnly) {
-            return products;
-        }
-
-        return products.stream()
-                .filter(product -> !productVariantRepository
-                        .findInStockVariantsByProduct(product.getId(), EntityStatus.ACTIVE)
-                        .isEmpty())
-                .collect(Collectors.toList());
-    }
-
-    private int findProductDataStartRow(Sheet sheet) {
-        // "Ürün Kodu" header'ını ara
-        for (int i = 0; i <= 15; i++) {
-            Row row = sheet.getRow(i);
-            if (row != null) {
-                Cell firstCell = row.getCell(0);
-                if (firstCell != null && "Ürün Kodu".equals(getCellValueAsString(firstCell))) {
-                    return i + 1; // Data bir sonraki satırdan başlar
-                }
+    /**
+     * "Ürün Kodu" header satırına kadar okur; okuyucu veri satırlarının başında kalır
+     */
+    private boolean skipToProductDataStart(ExcelSheetReader reader) throws IOException {
+        ExcelRow row;
+        while ((row = reader.nextRow()) != null && row.getRowNum() <= 15) {
+            ExcelCell firstCell = row.getCell(0);
+            if (firstCell != null && "Ürün Kodu".equals(getCellValueAsString(firstCell))) {
+                return true; // Data bir sonraki satırdan başlar
             }
         }
-        return -1; // Bulunamadı
+        return false; // Bulunamadı
     }
 
-    private boolean isEmptyProductRow(Row row) {
+    private boolean isEmptyProductRow(ExcelRow row) {
         if (row == null) return true;
 
         // En azından ürün kodu ve adı olmalı
-        Cell codeCell = row.getCell(COL_PRODUCT_CODE);
-        Cell nameCell = row.getCell(COL_PRODUCT_NAME_TR);
+        ExcelCell codeCell = row.getCell(COL_PRODUCT_CODE);
+        ExcelCell nameCell = row.getCell(COL_PRODUCT_NAME_TR);
 
         return (codeCell == null || getCellValueAsString(codeCell).trim().isEmpty()) &&
                 (nameCell == null || getCellValueAsString(nameCell).trim().isEmpty());
     }
 
-    private ExcelProductData parseRowToProductData(Row row, int rowNumber) {
+    private ExcelProductData parseRowToProductData(ExcelRow row, int rowNumber) {
         ExcelProductData productData = new ExcelProductData(rowNumber);
 
         productData.setProductCode(getCellValueAsString(row.getCell(COL_PRODUCT_CODE)));
@@ -910,8 +976,11 @@ public class ProductExcelService {
         return categoryMap;
     }
 
-    private Map<String, Product> createProductCodeMap() {
-        List<Product> products = productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE);
+    private Map<String, Product> createProductCodeMap(Collection<String> upperCaseCodes) {
+        if (upperCaseCodes.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Product> products = productRepository.findByUpperCodeInAndStatus(upperCaseCodes, EntityStatus.ACTIVE);
         return products.stream()
                 .collect(Collectors.toMap(
                         product -> product.getCode().toUpperCase(),
@@ -1234,13 +1303,13 @@ public class ProductExcelService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private String getCellValueAsString(Cell cell) {
+    private String getCellValueAsString(ExcelCell cell) {
         if (cell == null) return "";
 
         return switch (cell.getCellType()) {
             case STRING -> cell.getStringCellValue().trim();
             case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
+                if (cell.isDateFormatted()) {
                     yield cell.getLocalDateTimeCellValue().format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
                 } else {
                     double numValue = cell.getNumericCellValue();
@@ -1263,7 +1332,7 @@ public class ProductExcelService {
         };
     }
 
-    private BigDecimal getCellValueAsBigDecimal(Cell cell) {
+    private BigDecimal getCellValueAsBigDecimal(ExcelCell cell) {
         if (cell == null) return null;
 
         try {
@@ -1284,7 +1353,7 @@ public class ProductExcelService {
         }
     }
 
-    private Integer getCellValueAsInteger(Cell cell) {
+    private Integer getCellValueAsInteger(ExcelCell cell) {
         if (cell == null) return null;
 
         try {
@@ -1304,11 +1373,11 @@ public class ProductExcelService {
         }
     }
 
-    private LocalDate getCellValueAsLocalDate(Cell cell) {
+    private LocalDate getCellValueAsLocalDate(ExcelCell cell) {
         if (cell == null) return null;
 
         try {
-            if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+            if (cell.getCellType() == CellType.NUMERIC && cell.isDateFormatted()) {
                 return cell.getLocalDateTimeCellValue().toLocalDate();
             } else if (cell.getCellType() == CellType.STRING) {
                 String dateStr = cell.getStringCellValue().trim();
@@ -1335,7 +1404,7 @@ public class ProductExcelService {
         return null;
     }
 
-    private Boolean getCellValueAsBoolean(Cell cell) {
+    private Boolean getCellValueAsBoolean(ExcelCell cell) {
         if (cell == null) return null;
 
         String value = getCellValueAsString(cell).toUpperCase();
@@ -1346,12 +1415,12 @@ public class ProductExcelService {
         };
     }
 
-    private String getRowDataAsString(Row row) {
+    private String getRowDataAsString(ExcelRow row) {
         if (row == null) return "";
 
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < 30; i++) {
-            Cell cell = row.getCell(i);
+            ExcelCell cell = row.getCell(i);
             if (i > 0) sb.append(" | ");
             sb.append(getCellValueAsString(cell));
         }
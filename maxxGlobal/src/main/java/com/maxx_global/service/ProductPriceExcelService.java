@@ -1,28 +1,43 @@
 package com.maxx_global.service;
 
 import com.maxx_global.dto.productPriceExcell.ExcelPriceData;
+import com.maxx_global.dto.productPriceExcell.PriceImportChunkResult;
 import com.maxx_global.dto.productPriceExcell.PriceImportError;
+import com.maxx_global.dto.productPriceExcell.PriceImportPlan;
 import com.maxx_global.dto.productPriceExcell.PriceImportResult;
+import com.maxx_global.dto.productPriceExcell.PriceImportRow;
 import com.maxx_global.entity.Dealer;
 import com.maxx_global.entity.Product;
 import com.maxx_global.entity.ProductPrice;
 import com.maxx_global.entity.ProductVariant;
 import com.maxx_global.enums.CurrencyType;
 import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.event.ProductPriceChangedEvent;
 import com.maxx_global.repository.DealerRepository;
+import com.maxx_global.repository.ProductPriceBulkRepository;
+import com.maxx_global.repository.ProductPriceBulkRepository.PriceUpsert;
 import com.maxx_global.repository.ProductPriceRepository;
 import com.maxx_global.repository.ProductRepository;
 import com.maxx_global.repository.ProductVariantRepository;
+import com.maxx_global.service.ExcelSheetReader.ExcelCell;
+import com.maxx_global.service.ExcelSheetReader.ExcelRow;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -52,6 +67,10 @@ public class ProductPriceExcelService {
     private static final int COL_VALID_UNTIL = 11;
     private static final int COL_IS_ACTIVE = 12;
 
+    // Streaming export: bellekte tutulan satır penceresi ve DB'den tek seferde yüklenen ürün sayısı
+    private static final int EXPORT_ROW_WINDOW = 100;
+    private static final int EXPORT_CHUNK_SIZE = 200;
+
     private static final short[] PRODUCT_ROW_COLORS = new short[]{
             IndexedColors.LEMON_CHIFFON.getIndex(),
             IndexedColors.LIGHT_TURQUOISE.getIndex(),
@@ -69,160 +88,144 @@ public class ProductPriceExcelService {
     private final ProductVariantRepository productVariantRepository;  // ✅ YENİ
     private final ProductPriceRepository productPriceRepository;
     private final DealerRepository dealerRepository;
+    private final ProductPriceBulkRepository productPriceBulkRepository;
+    private final AuditorAware<Long> auditorAware;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public ProductPriceExcelService(ProductRepository productRepository,
                                     ProductVariantRepository productVariantRepository,  // ✅ YENİ
                                     ProductPriceRepository productPriceRepository,
-                                    DealerRepository dealerRepository) {
+                                    DealerRepository dealerRepository,
+                                    ProductPriceBulkRepository productPriceBulkRepository,
+                                    AuditorAware<Long> auditorAware,
+                                    ApplicationEventPublisher applicationEventPublisher) {
         this.productRepository = productRepository;
         this.productVariantRepository = productVariantRepository;  // ✅ YENİ
         this.productPriceRepository = productPriceRepository;
         this.dealerRepository = dealerRepository;
+        this.productPriceBulkRepository = productPriceBulkRepository;
+        this.auditorAware = auditorAware;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
      * ✅ VARYANT BAZLI: Mevcut fiyatları dolu olarak template oluştur
      * Bayi için fiyat şablonu oluştur - Her varyant için ayrı satır, mevcut fiyatlar dolu gelir
      */
-    public byte[] generatePriceTemplate(Long dealerId) throws IOException {
+    public void generatePriceTemplate(Long dealerId, OutputStream outputStream) throws IOException {
         logger.info("Generating VARIANT-BASED price template with existing prices for dealer: " + dealerId);
 
-        Dealer dealer = dealerRepository.findById(dealerId)
-                .orElseThrow(() -> new EntityNotFoundException("Dealer not found with id: " + dealerId));
-
-        List<Product> products = productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE);
-
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Ürün Fiyatları");
-
-            // Tek seferlik stil oluştur (performans için)
-            CellStyle baseLockedStyle = createLockedCellStyle(workbook);
-            CellStyle baseUnlockedStyle = createUnlockedCellStyle(workbook);
-            int colorCursor = 0;
-
-            // Header ve talimatları oluştur
-            createHeaderSection(workbook, sheet, dealer);
-
-            // Sütun başlıklarını oluştur
-            createColumnHeaders(workbook, sheet, 4); // 5. satırdan başla
-
-            // ✅ VARYANT BAZLI: Her ürünün her varyantı için ayrı satır (aynı ürünün varyantları aynı renkte)
-            int rowIndex = 5;
-            int totalVariants = 0;
-
-            for (Product product : products) {
-                // Ürünün tüm aktif varyantlarını al
-                List<ProductVariant> variants = productVariantRepository
-                        .findByProductIdAndStatusOrderBySizeAsc(product.getId(), EntityStatus.ACTIVE);
-
-                if (variants.isEmpty()) {
-                    logger.warning("Product " + product.getCode() + " has no variants, skipping");
-                    continue;
-                }
-
-                // Aynı ürünün tüm varyantları için aynı renk
-                short color = PRODUCT_ROW_COLORS[colorCursor % PRODUCT_ROW_COLORS.length];
-                CellStyle lockedStyle = cloneWithFill(workbook, baseLockedStyle, color);
-                CellStyle unlockedStyle = cloneWithFill(workbook, baseUnlockedStyle, color);
-                colorCursor++;
-
-                for (ProductVariant variant : variants) {
-                    // Bu varyant için bayi fiyatlarını al
-                    Map<CurrencyType, ProductPrice> priceMap = getVariantPricesForDealer(
-                            variant.getId(), dealerId, true); // Sadece aktif fiyatlar
-
-                    createVariantRow(sheet, rowIndex++, product, variant,
-                            priceMap.get(CurrencyType.TRY),
-                            priceMap.get(CurrencyType.USD),
-                            priceMap.get(CurrencyType.EUR),
-                            lockedStyle,
-                            unlockedStyle);
-
-                    totalVariants++;
-                }
-            }
-
-            // Koruma: sadece locked hücreler korunsun, unlocked olanlar düzenlenebilir
-            sheet.protectSheet("");
+        // Sadece şu an geçerli fiyatlar
+        writeDealerPriceSheet(dealerId, true, outputStream);
+    }
 
-            // Sütun genişliklerini ayarla
-            autoSizeColumns(sheet);
+    /**
+     * ✅ VARYANT BAZLI: Bayi fiyatlarını Excel'e aktar (her varyant için ayrı satır)
+     */
+    public void exportDealerPrices(Long dealerId, boolean activeOnly, OutputStream outputStream) throws IOException {
+        logger.info("Exporting VARIANT-BASED dealer prices - dealerId: " + dealerId + ", activeOnly: " + activeOnly);
 
-            // Excel dosyasını byte array'e çevir
-            workbook.write(outputStream);
+        writeDealerPriceSheet(dealerId, activeOnly, outputStream);
+    }
 
-            logger.info("Price template generated successfully with " + products.size() +
-                    " products, " + totalVariants + " variants (existing prices included)");
-            return outputStream.toByteArray();
+    /**
+     * Export başlamadan bayi kontrolü; streaming yanıt açıldıktan sonra 404 dönülemez
+     */
+    public void validateDealer(Long dealerId) {
+        if (!dealerRepository.existsById(dealerId)) {
+            throw new EntityNotFoundException("Dealer not found with id: " + dealerId);
         }
     }
 
-
     /**
-     * ✅ VARYANT BAZLI: Bayi fiyatlarını Excel'e aktar (her varyant için ayrı satır)
+     * Şablon ve export için ortak streaming yazıcı.
+     * Ürünler ID listesi üzerinden parça parça yüklenir; her parçanın varyantları ve bayi fiyatları
+     * tek sorguda gelir, satırlar SXSSF penceresi ile diske boşaltılır.
      */
-    public byte[] exportDealerPrices(Long dealerId, boolean activeOnly) throws IOException {
-        logger.info("Exporting VARIANT-BASED dealer prices - dealerId: " + dealerId + ", activeOnly: " + activeOnly);
-
+    private void writeDealerPriceSheet(Long dealerId, boolean activeOnly, OutputStream outputStream) throws IOException {
         Dealer dealer = dealerRepository.findById(dealerId)
                 .orElseThrow(() -> new EntityNotFoundException("Dealer not found with id: " + dealerId));
 
-        List<Product> products = productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE);
-
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+        List<Long> productIds = productRepository.findIdsForExport(false, EntityStatus.ACTIVE, false);
 
-            Sheet sheet = workbook.createSheet("Ürün Fiyatları");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Ürün Fiyatları");
+            sheet.trackAllColumnsForAutoSizing();
 
+            // Tek seferlik stil oluştur (performans için); renkli kopyalar renk başına bir kez
             CellStyle baseLockedStyle = createLockedCellStyle(workbook);
             CellStyle baseUnlockedStyle = createUnlockedCellStyle(workbook);
+            Map<Short, CellStyle> lockedStyles = new HashMap<>();
+            Map<Short, CellStyle> unlockedStyles = new HashMap<>();
             int colorCursor = 0;
 
             // Header ve talimatları oluştur
             createHeaderSection(workbook, sheet, dealer);
 
             // Sütun başlıklarını oluştur
-            createColumnHeaders(workbook, sheet, 4);
+            createColumnHeaders(workbook, sheet, 4); // 5. satırdan başla
 
             // ✅ VARYANT BAZLI: Her ürünün her varyantı için ayrı satır (aynı ürünün varyantları aynı renkte)
             int rowIndex = 5;
             int totalVariants = 0;
 
-            for (Product product : products) {
-                // Ürünün tüm aktif varyantlarını al
-                List<ProductVariant> variants = productVariantRepository
-                        .findByProductIdAndStatusOrderBySizeAsc(product.getId(), EntityStatus.ACTIVE);
+            for (int from = 0; from < productIds.size(); from += EXPORT_CHUNK_SIZE) {
+                List<Long> chunkIds = productIds.subList(from, Math.min(from + EXPORT_CHUNK_SIZE, productIds.size()));
 
-                if (variants.isEmpty()) {
-                    logger.warning("Product " + product.getCode() + " has no variants, skipping");
-                    continue;
-                }
+                Map<Long, Product> productsById = productRepository.findAllById(chunkIds).stream()
+                        .collect(Collectors.toMap(Product::getId, product -> product));
+                List<ProductVariant> chunkVariants = productVariantRepository
+                        .findByProductIdsAndStatus(chunkIds, EntityStatus.ACTIVE);
+                Map<Long, List<ProductVariant>> variantsByProduct = chunkVariants.stream()
+                        .collect(Collectors.groupingBy(variant -> variant.getProduct().getId()));
+                Map<Long, Map<CurrencyType, ProductPrice>> pricesByVariant =
+                        getVariantPricesForDealer(chunkVariants, dealerId, activeOnly);
+
+                for (Long productId : chunkIds) {
+                    Product product = productsById.get(productId);
+                    List<ProductVariant> variants = variantsByProduct.getOrDefault(productId, Collections.emptyList());
 
-                // Aynı ürünün tüm varyantları için aynı renk
-                short color = PRODUCT_ROW_COLORS[colorCursor % PRODUCT_ROW_COLORS.length];
-                CellStyle lockedStyle = cloneWithFill(workbook, baseLockedStyle, color);
-                CellStyle unlockedStyle = cloneWithFill(workbook, baseUnlockedStyle, color);
-                colorCursor++;
-
-                for (ProductVariant variant : variants) {
-                    // Bu varyant için bayi fiyatlarını al
-                    Map<CurrencyType, ProductPrice> priceMap = getVariantPricesForDealer(
-                            variant.getId(), dealerId, activeOnly);
-
-                    createVariantRow(sheet, rowIndex++, product, variant,
-                            priceMap.get(CurrencyType.TRY),
-                            priceMap.get(CurrencyType.USD),
-                            priceMap.get(CurrencyType.EUR),
-                            lockedStyle,
-                            unlockedStyle);
-
-                    totalVariants++;
+                    if (product == null) {
+                        continue;
+                    }
+                    if (variants.isEmpty()) {
+                        logger.warning("Product " + product.getCode() + " has no variants, skipping");
+                        continue;
+                    }
+
+                    // Aynı ürünün tüm varyantları için aynı renk
+                    short color = PRODUCT_ROW_COLORS[colorCursor % PRODUCT_ROW_COLORS.length];
+                    CellStyle lockedStyle = lockedStyles.computeIfAbsent(color,
+                            c -> cloneWithFill(workbook, baseLockedStyle, c));
+                    CellStyle unlockedStyle = unlockedStyles.computeIfAbsent(color,
+                            c -> cloneWithFill(workbook, baseUnlockedStyle, c));
+                    colorCursor++;
+
+                    for (ProductVariant variant : variants) {
+                        Map<CurrencyType, ProductPrice> priceMap =
+                                pricesByVariant.getOrDefault(variant.getId(), Collections.emptyMap());
+
+                        createVariantRow(sheet, rowIndex++, product, variant,
+                                priceMap.get(CurrencyType.TRY),
+                                priceMap.get(CurrencyType.USD),
+                                priceMap.get(CurrencyType.EUR),
+                                lockedStyle,
+                                unlockedStyle);
+
+                        totalVariants++;
+                    }
                 }
+
+                // Yazılan parçanın entity'lerini persistence context'ten at
+                entityManager.clear();
             }
 
-            // Sheet koruması
+            // Koruma: sadece locked hücreler korunsun, unlocked olanlar düzenlenebilir
             sheet.protectSheet("");
 
             // Sütun genişliklerini ayarla
@@ -230,9 +233,11 @@ public class ProductPriceExcelService {
 
             workbook.write(outputStream);
 
-            logger.info("Dealer prices exported successfully - " + products.size() +
+            logger.info("Dealer price sheet written - dealerId: " + dealerId + ", " + productIds.size() +
                     " products, " + totalVariants + " variants");
-            return outputStream.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
@@ -248,180 +253,243 @@ public class ProductPriceExcelService {
                 ", updateExisting: " + updateExisting + ", skipErrors: " + skipErrors);
 
         // Dealer kontrolü
-        Dealer dealer = dealerRepository.findById(dealerId)
-                .orElseThrow(() -> new EntityNotFoundException("Dealer not found with id: " + dealerId));
+        validateDealer(dealerId);
 
-        List<PriceImportError> errors = new ArrayList<>();
-        int totalRows = 0;
-        int successCount = 0;
-        int updatedCount = 0;
-        int createdCount = 0;
+        try (ExcelSheetReader reader = ExcelSheetReader.open(file.getInputStream())) {
+
+            PriceImportPlan plan = planPriceImport(reader);
+            PriceImportChunkResult result = importPriceChunk(dealerId, plan.rows(), updateExisting, skipErrors);
+            List<PriceImportError> errors = result.errors();
+
+            int successCount = result.successCount();
+            boolean success = errors.isEmpty() || (skipErrors && successCount > 0);
+            String message = String.format("Import tamamlandı. Toplam: %d, Başarılı: %d, Hatalı: %d, " +
+                            "Güncellenen: %d, Yeni: %d",
+                    plan.totalRows(), successCount, errors.size(), result.updatedCount(), result.createdCount());
+
+            logger.info(message);
+
+            return new PriceImportResult(
+                    plan.totalRows(),
+                    successCount,
+                    errors.size(),
+                    result.updatedCount(),
+                    result.createdCount(),
+                    errors,
+                    success,
+                    message
+            );
+
+        } catch (Exception e) {
+            logger.severe("Excel import failed: " + e.getMessage());
+            throw new RuntimeException("Excel import hatası: " + e.getMessage(), e);
+        }
+    }
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+    /**
+     * Import planı: satırlar dosyadan sırayla okunur (workbook belleğe alınmaz) ve para birimi bazında ayrıştırılır.
+     * Okunamayan satırlar hata olarak değil parseError ile plana alınır; hata kaydı işleme sırasında yazılır.
+     */
+    public PriceImportPlan planPriceImport(ExcelSheetReader reader) throws IOException {
+        // Veri satırlarını bul (header'ları atla)
+        if (!skipToDataStart(reader)) {
+            throw new IllegalArgumentException("Excel dosyasında veri satırları bulunamadı");
+        }
+
+        List<PriceImportRow> rows = new ArrayList<>();
+        int totalRows = 0;
 
-            // Veri satırlarını bul (header'ları atla)
-            int startRow = findDataStartRow(sheet);
-            if (startRow == -1) {
-                throw new IllegalArgumentException("Excel dosyasında veri satırları bulunamadı");
+        ExcelRow row;
+        while ((row = reader.nextRow()) != null) {
+            int rowIndex = row.getRowNum();
+            if (isEmptyRow(row)) {
+                continue;
             }
 
-            // Product code -> Product mapping oluştur (performans için)
-            Map<String, Product> productMap = createProductCodeMap();
-            Map<String, ProductVariant> variantCache = new HashMap<>();
+            totalRows++;
 
-            // Her satırı işle
-            for (int rowIndex = startRow; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null || isEmptyRow(row)) {
-                    continue;
+            String productCode = getCellValueAsString(row.getCell(COL_PRODUCT_CODE));
+            try {
+                // ÖZELLİK 2: Excel satırından sadece dolu fiyat verilerini oku
+                List<ExcelPriceData> priceDataList = parseRowToPriceDataFlexible(row, rowIndex + 1);
+
+                if (priceDataList.isEmpty()) {
+                    continue; // Fiyat verisi yok, atla (hata değil)
                 }
 
-                totalRows++;
+                rows.add(new PriceImportRow(rowIndex + 1, productCode, getRowDataAsString(row), priceDataList, null));
 
-                try {
-                    // ÖZELLİK 2: Excel satırından sadece dolu fiyat verilerini oku
-                    List<ExcelPriceData> priceDataList = parseRowToPriceDataFlexible(row, rowIndex + 1);
+            } catch (Exception e) {
+                rows.add(new PriceImportRow(rowIndex + 1, productCode, getRowDataAsString(row), List.of(), e.getMessage()));
+            }
+        }
 
-                    if (priceDataList.isEmpty()) {
-                        continue; // Fiyat verisi yok, atla (hata değil)
-                    }
+        return new PriceImportPlan(totalRows, rows);
+    }
 
-                    // Her currency için fiyat işle
-                    for (ExcelPriceData priceData : priceDataList) {
-                        if (!priceData.isValid()) {
-                            errors.add(new PriceImportError(
-                                    priceData.getRowNumber(),
-                                    priceData.getProductCode(),
-                                    priceData.getValidationError(),
-                                    getRowDataAsString(row)
-                            ));
-                            if (!skipErrors) {
-                                throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " +
-                                        priceData.getValidationError());
-                            }
-                            continue;
-                        }
+    /**
+     * Fiyat satırlarından bir parçayı tek transaction'da kaydeder.
+     * Ürün kodları ve SKU'lar tek sorguda id'ye çözülür, fiyatlar satır satır kaydedilmek yerine
+     * ON CONFLICT upsert ile JDBC batch'leri halinde yazılır. skipErrors kapalıyken ilk hata parçayı geri alır.
+     */
+    @Transactional
+    public PriceImportChunkResult importPriceChunk(Long dealerId, List<PriceImportRow> rows,
+                                                   boolean updateExisting, boolean skipErrors) {
+        validateDealer(dealerId);
 
-                        // Product'ı bul
-                        Product product = productMap.get(priceData.getProductCode().toUpperCase());
-                        if (product == null) {
-                            String error = "Ürün bulunamadı: " + priceData.getProductCode();
-                            errors.add(new PriceImportError(
-                                    priceData.getRowNumber(),
-                                    priceData.getProductCode(),
-                                    error,
-                                    getRowDataAsString(row)
-                            ));
-                            if (!skipErrors) {
-                                throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                            }
-                            continue;
-                        }
+        // Import commit edilirse bayinin fiyat defteri cache'i düşürülür (rollback'te event işlenmez)
+        applicationEventPublisher.publishEvent(new ProductPriceChangedEvent(Set.of(dealerId)));
+
+        // UPPER(code) -> productId ve UPPER(sku) -> {variantId, productId} (sadece parçadaki satırlar için)
+        Map<String, Long> productIds = resolveProductIds(rows);
+        Map<String, long[]> variantRefs = resolveVariantRefs(rows);
+
+        List<PriceImportError> errors = new ArrayList<>();
+        List<PriceUpsert> upserts = new ArrayList<>();
+        int successCount = 0;
 
-                        // Varyantı bul
-                        String sku = priceData.getVariantSku() != null ? priceData.getVariantSku().trim() : "";
-                        if (sku.isEmpty()) {
-                            String error = "SKU bulunamadı veya boş";
-                            errors.add(new PriceImportError(
-                                    priceData.getRowNumber(),
-                                    priceData.getProductCode(),
-                                    error,
-                                    getRowDataAsString(row)
-                            ));
-                            if (!skipErrors) {
-                                throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                            }
-                            continue;
+        for (PriceImportRow importRow : rows) {
+            int rowNumber = importRow.rowNumber();
+            String rowData = importRow.rowData();
+
+            try {
+                if (importRow.parseError() != null) {
+                    throw new IllegalArgumentException(importRow.parseError());
+                }
+
+                // Her currency için fiyat işle
+                for (ExcelPriceData priceData : importRow.prices()) {
+                    if (!priceData.isValid()) {
+                        errors.add(new PriceImportError(
+                                priceData.getRowNumber(),
+                                priceData.getProductCode(),
+                                priceData.getValidationError(),
+                                rowData
+                        ));
+                        if (!skipErrors) {
+                            throw new IllegalArgumentException("Satır " + rowNumber + ": " +
+                                    priceData.getValidationError());
                         }
+                        continue;
+                    }
 
-                        ProductVariant variant = variantCache.get(sku.toUpperCase());
-                        if (variant == null) {
-                            variant = productVariantRepository.findBySkuAndStatus(sku, EntityStatus.ACTIVE)
-                                    .orElse(null);
-                            if (variant != null) {
-                                variantCache.put(sku.toUpperCase(), variant);
-                            }
+                    // Product'ı bul
+                    Long productId = productIds.get(priceData.getProductCode().toUpperCase());
+                    if (productId == null) {
+                        String error = "Ürün bulunamadı: " + priceData.getProductCode();
+                        errors.add(new PriceImportError(
+                                priceData.getRowNumber(),
+                                priceData.getProductCode(),
+                                error,
+                                rowData
+                        ));
+                        if (!skipErrors) {
+                            throw new IllegalArgumentException("Satır " + rowNumber + ": " + error);
                         }
+                        continue;
+                    }
 
-                        if (variant == null) {
-                            String error = "Varyant bulunamadı (SKU: " + sku + ")";
-                            errors.add(new PriceImportError(
-                                    priceData.getRowNumber(),
-                                    priceData.getProductCode(),
-                                    error,
-                                    getRowDataAsString(row)
-                            ));
-                            if (!skipErrors) {
-                                throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                            }
-                            continue;
+                    // Varyantı bul
+                    String sku = priceData.getVariantSku() != null ? priceData.getVariantSku().trim() : "";
+                    if (sku.isEmpty()) {
+                        String error = "SKU bulunamadı veya boş";
+                        errors.add(new PriceImportError(
+                                priceData.getRowNumber(),
+                                priceData.getProductCode(),
+                                error,
+                                rowData
+                        ));
+                        if (!skipErrors) {
+                            throw new IllegalArgumentException("Satır " + rowNumber + ": " + error);
                         }
+                        continue;
+                    }
 
-                        if (!variant.getProduct().getId().equals(product.getId())) {
-                            String error = "SKU " + sku + " belirtilen ürünle eşleşmiyor";
-                            errors.add(new PriceImportError(
-                                    priceData.getRowNumber(),
-                                    priceData.getProductCode(),
-                                    error,
-                                    getRowDataAsString(row)
-                            ));
-                            if (!skipErrors) {
-                                throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                            }
-                            continue;
+                    long[] variantRef = variantRefs.get(sku.toUpperCase());
+                    if (variantRef == null) {
+                        String error = "Varyant bulunamadı (SKU: " + sku + ")";
+                        errors.add(new PriceImportError(
+                                priceData.getRowNumber(),
+                                priceData.getProductCode(),
+                                error,
+                                rowData
+                        ));
+                        if (!skipErrors) {
+                            throw new IllegalArgumentException("Satır " + rowNumber + ": " + error);
                         }
+                        continue;
+                    }
 
-                        // Fiyatı kaydet veya güncelle
-                        boolean isUpdate = saveOrUpdatePrice(variant, dealer, priceData, updateExisting);
-                        if (isUpdate) {
-                            updatedCount++;
-                        } else {
-                            createdCount++;
+                    long variantId = variantRef[0];
+                    if (variantRef[1] != productId) {
+                        String error = "SKU " + sku + " belirtilen ürünle eşleşmiyor";
+                        errors.add(new PriceImportError(
+                                priceData.getRowNumber(),
+                                priceData.getProductCode(),
+                                error,
+                                rowData
+                        ));
+                        if (!skipErrors) {
+                            throw new IllegalArgumentException("Satır " + rowNumber + ": " + error);
                         }
+                        continue;
                     }
 
-                    successCount++;
+                    // ✅ GÜVENLİK: ID bazlı validasyon - çoklanmayı engeller
+                    if (priceData.getVariantId() != null && priceData.getVariantId() != variantId) {
+                        logger.warning("Variant ID mismatch! Excel variantId: " + priceData.getVariantId() +
+                                ", Found variantId: " + variantId + " for SKU: " + sku);
+                        throw new IllegalArgumentException("Varyant ID uyuşmuyor! Excel'deki ID'ler değiştirilmemiş olmalı.");
+                    }
 
-                } catch (Exception e) {
-                    String error = "Satır işleme hatası: " + e.getMessage();
-                    errors.add(new PriceImportError(
-                            rowIndex + 1,
-                            getCellValueAsString(row.getCell(COL_PRODUCT_CODE)),
-                            error,
-                            getRowDataAsString(row)
+                    upserts.add(new PriceUpsert(
+                            variantId,
+                            priceData.getCurrency(),
+                            priceData.getAmount(),
+                            priceData.getValidFrom(),
+                            priceData.getValidUntil(),
+                            !Boolean.FALSE.equals(priceData.getIsActive())
                     ));
+                }
 
-                    if (!skipErrors) {
-                        throw new IllegalArgumentException("Satır " + (rowIndex + 1) + ": " + error);
-                    }
+                successCount++;
 
-                    logger.warning("Row " + (rowIndex + 1) + " failed: " + error);
+            } catch (Exception e) {
+                String error = "Satır işleme hatası: " + e.getMessage();
+                errors.add(new PriceImportError(
+                        rowNumber,
+                        importRow.productCode(),
+                        error,
+                        rowData
+                ));
+
+                if (!skipErrors) {
+                    throw new IllegalArgumentException("Satır " + rowNumber + ": " + error);
                 }
+
+                logger.warning("Row " + rowNumber + " failed: " + error);
             }
+        }
 
-            boolean success = errors.isEmpty() || (skipErrors && successCount > 0);
-            String message = String.format("Import tamamlandı. Toplam: %d, Başarılı: %d, Hatalı: %d, " +
-                            "Güncellenen: %d, Yeni: %d",
-                    totalRows, successCount, errors.size(), updatedCount, createdCount);
+        // Varyant x para birimi anahtarı zaten varsa güncelleme, yoksa yeni kayıt sayılır
+        // (aynı dosyada tekrarlanan anahtarın ikinci geçişi de güncellemedir)
+        Set<String> existingKeys = findExistingPriceKeys(dealerId, upserts);
+        int createdCount = 0;
+        int updatedCount = 0;
+        for (PriceUpsert upsert : upserts) {
+            if (existingKeys.add(upsert.variantId() + ":" + upsert.currency().name())) {
+                createdCount++;
+            } else {
+                updatedCount++;
+            }
+        }
 
-            logger.info(message);
+        productPriceBulkRepository.upsertDealerPrices(dealerId, upserts, auditorAware.getCurrentAuditor().orElse(null));
 
-            return new PriceImportResult(
-                    totalRows,
-                    successCount,
-                    errors.size(),
-                    updatedCount,
-                    createdCount,
-                    errors,
-                    success,
-                    message
-            );
+        logger.info("Upserted " + upserts.size() + " prices for dealer " + dealerId +
+                " (created: " + createdCount + ", updated: " + updatedCount + ")");
 
-        } catch (Exception e) {
-            logger.severe("Excel import failed: " + e.getMessage());
-            throw new RuntimeException("Excel import hatası: " + e.getMessage(), e);
-        }
+        return new PriceImportChunkResult(rows.size(), successCount, createdCount, updatedCount, errors);
     }
 
     /**
@@ -635,48 +703,52 @@ public class ProductPriceExcelService {
     }
 
     /**
-     * ✅ VARYANT BAZLI: Varyant için bayi fiyatlarını getir
+     * ✅ VARYANT BAZLI: Varyant parçası için bayi fiyatlarını tek sorguda getir (variantId -> para birimi -> fiyat)
      */
-    private Map<CurrencyType, ProductPrice> getVariantPricesForDealer(Long variantId, Long dealerId, boolean activeOnly) {
-        List<ProductPrice> prices = productPriceRepository.findByProductVariantIdAndDealerIdAndStatus(
-                variantId, dealerId, EntityStatus.ACTIVE);
-
-        if (activeOnly) {
-            prices = prices.stream()
-                    .filter(ProductPrice::isValidNow)
-                    .collect(Collectors.toList());
+    private Map<Long, Map<CurrencyType, ProductPrice>> getVariantPricesForDealer(List<ProductVariant> variants,
+                                                                                Long dealerId, boolean activeOnly) {
+        if (variants.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        return prices.stream()
-                .collect(Collectors.toMap(
-                        ProductPrice::getCurrency,
-                        price -> price,
-                        (existing, replacement) -> existing // İlkini tut
-                ));
+        List<Long> variantIds = variants.stream().map(ProductVariant::getId).collect(Collectors.toList());
+        List<ProductPrice> prices = productPriceRepository.findByVariantIdsAndDealerIdAndStatus(
+                variantIds, dealerId, EntityStatus.ACTIVE);
+
+        Map<Long, Map<CurrencyType, ProductPrice>> pricesByVariant = new HashMap<>();
+        for (ProductPrice price : prices) {
+            if (activeOnly && !price.isValidNow()) {
+                continue;
+            }
+            pricesByVariant.computeIfAbsent(price.getProductVariant().getId(), id -> new EnumMap<>(CurrencyType.class))
+                    .putIfAbsent(price.getCurrency(), price); // İlkini tut
+        }
+        return pricesByVariant;
     }
 
 
 
-    private int findDataStartRow(Sheet sheet) {
+    /**
+     * Header satırına kadar okur; okuyucu veri satırlarının başında kalır
+     */
+    private boolean skipToDataStart(ExcelSheetReader reader) throws IOException {
         // "Product ID" header'ını ara (yeni format)
-        for (int i = 0; i <= 10; i++) {
-            Row row = sheet.getRow(i);
-            if (row != null) {
-                Cell firstCell = row.getCell(0);
-                String cellValue = getCellValueAsString(firstCell);
-                if (firstCell != null && ("Product ID".equals(cellValue) || "Ürün Kodu".equals(cellValue))) {
-                    return i + 1; // Data bir sonraki satırdan başlar
-                }
+        ExcelRow row;
+        while ((row = reader.nextRow()) != null && row.getRowNum() <= 10) {
+            ExcelCell firstCell = row.getCell(0);
+            String cellValue = getCellValueAsString(firstCell);
+            if (firstCell != null && ("Product ID".equals(cellValue) || "Ürün Kodu".equals(cellValue))) {
+                return true; // Data bir sonraki satırdan başlar
             }
         }
-        return -1; // Bulunamadı
+        return false; // Bulunamadı
     }
 
-    private boolean isEmptyRow(Row row) {
+    private boolean isEmptyRow(ExcelRow row) {
         if (row == null) return true;
 
         for (int i = 0; i <= COL_IS_ACTIVE; i++) {
-            Cell cell = row.getCell(i);
+            ExcelCell cell = row.getCell(i);
             if (cell != null && !getCellValueAsString(cell).trim().isEmpty()) {
                 return false;
             }
@@ -687,7 +759,7 @@ public class ProductPriceExcelService {
     /**
      * ÖZELLİK 2: Esnek fiyat parse - sadece dolu olanları al
      */
-    private List<ExcelPriceData> parseRowToPriceDataFlexible(Row row, int rowNumber) {
+    private List<ExcelPriceData> parseRowToPriceDataFlexible(ExcelRow row, int rowNumber) {
         List<ExcelPriceData> priceDataList = new ArrayList<>();
 
         // ✅ ID'leri oku (GÜVENLİK İÇİN - çoklanmayı engeller)
@@ -784,64 +856,53 @@ public class ProductPriceExcelService {
         return priceDataList;
     }
 
-    private Map<String, Product> createProductCodeMap() {
-        List<Product> products = productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE);
-        return products.stream()
-                .collect(Collectors.toMap(
-                        product -> product.getCode().toUpperCase(), // Case-insensitive
-                        product -> product,
-                        (existing, replacement) -> existing
-                ));
+    private Map<String, Long> resolveProductIds(List<PriceImportRow> rows) {
+        Set<String> codes = rows.stream()
+                .flatMap(row -> row.prices().stream())
+                .map(ExcelPriceData::getProductCode)
+                .filter(Objects::nonNull)
+                .map(String::toUpperCase)
+                .collect(Collectors.toSet());
+        Map<String, Long> productIds = new HashMap<>();
+        if (codes.isEmpty()) {
+            return productIds;
+        }
+        for (Object[] row : productRepository.findIdsByUpperCodeIn(codes, EntityStatus.ACTIVE)) {
+            productIds.putIfAbsent((String) row[0], (Long) row[1]);
+        }
+        return productIds;
     }
 
-    private boolean saveOrUpdatePrice(ProductVariant variant, Dealer dealer, ExcelPriceData priceData, boolean updateExisting) {
-        // ✅ GÜVENLİK: ID bazlı validasyon - çoklanmayı engeller
-        if (priceData.getVariantId() != null && !priceData.getVariantId().equals(variant.getId())) {
-            logger.warning("Variant ID mismatch! Excel variantId: " + priceData.getVariantId() +
-                ", Found variantId: " + variant.getId() + " for SKU: " + variant.getSku());
-            throw new IllegalArgumentException("Varyant ID uyuşmuyor! Excel'deki ID'ler değiştirilmemiş olmalı.");
+    private Map<String, long[]> resolveVariantRefs(List<PriceImportRow> rows) {
+        Set<String> skus = rows.stream()
+                .flatMap(row -> row.prices().stream())
+                .map(ExcelPriceData::getVariantSku)
+                .filter(Objects::nonNull)
+                .map(sku -> sku.trim().toUpperCase())
+                .filter(sku -> !sku.isEmpty())
+                .collect(Collectors.toSet());
+        Map<String, long[]> variantRefs = new HashMap<>();
+        if (skus.isEmpty()) {
+            return variantRefs;
         }
+        for (Object[] row : productVariantRepository.findIdsByUpperSkuIn(skus, EntityStatus.ACTIVE)) {
+            variantRefs.putIfAbsent((String) row[1], new long[]{(Long) row[0], (Long) row[2]});
+        }
+        return variantRefs;
+    }
 
-        // ✅ VARIANT BAZLI: Sadece variant_id + dealer_id + currency kombinasyonunu kontrol et
-        List<ProductPrice> existingPrices = productPriceRepository.findByProductVariantIdAndDealerIdAndStatus(
-                variant.getId(), dealer.getId(), EntityStatus.ACTIVE);
-
-        // ✅ Bu currency için aktif fiyat var mı?
-        Optional<ProductPrice> existingPriceOpt = existingPrices.stream()
-                .filter(p -> p.getCurrency() == priceData.getCurrency())
-                .findFirst();
-
-        if (existingPriceOpt.isPresent()) {
-            // Güncelle - Mevcut fiyatı güncelle
-            ProductPrice price = existingPriceOpt.get();
-            price.setProductVariant(variant);         // Ensure variant is set
-            price.setAmount(priceData.getAmount());
-            price.setValidFrom(priceData.getValidFrom());
-            price.setValidUntil(priceData.getValidUntil());
-            price.setIsActive(priceData.getIsActive());
-            productPriceRepository.save(price);
-
-            logger.info("✅ Updated price for variant ID: " + variant.getId() +
-                ", SKU: " + variant.getSku() + ", currency: " + priceData.getCurrency());
-            return true;
-
-        } else {
-            // Yeni oluştur - Her varyant için ayrı fiyat kaydı
-            ProductPrice price = new ProductPrice();
-            price.setProductVariant(variant);
-            price.setDealer(dealer);
-            price.setCurrency(priceData.getCurrency());
-            price.setAmount(priceData.getAmount());
-            price.setValidFrom(priceData.getValidFrom());
-            price.setValidUntil(priceData.getValidUntil());
-            price.setIsActive(priceData.getIsActive());
-            price.setStatus(EntityStatus.ACTIVE);
-            productPriceRepository.save(price);
-
-            logger.info("✅ Created new price for variant ID: " + variant.getId() +
-                ", SKU: " + variant.getSku() + ", currency: " + priceData.getCurrency());
-            return false;
+    private Set<String> findExistingPriceKeys(Long dealerId, List<PriceUpsert> upserts) {
+        Set<Long> variantIds = upserts.stream()
+                .map(PriceUpsert::variantId)
+                .collect(Collectors.toSet());
+        Set<String> keys = new HashSet<>();
+        if (variantIds.isEmpty()) {
+            return keys;
+        }
+        for (Object[] row : productPriceRepository.findPriceKeysByDealerAndVariantIds(dealerId, variantIds)) {
+            keys.add(row[0] + ":" + ((CurrencyType) row[1]).name());
         }
+        return keys;
     }
 
     private void createGeneralInstructions(Workbook workbook, Sheet sheet) {
@@ -908,13 +969,13 @@ public class ProductPriceExcelService {
 
     // ==================== UTILITY METHODS ====================
 
-    private String getCellValueAsString(Cell cell) {
+    private String getCellValueAsString(ExcelCell cell) {
         if (cell == null) return "";
 
         return switch (cell.getCellType()) {
             case STRING -> cell.getStringCellValue().trim();
             case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
+                if (cell.isDateFormatted()) {
                     yield cell.getLocalDateTimeCellValue().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
                 } else {
                     // Sayısal değeri string'e çevir
@@ -938,7 +999,7 @@ public class ProductPriceExcelService {
         };
     }
 
-    private BigDecimal getCellValueAsBigDecimal(Cell cell) {
+    private BigDecimal getCellValueAsBigDecimal(ExcelCell cell) {
         if (cell == null) return null;
 
         try {
@@ -969,11 +1030,11 @@ public class ProductPriceExcelService {
         }
     }
 
-    private LocalDateTime getCellValueAsDateTime(Cell cell) {
+    private LocalDateTime getCellValueAsDateTime(ExcelCell cell) {
         if (cell == null) return null;
 
         try {
-            if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
+            if (cell.getCellType() == CellType.NUMERIC && cell.isDateFormatted()) {
                 return cell.getLocalDateTimeCellValue();
             } else if (cell.getCellType() == CellType.STRING) {
                 String dateStr = cell.getStringCellValue().trim();
@@ -1007,7 +1068,7 @@ public class ProductPriceExcelService {
         return null;
     }
 
-    private Boolean getCellValueAsBoolean(Cell cell) {
+    private Boolean getCellValueAsBoolean(ExcelCell cell) {
         if (cell == null) return null;
 
         String value = getCellValueAsString(cell).toUpperCase();
@@ -1018,12 +1079,12 @@ public class ProductPriceExcelService {
         };
     }
 
-    private String getRowDataAsString(Row row) {
+    private String getRowDataAsString(ExcelRow row) {
         if (row == null) return "";
 
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i <= COL_IS_ACTIVE; i++) {
-            Cell cell = row.getCell(i);
+            ExcelCell cell = row.getCell(i);
             if (i > 0) sb.append(" | ");
             sb.append(getCellValueAsString(cell));
         }
@@ -0,0 +1,42 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.CurrencyType;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Ürün listeleri için toplu fiyat çözümleyici.
+ * Bir sayfadaki tüm ürünlerin bayi + para birimi fiyatları bayinin fiyat defterinden okunur,
+ * defter cache'te ise listeleme fiyat için veritabanına gitmez.
+ */
+@Service
+public class ProductPriceResolver {
+
+    private final DealerPriceBookCache dealerPriceBookCache;
+
+    public ProductPriceResolver(DealerPriceBookCache dealerPriceBookCache) {
+        this.dealerPriceBookCache = dealerPriceBookCache;
+    }
+
+    /**
+     * productId -> geçerli fiyat. Ürünün birden fazla varyantı fiyatlıysa default varyantın,
+     * yoksa en küçük ID'li varyantın fiyatı seçilir. Fiyatı olmayan ürünler map'te yer almaz.
+     */
+    public Map<Long, DealerPriceBook.Price> resolveValidPrices(Collection<Long> productIds, Long dealerId, CurrencyType currency) {
+        if (productIds == null || productIds.isEmpty() || dealerId == null || currency == null) {
+            return Collections.emptyMap();
+        }
+
+        DealerPriceBook priceBook = dealerPriceBookCache.getPriceBook(dealerId);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, DealerPriceBook.Price> pricesByProduct = new HashMap<>();
+        for (Long productId : productIds) {
+            priceBook.findValidProductPrice(productId, currency, now)
+                    .ifPresent(price -> pricesByProduct.put(productId, price));
+        }
+        return pricesByProduct;
+    }
+}
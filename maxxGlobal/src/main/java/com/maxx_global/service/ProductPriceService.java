@@ -12,9 +12,11 @@ import com.maxx_global.entity.ProductVariant;
 import com.maxx_global.entity.Dealer;
 import com.maxx_global.enums.CurrencyType;
 import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.event.ProductPriceChangedEvent;
 import com.maxx_global.repository.ProductPriceRepository;
 import com.maxx_global.repository.ProductVariantRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
@@ -38,17 +40,20 @@ public class ProductPriceService {
     private final ProductService productService;
     private final DealerService dealerService;
     private final ProductVariantRepository productVariantRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public ProductPriceService(ProductPriceRepository productPriceRepository,
                                ProductPriceMapper productPriceMapper,
                                ProductService productService,
                                DealerService dealerService,
-                               ProductVariantRepository productVariantRepository) {
+                               ProductVariantRepository productVariantRepository,
+                               ApplicationEventPublisher applicationEventPublisher) {
         this.productPriceRepository = productPriceRepository;
         this.productPriceMapper = productPriceMapper;
         this.productService = productService;
         this.dealerService = dealerService;
         this.productVariantRepository = productVariantRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     // ==================== YENİ - GRUPLU FİYAT İŞLEMLERİ ====================
@@ -293,6 +298,7 @@ public class ProductPriceService {
 
         if (!pricesToPersist.isEmpty()) {
             productPriceRepository.saveAll(pricesToPersist);
+            publishPriceChange(List.of(dealerId));
         }
 
         return getDealerProductVariantPrices(product.id(), dealerId);
@@ -425,6 +431,8 @@ public class ProductPriceService {
         ProductPrice savedPrice = productPriceRepository.save(price);
         logger.info("Price created successfully with id: " + savedPrice.getId());
 
+        publishPriceChange(List.of(request.dealerId()));
+
         // Tek fiyat response döner
         return productPriceMapper.toResponseSingle(savedPrice);
     }
@@ -441,6 +449,8 @@ public class ProductPriceService {
         ProductPrice existingPrice = productPriceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Price not found with id: " + id));
 
+        Long previousDealerId = existingPrice.getDealer().getId();
+
         // Farklı kombinasyon için unique constraint kontrolü
         Long existingProductId = existingPrice.getProductVariant() != null ?
                 existingPrice.getProductVariant().getProduct().getId() : null;
@@ -468,6 +478,8 @@ public class ProductPriceService {
         ProductPrice updatedPrice = productPriceRepository.save(existingPrice);
         logger.info("Price updated successfully");
 
+        publishPriceChange(List.of(previousDealerId, request.dealerId()));
+
         return productPriceMapper.toResponseSingle(updatedPrice);
     }
 
@@ -490,6 +502,10 @@ public class ProductPriceService {
         prices.forEach(price -> updatePriceFromBulkRequest(price, request));
         List<ProductPrice> updatedPrices = productPriceRepository.saveAll(prices);
 
+        publishPriceChange(updatedPrices.stream()
+                .map(price -> price.getDealer().getId())
+                .collect(Collectors.toList()));
+
         // Tek fiyat response'ları döner
         return updatedPrices.stream()
                 .map(productPriceMapper::toResponseSingle)
@@ -509,9 +525,18 @@ public class ProductPriceService {
         price.setStatus(EntityStatus.DELETED);
         productPriceRepository.save(price);
 
+        publishPriceChange(List.of(price.getDealer().getId()));
+
         logger.info("Price deleted successfully");
     }
 
+    /**
+     * Commit sonrası ilgili bayilerin fiyat defteri cache'ini düşür
+     */
+    private void publishPriceChange(Collection<Long> dealerIds) {
+        applicationEventPublisher.publishEvent(new ProductPriceChangedEvent(new HashSet<>(dealerIds)));
+    }
+
     // ==================== BUSINESS LOGIC İŞLEMLERİ ====================
 
     /**
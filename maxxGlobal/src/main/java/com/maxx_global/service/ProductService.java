@@ -1,5 +1,6 @@
 package com.maxx_global.service;
 
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.product.*;
 import com.maxx_global.dto.category.CategorySummary;
 import com.maxx_global.dto.productImage.ProductImageInfo;
@@ -12,18 +13,26 @@ import com.maxx_global.enums.CurrencyType;
 import com.maxx_global.enums.EntityStatus;
 import com.maxx_global.enums.Language;
 import com.maxx_global.enums.StockMovementType;
-import com.maxx_global.repository.CategoryRepository;
+import com.maxx_global.event.DiscountEligibilityChangedEvent;
+import com.maxx_global.event.ProductImagesUploadedEvent;
+import com.maxx_global.repository.ProductCatalogReadRepository;
 import com.maxx_global.repository.ProductPriceRepository;
 import com.maxx_global.repository.ProductRepository;
+import com.maxx_global.repository.ProductSearchRepository;
 import com.maxx_global.repository.ProductVariantRepository;
 import com.maxx_global.repository.UserFavoriteRepository;
 import com.maxx_global.security.SecurityService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,8 +53,14 @@ public class ProductService {
 
     private static final Logger logger = Logger.getLogger(ProductService.class.getName());
 
+    // Arama motorunun alaka sıralaması (sortBy=relevance)
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final int MIN_SUGGESTION_TERM_LENGTH = 2;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductRepository productRepository;
     private final ProductPriceRepository productPriceRepository;
+    private final ProductPriceResolver productPriceResolver;
     private final ProductMapper productMapper;
     private final ProductVariantMapper productVariantMapper;
     private final ProductVariantRepository productVariantRepository;
@@ -57,12 +72,17 @@ public class ProductService {
     private final DealerService dealerService;
     private final UserFavoriteRepository userFavoriteRepository;
     private final FileStorageService fileStorageService;
-    private final CategoryRepository categoryRepository;
+    private final CategoryTreeSnapshotCache categoryTreeSnapshotCache;
     private final LocalizationService localizationService;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchRepository productSearchRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ProductCatalogReadRepository productCatalogReadRepository;
 
     public ProductService(ProductRepository productRepository,
                           ProductPriceRepository productPriceRepository,
+                          ProductPriceResolver productPriceResolver,
                           ProductMapper productMapper,
                           ProductVariantMapper productVariantMapper,
                           ProductVariantRepository productVariantRepository,
@@ -72,11 +92,16 @@ public class ProductService {
                           DealerService dealerService,
                           UserFavoriteRepository userFavoriteRepository,
                           FileStorageService fileStorageService,
-                          CategoryRepository categoryRepository,
+                          CategoryTreeSnapshotCache categoryTreeSnapshotCache,
                           LocalizationService localizationService,
-                          SecurityService securityService) {
+                          SecurityService securityService,
+                          ApplicationEventPublisher eventPublisher,
+                          ProductSearchRepository productSearchRepository,
+                          ImageDerivativeService imageDerivativeService,
+                          ProductCatalogReadRepository productCatalogReadRepository) {
         this.productRepository = productRepository;
         this.productPriceRepository = productPriceRepository;
+        this.productPriceResolver = productPriceResolver;
         this.productMapper = productMapper;
         this.productVariantMapper = productVariantMapper;
         this.productVariantRepository = productVariantRepository;
@@ -86,60 +111,42 @@ public class ProductService {
         this.dealerService = dealerService;
         this.userFavoriteRepository = userFavoriteRepository;
         this.fileStorageService = fileStorageService;
-        this.categoryRepository = categoryRepository;
+        this.categoryTreeSnapshotCache = categoryTreeSnapshotCache;
         this.localizationService = localizationService;
         this.securityService = securityService;
+        this.eventPublisher = eventPublisher;
+        this.productSearchRepository = productSearchRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.productCatalogReadRepository = productCatalogReadRepository;
     }
 
-    // ProductService.java dosyasına eklenecek yeni method
-
-    // Basit ürün listesi (dropdown vs. için)
     // Basit ürün listesi (dropdown vs. için)
+    // Tüm katalog döndüğü için entity yüklenmez: ürün satırları ve aktif varyantlar iki sorguda okunur
     public List<ProductSimple> getSimpleProducts() {
         logger.info("Fetching simple product list");
-        List<Product> products = productRepository.findByStatusOrderByNameAsc(EntityStatus.ACTIVE);
-        return products.stream()
-                .map(product -> {
-                    // Primary image'i güvenli şekilde al
-                    String primaryImageUrl = null;
-                    if (product.getImages() != null && !product.getImages().isEmpty()) {
-                        primaryImageUrl = product.getImages().stream()
-                                .filter(img -> img.getIsPrimary() != null && img.getIsPrimary())
-                                .findFirst()
-                                .map(ProductImage::getImageUrl)
-                                .orElseGet(() ->
-                                        // Primary yoksa ilk resmi al
-                                        product.getImages().stream()
-                                                .findFirst()
-                                                .map(ProductImage::getImageUrl)
-                                                .orElse(null)
-                                );
-                    }
-
-                    List<ProductSimpleVariant> variants = Optional.ofNullable(product.getVariants())
-                            .orElse(Collections.emptySet())
-                            .stream()
-                            .filter(variant -> variant.getStatus() == null || EntityStatus.ACTIVE.equals(variant.getStatus()))
-                            .sorted(Comparator
-                                    .comparing(ProductVariant::getIsDefault, Comparator.nullsLast(Comparator.reverseOrder()))
-                                    .thenComparing(ProductVariant::getId, Comparator.nullsLast(Long::compareTo)))
-                            .map(variant -> new ProductSimpleVariant(
-                                    variant.getId(),
-                                    variant.getSize(),
-                                    variant.getSku(),
-                                    variant.getStockQuantity(),
-                                    variant.getIsDefault()
-                            ))
-                            .collect(Collectors.toList());
-
-                    return new ProductSimple(
-                            product.getId(),
-                            product.getName(),
-                            product.getCode(),
-                            primaryImageUrl,
-                            variants
-                    );
-                })
+        List<ProductCatalogReadRepository.CatalogRow> rows =
+                productCatalogReadRepository.findAllByStatusOrderByName(EntityStatus.ACTIVE);
+
+        Map<Long, List<ProductSimpleVariant>> variantsByProduct = productCatalogReadRepository
+                .findActiveVariantsOfProductsWithStatus(EntityStatus.ACTIVE).stream()
+                .collect(Collectors.groupingBy(
+                        ProductCatalogReadRepository.VariantRow::productId,
+                        Collectors.mapping(variant -> new ProductSimpleVariant(
+                                variant.id(),
+                                variant.size(),
+                                variant.sku(),
+                                variant.stockQuantity(),
+                                variant.isDefault()
+                        ), Collectors.toList())));
+
+        return rows.stream()
+                .map(row -> new ProductSimple(
+                        row.id(),
+                        row.name(),
+                        row.code(),
+                        row.primaryImageUrl(),
+                        variantsByProduct.getOrDefault(row.id(), List.of())
+                ))
                 .collect(Collectors.toList());
     }
 
@@ -166,6 +173,28 @@ public class ProductService {
         return getProductSummariesWithPrices(favoriteProductIds, currentUser, pageable, products);
     }
 
+    /**
+     * Tüm ürünler, keyset sayfalama (name ASC, id ASC). COUNT ve OFFSET çalışmaz; boş imleç ilk sayfadır.
+     */
+    public CursorSlice<ProductSummary> getAllProductsByCursor(String cursor, int size, Authentication authentication) {
+        logger.info("Fetching all products by cursor - size: " + size);
+
+        AppUser currentUser = appUserService.getCurrentUser(authentication);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<Product> products = productRepository.findAllAfter(
+                after != null ? after.textKey() : "",
+                after != null ? after.getId() : 0L,
+                KeysetCursor.pageRequest(size));
+
+        Set<Long> favoriteProductIds = getUserFavoriteProductIds(currentUser.getId());
+        Language language = localizationService.getCurrentLanguage();
+
+        return CursorSlice.of(products,
+                product -> buildLocalizedSummary(product, language, favoriteProductIds.contains(product.getId())),
+                product -> KeysetCursor.encode(product.getName(), product.getId()));
+    }
+
     // Aktif ürünleri getir - Summary format (sayfalı)
     public Page<ProductSummary> getActiveProducts(int page, int size, String sortBy, String sortDirection, Authentication authentication) {
         logger.info("Fetching active products - page: " + page + ", size: " + size +
@@ -179,12 +208,22 @@ public class ProductService {
                         currentUser.getId(), EntityStatus.ACTIVE)
                 .stream().collect(Collectors.toSet());
 
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<Product> products = productRepository.findByStatus(EntityStatus.ACTIVE, pageable);
+        // Okuma modelinin desteklemediği sıralama alanları entity sorgusuyla çalışmaya devam eder
+        if (!ProductCatalogReadRepository.supportsSort(sortBy)) {
+            Page<Product> products = productRepository.findByStatus(EntityStatus.ACTIVE, pageable);
+            return getProductSummariesWithPrices(favoriteProductIds, currentUser, pageable, products);
+        }
 
-        return getProductSummariesWithPrices(favoriteProductIds, currentUser, pageable, products);
+        Language language = localizationService.getCurrentLanguage();
+        List<ProductSummary> summaries = productCatalogReadRepository
+                .findByStatus(EntityStatus.ACTIVE, sortBy, direction.isAscending(), pageable.getOffset(), size).stream()
+                .map(row -> toSummary(row, language, favoriteProductIds.contains(row.id())))
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(summaries, pageable, productCatalogReadRepository.countByStatus(EntityStatus.ACTIVE));
     }
 
     // ID ile ürün getir - Dealer bilgisi olmadan (detay bilgisi)
@@ -373,15 +412,16 @@ public class ProductService {
         // Dealer varlık kontrolü
         dealerService.getDealerById(request.dealerId());
 
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), sortBy);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), toEntitySortProperty(sortBy));
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // Search logic with filters
-        Page<Product> products = searchProductsWithFilters(request, pageable);
+        Page<Product> products = searchProductsWithFilters(request, sortBy, pageable);
 
         Language language = localizationService.getCurrentLanguage();
+        Map<Long, DealerPriceBook.Price> prices = resolvePagePrices(products, request.dealerId(), request.currency());
         List<ProductListItemResponse> productListItems = products.getContent().stream()
-                .map(product -> mapToProductListItem(product, request.dealerId(), request.currency(), language))
+                .map(product -> mapToProductListItem(product, prices.get(product.getId()), request.currency(), language))
                 .filter(item -> applyDealerSpecificFilters(item, request))
                 .collect(Collectors.toList());
 
@@ -410,29 +450,19 @@ public class ProductService {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // Kategorinin parent mi leaf mi olduğunu kontrol et
-        List<Category> subCategories = categoryRepository.findByParentCategoryIdAndStatusOrderByNameAsc(
-                categoryId, EntityStatus.ACTIVE);
-
+        // Kategorinin parent mi leaf mi olduğunu kontrol et (bellekteki ağaçtan)
         Page<Product> products;
 
-        if (subCategories.isEmpty()) {
+        if (categoryTreeSnapshotCache.getSnapshot().isLeaf(categoryId)) {
             // LEAF CATEGORY - Sadece bu kategorideki ürünleri getir
             logger.info("Category " + categoryId + " is leaf category - fetching direct products with dealer info");
             products = productRepository.findByCategoryIdAndStatusOrderByNameAsc(
                     categoryId, EntityStatus.ACTIVE, pageable);
         } else {
-            // PARENT CATEGORY - Tüm alt kategori ürünlerini getir
+            // PARENT CATEGORY - Tüm alt kategori ürünlerini getir (closure join)
             logger.info("Category " + categoryId + " is parent category - fetching child products with dealer info");
-
-            List<Long> allChildCategoryIds = getAllChildCategoryIds(categoryId);
-
-            if (allChildCategoryIds.isEmpty()) {
-                return Page.empty(pageable);
-            }
-
-            products = productRepository.findByCategoryIdInAndStatus(
-                    allChildCategoryIds, EntityStatus.ACTIVE, pageable);
+            products = productRepository.findInCategorySubtreeAndStatus(
+                    categoryId, EntityStatus.ACTIVE, pageable);
         }
 
         Language language = localizationService.getCurrentLanguage();
@@ -440,13 +470,14 @@ public class ProductService {
     }
 
     private Page<ProductListItemResponse> getProductListItemResponses(ProductWithDealerInfoRequest dealerRequest, Set<Long> favoriteProductIds, Pageable pageable, Page<Product> products, Language language) {
+        Map<Long, DealerPriceBook.Price> prices = resolvePagePrices(products, dealerRequest.dealerId(), dealerRequest.currency());
         List<ProductListItemResponse> productListItems = products.getContent().stream()
                 .map(product -> {
-                    ProductListItemResponse item = mapToProductListItem(product, dealerRequest.dealerId(), dealerRequest.currency(), language);
+                    ProductListItemResponse item = mapToProductListItem(product, prices.get(product.getId()), dealerRequest.currency(), language);
                     // isFavorite alanını set et
                     return new ProductListItemResponse(
                             item.id(), item.name(), item.code(), item.categoryName(), item.primaryImageUrl(),
-                            item.stockQuantity(), item.unit(), item.isInStock(), item.isExpired(),
+                            item.primaryThumbnailUrl(), item.stockQuantity(), item.unit(), item.isInStock(), item.isExpired(),
                             item.dealerPrice(), item.currency(), item.priceValid(), item.expiryDate(),
                             favoriteProductIds.contains(product.getId()) // isFavorite
                     );
@@ -458,19 +489,49 @@ public class ProductService {
 
     // ==================== STANDARD OPERATIONS (WITHOUT DEALER) ====================
 
-    // Genel arama - Summary format
+    // Genel arama - Summary format (tam metin + trigram, alaka sıralı; arama şeması yoksa LIKE)
     public Page<ProductSummary> searchProducts(String searchTerm, int page, int size,
                                                String sortBy, String sortDirection) {
         logger.info("Searching products with term: " + searchTerm);
 
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), sortBy);
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), toEntitySortProperty(sortBy));
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Product> products = productRepository.searchProducts(searchTerm, EntityStatus.ACTIVE, pageable);
+        Page<Product> products;
+        if (productSearchRepository.isAvailable() && searchTerm != null && !searchTerm.isBlank()) {
+            products = rankedSearch(searchTerm, null, false, sortBy, pageable);
+        } else {
+            products = productRepository.searchProducts(searchTerm, EntityStatus.ACTIVE, pageable);
+        }
         Language language = localizationService.getCurrentLanguage();
         return products.map(product -> buildLocalizedSummary(product, language, false));
     }
 
+    // Arama kutusu önerileri (typeahead) - entity yüklemeden ilk N ürün
+    public List<ProductSuggestion> suggestProducts(String query, int limit) {
+        if (query == null || query.trim().length() < MIN_SUGGESTION_TERM_LENGTH) {
+            return List.of();
+        }
+
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        Language language = localizationService.getCurrentLanguage();
+
+        if (!productSearchRepository.isAvailable()) {
+            return productRepository.searchProducts(query.trim(), EntityStatus.ACTIVE, PageRequest.of(0, cappedLimit))
+                    .map(product -> new ProductSuggestion(product.getId(),
+                            product.getLocalizedName(language), product.getCode()))
+                    .getContent();
+        }
+
+        return productSearchRepository.suggest(query, cappedLimit).stream()
+                .map(suggestion -> new ProductSuggestion(
+                        suggestion.productId(),
+                        language == Language.EN && suggestion.nameEn() != null && !suggestion.nameEn().isBlank()
+                                ? suggestion.nameEn() : suggestion.name(),
+                        suggestion.code()))
+                .collect(Collectors.toList());
+    }
+
     public List<Product> getProductsByCategory(Long categoryId) {
         logger.info("Fetching products for category: " + categoryId);
 
@@ -499,9 +560,8 @@ public class ProductService {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // Kategorinin parent mi leaf mi olduğunu kontrol et
-        List<Category> subCategories = categoryRepository.findByParentCategoryIdAndStatusOrderByNameAsc(
-                categoryId, EntityStatus.ACTIVE);
+        // Kategorinin parent mi leaf mi olduğunu kontrol et (bellekteki ağaçtan)
+        List<CategoryTreeSnapshot.Node> subCategories = categoryTreeSnapshotCache.getSnapshot().getChildren(categoryId);
 
         Page<Product> products;
 
@@ -516,21 +576,11 @@ public class ProductService {
             // PARENT CATEGORY - Tüm alt kategori ürünlerini getir
             logger.info("Category " + categoryId + " is parent category with " + subCategories.size() + " children - fetching child products");
 
-            // Tüm alt kategori ID'lerini al (recursive)
-            List<Long> allChildCategoryIds = getAllChildCategoryIds(categoryId);
-
-            if (allChildCategoryIds.isEmpty()) {
-                // Alt kategori yoksa boş sonuç döndür
-                logger.info("No valid child categories found for parent category: " + categoryId);
-                return Page.empty(pageable);
-            }
-
-            // Alt kategorilerdeki ürünleri getir
-            products = productRepository.findByCategoryIdInAndStatus(
-                    allChildCategoryIds, EntityStatus.ACTIVE, pageable);
+            // Alt ağaçtaki ürünleri tek sorguda getir (closure join)
+            products = productRepository.findInCategorySubtreeAndStatus(
+                    categoryId, EntityStatus.ACTIVE, pageable);
 
-            logger.info("Found " + products.getTotalElements() + " products in " +
-                    allChildCategoryIds.size() + " child categories of parent: " + categoryId);
+            logger.info("Found " + products.getTotalElements() + " products under parent category: " + categoryId);
         }
 
         return getProductSummariesWithPrices(favoriteProductIds, currentUser, pageable, products);
@@ -641,10 +691,9 @@ public class ProductService {
     // Düşük stok ürünleri
     public List<ProductSummary> getLowStockProducts(Integer threshold) {
         logger.info("Fetching low stock products with threshold: " + threshold);
-        List<Product> lowStockProducts = productRepository.findLowStockProducts(threshold, EntityStatus.ACTIVE);
         Language language = localizationService.getCurrentLanguage();
-        return lowStockProducts.stream()
-                .map(product -> buildLocalizedSummary(product, language, false))
+        return productCatalogReadRepository.findLowStock(threshold, EntityStatus.ACTIVE).stream()
+                .map(row -> toSummary(row, language, false))
                 .collect(Collectors.toList());
     }
 
@@ -669,42 +718,87 @@ public class ProductService {
                 .orElseThrow(() -> new EntityNotFoundException("Ürün bulunamadı: " + productId));
 
         // Mevcut resim sayısını kontrol et
-        int currentImageCount = product.getImages() != null ? product.getImages().size() : 0;
-        if (currentImageCount + images.size() > 10) {
-            throw new IllegalArgumentException("Toplam resim sayısı 10'u geçemez. Mevcut: " + currentImageCount +
-                    ", Yeni: " + images.size());
-        }
+        validateImageCount(product, images.size());
 
         try {
-            // Resimleri fiziksel olarak kaydet
-            List<String> imageUrls = fileStorageService.saveProductImages(
-                    images, productId, primaryImageIndex);
+            // Resimleri fiziksel olarak kaydet (aynı içerik varsa tekrar yazılmaz)
+            List<FileStorageService.StoredImage> storedImages = fileStorageService.saveProductImages(images, productId);
 
-            // ProductImage entity'lerini oluştur
-            Set<ProductImage> newProductImages = createProductImageEntities(
-                    product, imageUrls, primaryImageIndex);
+            return attachStoredImages(product, storedImages, primaryImageIndex);
 
-            // Mevcut resimler varsa primary flag'leri kaldır (sadece yeni primary varsa)
-            if (primaryImageIndex != null && product.getImages() != null) {
-                product.getImages().forEach(img -> img.setIsPrimary(false));
-            }
+        } catch (Exception e) {
+            logger.severe("Error adding images to product: " + e.getMessage());
+            throw new RuntimeException("Resim ekleme sırasında hata oluştu: " + e.getMessage());
+        }
+    }
 
-            // Yeni resimleri ekle
-            if (product.getImages() == null) {
-                product.setImages(new HashSet<>());
-            }
-            product.getImages().addAll(newProductImages);
+    /**
+     * Sunucuda zaten bulunan resimleri (içerik özetiyle) ürüne ekler; dosyalar yeniden yüklenmez
+     */
+    @Transactional
+    public ProductResponse addProductImagesByHash(Long productId, List<String> contentHashes, Integer primaryImageIndex) {
+        logger.info("Attaching " + contentHashes.size() + " stored images to product: " + productId);
 
-            // Kaydet
-            Product savedProduct = productRepository.save(product);
-            logger.info("Successfully added " + images.size() + " images to product: " + productId);
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("Ürün bulunamadı: " + productId));
 
-            return productMapper.toDto(savedProduct);
+        validateImageCount(product, contentHashes.size());
 
-        } catch (Exception e) {
-            logger.severe("Error adding images to product: " + e.getMessage());
-            throw new RuntimeException("Resim ekleme sırasında hata oluştu: " + e.getMessage());
+        List<FileStorageService.StoredImage> storedImages = new ArrayList<>();
+        for (String contentHash : contentHashes) {
+            storedImages.add(fileStorageService.acquireStoredImage(contentHash)
+                    .orElseThrow(() -> new IllegalArgumentException("Sunucuda bu içerikte resim bulunamadı: " + contentHash)));
         }
+
+        return attachStoredImages(product, storedImages, primaryImageIndex);
+    }
+
+    /**
+     * Sunucuda kayıtlı olan içerik özetlerini döndürür; istemci yalnızca eksik dosyaları yükler
+     */
+    public List<String> findStoredImageHashes(List<String> contentHashes) {
+        return fileStorageService.findStoredHashes(contentHashes);
+    }
+
+    private void validateImageCount(Product product, int newImageCount) {
+        int currentImageCount = product.getImages() != null ? product.getImages().size() : 0;
+        if (currentImageCount + newImageCount > 10) {
+            throw new IllegalArgumentException("Toplam resim sayısı 10'u geçemez. Mevcut: " + currentImageCount +
+                    ", Yeni: " + newImageCount);
+        }
+    }
+
+    private ProductResponse attachStoredImages(Product product, List<FileStorageService.StoredImage> storedImages,
+                                               Integer primaryImageIndex) {
+        // ProductImage entity'lerini oluştur
+        Set<ProductImage> newProductImages = createProductImageEntities(
+                product, storedImages, primaryImageIndex);
+
+        // Mevcut resimler varsa primary flag'leri kaldır (sadece yeni primary varsa)
+        if (primaryImageIndex != null && product.getImages() != null) {
+            product.getImages().forEach(img -> img.setIsPrimary(false));
+        }
+
+        // Yeni resimleri ekle
+        if (product.getImages() == null) {
+            product.setImages(new HashSet<>());
+        }
+        product.getImages().addAll(newProductImages);
+
+        // Kaydet - flush ile yeni resimlerin ID'leri türev üretimi için hazır olur
+        Product savedProduct = productRepository.saveAndFlush(product);
+        logger.info("Successfully added " + storedImages.size() + " images to product: " + product.getId());
+
+        // Küçük resim / WebP türevleri commit sonrası arka planda üretilir
+        List<Long> newImageIds = savedProduct.getImages().stream()
+                .filter(img -> img.getId() != null && img.getThumbnailUrl() == null)
+                .map(ProductImage::getId)
+                .collect(Collectors.toList());
+        if (!newImageIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductImagesUploadedEvent(newImageIds));
+        }
+
+        return productMapper.toDto(savedProduct);
     }
 
     /**
@@ -750,9 +844,15 @@ public class ProductService {
                 .findFirst()
                 .orElseThrow(() -> new EntityNotFoundException("Resim bulunamadı: " + imageId));
 
-        // Fiziksel dosyayı sil
+        // İçerik adresli dosyanın referansı bırakılır (başka resim kullanmıyorsa temizleme job'ı siler),
+        // eski klasör düzenindeki dosya doğrudan silinir
         try {
-            fileStorageService.deleteImageFile(imageToDelete.getImageUrl());
+            if (fileStorageService.isContentAddressed(imageToDelete.getImageUrl())) {
+                fileStorageService.releaseStoredImage(imageToDelete.getContentHash());
+            } else {
+                fileStorageService.deleteImageFile(imageToDelete.getImageUrl());
+                imageDerivativeService.releaseDerivatives(imageToDelete);
+            }
         } catch (Exception e) {
             logger.warning("Could not delete physical file: " + e.getMessage());
         }
@@ -786,7 +886,10 @@ public class ProductService {
                 .map(img -> new ProductImageInfo(
                         img.getId(),
                         img.getImageUrl(),
-                        img.getIsPrimary()
+                        img.getIsPrimary(),
+                        img.getThumbnailUrl(),
+                        img.getMediumUrl(),
+                        img.getWebpUrl()
                 ))
                 .sorted((img1, img2) -> {
                     // Primary resmi en üste koy
@@ -800,19 +903,23 @@ public class ProductService {
     /**
      * ProductImage entity'lerini oluştur
      */
-    private Set<ProductImage> createProductImageEntities(Product product, List<String> imageUrls, Integer primaryImageIndex) {
+    private Set<ProductImage> createProductImageEntities(Product product, List<FileStorageService.StoredImage> storedImages,
+                                                         Integer primaryImageIndex) {
         Set<ProductImage> productImages = new HashSet<>();
 
-        for (int i = 0; i < imageUrls.size(); i++) {
+        for (int i = 0; i < storedImages.size(); i++) {
+            FileStorageService.StoredImage storedImage = storedImages.get(i);
             ProductImage productImage = new ProductImage();
             productImage.setProduct(product);
-            productImage.setImageUrl(imageUrls.get(i));
+            productImage.setImageUrl(storedImage.url());
+            productImage.setContentHash(storedImage.contentHash());
+            productImage.setSizeBytes(storedImage.sizeBytes());
             productImage.setIsPrimary(primaryImageIndex != null && primaryImageIndex == i);
             productImage.setStatus(EntityStatus.ACTIVE);
 
             productImages.add(productImage);
 
-            logger.info("Created ProductImage entity - URL: " + imageUrls.get(i) +
+            logger.info("Created ProductImage entity - URL: " + storedImage.url() +
                     ", isPrimary: " + productImage.getIsPrimary());
         }
 
@@ -859,6 +966,7 @@ public class ProductService {
 
         // Product'ı kaydet
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("product created: " + savedProduct.getId()));
 
         // ✅ YENİ: Variant'ları oluştur ve kaydet
         if (request.variants() != null && !request.variants().isEmpty()) {
@@ -923,6 +1031,11 @@ public class ProductService {
     }
 
 
+    /**
+     * Varyant stoğu eşzamanlı bir sipariş rezervasyonu ile değişirse (@Version çakışması)
+     * güncelleme güncel veriyle yeniden denenir
+     */
+    @Retryable(value = {ObjectOptimisticLockingFailureException.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
     @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest request, Authentication authentication) {
         logger.info("Updating product with variant support - id: " + id);
@@ -950,6 +1063,8 @@ public class ProductService {
 
         // Product'ı kaydet
         Product updatedProduct = productRepository.save(existingProduct);
+        // Kategori veya varyantlar değişmiş olabilir
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("product updated: " + id));
 
         // ✅ YENİ: Variant'ları güncelle
         if (request.variants() != null && !request.variants().isEmpty()) {
@@ -1151,12 +1266,27 @@ public class ProductService {
                 summary.id(),
                 product.getLocalizedName(language),
                 summary.code(), localizedCategoryName,
-                summary.primaryImageUrl(), summary.stockQuantity(), summary.unit(),
+                summary.primaryImageUrl(), summary.primaryThumbnailUrl(), summary.stockQuantity(), summary.unit(),
                 summary.isActive(), summary.isInStock(), summary.status(),
                 isFavorite
         );
     }
 
+    /**
+     * Okuma modeli satırından özet; entity yolundaki buildLocalizedSummary ile aynı alanları üretir
+     */
+    private ProductSummary toSummary(ProductCatalogReadRepository.CatalogRow row, Language language, boolean isFavorite) {
+        return new ProductSummary(
+                row.id(),
+                row.localizedName(language),
+                row.code(), row.localizedCategoryName(language),
+                row.primaryImageUrl(), row.primaryThumbnailUrl(), row.stockQuantity(), row.unit(),
+                row.status() == EntityStatus.ACTIVE, row.inStock(),
+                row.status() != null ? row.status().getDisplayName() : null,
+                isFavorite
+        );
+    }
+
     private boolean canViewTranslations() {
         return securityService.hasPermission("PRODUCT_MANAGE")
                 || securityService.hasPermission("PRODUCT_UPDATE")
@@ -1192,6 +1322,7 @@ public class ProductService {
 
         product.setStatus(EntityStatus.DELETED);
         productRepository.save(product);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("product deleted: " + id));
 
         logger.info("Product deleted successfully with id: " + id);
     }
@@ -1205,6 +1336,7 @@ public class ProductService {
 
         product.setStatus(EntityStatus.ACTIVE);
         Product restoredProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new DiscountEligibilityChangedEvent("product restored: " + id));
 
         return productMapper.toDto(restoredProduct);
     }
@@ -1225,29 +1357,38 @@ public class ProductService {
 
     // ==================== PRIVATE HELPER METHODS ====================
 
-    private ProductListItemResponse mapToProductListItem(Product product, Long dealerId, CurrencyType currency, Language language) {
-        // Default fiyat bilgilerini al
-        Optional<ProductPrice> defaultPrice = productPriceRepository.findValidPrice(
-                product.getId(), dealerId, currency, EntityStatus.ACTIVE);
+    /**
+     * Sayfadaki tüm ürünlerin fiyatlarını bayi fiyat defterinden çözümle
+     */
+    private Map<Long, DealerPriceBook.Price> resolvePagePrices(Page<Product> products, Long dealerId, CurrencyType currency) {
+        List<Long> productIds = products.getContent().stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+        return productPriceResolver.resolveValidPrices(productIds, dealerId, currency);
+    }
+
+    private ProductListItemResponse mapToProductListItem(Product product, DealerPriceBook.Price price, CurrencyType currency, Language language) {
+        // Default fiyat bilgisi (sayfa için toplu çözümlendi)
+        Optional<DealerPriceBook.Price> defaultPrice = Optional.ofNullable(price);
         Category primaryCategory = getPrimaryCategory(product);
+        Optional<ProductImage> primaryImage = product.getImages().stream()
+                .filter(ProductImage::getIsPrimary)
+                .findFirst();
 
         return new ProductListItemResponse(
                 product.getId(),
                 product.getLocalizedName(language),
                 product.getCode(),
                 primaryCategory != null ? primaryCategory.getLocalizedName(language) : null,
-                product.getImages().stream()
-                        .filter(ProductImage::getIsPrimary)
-                        .map(ProductImage::getImageUrl)
-                        .findFirst()
-                        .orElse(null),
+                primaryImage.map(ProductImage::getImageUrl).orElse(null),
+                primaryImage.map(ProductImage::getThumbnailUrlOrOriginal).orElse(null),
                 product.getStockQuantity(),
                 product.getUnit(),
                 product.isInStock(),
                 product.isExpired(),
-                defaultPrice.map(ProductPrice::getAmount).orElse(null),
+                defaultPrice.map(DealerPriceBook.Price::amount).orElse(null),
                 currency.name(),
-                defaultPrice.map(ProductPrice::isValidNow).orElse(false),
+                defaultPrice.map(DealerPriceBook.Price::isValidNow).orElse(false),
                 product.getExpiryDate(),
                 false
         );
@@ -1295,7 +1436,8 @@ public class ProductService {
                 product.getUnit(),
                 product.getImages().stream()
                         .map(img -> new com.maxx_global.dto.productImage.ProductImageInfo(
-                                img.getId(), img.getImageUrl(), img.getIsPrimary()))
+                                img.getId(), img.getImageUrl(), img.getIsPrimary(),
+                                img.getThumbnailUrl(), img.getMediumUrl(), img.getWebpUrl()))
                         .collect(Collectors.toList()),
                 product.getImages().stream()
                         .filter(ProductImage::getIsPrimary)
@@ -1313,11 +1455,18 @@ public class ProductService {
         );
     }
 
-    private Page<Product> searchProductsWithFilters(ProductDealerSearchRequest request, Pageable pageable) {
+    private Page<Product> searchProductsWithFilters(ProductDealerSearchRequest request, String sortBy, Pageable pageable) {
+        Long categoryId = request.categoryIds() != null && !request.categoryIds().isEmpty() ? request.categoryIds().get(0) : null;
+
+        // Arama terimi varsa tam metin araması (alaka sıralı)
+        if (productSearchRepository.isAvailable() && request.searchTerm() != null && !request.searchTerm().isBlank()) {
+            return rankedSearch(request.searchTerm(), categoryId, Boolean.TRUE.equals(request.inStockOnly()), sortBy, pageable);
+        }
+
         // Advanced search criteria oluştur
         return productRepository.findByAdvancedCriteria(
                 request.searchTerm(),
-                request.categoryIds() != null && !request.categoryIds().isEmpty() ? request.categoryIds().get(0) : null,
+                categoryId,
                 null, // material
                 null, // sterile
                 null, // implantable
@@ -1336,6 +1485,36 @@ public class ProductService {
         );
     }
 
+    /**
+     * Arama motorundan sıralı ürün ID'lerini alır ve ürünleri aynı sırada yükler
+     */
+    private Page<Product> rankedSearch(String searchTerm, Long categoryId, boolean inStockOnly,
+                                       String sortBy, Pageable pageable) {
+        boolean ascending = pageable.getSort().stream().findFirst().map(Sort.Order::isAscending).orElse(true);
+
+        ProductSearchRepository.SearchPage result = productSearchRepository.search(new ProductSearchRepository.SearchQuery(
+                searchTerm, categoryId, inStockOnly, sortBy, ascending,
+                (int) pageable.getOffset(), pageable.getPageSize()));
+
+        if (result.productIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+
+        Map<Long, Product> productsById = productRepository.findAllById(result.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        List<Product> ordered = result.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(ordered, pageable, result.total());
+    }
+
+    // "relevance" sadece arama motorunda anlamlı; LIKE yolunda ada göre sıralanır
+    private static String toEntitySortProperty(String sortBy) {
+        return RELEVANCE_SORT.equals(sortBy) ? "name" : sortBy;
+    }
+
     private boolean applyDealerSpecificFilters(ProductListItemResponse item, ProductDealerSearchRequest request) {
         // Fiyat filtresi
         if (request.withPriceOnly() && item.dealerPrice() == null) {
@@ -1576,34 +1755,6 @@ public class ProductService {
         );
     }
 
-    /**
-     * Belirtilen parent kategorinin tüm alt kategori ID'lerini recursive olarak getirir
-     */
-    private List<Long> getAllChildCategoryIds(Long parentCategoryId) {
-        List<Long> allChildIds = new ArrayList<>();
-        collectChildCategoryIds(parentCategoryId, allChildIds);
-
-        logger.info("Found " + allChildIds.size() + " child category IDs for parent: " + parentCategoryId);
-        return allChildIds;
-    }
-
-    /**
-     * Recursive olarak alt kategori ID'lerini toplar
-     */
-    private void collectChildCategoryIds(Long parentId, List<Long> allChildIds) {
-        // Bu parent'ın direkt child'larını al
-        List<Category> directChildren = categoryRepository.findByParentCategoryIdAndStatusOrderByNameAsc(
-                parentId, EntityStatus.ACTIVE);
-
-        for (Category child : directChildren) {
-            // Child'ın ID'sini ekle
-            allChildIds.add(child.getId());
-
-            // Bu child'ın da child'ları varsa recursive çağır
-            collectChildCategoryIds(child.getId(), allChildIds);
-        }
-    }
-
     /**
      * Kategorinin leaf kategori olup olmadığını kontrol eder
      * Parent kategorilere ürün eklenemez, sadece leaf kategorilere ürün eklenebilir
@@ -1611,16 +1762,19 @@ public class ProductService {
     private void validateLeafCategory(Long categoryId) {
         logger.info("Validating if category is leaf category: " + categoryId);
 
-        Category category = categoryService.getCategoryEntityById(categoryId);
+        CategoryTreeSnapshot snapshot = categoryTreeSnapshotCache.getSnapshot();
+        // Snapshot'ta olmayan (pasif) kategori için varlık kontrolü ve ad veritabanından
+        String categoryName = snapshot.find(categoryId)
+                .map(CategoryTreeSnapshot.Node::getName)
+                .orElseGet(() -> categoryService.getCategoryEntityById(categoryId).getName());
 
         // Category'nin child'ları var mı kontrol et
-        List<Category> children = categoryRepository.findByParentCategoryIdAndStatusOrderByNameAsc(
-                categoryId, EntityStatus.ACTIVE);
+        List<CategoryTreeSnapshot.Node> children = snapshot.getChildren(categoryId);
 
         if (!children.isEmpty()) {
             throw new BadCredentialsException(
                     "Ana kategorilere ürün eklenemez. Lütfen alt kategori seçiniz. " +
-                            "Seçilen kategori: " + category.getName() + " (" + children.size() + " alt kategori mevcut)"
+                            "Seçilen kategori: " + categoryName + " (" + children.size() + " alt kategori mevcut)"
             );
         }
 
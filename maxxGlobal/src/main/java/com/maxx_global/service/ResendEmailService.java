@@ -2,6 +2,8 @@ package com.maxx_global.service;
 
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
+import com.resend.services.batch.model.BatchEmail;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
 import com.resend.services.emails.model.CreateEmailOptions;
 import com.resend.services.emails.model.CreateEmailResponse;
 import com.resend.services.emails.model.Attachment;
@@ -9,6 +11,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,16 +22,33 @@ public class ResendEmailService {
 
     private static final Logger logger = Logger.getLogger(ResendEmailService.class.getName());
 
+    // Resend batch API tek istekte en fazla 100 mail kabul eder
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Batch gönderimde tek mail (batch API ek desteklemez)
+     */
+    public record OutgoingEmail(String toEmail, String subject, String htmlContent) {
+    }
+
     private final Resend resendClient;
 
+    // Resend'e aynı anda açık istek sınırı: virtual thread modunda mail işleri sınırsız başlar, sağlayıcıya giden çağrılar bu izinle sıraya girer
+    private final Semaphore providerPermits;
+    private final long acquireTimeoutMs;
+
     @Value("${resend.from-email}")
     private String fromEmail;
 
     @Value("${resend.from-name}")
     private String fromName;
 
-    public ResendEmailService(Resend resendClient) {
+    public ResendEmailService(Resend resendClient,
+                              @Value("${app.mail.provider.max-concurrent-requests:4}") int maxConcurrentRequests,
+                              @Value("${app.mail.provider.acquire-timeout-ms:60000}") long acquireTimeoutMs) {
         this.resendClient = resendClient;
+        this.providerPermits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
     }
 
     /**
@@ -41,7 +63,7 @@ public class ResendEmailService {
                     .html(htmlContent)
                     .build();
 
-            CreateEmailResponse response = resendClient.emails().send(params);
+            CreateEmailResponse response = sendThrottled(params);
 
             logger.info("✅ Email sent successfully to " + toEmail + " - ID: " + response.getId());
             return true;
@@ -82,7 +104,7 @@ public class ResendEmailService {
                     .attachments(pdfAttachment) // ✅ PDF eki
                     .build();
 
-            CreateEmailResponse response = resendClient.emails().send(params);
+            CreateEmailResponse response = sendThrottled(params);
 
             logger.info("✅ Email with PDF sent successfully to " + toEmail + " - ID: " + response.getId());
             return true;
@@ -99,6 +121,88 @@ public class ResendEmailService {
         }
     }
 
+    /**
+     * Outbox gönderimi: hata yutulmaz ve ekli gönderimde eksiz tekrar denenmez, tekrar denemeye çağıran karar verir.
+     *
+     * @return Resend mail ID'si
+     */
+    public String sendOrThrow(String toEmail, String subject, String htmlContent,
+                              byte[] attachment, String attachmentName) throws ResendException {
+        CreateEmailOptions params;
+        if (attachment != null && attachment.length > 0) {
+            params = CreateEmailOptions.builder()
+                    .from(fromName + " <" + fromEmail + ">")
+                    .to(toEmail)
+                    .subject(subject)
+                    .html(htmlContent)
+                    .attachments(Attachment.builder()
+                            .fileName(attachmentName + ".pdf")
+                            .content(Base64.getEncoder().encodeToString(attachment))
+                            .build())
+                    .build();
+        } else {
+            params = CreateEmailOptions.builder()
+                    .from(fromName + " <" + fromEmail + ">")
+                    .to(toEmail)
+                    .subject(subject)
+                    .html(htmlContent)
+                    .build();
+        }
+        return throttled(() -> resendClient.emails().send(params)).getId();
+    }
+
+    /**
+     * Birden fazla maili tek HTTP isteğiyle gönderir. Resend batch'i bütün olarak kabul ya da reddeder.
+     *
+     * @return gönderim sırasıyla Resend mail ID'leri
+     */
+    public List<String> sendBatch(List<OutgoingEmail> emails) throws ResendException {
+        if (emails.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size " + emails.size() + " exceeds " + MAX_BATCH_SIZE);
+        }
+
+        List<CreateEmailOptions> batch = emails.stream()
+                .map(email -> CreateEmailOptions.builder()
+                        .from(fromName + " <" + fromEmail + ">")
+                        .to(email.toEmail())
+                        .subject(email.subject())
+                        .html(email.htmlContent())
+                        .build())
+                .toList();
+
+        CreateBatchEmailsResponse response = throttled(() -> resendClient.batch().send(batch));
+        logger.info("✅ Batch of " + emails.size() + " emails accepted by Resend");
+        return response.getData().stream().map(BatchEmail::getId).toList();
+    }
+
+    /**
+     * Resend çağrısını eşzamanlılık iznine bağlar. İzin süresinde alınamazsa gönderim başarısız sayılır.
+     */
+    private CreateEmailResponse sendThrottled(CreateEmailOptions params) throws ResendException {
+        return throttled(() -> resendClient.emails().send(params));
+    }
+
+    private <T> T throttled(ProviderCall<T> call) throws ResendException {
+        try {
+            if (!providerPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Mail provider busy, no permit within " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for mail provider permit", e);
+        }
+        try {
+            return call.execute();
+        } finally {
+            providerPermits.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ProviderCall<T> {
+        T execute() throws ResendException;
+    }
+
     /**
      * Email servisi sağlık kontrolü
      */
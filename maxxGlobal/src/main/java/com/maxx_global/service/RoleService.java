@@ -5,10 +5,12 @@ import com.maxx_global.entity.AppUser;
 import com.maxx_global.entity.Permission;
 import com.maxx_global.entity.Role;
 import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.event.RoleChangedEvent;
 import com.maxx_global.repository.PermissionRepository;
 import com.maxx_global.repository.RoleRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
@@ -28,13 +30,16 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final RoleMapper roleMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public RoleService(RoleRepository roleRepository,
                        PermissionRepository permissionRepository,
-                       RoleMapper roleMapper) {
+                       RoleMapper roleMapper,
+                       ApplicationEventPublisher applicationEventPublisher) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.roleMapper = roleMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -112,6 +117,7 @@ public class RoleService {
 
         // Kaydet
         Role savedRole = roleRepository.save(existingRole);
+        applicationEventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId()));
         return roleMapper.toDto(savedRole);
     }
 
@@ -145,6 +151,7 @@ public class RoleService {
 
         // Hard delete yerine update
         roleRepository.save(role);
+        applicationEventPublisher.publishEvent(new RoleChangedEvent(role.getId()));
 
         System.out.println("Role " + role.getName() + " soft deleted and permissions cleared");
     }
@@ -212,6 +219,7 @@ public class RoleService {
         // Status'u aktif yap
         role.setStatus(EntityStatus.valueOf(EntityStatus.ACTIVE.name()));
         Role restoredRole = roleRepository.save(role);
+        applicationEventPublisher.publishEvent(new RoleChangedEvent(restoredRole.getId()));
 
         return roleMapper.toDto(restoredRole);
     }
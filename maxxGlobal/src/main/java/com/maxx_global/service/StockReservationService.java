@@ -0,0 +1,161 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.OrderItem;
+import com.maxx_global.entity.ProductVariant;
+import com.maxx_global.entity.StockMovement;
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.enums.StockMovementType;
+import com.maxx_global.repository.ProductVariantRepository;
+import com.maxx_global.repository.StockMovementRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Sipariş stok rezervasyonu.
+ * Stok, okuma-değiştirme-yazma yerine koşullu UPDATE (stock_quantity >= :qty) ile düşülür;
+ * böylece aynı varyant için eşzamanlı siparişler JVM içinde kilit tutmadan stoğu eksiye düşüremez.
+ * Aynı siparişteki kalemler varyant bazında birleştirilir ve ID sırasıyla güncellenir (deadlock önlemi).
+ */
+@Service
+@Transactional(readOnly = true)
+public class StockReservationService {
+
+    private static final Logger logger = Logger.getLogger(StockReservationService.class.getName());
+
+    private final ProductVariantRepository productVariantRepository;
+    private final StockMovementRepository stockMovementRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StockReservationService(ProductVariantRepository productVariantRepository,
+                                   StockMovementRepository stockMovementRepository) {
+        this.productVariantRepository = productVariantRepository;
+        this.stockMovementRepository = stockMovementRepository;
+    }
+
+    /**
+     * Sipariş kalemleri için stok düş. Herhangi bir varyantta stok yetersizse
+     * IllegalArgumentException fırlatılır ve transaction geri alınır.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Collection<OrderItem> items, AppUser performedBy, String orderNumber, Long orderId) {
+        Map<Long, Integer> quantities = aggregateByVariant(items);
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            int updated = productVariantRepository.decrementStockIfAvailable(entry.getKey(), entry.getValue());
+            if (updated == 0) {
+                ProductVariant variant = findVariant(items, entry.getKey());
+                throw new IllegalArgumentException("Yetersiz stok: " + variant.getDisplayName() +
+                        " (İstenilen: " + entry.getValue() + ")");
+            }
+        }
+
+        writeMovements(items, quantities, StockMovementType.ORDER_RESERVED, "ORDER",
+                "Sipariş rezervasyonu", performedBy, orderNumber, orderId);
+
+        logger.info("Stock reserved for order " + orderNumber + ": " + quantities.size() + " variants");
+    }
+
+    /**
+     * İptal / red / düzenleme durumunda rezerve edilen stoğu geri ver
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<OrderItem> items, AppUser performedBy, String orderNumber, Long orderId) {
+        Map<Long, Integer> quantities = aggregateByVariant(items);
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            productVariantRepository.incrementStock(entry.getKey(), entry.getValue());
+        }
+
+        writeMovements(items, quantities, StockMovementType.ORDER_CANCELLED_RETURN, "ORDER_CANCELLATION",
+                "İptal edilen sipariş iadesi", performedBy, orderNumber, orderId);
+
+        logger.info("Stock released for order " + orderNumber + ": " + quantities.size() + " variants");
+    }
+
+    /**
+     * Varyant bazında toplam miktar - TreeMap ile her zaman ID sırasıyla kilitlenir
+     */
+    private Map<Long, Integer> aggregateByVariant(Collection<OrderItem> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            ProductVariant variant = item.getProductVariant();
+            if (variant == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                continue;
+            }
+            quantities.merge(variant.getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Stok hareketlerini tek saveAll çağrısıyla yaz ve yönetilen varyantları DB ile senkronla
+     */
+    private void writeMovements(Collection<OrderItem> items, Map<Long, Integer> quantities,
+                                StockMovementType movementType, String referenceType, String reasonPrefix,
+                                AppUser performedBy, String orderNumber, Long orderId) {
+
+        // UPDATE satır kilidi transaction sonuna kadar tutulduğundan okunan değer bizim güncellememizden sonraki stoktur
+        Map<Long, Integer> currentStocks = new HashMap<>();
+        for (Object[] row : productVariantRepository.findStockQuantitiesByIds(quantities.keySet())) {
+            currentStocks.put((Long) row[0], (Integer) row[1]);
+        }
+
+        boolean reservation = movementType == StockMovementType.ORDER_RESERVED;
+        LocalDateTime now = LocalDateTime.now();
+        List<StockMovement> movements = new ArrayList<>(quantities.size());
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            ProductVariant variant = findVariant(items, entry.getKey());
+            int quantity = entry.getValue();
+            int newStock = currentStocks.getOrDefault(entry.getKey(), 0);
+            int previousStock = reservation ? newStock + quantity : newStock - quantity;
+
+            StockMovement movement = new StockMovement();
+            movement.setProduct(variant.getProduct());
+            movement.setProductVariant(variant);
+            movement.setMovementType(movementType);
+            movement.setQuantity(quantity);
+            movement.setPreviousStock(previousStock);
+            movement.setNewStock(newStock);
+            movement.setMovementDate(now);
+            movement.setPerformedBy(performedBy != null ? performedBy.getId() : null);
+            movement.setReferenceType(referenceType);
+            movement.setReferenceId(orderId);
+            movement.setNotes(reasonPrefix + " - Sipariş No: " + orderNumber +
+                    " (" + (reservation ? "Rezerve" : "İade") + ": " + quantity + ")");
+            movement.setStatus(EntityStatus.ACTIVE);
+            movements.add(movement);
+
+            // Bulk UPDATE persistence context'i güncellemez; eski stok/versiyon ile flush edilmesin
+            if (entityManager.contains(variant)) {
+                entityManager.refresh(variant);
+            }
+        }
+
+        stockMovementRepository.saveAll(movements);
+    }
+
+    private ProductVariant findVariant(Collection<OrderItem> items, Long variantId) {
+        return items.stream()
+                .map(OrderItem::getProductVariant)
+                .filter(variant -> variant != null && variantId.equals(variant.getId()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Varyant bulunamadı: " + variantId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.maxx_global.service;
 
+import com.maxx_global.dto.CursorSlice;
 import com.maxx_global.dto.stock.*;
 import com.maxx_global.entity.*;
 import com.maxx_global.enums.EntityStatus;
@@ -11,7 +12,11 @@ import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -111,6 +116,34 @@ public class StockTrackerService {
         return movements.map(stockMovementMapper::toDto);
     }
 
+    /**
+     * Tüm stok hareketleri, keyset sayfalama (movementDate DESC, id DESC). COUNT ve OFFSET çalışmaz.
+     * Tarih filtresi verilmezse tüm aralık taranır; boş imleç ilk sayfadır.
+     */
+    public CursorSlice<StockMovementResponse> getStockMovementsByCursor(String cursor, int size, String movementType,
+                                                                        Long productId, String startDate, String endDate) {
+        logger.info("Fetching stock movements by cursor");
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        StockMovementType type = movementType != null ? StockMovementType.valueOf(movementType.toUpperCase()) : null;
+        LocalDateTime start = startDate != null ? LocalDate.parse(startDate).atStartOfDay() : KeysetCursor.MIN_TIME;
+        LocalDateTime end = endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : KeysetCursor.MAX_TIME;
+
+        // İmleç bitiş tarihinden önceyse aralığın üst sınırı imleçtir
+        LocalDateTime before = end;
+        long beforeId = Long.MAX_VALUE;
+        if (after != null && !after.timeKey().isAfter(end)) {
+            before = after.timeKey();
+            beforeId = after.getId();
+        }
+
+        Slice<StockMovement> movements = stockMovementRepository.findMovementsBefore(
+                type, productId, start, before, beforeId, EntityStatus.ACTIVE, KeysetCursor.pageRequest(size));
+
+        return CursorSlice.of(movements, stockMovementMapper::toDto,
+                movement -> KeysetCursor.encode(movement.getMovementDate(), movement.getId()));
+    }
+
     public Page<StockMovementResponse> getStockMovementsByProduct(Long productId, int page, int size, String sortDirection) {
         logger.info("Fetching stock movements for product: " + productId);
 
@@ -577,18 +610,20 @@ public class StockTrackerService {
         LocalDateTime start = startDate != null ? LocalDate.parse(startDate).atStartOfDay() : LocalDateTime.now().minusMonths(1);
         LocalDateTime end = endDate != null ? LocalDate.parse(endDate).atTime(23, 59, 59) : LocalDateTime.now();
 
-        List<StockMovement> movements = stockMovementRepository.findByMovementDateBetweenAndStatus(start, end, EntityStatus.ACTIVE);
-
-        Map<StockMovementType, Long> typeCount = movements.stream()
-                .collect(Collectors.groupingBy(StockMovement::getMovementType, Collectors.counting()));
-
-        Map<StockMovementType, Integer> typeQuantity = movements.stream()
-                .collect(Collectors.groupingBy(StockMovement::getMovementType,
-                        Collectors.summingInt(StockMovement::getQuantity)));
+        Map<StockMovementType, Long> typeCount = new HashMap<>();
+        Map<StockMovementType, Integer> typeQuantity = new HashMap<>();
+        int totalMovements = 0;
+        for (Object[] row : stockMovementRepository.summarizeByMovementTypeBetween(start, end, EntityStatus.ACTIVE)) {
+            StockMovementType type = (StockMovementType) row[0];
+            long count = ((Number) row[1]).longValue();
+            typeCount.put(type, count);
+            typeQuantity.put(type, ((Number) row[2]).intValue());
+            totalMovements += (int) count;
+        }
 
         Map<String, Object> result = new HashMap<>();
         result.put("period", Map.of("start", start.toLocalDate(), "end", end.toLocalDate()));
-        result.put("totalMovements", movements.size());
+        result.put("totalMovements", totalMovements);
         result.put("movementCounts", typeCount);
         result.put("movementQuantities", typeQuantity);
 
@@ -602,21 +637,24 @@ public class StockTrackerService {
         LocalDateTime start = targetDate.atStartOfDay();
         LocalDateTime end = targetDate.atTime(23, 59, 59);
 
-        List<StockMovement> movements = stockMovementRepository.findByMovementDateBetweenAndStatus(start, end, EntityStatus.ACTIVE);
-
-        Integer totalInQuantity = movements.stream()
-                .filter(m -> isStockInMovement(m.getMovementType()))
-                .mapToInt(StockMovement::getQuantity)
-                .sum();
-
-        Integer totalOutQuantity = movements.stream()
-                .filter(m -> isStockOutMovement(m.getMovementType()))
-                .mapToInt(StockMovement::getQuantity)
-                .sum();
+        int totalMovements = 0;
+        int totalInQuantity = 0;
+        int totalOutQuantity = 0;
+        for (Object[] row : stockMovementRepository.summarizeByMovementTypeBetween(start, end, EntityStatus.ACTIVE)) {
+            StockMovementType type = (StockMovementType) row[0];
+            int quantity = ((Number) row[2]).intValue();
+            totalMovements += ((Number) row[1]).intValue();
+            if (isStockInMovement(type)) {
+                totalInQuantity += quantity;
+            }
+            if (isStockOutMovement(type)) {
+                totalOutQuantity += quantity;
+            }
+        }
 
         Map<String, Object> result = new HashMap<>();
         result.put("date", targetDate);
-        result.put("totalMovements", movements.size());
+        result.put("totalMovements", totalMovements);
         result.put("totalStockIn", totalInQuantity);
         result.put("totalStockOut", totalOutQuantity);
         result.put("netChange", totalInQuantity - totalOutQuantity);
@@ -680,6 +718,11 @@ public class StockTrackerService {
 
     // ==================== STOCK COUNT OPERATIONS ====================
 
+    /**
+     * Sayım sırasında ürün/varyant satırı eşzamanlı bir işlemle değişirse (@Version çakışması)
+     * sayım güncel sistem stoğuyla yeniden kaydedilir
+     */
+    @Retryable(value = {ObjectOptimisticLockingFailureException.class}, maxAttempts = 3, backoff = @Backoff(delay = 100))
     @Transactional
     public StockMovementResponse recordStockCount(StockCountRequest request) {
         logger.info("Recording stock count for product: " + request.productId() +
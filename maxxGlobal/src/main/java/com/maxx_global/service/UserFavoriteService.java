@@ -78,7 +78,7 @@ public class UserFavoriteService {
             // Favoriler listesinde olduğu için isFavorite = true, prices ekle
             ProductSummary productWithFavoriteAndPrices = new ProductSummary(
                     productSummary.id(), product.getLocalizedName(language), productSummary.code(),
-                    productSummary.categoryName(), productSummary.primaryImageUrl(),
+                    productSummary.categoryName(), productSummary.primaryImageUrl(), productSummary.primaryThumbnailUrl(),
                     productSummary.stockQuantity(), productSummary.unit(),
                     productSummary.isActive(), productSummary.isInStock(),
                     productSummary.status(),
@@ -258,7 +258,7 @@ public class UserFavoriteService {
         // ProductSummary'yi güncellenmiş constructor ile oluştur
         ProductSummary productWithPrices = new ProductSummary(
                 product.id(), productEntity.getLocalizedName(language), product.code(), product.categoryName(),
-                product.primaryImageUrl(), product.stockQuantity(), product.unit(),
+                product.primaryImageUrl(), product.primaryThumbnailUrl(), product.stockQuantity(), product.unit(),
                 product.isActive(), product.isInStock(), product.status(),
                 true
         );
@@ -273,7 +273,7 @@ public class UserFavoriteService {
         // ProductSummary'yi güncellenmiş constructor ile oluştur
         ProductSummary productWithPrices = new ProductSummary(
                 product.id(), favorite.getProduct().getLocalizedName(language), product.code(), product.categoryName(),
-                product.primaryImageUrl(), product.stockQuantity(), product.unit(),
+                product.primaryImageUrl(), product.primaryThumbnailUrl(), product.stockQuantity(), product.unit(),
                 product.isActive(), product.isInStock(), product.status(),
                 true
         );
@@ -0,0 +1,164 @@
+package com.maxx_global.event;
+
+import com.maxx_global.entity.Order;
+import com.maxx_global.entity.OrderItem;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.job.MailOutboxDispatchJob;
+import com.maxx_global.repository.OrderRepository;
+import com.maxx_global.service.LocalizationService;
+import com.maxx_global.service.OrderPdfService;
+import com.maxx_global.service.ResendEmailService;
+import com.maxx_global.support.TestDataFixture;
+import com.resend.Resend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sipariş maillerinin siparişle aynı transaction'da outbox'a yazıldığını doğrular: commit döndüğü anda
+ * outbox satırı vardır (sonradan çalışan bir handler'a bağlı değildir), geri alınan siparişin maili de yoktur.
+ * Transaction içinde yalnızca içeriksiz satır yazılır; şablon ve PDF commit sonrası dispatch job'ında üretilir.
+ * Dispatch job'ı uzun aralıkla çalıştırılır ki satırlar sayılmadan gönderilmesin.
+ */
+@SpringBootTest(properties = {
+        "app.mail.enabled=true",
+        "app.mail.outbox.poll-interval-ms=3600000"
+})
+@Import(TestDataFixture.class)
+class OrderMailEventListenerTest {
+
+    @MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+    private Resend resend;
+
+    // Commit sonrası uygulama içi bildirimler bu testin konusu değil; cleanUp ile yarışmasınlar
+    @MockitoBean
+    private NotificationEventService notificationEventService;
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MailOutboxDispatchJob mailOutboxDispatchJob;
+
+    @Autowired
+    private OrderPdfService orderPdfService;
+
+    @Autowired
+    private LocalizationService localizationService;
+
+    @MockitoSpyBean
+    private ResendEmailService resendEmailService;
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void orderMailIsInOutboxWhenOrderCommits() {
+        Order order = fixture.order("COMMIT", OrderStatus.PENDING, LocalDateTime.now(), BigDecimal.valueOf(250));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Order saved = orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderCreatedEvent(saved));
+            assertEquals(0, outboxRows(order.getOrderNumber()), "Mail must not be written before the order commits");
+        });
+
+        assertTrue(outboxRows(order.getOrderNumber()) >= 1, "Committed order must have its mail in the outbox");
+
+        Map<String, Object> row = jdbcTemplate.queryForList(
+                "SELECT order_id, html_content FROM mail_outbox WHERE subject LIKE ?",
+                "%" + order.getOrderNumber() + "%").get(0);
+        assertEquals(order.getId(), ((Number) row.get("order_id")).longValue());
+        assertNull(row.get("html_content"), "Mail content must be rendered after commit, not in the order transaction");
+    }
+
+    @Test
+    void editedOrderMailCarriesThePdfOfTheCommittedEdit() throws Exception {
+        Order order = fixture.order("EDIT", OrderStatus.APPROVED, LocalDateTime.now(), BigDecimal.valueOf(20));
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(fixture.product(0));
+        item.setQuantity(2);
+        item.setUnitPrice(BigDecimal.TEN);
+        item.setTotalPrice(BigDecimal.valueOf(20));
+        order.getItems().add(item);
+        Long orderId = orderRepository.save(order).getId();
+
+        Locale locale = localizationService.getPreferredLocaleOrDefault(fixture.user());
+        byte[] preEditPdf = transactionTemplate.execute(status ->
+                orderPdfService.generateOrderPdf(orderRepository.findById(orderId).orElseThrow(), locale));
+
+        // Sadece miktar değişir; siparişin kendi satırı flush öncesi aynı kalır
+        transactionTemplate.executeWithoutResult(status -> {
+            Order editing = orderRepository.findById(orderId).orElseThrow();
+            OrderItem editedItem = editing.getItems().iterator().next();
+            editedItem.setQuantity(5);
+            editedItem.setTotalPrice(BigDecimal.valueOf(50));
+            eventPublisher.publishEvent(new OrderEditedEvent(editing));
+        });
+
+        ArgumentCaptor<byte[]> attachment = ArgumentCaptor.forClass(byte[].class);
+        doReturn("test-id").when(resendEmailService)
+                .sendOrThrow(anyString(), anyString(), anyString(), any(), any());
+        mailOutboxDispatchJob.dispatch();
+
+        verify(resendEmailService).sendOrThrow(eq(fixture.user().getEmail()),
+                contains(order.getOrderNumber()), anyString(), attachment.capture(), anyString());
+        byte[] committedPdf = transactionTemplate.execute(status ->
+                orderPdfService.generateOrderPdf(orderRepository.findById(orderId).orElseThrow(), locale));
+        assertFalse(Arrays.equals(preEditPdf, attachment.getValue()), "Pre-edit PDF must not be attached");
+        assertArrayEquals(committedPdf, attachment.getValue());
+    }
+
+    @Test
+    void rolledBackOrderLeavesNoMail() {
+        Order order = fixture.order("ROLLBACK", OrderStatus.PENDING, LocalDateTime.now(), BigDecimal.valueOf(250));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            Order saved = orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderCreatedEvent(saved));
+            throw new IllegalStateException("order failed");
+        }));
+
+        assertEquals(0, outboxRows(order.getOrderNumber()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE order_number = ?", Integer.class, order.getOrderNumber()));
+    }
+
+    private int outboxRows(String orderNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mail_outbox WHERE subject LIKE ?", Integer.class, "%" + orderNumber + "%");
+    }
+}
@@ -0,0 +1,25 @@
+package com.maxx_global.job;
+
+import com.maxx_global.service.CategoryService;
+import com.maxx_global.service.CategoryTreeSnapshotCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryTreeRefreshJobTest {
+
+    @Test
+    void failedClosureCheckStopsStartup() {
+        CategoryService categoryService = mock(CategoryService.class);
+        CategoryTreeSnapshotCache snapshotCache = mock(CategoryTreeSnapshotCache.class);
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(categoryService).ensureCategoryClosure();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new CategoryTreeRefreshJob(categoryService, snapshotCache).warmUp());
+
+        assertInstanceOf(DataAccessResourceFailureException.class, exception.getCause());
+        verifyNoInteractions(snapshotCache);
+    }
+}
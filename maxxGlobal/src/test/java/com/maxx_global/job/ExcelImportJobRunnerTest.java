@@ -0,0 +1,59 @@
+package com.maxx_global.job;
+
+import com.maxx_global.dto.productExcel.ExcelProductData;
+import com.maxx_global.dto.productPriceExcell.PriceImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Import parçalamasının deterministik olduğunu ve bir ürünün varyantlarını iki parçaya bölmediğini doğrular.
+ * Devam ettirme commit edilmiş parça sayısına güvendiği için parça sınırları her okumada aynı olmalıdır.
+ */
+class ExcelImportJobRunnerTest {
+
+    @Test
+    void keepsProductVariantsInSameChunk() {
+        Map<String, List<ExcelProductData>> groups = new LinkedHashMap<>();
+        groups.put("P-1", variants(1, 3));
+        groups.put("P-2", variants(4, 2));
+        groups.put("P-3", variants(6, 1));
+        groups.put("P-4", variants(7, 4));
+
+        List<Map<String, List<ExcelProductData>>> chunks = ExcelImportJobRunner.partitionGroups(groups, 4);
+
+        assertEquals(2, chunks.size());
+        assertEquals(List.of("P-1", "P-2"), new ArrayList<>(chunks.get(0).keySet()));
+        assertEquals(List.of("P-3", "P-4"), new ArrayList<>(chunks.get(1).keySet()));
+        assertEquals(groups, ExcelImportJobRunner.partitionGroups(groups, 4).stream()
+                .collect(LinkedHashMap::new, Map::putAll, Map::putAll));
+    }
+
+    @Test
+    void splitsPriceRowsBySize() {
+        List<PriceImportRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            rows.add(new PriceImportRow(i, "P-" + i, "", List.of(), null));
+        }
+
+        List<List<PriceImportRow>> chunks = ExcelImportJobRunner.partitionRows(rows, 3);
+
+        assertEquals(3, chunks.size());
+        assertEquals(3, chunks.get(0).size());
+        assertEquals(1, chunks.get(2).size());
+        assertEquals(7, chunks.get(2).get(0).rowNumber());
+    }
+
+    private static List<ExcelProductData> variants(int firstRow, int count) {
+        List<ExcelProductData> variants = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            variants.add(new ExcelProductData(firstRow + i));
+        }
+        return variants;
+    }
+}
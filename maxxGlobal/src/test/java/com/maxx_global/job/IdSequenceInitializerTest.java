@@ -0,0 +1,31 @@
+package com.maxx_global.job;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class IdSequenceInitializerTest {
+
+    @Test
+    void failedMigrationStopsStartup() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(jdbcTemplate).execute(anyString());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new IdSequenceInitializer(jdbcTemplate).initialize());
+
+        assertTrue(exception.getMessage().startsWith("ID sequence migration failed for "));
+        assertInstanceOf(DataAccessResourceFailureException.class, exception.getCause());
+    }
+
+    @Test
+    void nextBlockStartSkipsTheBlockInUse() {
+        assertEquals(1, IdSequenceInitializer.nextBlockStart(1, false));
+        assertEquals(51, IdSequenceInitializer.nextBlockStart(1, true));
+    }
+}
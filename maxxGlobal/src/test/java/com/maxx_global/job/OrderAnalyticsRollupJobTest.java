@@ -0,0 +1,135 @@
+package com.maxx_global.job;
+
+import com.maxx_global.service.OrderAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderAnalyticsRollupJobTest {
+
+    private static final LocalDate OLD_DAY = LocalDate.now().minusDays(40);
+
+    private final OrderAnalyticsService orderAnalyticsService = mock(OrderAnalyticsService.class);
+    private final List<Runnable> queued = new ArrayList<>();
+    private boolean rejecting;
+
+    private OrderAnalyticsRollupJob job;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = task -> {
+            if (rejecting) {
+                throw new TaskRejectedException("analytics queue full");
+            }
+            queued.add(task);
+        };
+        job = new OrderAnalyticsRollupJob(orderAnalyticsService, executor);
+        ReflectionTestUtils.setField(job, "rollupEnabled", true);
+    }
+
+    @Test
+    void eventsForTheSameDayShareOneRefresh() {
+        job.markDayDirty(OLD_DAY);
+        job.markDayDirty(OLD_DAY);
+        job.markDayDirty(OLD_DAY.plusDays(1));
+
+        assertEquals(1, queued.size());
+        runQueued();
+
+        verify(orderAnalyticsService).refreshDay(OLD_DAY);
+        verify(orderAnalyticsService).refreshDay(OLD_DAY.plusDays(1));
+        assertEquals(0, job.pendingDayCount());
+    }
+
+    @Test
+    void rejectedDayIsRefreshedOnRetry() {
+        rejecting = true;
+        job.markDayDirty(OLD_DAY);
+
+        verifyNoInteractions(orderAnalyticsService);
+        assertEquals(1, job.pendingDayCount());
+
+        rejecting = false;
+        job.retryDirtyDays();
+        runQueued();
+
+        verify(orderAnalyticsService).refreshDay(OLD_DAY);
+        assertEquals(0, job.pendingDayCount());
+    }
+
+    @Test
+    void failedRefreshStaysPendingUntilItSucceeds() {
+        doThrow(new IllegalStateException("deadlock")).doNothing().when(orderAnalyticsService).refreshDay(OLD_DAY);
+
+        job.markDayDirty(OLD_DAY);
+        runQueued();
+        assertEquals(1, job.pendingDayCount());
+
+        job.retryDirtyDays();
+        runQueued();
+
+        verify(orderAnalyticsService, times(2)).refreshDay(OLD_DAY);
+        assertEquals(0, job.pendingDayCount());
+    }
+
+    @Test
+    void reconcileRunsOnTheAnalyticsExecutorAndQueuesRecentlyChangedOldDays() {
+        List<Runnable> executed = new ArrayList<>();
+        job = new OrderAnalyticsRollupJob(orderAnalyticsService, task -> {
+            executed.add(task);
+            task.run();
+        });
+        ReflectionTestUtils.setField(job, "rollupEnabled", true);
+        ReflectionTestUtils.setField(job, "reconcileDays", 3);
+        LocalDate today = LocalDate.now();
+        when(orderAnalyticsService.getOrderDaysUpdatedSince(today.minusDays(2).atStartOfDay()))
+                .thenReturn(List.of(OLD_DAY, today));
+
+        job.reconcileRecentDays();
+
+        verify(orderAnalyticsService).refreshRange(today.minusDays(2), today);
+        verify(orderAnalyticsService).refreshDay(OLD_DAY);
+        verify(orderAnalyticsService, never()).refreshDay(today);
+        assertEquals(2, executed.size(), "Range refresh and the old day's drain must both go through the executor");
+    }
+
+    @Test
+    void rebuildRunsEachMonthOnTheAnalyticsExecutor() {
+        List<Runnable> executed = new ArrayList<>();
+        job = new OrderAnalyticsRollupJob(orderAnalyticsService, task -> {
+            executed.add(task);
+            task.run();
+        });
+        when(orderAnalyticsService.refreshRange(any(), any())).thenReturn(10);
+
+        int rows = job.rebuild(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 10));
+
+        assertEquals(30, rows);
+        assertEquals(3, executed.size());
+        verify(orderAnalyticsService).refreshRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    void rebuildFailureReachesTheCaller() {
+        job = new OrderAnalyticsRollupJob(orderAnalyticsService, Runnable::run);
+        when(orderAnalyticsService.refreshRange(OLD_DAY, OLD_DAY)).thenThrow(new IllegalStateException("deadlock"));
+
+        assertThrows(IllegalStateException.class, () -> job.rebuild(OLD_DAY, OLD_DAY));
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = List.copyOf(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,145 @@
+package com.maxx_global.job;
+
+import com.maxx_global.entity.Product;
+import com.maxx_global.entity.ProductVariant;
+import com.maxx_global.entity.StockMovement;
+import com.maxx_global.enums.StockMovementType;
+import com.maxx_global.repository.StockMovementPartitionRepository;
+import com.maxx_global.repository.StockMovementRepository;
+import com.maxx_global.support.TestDataFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Saklama süresini aşan ayın partition'ı ayrılıp gzip'li CSV'ye yazıldıktan sonra silinmeli;
+ * dosyadaki veri satırı sayısı partition'daki hareket sayısına eşit olmalı.
+ */
+@SpringBootTest(properties = {
+        "app.stock-movements.archive.retention-months=24",
+        "app.stock-movements.archive.cron=-"
+})
+@Import(TestDataFixture.class)
+class StockMovementArchiveJobTest {
+
+    private static final int MOVEMENTS = 25;
+    private static final YearMonth ARCHIVED_MONTH = YearMonth.now().minusMonths(30);
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.stock-movements.archive.dir", () -> archiveDirectory.toAbsolutePath().toString());
+    }
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private StockMovementArchiveJob stockMovementArchiveJob;
+
+    @Autowired
+    private StockMovementPartitionRepository partitionRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        partitionRepository.dropDetachedPartition(ARCHIVED_MONTH);
+        fixture.cleanUp();
+    }
+
+    @Test
+    void oldPartitionIsExportedThenDropped() throws IOException {
+        assertTrue(partitionRepository.isPartitioned());
+        partitionRepository.ensureMonthlyPartitions(ARCHIVED_MONTH, ARCHIVED_MONTH);
+        assertTrue(partitionRepository.findMonthlyPartitions(true).contains(ARCHIVED_MONTH));
+
+        Product product = fixture.product(0);
+        ProductVariant variant = fixture.variant(product, "STD", 1_000);
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < MOVEMENTS; i++) {
+            movements.add(movement(product, variant, i));
+        }
+        stockMovementRepository.saveAll(movements);
+        assertEquals(MOVEMENTS, rowsIn(StockMovementPartitionRepository.partitionName(ARCHIVED_MONTH)));
+
+        assertTrue(stockMovementArchiveJob.archive() >= 1);
+
+        Path archive = archiveDirectory.resolve(StockMovementPartitionRepository.partitionName(ARCHIVED_MONTH) + ".csv.gz");
+        List<String> lines = readArchive(archive);
+        assertTrue(lines.get(0).startsWith("id,"), "Archive must start with a header row");
+        assertEquals(MOVEMENTS, lines.size() - 1);
+        assertEquals(MOVEMENTS, lines.stream().filter(line -> line.contains(fixture.prefix())).count());
+
+        assertFalse(partitionRepository.findMonthlyPartitions(true).contains(ARCHIVED_MONTH));
+        assertFalse(partitionRepository.findMonthlyPartitions(false).contains(ARCHIVED_MONTH));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                StockMovementPartitionRepository.partitionName(ARCHIVED_MONTH)));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movements WHERE product_id = ?", Integer.class, product.getId()));
+    }
+
+    @Test
+    void relativeArchiveDirectoryIsRejectedBeforeAnythingIsDetached() {
+        StockMovementPartitionRepository repository = mock(StockMovementPartitionRepository.class);
+        StockMovementArchiveJob job = new StockMovementArchiveJob(repository);
+        ReflectionTestUtils.setField(job, "retentionMonths", 24);
+        ReflectionTestUtils.setField(job, "archiveDir", "archive/stock-movements");
+
+        assertThrows(IllegalStateException.class, job::archive);
+        verifyNoInteractions(repository);
+    }
+
+    private StockMovement movement(Product product, ProductVariant variant, int index) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setProductVariant(variant);
+        movement.setMovementType(StockMovementType.SALE);
+        movement.setQuantity(1);
+        movement.setPreviousStock(1_000 - index);
+        movement.setNewStock(1_000 - index - 1);
+        movement.setPerformedBy(fixture.user().getId());
+        movement.setMovementDate(ARCHIVED_MONTH.atDay(1 + index % 28).atTime(10, 0));
+        movement.setReferenceType("ARCHIVE_TEST");
+        movement.setDocumentNumber(fixture.prefix() + "-" + index);
+        return movement;
+    }
+
+    private int rowsIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static List<String> readArchive(Path archive) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
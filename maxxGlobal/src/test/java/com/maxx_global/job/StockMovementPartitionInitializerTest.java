@@ -0,0 +1,25 @@
+package com.maxx_global.job;
+
+import com.maxx_global.repository.StockMovementPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StockMovementPartitionInitializerTest {
+
+    @Test
+    void failedConversionStopsStartup() {
+        StockMovementPartitionRepository repository = mock(StockMovementPartitionRepository.class);
+        when(repository.isPartitioned()).thenReturn(false);
+        when(repository.convertToPartitioned(any())).thenThrow(new DataAccessResourceFailureException("lock timeout"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new StockMovementPartitionInitializer(repository).initialize());
+
+        assertInstanceOf(DataAccessResourceFailureException.class, exception.getCause());
+        verify(repository, never()).ensureMonthlyPartitions(any(), any());
+    }
+}
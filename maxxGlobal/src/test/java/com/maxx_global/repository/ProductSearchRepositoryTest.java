@@ -0,0 +1,25 @@
+package com.maxx_global.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kullanıcı metninin tsquery / LIKE kalıbına güvenli çevrildiğini doğrular:
+ * tsquery operatörleri ve LIKE joker karakterleri sorguya sızmamalı.
+ */
+class ProductSearchRepositoryTest {
+
+    @Test
+    void prefixQueryKeepsOnlyWordsAndAndsThem() {
+        assertEquals("titan:* & vida:*", ProductSearchRepository.toPrefixQuery("titan vida"));
+        assertEquals("TI:* & 001:*", ProductSearchRepository.toPrefixQuery("TI-001"));
+        assertEquals("implant:* & şişe:*", ProductSearchRepository.toPrefixQuery("implant & !şişe:*"));
+        assertEquals("", ProductSearchRepository.toPrefixQuery(" :*& | "));
+    }
+
+    @Test
+    void likeWildcardsAreEscaped() {
+        assertEquals("50\\% \\_a\\\\b", ProductSearchRepository.escapeLike("50% _a\\b"));
+    }
+}
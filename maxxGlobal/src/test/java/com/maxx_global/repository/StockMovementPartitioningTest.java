@@ -0,0 +1,51 @@
+package com.maxx_global.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * stock_movements'ın açılışta aylık partition'lı hale geldiğini ve tarih aralıklı sorguların
+ * yalnızca ilgili ayın partition'ını okuduğunu (partition pruning) doğrular.
+ */
+@SpringBootTest
+class StockMovementPartitioningTest {
+
+    @Autowired
+    private StockMovementPartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tableIsPartitionedWithUpcomingMonths() {
+        assertTrue(partitionRepository.isPartitioned());
+
+        List<YearMonth> months = partitionRepository.findMonthlyPartitions(true);
+        YearMonth current = YearMonth.now();
+        assertTrue(months.contains(current));
+        assertTrue(months.contains(current.plusMonths(1)));
+    }
+
+    @Test
+    void dateRangeQueryScansOnlyMatchingPartition() {
+        LocalDate today = LocalDate.now();
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT movement_type, COUNT(*) FROM stock_movements " +
+                        "WHERE movement_date >= '" + today + " 00:00:00' AND movement_date <= '" + today + " 23:59:59' " +
+                        "GROUP BY movement_type",
+                String.class));
+
+        YearMonth current = YearMonth.now();
+        assertTrue(plan.contains(StockMovementPartitionRepository.partitionName(current)), plan);
+        assertFalse(plan.contains(StockMovementPartitionRepository.partitionName(current.minusMonths(1))), plan);
+        assertFalse(plan.contains(StockMovementPartitionRepository.partitionName(current.plusMonths(1))), plan);
+    }
+}
@@ -0,0 +1,80 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.Language;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kategori ağacı snapshot'ının kardeş sırasını koruduğunu, alt kategori ID'lerini ve leaf kontrolünü
+ * eski recursive sorgularla aynı şekilde cevapladığını doğrular.
+ */
+class CategoryTreeSnapshotTest {
+
+    // Satırlar veritabanından isme göre sıralı gelir
+    private static final List<CategoryTreeSnapshot.Node> NODES = List.of(
+            CategoryTreeSnapshot.node(4L, 1L, "Eldiven", "Gloves", null, null),
+            CategoryTreeSnapshot.node(6L, 5L, "Kesik", null, null, null),
+            CategoryTreeSnapshot.node(2L, 1L, "Maske", "Masks", null, null),
+            CategoryTreeSnapshot.node(3L, 2L, "N95", null, null, null),
+            CategoryTreeSnapshot.node(7L, null, "Sarf", "Consumables", null, null),
+            CategoryTreeSnapshot.node(1L, null, "Tıbbi", "Medical", "Açıklama", "Description")
+    );
+
+    @Test
+    void rootsAndChildrenKeepGivenOrder() {
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.of(3, NODES);
+
+        assertEquals(3, snapshot.getVersion());
+        assertEquals(6, snapshot.size());
+        assertEquals(List.of(7L, 1L), snapshot.getRoots().stream().map(CategoryTreeSnapshot.Node::getId).toList());
+        assertEquals(List.of(4L, 2L), snapshot.getChildren(1L).stream().map(CategoryTreeSnapshot.Node::getId).toList());
+    }
+
+    @Test
+    void descendantIdsAreDepthFirstAndExcludeSelf() {
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.of(1, NODES);
+
+        assertEquals(List.of(4L, 2L, 3L), snapshot.getDescendantIds(1L));
+        assertEquals(List.of(3L), snapshot.getDescendantIds(2L));
+        assertEquals(List.of(), snapshot.getDescendantIds(3L));
+        assertEquals(List.of(), snapshot.getDescendantIds(99L));
+    }
+
+    @Test
+    void leafCheckUsesActiveChildrenOnly() {
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.of(1, NODES);
+
+        assertFalse(snapshot.isLeaf(1L));
+        assertTrue(snapshot.isLeaf(4L));
+        // Üst kategorisi (5) aktif değil: 6 bulunur ama root'lardan erişilemez, 5 yine de "parent" sayılır
+        assertTrue(snapshot.find(6L).isPresent());
+        assertTrue(snapshot.find(5L).isEmpty());
+        assertFalse(snapshot.isLeaf(5L));
+    }
+
+    @Test
+    void localizedNamesFallBackToOtherLanguage() {
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.of(1, NODES);
+
+        CategoryTreeSnapshot.Node medical = snapshot.find(1L).orElseThrow();
+        CategoryTreeSnapshot.Node cut = snapshot.find(6L).orElseThrow();
+
+        assertEquals("Medical", medical.getLocalizedName(Language.EN));
+        assertEquals("Tıbbi", medical.getLocalizedName(Language.TR));
+        assertEquals("Description", medical.getLocalizedDescription(Language.EN));
+        assertEquals("Kesik", cut.getLocalizedName(Language.EN));
+    }
+
+    @Test
+    void cycleInBrokenDataDoesNotLoop() {
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.of(1, List.of(
+                CategoryTreeSnapshot.node(1L, 2L, "A", null, null, null),
+                CategoryTreeSnapshot.node(2L, 1L, "B", null, null, null)
+        ));
+
+        assertEquals(List.of(2L), snapshot.getDescendantIds(1L));
+    }
+}
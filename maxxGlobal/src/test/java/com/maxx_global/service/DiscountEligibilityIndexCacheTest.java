@@ -0,0 +1,78 @@
+package com.maxx_global.service;
+
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.repository.DiscountRepository;
+import com.maxx_global.repository.ProductVariantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * İndeks yalnızca eskimişken (invalidate sonrası) okuyucu tarafından derlenir: bulunamayan indirim derleme
+ * tetiklemez, eskimiş indeksteki mevcut kayıt ise eski haliyle dönmez.
+ */
+class DiscountEligibilityIndexCacheTest {
+
+    private final DiscountRepository discountRepository = mock(DiscountRepository.class);
+    private final ProductVariantRepository productVariantRepository = mock(ProductVariantRepository.class);
+    private final List<Object[]> headers = new ArrayList<>();
+    private final List<Object[]> dealerLinks = new ArrayList<>();
+
+    private DiscountEligibilityIndexCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(discountRepository.findEligibilityHeaders(EntityStatus.ACTIVE)).thenAnswer(invocation -> List.copyOf(headers));
+        when(discountRepository.findEligibilityDealerLinks(EntityStatus.ACTIVE)).thenAnswer(invocation -> List.copyOf(dealerLinks));
+        cache = new DiscountEligibilityIndexCache(discountRepository, productVariantRepository);
+        cache.rebuild();
+    }
+
+    @Test
+    void repeatedMissesOnACurrentIndexDoNotRebuild() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cache.findEligibility(42L).isEmpty());
+        }
+
+        verify(discountRepository, times(1)).findEligibilityHeaders(EntityStatus.ACTIVE);
+    }
+
+    @Test
+    void discountCommittedBeforeTheBackgroundRebuildIsFoundOnMiss() {
+        LocalDateTime now = LocalDateTime.now();
+        headers.add(new Object[]{42L, now.minusDays(1), now.plusDays(1)});
+        cache.invalidate();
+
+        assertTrue(cache.findEligibility(42L).isPresent());
+        assertTrue(cache.findEligibility(7L).isEmpty());
+
+        verify(discountRepository, times(2)).findEligibilityHeaders(EntityStatus.ACTIVE);
+    }
+
+    @Test
+    void staleHitIsRebuiltBeforeItIsReturned() {
+        LocalDateTime now = LocalDateTime.now();
+        headers.add(new Object[]{42L, now.minusDays(1), now.plusDays(1)});
+        cache.rebuild();
+        assertTrue(cache.findEligibility(42L).orElseThrow().appliesToDealer(7L));
+
+        // Commit edilen değişiklik indirimi tek bir bayiye daraltır ve süresini bitirir
+        dealerLinks.add(new Object[]{42L, 8L});
+        headers.set(0, new Object[]{42L, now.minusDays(2), now.minusDays(1)});
+        cache.invalidate();
+
+        DiscountEligibilityIndex.Eligibility eligibility = cache.findEligibility(42L).orElseThrow();
+        assertFalse(eligibility.appliesToDealer(7L));
+        assertTrue(eligibility.appliesToDealer(8L));
+        assertFalse(eligibility.isValidAt(now));
+        assertTrue(cache.getIndex().findDiscountIdsForDealer(8L, now).isEmpty());
+
+        verify(discountRepository, times(3)).findEligibilityHeaders(EntityStatus.ACTIVE);
+    }
+}
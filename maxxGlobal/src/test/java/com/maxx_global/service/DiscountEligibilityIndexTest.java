@@ -0,0 +1,79 @@
+package com.maxx_global.service;
+
+import com.maxx_global.service.DiscountEligibilityIndex.Eligibility;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Derlenmiş indirim indeksinin varyant/bayi kesişimlerini ve geçerlilik tarihlerini
+ * veritabanı sorgularındaki kurallarla aynı şekilde uyguladığını doğrular.
+ */
+class DiscountEligibilityIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void unrestrictedDiscountAppliesToEveryVariantAndDealer() {
+        Eligibility general = DiscountEligibilityIndex.eligibility(
+                1L, NOW.minusDays(1), NOW.plusDays(1), Set.of(), false, Set.of());
+
+        assertFalse(general.isVariantRestricted());
+        assertFalse(general.isDealerRestricted());
+        assertTrue(general.appliesToVariant(12345L));
+        assertTrue(general.appliesToDealer(99L));
+        assertArrayEquals(new long[]{3, 1}, general.intersectVariants(new long[]{3, 1}));
+    }
+
+    @Test
+    void categoryDiscountWithoutProductsMatchesNothing() {
+        // Kategori kısıtı var ama kategoride ürün yok: indirim hiçbir varyanta uygulanmaz
+        Eligibility emptyCategory = DiscountEligibilityIndex.eligibility(
+                2L, NOW.minusDays(1), NOW.plusDays(1), Set.of(), true, Set.of());
+
+        assertTrue(emptyCategory.isVariantRestricted());
+        assertFalse(emptyCategory.appliesToVariant(1L));
+        assertEquals(0, emptyCategory.getEligibleVariantCount());
+    }
+
+    @Test
+    void findsDiscountsByVariantDealerAndValidity() {
+        Eligibility variantAndDealer = DiscountEligibilityIndex.eligibility(
+                10L, NOW.minusDays(1), NOW.plusDays(1), List.of(30L, 10L, 20L, 10L), true, Set.of(5L, 7L));
+        Eligibility dealerOnly = DiscountEligibilityIndex.eligibility(
+                11L, NOW.minusDays(1), NOW.plusDays(1), Set.of(), false, Set.of(7L));
+        Eligibility expired = DiscountEligibilityIndex.eligibility(
+                12L, NOW.minusDays(10), NOW.minusDays(1), Set.of(), false, Set.of());
+        Eligibility notStarted = DiscountEligibilityIndex.eligibility(
+                13L, NOW.plusDays(1), NOW.plusDays(10), Set.of(), false, Set.of());
+
+        DiscountEligibilityIndex index = DiscountEligibilityIndex.of(
+                List.of(notStarted, dealerOnly, expired, variantAndDealer));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of(10L, 11L), index.findDiscountIds(20L, 7L, NOW));
+        assertEquals(List.of(10L), index.findDiscountIds(30L, 5L, NOW));
+        assertEquals(List.of(), index.findDiscountIds(40L, 5L, NOW));
+        assertEquals(List.of(10L, 11L), index.findDiscountIdsForDealer(7L, NOW));
+        assertEquals(List.of(10L), index.findDiscountIdsForDealer(5L, NOW));
+
+        assertArrayEquals(new long[]{10, 20, 30}, index.find(10L).orElseThrow().getEligibleVariantIds());
+        assertArrayEquals(new long[]{20, 30}, variantAndDealer.intersectVariants(new long[]{20, 25, 30}));
+        assertTrue(index.find(99L).isEmpty());
+    }
+
+    @Test
+    void validityBoundariesAreInclusive() {
+        Eligibility discount = DiscountEligibilityIndex.eligibility(
+                1L, NOW, NOW.plusHours(1), Set.of(), false, Set.of());
+
+        assertTrue(discount.isValidAt(NOW));
+        assertTrue(discount.isValidAt(NOW.plusHours(1)));
+        assertFalse(discount.isValidAt(NOW.minusSeconds(1)));
+        assertFalse(discount.isValidAt(NOW.plusHours(1).plusSeconds(1)));
+    }
+}
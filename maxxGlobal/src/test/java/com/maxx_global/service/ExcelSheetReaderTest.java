@@ -0,0 +1,116 @@
+package com.maxx_global.service;
+
+import com.maxx_global.service.ExcelSheetReader.ExcelCell;
+import com.maxx_global.service.ExcelSheetReader.ExcelRow;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streaming okuyucunun hücre tiplerini POI DOM modeliyle aynı şekilde sunduğunu
+ * ve büyük dosyaları satır satır okuyabildiğini doğrular.
+ */
+class ExcelSheetReaderTest {
+
+    @Test
+    void readsCellTypesLikeWorkbookModel() throws IOException {
+        LocalDateTime validFrom = LocalDateTime.of(2025, 3, 14, 9, 30);
+
+        byte[] file;
+        try (Workbook workbook = new XSSFWorkbook();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Fiyatlar");
+            sheet.createRow(0).createCell(0).setCellValue("Product ID");
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.MM.yyyy HH:mm"));
+
+            // Satır 3 boş bırakılır (dosyada hiç yazılmaz)
+            Row row = sheet.createRow(3);
+            row.createCell(0).setCellValue(42);
+            row.createCell(2).setCellValue("ABC-01");
+            row.createCell(7).setCellValue(1250.75);
+            row.createCell(8).setCellFormula("H4*2");
+            Cell dateCell = row.createCell(10);
+            dateCell.setCellValue(validFrom);
+            dateCell.setCellStyle(dateStyle);
+            row.createCell(12).setCellValue(true);
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(out);
+            file = out.toByteArray();
+        }
+
+        try (ExcelSheetReader reader = ExcelSheetReader.open(new ByteArrayInputStream(file))) {
+            ExcelRow header = reader.nextRow();
+            assertEquals(0, header.getRowNum());
+            assertEquals("Product ID", header.getCell(0).getStringCellValue());
+
+            ExcelRow data = reader.nextRow();
+            assertEquals(3, data.getRowNum());
+            assertNull(data.getCell(1));
+
+            assertEquals(CellType.NUMERIC, data.getCell(0).getCellType());
+            assertEquals(42d, data.getCell(0).getNumericCellValue());
+            assertFalse(data.getCell(0).isDateFormatted());
+
+            assertEquals(CellType.STRING, data.getCell(2).getCellType());
+            assertEquals("ABC-01", data.getCell(2).getStringCellValue());
+
+            assertEquals(1250.75d, data.getCell(7).getNumericCellValue());
+
+            ExcelCell formula = data.getCell(8);
+            assertEquals(CellType.FORMULA, formula.getCellType());
+            assertEquals(2501.5d, formula.getNumericCellValue());
+
+            ExcelCell date = data.getCell(10);
+            assertTrue(date.isDateFormatted());
+            assertEquals(validFrom, date.getLocalDateTimeCellValue());
+
+            assertEquals(CellType.BOOLEAN, data.getCell(12).getCellType());
+            assertTrue(data.getCell(12).getBooleanCellValue());
+
+            assertNull(reader.nextRow());
+        }
+    }
+
+    @Test
+    void streamsLargeSheetRowByRow() throws IOException {
+        int rowCount = 50_000;
+
+        byte[] file;
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            for (int i = 0; i < rowCount; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("P-" + i);
+                row.createCell(1).setCellValue(i);
+            }
+            workbook.write(out);
+            file = out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+
+        int read = 0;
+        try (ExcelSheetReader reader = ExcelSheetReader.open(new ByteArrayInputStream(file))) {
+            ExcelRow row;
+            while ((row = reader.nextRow()) != null) {
+                assertEquals("P-" + read, row.getCell(0).getStringCellValue());
+                assertEquals(read, (int) row.getCell(1).getNumericCellValue());
+                read++;
+            }
+        }
+        assertEquals(rowCount, read);
+    }
+}
@@ -0,0 +1,69 @@
+package com.maxx_global.service;
+
+import com.maxx_global.repository.ImageBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aynı içerikli resim iki kez yüklendiğinde diskte tek dosya tutulduğunu, özetin yükleme sırasında hesaplandığını,
+ * referanslar bırakılınca dosyanın ancak temizlemede silindiğini ve sunucudaki özetlerin sorgulanabildiğini doğrular.
+ */
+@SpringBootTest(properties = "app.file.upload-dir=target/test-uploads")
+class ImageBlobDeduplicationTest {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    private final byte[] content = ("dedup-test-" + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+    private final String contentHash = ImageDerivativeService.sha256Hex(content);
+
+    @AfterEach
+    void tearDown() {
+        imageBlobRepository.deleteById(contentHash);
+    }
+
+    @Test
+    void identicalUploadsShareOneReferenceCountedFile() {
+        FileStorageService.StoredImage first = fileStorageService.saveProductImages(
+                List.of(new MockMultipartFile("images", "urun.JPEG", "image/jpeg", content)), -1L).get(0);
+        FileStorageService.StoredImage second = fileStorageService.saveProductImages(
+                List.of(new MockMultipartFile("images", "kopya.png", "image/png", content)), -2L).get(0);
+
+        assertEquals(contentHash, first.contentHash());
+        assertEquals(content.length, first.sizeBytes());
+        assertEquals(first.url(), second.url(), "Aynı içerik ilk kaydın uzantısıyla tek URL'de tutulmalı");
+        assertTrue(first.url().endsWith(contentHash + ".jpg"));
+        assertTrue(fileStorageService.isContentAddressed(first.url()));
+
+        Path blobPath = fileStorageService.resolveImagePath(first.url());
+        assertTrue(Files.exists(blobPath));
+        assertEquals(2, imageBlobRepository.findById(contentHash).orElseThrow().getRefCount());
+        assertEquals(List.of(contentHash),
+                fileStorageService.findStoredHashes(List.of(contentHash.toUpperCase(), "not-a-hash")));
+
+        fileStorageService.releaseStoredImage(contentHash);
+        fileStorageService.releaseStoredImage(contentHash);
+        assertEquals(0, imageBlobRepository.findById(contentHash).orElseThrow().getRefCount());
+        assertTrue(Files.exists(blobPath), "Dosya bekleme süresi dolmadan silinmemeli");
+
+        // Bekleme süresi dolmadan temizlenmez, dolduktan sonra kayıt ve dosya silinir
+        assertFalse(fileStorageService.purgeUnreferencedBlob(contentHash, LocalDateTime.now().minusHours(1)));
+        assertTrue(fileStorageService.purgeUnreferencedBlob(contentHash, LocalDateTime.now().plusSeconds(1)));
+        assertFalse(Files.exists(blobPath));
+        assertTrue(fileStorageService.acquireStoredImage(contentHash).isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.maxx_global.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resim türevlerinin en-boy oranını koruyarak küçültüldüğünü, küçük resimlerin büyütülmediğini,
+ * büyük kaynakların alt örneklenerek okunduğunu ve dosya adlarının içerik özetinden üretildiğini doğrular.
+ */
+class ImageDerivativeServiceTest {
+
+    @Test
+    void resizeKeepsAspectRatioAndNeverUpscales() {
+        BufferedImage landscape = new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage thumbnail = ImageDerivativeService.resize(landscape, 320);
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(240, thumbnail.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, thumbnail.getType());
+
+        BufferedImage portrait = ImageDerivativeService.resize(new BufferedImage(600, 1200, BufferedImage.TYPE_INT_RGB), 800);
+        assertEquals(400, portrait.getWidth());
+        assertEquals(800, portrait.getHeight());
+
+        BufferedImage small = ImageDerivativeService.resize(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), 800);
+        assertEquals(200, small.getWidth());
+        assertEquals(100, small.getHeight());
+    }
+
+    @Test
+    void largeSourceIsSubsampledWhileDecoding() throws Exception {
+        byte[] jpeg = ImageDerivativeService.encode(new BufferedImage(3200, 2400, BufferedImage.TYPE_INT_RGB), "jpg", 0.8f);
+
+        BufferedImage decoded = ImageDerivativeService.decode(jpeg, 1600);
+
+        assertEquals(1600, decoded.getWidth());
+        assertEquals(1200, decoded.getHeight());
+        assertNull(ImageDerivativeService.decode("not an image".getBytes(StandardCharsets.UTF_8), 1600));
+    }
+
+    @Test
+    void derivedFileNamesAreContentAddressed() {
+        String hash = ImageDerivativeService.sha256Hex("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+        assertEquals(hash + "-w320.jpg", ImageDerivativeService.derivedFileName(hash, 320, "jpg"));
+        assertNotEquals(ImageDerivativeService.sha256Hex("abd".getBytes(StandardCharsets.UTF_8)), hash);
+    }
+}
@@ -0,0 +1,53 @@
+package com.maxx_global.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sayfalama imlecinin (sıralama anahtarı, id) çiftini kayıpsız taşıdığını ve bozuk imleçleri reddettiğini doğrular.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void timeCursorRoundTrips() {
+        LocalDateTime orderDate = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(orderDate, 42L));
+
+        assertEquals(orderDate, cursor.timeKey());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void textCursorKeepsSeparatorsInKey() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode("Vida | Titanyum 3.5mm", 7L));
+
+        assertEquals("Vida | Titanyum 3.5mm", cursor.textKey());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void invalidCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("YWJj"));
+        // Metin imleci tarih beklenen yerde kullanılamaz
+        KeysetCursor text = KeysetCursor.decode(KeysetCursor.encode("abc", 1L));
+        assertThrows(IllegalArgumentException.class, text::timeKey);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, KeysetCursor.pageRequest(0).getPageSize());
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.pageRequest(500).getPageSize());
+        assertEquals(0, KeysetCursor.pageRequest(20).getPageNumber());
+    }
+}
@@ -0,0 +1,70 @@
+package com.maxx_global.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mail rate limiter'ın dakikalık ve saatlik sınırları birlikte uyguladığını, zamanla dolduğunu
+ * ve outbox tekrar deneme beklemesinin üstel artıp tavanda kaldığını doğrular.
+ */
+class MailRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void minuteBucketLimitsBurstAndRefillsOverTime() {
+        MailRateLimiter limiter = new MailRateLimiter(true, 50, 200, now::get);
+
+        assertEquals(10, limiter.tryAcquire(10));
+        assertEquals(40, limiter.tryAcquire(100));
+        assertEquals(0, limiter.tryAcquire(10));
+
+        // 50/dk: 13 saniyede ~10.8 token dolar
+        now.addAndGet(TimeUnit.SECONDS.toNanos(13));
+        assertEquals(10, limiter.tryAcquire(100));
+    }
+
+    @Test
+    void hourBucketCapsSustainedRate() {
+        MailRateLimiter limiter = new MailRateLimiter(true, 50, 200, now::get);
+
+        int granted = 0;
+        for (int minute = 0; minute < 10; minute++) {
+            granted += limiter.tryAcquire(1000);
+            now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        }
+
+        // 10 dakikada saatlik kovaya ~33 token dolar
+        assertTrue(granted >= 200 && granted <= 234, "granted " + granted);
+    }
+
+    @Test
+    void releasedPermitsCanBeReused() {
+        MailRateLimiter limiter = new MailRateLimiter(true, 10, 200, now::get);
+
+        assertEquals(10, limiter.tryAcquire(10));
+        limiter.release(4);
+        assertEquals(4, limiter.tryAcquire(10));
+    }
+
+    @Test
+    void disabledLimiterGrantsEverything() {
+        MailRateLimiter limiter = new MailRateLimiter(false, 1, 1, now::get);
+
+        assertEquals(500, limiter.tryAcquire(500));
+        assertEquals(500, limiter.tryAcquire(500));
+    }
+
+    @Test
+    void outboxBackoffDoublesUpToCap() {
+        assertEquals(2_000, MailOutboxService.backoffMillis(1, 2_000, 60_000));
+        assertEquals(4_000, MailOutboxService.backoffMillis(2, 2_000, 60_000));
+        assertEquals(32_000, MailOutboxService.backoffMillis(5, 2_000, 60_000));
+        assertEquals(60_000, MailOutboxService.backoffMillis(6, 2_000, 60_000));
+        assertEquals(60_000, MailOutboxService.backoffMillis(100, 2_000, 60_000));
+    }
+}
@@ -0,0 +1,285 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.notification.AdminNotificationFilter;
+import com.maxx_global.dto.notification.AdminNotificationResponse;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.Notification;
+import com.maxx_global.entity.NotificationRecipient;
+import com.maxx_global.entity.Permission;
+import com.maxx_global.entity.Role;
+import com.maxx_global.enums.NotificationStatus;
+import com.maxx_global.enums.NotificationType;
+import com.maxx_global.repository.AppUserRepository;
+import com.maxx_global.repository.NotificationRecipientRepository;
+import com.maxx_global.repository.NotificationRepository;
+import com.maxx_global.repository.PermissionRepository;
+import com.maxx_global.repository.RoleRepository;
+import com.maxx_global.support.TestDataFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admin bildirim listesinin DB'deki filtre/sayfalama/GROUP BY istatistiğinin, önceki bellek içi
+ * filtrelemeyle (tüm tabloyu yükleyip stream ile süzen) aynı sonucu verdiğini doğrular.
+ * Karşılaştırma tüm tablo üzerinden yapılır; testin dışındaki bildirimler de iki tarafta aynı süzülmelidir.
+ */
+@SpringBootTest
+@Import(TestDataFixture.class)
+class NotificationAdminQueryTest {
+
+    private static final int PAGE_SIZE = 3;
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 3, 1, 9, 0);
+    private static final List<String> ADMIN_SENDER_PERMISSIONS = List.of("NOTIFICATION_WRITE", "NOTIFICATION_ADMIN", "NOTIFICATION_MANAGEMENT");
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationRecipientRepository notificationRecipientRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> notificationIds = new ArrayList<>();
+    private Role role;
+    private Permission createdPermission;
+
+    @BeforeEach
+    void setUp() {
+        AppUser admin = fixture.user();
+        Permission permission = permissionRepository.findByName("NOTIFICATION_WRITE").orElseGet(() -> {
+            Permission newPermission = new Permission();
+            newPermission.setName("NOTIFICATION_WRITE");
+            newPermission.setDescription(fixture.prefix() + " notification write");
+            createdPermission = permissionRepository.save(newPermission);
+            return createdPermission;
+        });
+        Role newRole = new Role();
+        newRole.setName(fixture.prefix() + "_NOTIFICATION_ADMIN");
+        newRole.setPermissions(Set.of(permission));
+        role = roleRepository.save(newRole);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", admin.getId(), role.getId());
+
+        NotificationType[] types = {NotificationType.ORDER_CREATED, NotificationType.ORDER_APPROVED, NotificationType.ORDER_SHIPPED};
+        String[] priorities = {"LOW", "HIGH", "high", "URGENT"};
+        NotificationStatus[] statuses = {NotificationStatus.UNREAD, NotificationStatus.READ, NotificationStatus.ARCHIVED};
+        for (int i = 0; i < 14; i++) {
+            // Her 5. bildirimi yetkisiz biri gönderir; listede görünmemeli
+            Long createdBy = i % 5 == 4 ? -1L : admin.getId();
+            String title = fixture.prefix() + (i % 4 == 0 ? " %50_indirim " : " Duyuru ") + i;
+            String message = i % 3 == 0 ? "Kampanya detayları" : "Sipariş güncellemesi";
+            Long id = insertNotification(title, message, types[i % types.length], priorities[i % priorities.length],
+                    BASE.plusDays(i / 2).plusHours(i), createdBy);
+            notificationIds.add(id);
+
+            // 0-4 alıcı, farklı durum ve okunma zamanlarıyla
+            for (int r = 0; r < i % 5; r++) {
+                NotificationStatus status = statuses[(i + r) % statuses.length];
+                LocalDateTime readAt = status == NotificationStatus.UNREAD ? null : BASE.plusDays(20 + i).plusMinutes(r);
+                insertRecipient(id, admin.getId(), status, readAt);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long notificationId : notificationIds) {
+            jdbcTemplate.update("DELETE FROM notification_recipients WHERE notification_id = ?", notificationId);
+            jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", notificationId);
+        }
+        fixture.cleanUp();
+        if (role != null) {
+            roleRepository.delete(role);
+        }
+        if (createdPermission != null) {
+            permissionRepository.delete(createdPermission);
+        }
+    }
+
+    @Test
+    void filtersPagingAndRecipientStatsMatchInMemoryFiltering() {
+        String prefix = fixture.prefix();
+        List<AdminNotificationFilter> filters = List.of(
+                new AdminNotificationFilter(null, null, null, prefix, null),
+                new AdminNotificationFilter("ORDER_CREATED", null, null, prefix, null),
+                new AdminNotificationFilter(null, null, null, prefix, "high"),
+                new AdminNotificationFilter("ORDER_APPROVED", "2020-03-01", "2020-03-05", prefix, "HIGH"),
+                new AdminNotificationFilter("NOT_A_TYPE", null, null, prefix, null),
+                new AdminNotificationFilter(null, null, null, "%50_INDIRIM", null),
+                new AdminNotificationFilter(null, null, null, "kampanya", "LOW"),
+                new AdminNotificationFilter(null, "2020-03-03", "2020-03-06", null, null),
+                new AdminNotificationFilter(null, null, null, null, null));
+
+        for (AdminNotificationFilter filter : filters) {
+            List<Notification> expected = legacyFilter(filter);
+            Map<Long, List<NotificationRecipient>> expectedRecipients = legacyRecipients(expected);
+            int expectedPages = Math.max(1, (expected.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+
+            // Filtresiz liste tüm tabloyu kapsar; ilk sayfalar, son sayfa ve sonrasındaki boş sayfa yeterli
+            Set<Integer> pages = new TreeSet<>(List.of(0, 1, 2, expectedPages - 1, expectedPages));
+            for (int page : pages) {
+                Page<AdminNotificationResponse> actual = notificationService.getAdminSentNotifications(page, PAGE_SIZE, filter);
+
+                assertEquals(expected.size(), actual.getTotalElements(), "Total for " + filter);
+                assertEquals(expectedPages, Math.max(1, actual.getTotalPages()), "Pages for " + filter);
+
+                List<Notification> expectedPage = expected.subList(
+                        Math.min(page * PAGE_SIZE, expected.size()), Math.min((page + 1) * PAGE_SIZE, expected.size()));
+                assertEquals(expectedPage.stream().map(Notification::getId).toList(),
+                        actual.getContent().stream().map(AdminNotificationResponse::id).toList(),
+                        "Page " + page + " for " + filter);
+
+                for (AdminNotificationResponse response : actual.getContent()) {
+                    assertLegacyStats(expectedRecipients.getOrDefault(response.id(), List.of()), response);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixtureCoversEveryFilterBranch() {
+        String prefix = fixture.prefix();
+
+        assertEquals(12, legacyFilter(new AdminNotificationFilter(null, null, null, prefix, null)).size());
+        assertEquals(3, legacyFilter(new AdminNotificationFilter(null, null, null, "%50_i", null)).stream()
+                .filter(n -> n.getTitle().startsWith(prefix)).count());
+        assertTrue(legacyFilter(new AdminNotificationFilter(null, null, null, prefix, "high")).stream()
+                .anyMatch(n -> n.getPriority().equals("high")));
+        assertTrue(legacyFilter(new AdminNotificationFilter("ORDER_APPROVED", "2020-03-01", "2020-03-05", prefix, "HIGH"))
+                .size() >= 1);
+
+        Set<NotificationStatus> statuses = jdbcTemplate.queryForList(
+                "SELECT DISTINCT ntf_status FROM notification_recipients WHERE notification_id IN (" +
+                        notificationIds.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")", String.class)
+                .stream().map(NotificationStatus::valueOf).collect(Collectors.toSet());
+        assertEquals(Set.of(NotificationStatus.UNREAD, NotificationStatus.READ, NotificationStatus.ARCHIVED), statuses);
+    }
+
+    /**
+     * Önceki getAdminSentNotifications: tüm tablo yüklenip stream ile süzülür ve createdAt'e göre sıralanırdı.
+     * Yeni sorgunun eşitlik durumundaki id sıralaması burada da uygulanır.
+     */
+    private List<Notification> legacyFilter(AdminNotificationFilter filter) {
+        Set<Long> adminUserIds = appUserRepository.findUsersWithUserPermissions(ADMIN_SENDER_PERMISSIONS).stream()
+                .map(AppUser::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return notificationRepository.findAll().stream()
+                .filter(n -> n.getCreatedBy() != null && adminUserIds.contains(n.getCreatedBy()))
+                .filter(n -> filter.type() == null || matchesType(n, filter.type()))
+                .filter(n -> filter.priority() == null || n.getPriority().equalsIgnoreCase(filter.priority()))
+                .filter(n -> withinDateRange(n, filter.startDate(), filter.endDate()))
+                .filter(n -> matchesSearch(n, filter.searchTerm()))
+                .sorted(Comparator.comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Notification::getId)
+                        .reversed())
+                .toList();
+    }
+
+    private Map<Long, List<NotificationRecipient>> legacyRecipients(List<Notification> notifications) {
+        List<Long> ids = notifications.stream().map(Notification::getId).toList();
+        return transactionTemplate.execute(status -> notificationRecipientRepository.findByNotificationIdIn(ids).stream()
+                .collect(Collectors.groupingBy(recipient -> recipient.getNotification().getId())));
+    }
+
+    private static void assertLegacyStats(List<NotificationRecipient> recipients, AdminNotificationResponse response) {
+        int totalRecipients = recipients.size();
+        int readCount = (int) recipients.stream().filter(NotificationRecipient::isRead).count();
+        LocalDateTime lastReadAt = recipients.stream()
+                .map(NotificationRecipient::getReadAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+
+        assertEquals(totalRecipients, response.totalRecipients(), "Recipients of " + response.id());
+        assertEquals(readCount, response.readCount(), "Read count of " + response.id());
+        assertEquals(totalRecipients - readCount, response.unreadCount(), "Unread count of " + response.id());
+        assertEquals(totalRecipients == 0 ? 0.0 : (double) readCount / totalRecipients * 100,
+                response.readPercentage(), 0.0001, "Read percentage of " + response.id());
+        assertEquals(lastReadAt, response.lastReadAt(), "Last read of " + response.id());
+    }
+
+    private static boolean matchesType(Notification notification, String type) {
+        try {
+            return notification.getType() == NotificationType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean withinDateRange(Notification notification, String startDate, String endDate) {
+        if (notification.getCreatedAt() == null) {
+            return false;
+        }
+        LocalDateTime createdAt = notification.getCreatedAt();
+        if (startDate != null && createdAt.isBefore(LocalDateTime.parse(startDate + "T00:00:00"))) {
+            return false;
+        }
+        return endDate == null || !createdAt.isAfter(LocalDateTime.parse(endDate + "T23:59:59"));
+    }
+
+    private static boolean matchesSearch(Notification notification, String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return true;
+        }
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        return (notification.getTitle() != null && notification.getTitle().toLowerCase(Locale.ROOT).contains(term)) ||
+                (notification.getMessage() != null && notification.getMessage().toLowerCase(Locale.ROOT).contains(term));
+    }
+
+    private Long insertNotification(String title, String message, NotificationType type, String priority,
+                                    LocalDateTime createdAt, Long createdBy) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO notifications (title_tr, message_tr, type, priority, created_at, created_by, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE') RETURNING id",
+                Long.class, title, message, type.name(), priority, Timestamp.valueOf(createdAt), createdBy);
+    }
+
+    private void insertRecipient(Long notificationId, Long userId, NotificationStatus status, LocalDateTime readAt) {
+        jdbcTemplate.update(
+                "INSERT INTO notification_recipients (id, notification_id, user_id, ntf_status, read_at, created_at, status) " +
+                        "VALUES (nextval('notification_recipients_seq'), ?, ?, ?, ?, ?, 'ACTIVE')",
+                notificationId, userId, status.name(), readAt != null ? Timestamp.valueOf(readAt) : null,
+                Timestamp.valueOf(BASE));
+    }
+}
@@ -0,0 +1,143 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.notification.NotificationBroadcastRequest;
+import com.maxx_global.dto.notification.NotificationBroadcastResult;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.Role;
+import com.maxx_global.enums.NotificationType;
+import com.maxx_global.repository.NotificationRecipientRepository;
+import com.maxx_global.repository.RoleRepository;
+import com.maxx_global.support.TestDataFixture;
+import com.maxx_global.support.ThreadStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tüm kullanıcılara toplu bildirimin kullanıcı sayısından bağımsız, sabit sayıda SQL ile yazıldığını
+ * ve yanıtın alıcı listesi yerine bildirim ID'si + alıcı sayısı olduğunu doğrular.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.maxx_global.support.ThreadStatementCounter",
+        "spring.jpa.properties.hibernate.integrator_provider=com.maxx_global.support.ThreadStatementCounter$Listeners",
+        "app.notifications.broadcast.async-threshold=1000000000"
+})
+@Import(TestDataFixture.class)
+class NotificationBroadcastSetBasedTest {
+
+    private static final Logger logger = Logger.getLogger(NotificationBroadcastSetBasedTest.class.getName());
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private NotificationRecipientRepository notificationRecipientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> notificationIds = new ArrayList<>();
+    private Role role;
+
+    @AfterEach
+    void tearDown() {
+        for (Long notificationId : notificationIds) {
+            jdbcTemplate.update("DELETE FROM notification_recipients WHERE notification_id = ?", notificationId);
+            jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", notificationId);
+        }
+        fixture.cleanUp();
+        if (role != null) {
+            roleRepository.delete(role);
+        }
+    }
+
+    @Test
+    void broadcastToAllUsersIsASingleInsertSelect() {
+        long audience = notificationRecipientRepository.countBroadcastAudience(null);
+
+        long started = System.nanoTime();
+
+        ThreadStatementCounter.Measured<NotificationBroadcastResult> measured =
+                ThreadStatementCounter.measure(() -> notificationService.createNotificationForAllUsers(request()));
+        NotificationBroadcastResult result = measured.result();
+        Long notificationId = result.notificationId();
+        notificationIds.add(notificationId);
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        long statements = measured.counts().statements();
+        logger.info("Broadcast to " + audience + " users: " + statements + " statements, " +
+                measured.counts().entityLoads() + " entities loaded in " + elapsedMs + " ms");
+
+        assertFalse(result.queued());
+        assertEquals(audience, result.recipientCount());
+        Long written = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_recipients WHERE notification_id = ?", Long.class, notificationId);
+        assertEquals(audience, written);
+
+        // Kitle sayımı + bildirim kaydı + INSERT ... SELECT; SSE'ye bağlı kullanıcı yok
+        assertTrue(statements >= 1 && statements <= 5,
+                "Broadcast should not scale with users, got " + statements + " statements");
+        assertEquals(0, measured.counts().entityLoads());
+    }
+
+    /**
+     * Eski filtre (filterEligibleUsers) rol bildiriminde durumu boş kullanıcıları da alıcı sayıyordu;
+     * tüm kullanıcılara bildirim ise yalnızca ACTIVE kullanıcıları sorguluyordu.
+     * Şemada status NOT NULL olduğu için kısıt geri alınan bir transaction içinde kaldırılır.
+     */
+    @Test
+    void roleBroadcastIncludesUsersWithoutStatus() {
+        AppUser user = fixture.user();
+        Role newRole = new Role();
+        newRole.setName(fixture.prefix() + "_ROLE");
+        role = roleRepository.save(newRole);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", user.getId(), role.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE app_user ALTER COLUMN status DROP NOT NULL");
+            jdbcTemplate.update("UPDATE app_user SET status = NULL WHERE id = ?", user.getId());
+
+            NotificationBroadcastResult byRole = notificationService.createNotificationForUsersByRole(role.getName(), request());
+            NotificationBroadcastResult toAll = notificationService.createNotificationForAllUsers(request());
+
+            assertEquals(1, byRole.recipientCount());
+            assertEquals(1, recipientRows(byRole.notificationId(), user.getId()));
+            assertEquals(0, recipientRows(toAll.notificationId(), user.getId()));
+            status.setRollbackOnly();
+        });
+    }
+
+    private int recipientRows(Long notificationId, Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_recipients WHERE notification_id = ? AND user_id = ?",
+                Integer.class, notificationId, userId);
+    }
+
+    private NotificationBroadcastRequest request() {
+        return new NotificationBroadcastRequest(
+                "Toplu bildirim testi", "Broadcast test",
+                "Set tabanlı yazım", "Set-based write",
+                NotificationType.ANNOUNCEMENT,
+                null, null, "LOW", null, null, null,
+                null, null, null, null, true);
+    }
+}
@@ -0,0 +1,77 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.notification.NotificationResponse;
+import com.maxx_global.enums.NotificationStatus;
+import com.maxx_global.repository.NotificationRecipientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SSE dağıtım merkezinin bağlantı sınırlarını ve bağlı kullanıcılar için bellekte tutulan
+ * okunmamış sayacını doğrular: sayaç bağlantıda bir kez DB'den okunur, sonra event'lerle güncellenir.
+ */
+class NotificationStreamHubTest {
+
+    private static final Long USER_ID = 7L;
+
+    private NotificationRecipientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationRecipientRepository.class);
+        when(repository.countByUserIdAndNotificationStatus(anyLong(), eq(NotificationStatus.UNREAD))).thenReturn(3L);
+    }
+
+    @Test
+    void unreadCounterIsSeededOnceAndKeptInMemory() {
+        NotificationStreamHub hub = hub(10, 5);
+
+        assertTrue(hub.cachedUnreadCount(USER_ID).isEmpty());
+        hub.connect(USER_ID);
+        hub.connect(USER_ID);
+        assertEquals(3L, hub.cachedUnreadCount(USER_ID).getAsLong());
+
+        hub.publishNotifications(Map.of(USER_ID, mock(NotificationResponse.class)));
+        hub.publishNotifications(Map.of(99L, mock(NotificationResponse.class)));
+        assertEquals(4L, hub.cachedUnreadCount(USER_ID).getAsLong());
+        assertTrue(hub.cachedUnreadCount(99L).isEmpty());
+
+        hub.adjustUnreadCount(USER_ID, -10);
+        assertEquals(0L, hub.cachedUnreadCount(USER_ID).getAsLong());
+
+        verify(repository, times(1)).countByUserIdAndNotificationStatus(USER_ID, NotificationStatus.UNREAD);
+        verify(repository, never()).countByUserIdAndNotificationStatus(99L, NotificationStatus.UNREAD);
+    }
+
+    @Test
+    void totalConnectionsAreBounded() {
+        NotificationStreamHub hub = hub(2, 5);
+
+        hub.connect(1L);
+        hub.connect(2L);
+        assertThrows(IllegalStateException.class, () -> hub.connect(3L));
+        assertEquals(2, hub.getConnectionCount());
+        assertFalse(hub.isConnected(3L));
+    }
+
+    @Test
+    void oldestConnectionOfUserIsClosedWhenPerUserLimitIsReached() {
+        NotificationStreamHub hub = hub(10, 2);
+
+        for (int i = 0; i < 4; i++) {
+            hub.connect(USER_ID);
+        }
+        assertEquals(2, hub.getConnectionCount());
+        assertTrue(hub.isConnected(USER_ID));
+    }
+
+    private NotificationStreamHub hub(int maxConnections, int maxPerUser) {
+        return new NotificationStreamHub(repository, new SimpleMeterRegistry(), maxConnections, maxPerUser, 60_000, 5_000);
+    }
+}
@@ -0,0 +1,182 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.Order;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.event.OrderCreatedEvent;
+import com.maxx_global.repository.OrderRepository;
+import com.maxx_global.support.TestDataFixture;
+import com.resend.Resend;
+import com.resend.services.batch.model.BatchEmail;
+import com.resend.services.batch.model.CreateBatchEmailsResponse;
+import com.resend.services.emails.model.CreateEmailOptions;
+import com.resend.services.emails.model.CreateEmailResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Virtual thread modunda 500 siparişlik bir patlamada sipariş commit süresini ölçer (mail açık, Resend gecikmeli sahte).
+ * Mail gönderimi hiçbir zaman commit eden istek thread'inde çalışmamalı, Resend'e aynı anda açık istek sayısı
+ * semaphore sınırını aşmamalı ve her sipariş için mail outbox üzerinden sonunda gönderilmiş olmalı.
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "app.mail.enabled=true",
+        "app.mail.provider.max-concurrent-requests=" + OrderCreationMailBurstLoadTest.MAX_PROVIDER_CONCURRENCY,
+        "app.mail.rate-limit.enabled=false",
+        "app.mail.outbox.poll-interval-ms=200"
+})
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Import(TestDataFixture.class)
+class OrderCreationMailBurstLoadTest {
+
+    private static final Logger logger = Logger.getLogger(OrderCreationMailBurstLoadTest.class.getName());
+
+    static final int MAX_PROVIDER_CONCURRENCY = 4;
+
+    private static final int ORDER_COUNT = 500;
+    private static final int REQUEST_THREADS = 50;
+    private static final long PROVIDER_LATENCY_MS = 150;
+    private static final String REQUEST_THREAD_PREFIX = "order-request-";
+
+    @MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+    private Resend resend;
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger providerCalls = new AtomicInteger();
+    private final AtomicInteger providerInFlight = new AtomicInteger();
+    private final AtomicInteger maxProviderInFlight = new AtomicInteger();
+    private final AtomicInteger callsOnRequestThreads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Kullanıcı istek thread'lerinden önce oluşturulsun
+        fixture.user();
+
+        CreateEmailResponse response = mock(CreateEmailResponse.class);
+        when(resend.emails().send(any(CreateEmailOptions.class)))
+                .thenAnswer(invocation -> callProvider(1, () -> response));
+        when(resend.batch().send(anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            CreateBatchEmailsResponse batchResponse = mock(CreateBatchEmailsResponse.class);
+            when(batchResponse.getData()).thenReturn(Collections.nCopies(batch.size(), new BatchEmail("batch-id")));
+            return callProvider(batch.size(), () -> batchResponse);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void orderBurstCommitsWithoutWaitingForMail() throws Exception {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS,
+                runnable -> new Thread(runnable, REQUEST_THREAD_PREFIX + threadNumber.incrementAndGet()));
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Long>> commits = new ArrayList<>(ORDER_COUNT);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            int index = i;
+            commits.add(requestThreads.submit(() -> {
+                start.await();
+                long started = System.nanoTime();
+                createOrder(index);
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            }));
+        }
+
+        long burstStarted = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>(ORDER_COUNT);
+        for (Future<Long> commit : commits) {
+            latencies.add(commit.get(2, TimeUnit.MINUTES));
+        }
+        long burstMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - burstStarted);
+        requestThreads.shutdown();
+
+        Collections.sort(latencies);
+        logger.info("Order burst: " + ORDER_COUNT + " orders from " + REQUEST_THREADS + " threads in " + burstMs + " ms" +
+                " - commit latency p50: " + percentile(latencies, 50) + " ms, p95: " + percentile(latencies, 95) +
+                " ms, p99: " + percentile(latencies, 99) + " ms, max: " + latencies.get(latencies.size() - 1) + " ms");
+
+        // Her sipariş en az bir mail üretir (sipariş sahibi); adminler varsa daha fazla
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(3);
+        while (providerCalls.get() < ORDER_COUNT && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+        }
+        logger.info("Mail drain finished " + (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - burstStarted) - burstMs) +
+                " ms after the burst - provider calls: " + providerCalls.get() + ", max in flight: " + maxProviderInFlight.get());
+
+        assertTrue(providerCalls.get() >= ORDER_COUNT, "Every order should be mailed, sent " + providerCalls.get());
+        assertEquals(0, callsOnRequestThreads.get(), "Mail must never be sent on the committing request thread");
+        assertTrue(maxProviderInFlight.get() <= MAX_PROVIDER_CONCURRENCY,
+                "Provider concurrency limit exceeded: " + maxProviderInFlight.get());
+    }
+
+    private void createOrder(int index) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.save(fixture.order(String.valueOf(index), OrderStatus.PENDING,
+                    LocalDateTime.now(), BigDecimal.valueOf(10_000 + index, 2)));
+
+            // OrderService.createOrder ile aynı: mailler commit öncesi outbox'a yazılır, Resend çağrısı dispatch job'ında
+            eventPublisher.publishEvent(new OrderCreatedEvent(order));
+        });
+    }
+
+    private <T> T callProvider(int emails, Callable<T> result) throws Exception {
+        int inFlight = providerInFlight.incrementAndGet();
+        maxProviderInFlight.accumulateAndGet(inFlight, Math::max);
+        if (Thread.currentThread().getName().startsWith(REQUEST_THREAD_PREFIX)) {
+            callsOnRequestThreads.incrementAndGet();
+        }
+        try {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+            return result.call();
+        } finally {
+            providerInFlight.decrementAndGet();
+            providerCalls.addAndGet(emails);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
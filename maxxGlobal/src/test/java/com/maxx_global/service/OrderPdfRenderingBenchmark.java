@@ -0,0 +1,160 @@
+package com.maxx_global.service;
+
+import com.maxx_global.config.LocalizationConfig;
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sipariş PDF'i başına maliyet (JMH): her PDF için yeni renderer + font kaydı (eski yol),
+ * havuzdaki renderer ve disk önbelleği isabeti. Veritabanı gerekmez; servis Spring context'i olmadan kurulur.
+ *
+ * Çalıştırma:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" \
+ *      com.maxx_global.service.OrderPdfRenderingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPdfRenderingBenchmark {
+
+    static final Locale LOCALE = Locale.forLanguageTag("tr");
+
+    private Path cacheDirectory;
+    private PdfRendererPool rendererPool;
+    private OrderPdfService orderPdfService;
+    private Order order;
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("order-pdf-benchmark");
+        rendererPool = new PdfRendererPool(1);
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateEngine.setTemplateResolver(templateResolver);
+
+        LocalizationService localizationService = new LocalizationService(new LocalizationConfig().messageSource());
+        OrderPdfCache pdfCache = new OrderPdfCache(true, cacheDirectory.toString(), 200);
+        orderPdfService = new OrderPdfService(null, templateEngine, localizationService, rendererPool, pdfCache);
+
+        order = sampleOrder();
+        html = orderPdfService.generateOrderHtmlContent(order, LOCALE);
+        // Önbellek ölçümü yalnızca isabetleri görsün
+        orderPdfService.generateOrderPdf(order, LOCALE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] newRendererPerPdf() throws Exception {
+        ITextRenderer renderer = rendererPool.createRenderer();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            renderer.setDocumentFromString(html);
+            renderer.layout();
+            renderer.createPDF(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] pooledRenderer() {
+        return rendererPool.render(html);
+    }
+
+    @Benchmark
+    public byte[] diskCacheHit() {
+        return orderPdfService.generateOrderPdf(order, LOCALE);
+    }
+
+    /**
+     * Kaydedilmemiş, Türkçe karakterli 25 kalemli sipariş. ID önbellek anahtarı için benzersizdir, veritabanında yoktur.
+     */
+    static Order sampleOrder() {
+        Dealer dealer = new Dealer();
+        dealer.setName("Şişli Medikal Ltd. Şti.");
+        dealer.setEmail("benchmark@example.com");
+
+        AppUser user = new AppUser();
+        user.setFirstName("Gülşen");
+        user.setLastName("Çağlayan");
+        user.setEmail("benchmark.user@example.com");
+        user.setDealer(dealer);
+
+        Order order = new Order();
+        order.setId(-System.nanoTime());
+        order.setUser(user);
+        order.setOrderNumber("BENCH-" + System.nanoTime());
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderDate(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        order.setCurrency(CurrencyType.TRY);
+
+        Set<OrderItem> items = new LinkedHashSet<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= 25; i++) {
+            Product product = new Product();
+            product.setName("Titanyum kilitli plak " + i + " - Ğ/Ü/Ş/İ/Ö/Ç");
+            product.setCode("TTN-" + i);
+            product.setUnit("adet");
+
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(i);
+            item.setUnitPrice(BigDecimal.valueOf(125.50));
+            item.setTotalPrice(BigDecimal.valueOf(125.50).multiply(BigDecimal.valueOf(i)));
+            items.add(item);
+            total = total.add(item.getTotalPrice());
+        }
+        order.setItems(items);
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPdfRenderingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
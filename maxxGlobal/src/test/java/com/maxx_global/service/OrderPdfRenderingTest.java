@@ -0,0 +1,88 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.maxx_global.service.OrderPdfRenderingBenchmark.LOCALE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Havuzun renderer'ları yeniden kullandığını, önbellek isabetinin aynı PDF'i döndürdüğünü ve sipariş versiyonu
+ * değişince yeni PDF üretildiğini doğrular. Yollar arası maliyet karşılaştırması {@link OrderPdfRenderingBenchmark}'tadır.
+ */
+@SpringBootTest
+class OrderPdfRenderingTest {
+
+    @Autowired
+    private OrderPdfService orderPdfService;
+
+    @Autowired
+    private PdfRendererPool rendererPool;
+
+    @Autowired
+    private OrderPdfCache pdfCache;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = OrderPdfRenderingBenchmark.sampleOrder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfCache.evictOrder(order.getId());
+    }
+
+    @Test
+    void sequentialRendersReuseOnePooledRenderer() {
+        String html = orderPdfService.generateOrderHtmlContent(order, LOCALE);
+        assertTrue(isPdf(rendererPool.render(html)));
+
+        long createdBefore = rendererPool.getCreatedCount();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(isPdf(rendererPool.render(html)));
+        }
+
+        assertEquals(createdBefore, rendererPool.getCreatedCount(), "Sequential renders should reuse the pooled renderer");
+    }
+
+    @Test
+    void cacheHitReturnsTheRenderedPdf() {
+        long createdBefore = rendererPool.getCreatedCount();
+        long borrowedBefore = rendererPool.getBorrowCount();
+
+        byte[] first = orderPdfService.generateOrderPdf(order, LOCALE);
+        byte[] second = orderPdfService.generateOrderPdf(order, LOCALE);
+
+        assertTrue(isPdf(first));
+        assertArrayEquals(first, second);
+        assertEquals(borrowedBefore + 1, rendererPool.getBorrowCount(), "Second call must be served from disk");
+        assertTrue(rendererPool.getCreatedCount() - createdBefore <= 1);
+    }
+
+    @Test
+    void newOrderVersionIsRenderedAgain() {
+        byte[] first = orderPdfService.generateOrderPdf(order, LOCALE);
+        assertArrayEquals(first, orderPdfService.generateOrderPdf(order, LOCALE));
+
+        order.getItems().iterator().next().setQuantity(999);
+        order.setUpdatedAt(order.getUpdatedAt().plusSeconds(1));
+
+        byte[] second = orderPdfService.generateOrderPdf(order, LOCALE);
+        assertTrue(isPdf(second));
+        assertFalse(Arrays.equals(first, second), "Updated order must not be served from the old cache entry");
+    }
+
+    private static boolean isPdf(byte[] bytes) {
+        return bytes != null && bytes.length > 4
+                && new String(bytes, 0, 4, StandardCharsets.US_ASCII).equals("%PDF");
+    }
+}
@@ -0,0 +1,315 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.order.DealerPerformanceData;
+import com.maxx_global.dto.order.DealerPerformanceReportResponse;
+import com.maxx_global.dto.order.OrderStatisticsResponse;
+import com.maxx_global.dto.order.OrderSummaryResponse;
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.repository.OrderRepository;
+import com.maxx_global.support.TestDataFixture;
+import com.maxx_global.support.ThreadStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sipariş raporlarının SQL tarafında gruplanan yeni yolu ile entity'leri yükleyip stream ile sayan eski yolu
+ * (OrderService'in önceki gövdeleri, aşağıda referans olarak) aynı veri seti üzerinde alan alan karşılaştırır.
+ * Yeni yolun SQL sayısı sipariş sayısından bağımsız kalmalı.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.maxx_global.support.ThreadStatementCounter"
+})
+@Import(TestDataFixture.class)
+class OrderReportAggregationBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(OrderReportAggregationBenchmarkTest.class.getName());
+
+    private static final int ORDER_COUNT = 300;
+    private static final int DAYS = 20;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AppUser user;
+    private Dealer dealer;
+
+    @BeforeEach
+    void setUp() {
+        user = fixture.user();
+        dealer = fixture.dealer();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(fixture.product(i));
+        }
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = fixture.order(String.valueOf(i), STATUSES[i % STATUSES.length],
+                    now.minusDays(i % DAYS).minusMinutes(i), BigDecimal.valueOf(50 + random.nextInt(1000), 2));
+
+            // İlk kalem her zaman ilk üründür ve yüksek adetlidir, böylece en çok sipariş edilen ürün belirsiz kalmaz
+            OrderItem mainItem = new OrderItem();
+            mainItem.setOrder(order);
+            mainItem.setProduct(products.get(0));
+            mainItem.setQuantity(50);
+            order.getItems().add(mainItem);
+
+            OrderItem extraItem = new OrderItem();
+            extraItem.setOrder(order);
+            extraItem.setProduct(products.get(1 + i % (products.size() - 1)));
+            extraItem.setQuantity(1 + random.nextInt(10));
+            order.getItems().add(extraItem);
+            orderRepository.save(order);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void userSummaryMatchesEntityStreamingPath() {
+        OrderSummaryResponse legacy = measure("legacy user summary",
+                () -> transactionTemplate.execute(status -> legacyUserSummary(user.getId())));
+        OrderSummaryResponse aggregated = measure("aggregated user summary",
+                () -> orderService.getOrderSummaryByUser(user.getId()));
+
+        assertEquals(ORDER_COUNT, legacy.totalOrders());
+        assertEquals(legacy.totalOrders(), aggregated.totalOrders());
+        assertEquals(legacy.pendingOrders(), aggregated.pendingOrders());
+        assertEquals(legacy.approvedOrders(), aggregated.approvedOrders());
+        assertEquals(legacy.completedOrders(), aggregated.completedOrders());
+        assertEquals(legacy.cancelledOrders(), aggregated.cancelledOrders());
+        assertEquals(legacy.rejectedOrders(), aggregated.rejectedOrders());
+        assertAmountEquals(legacy.totalSpent(), aggregated.totalSpent());
+        assertAmountEquals(legacy.pendingAmount(), aggregated.pendingAmount());
+        assertEquals(legacy.lastOrderDate(), aggregated.lastOrderDate());
+        assertEquals(legacy.mostOrderedProduct(), aggregated.mostOrderedProduct());
+    }
+
+    @Test
+    void adminStatisticsMatchEntityStreamingPath() {
+        String start = LocalDate.now().minusDays(DAYS).toString();
+        String end = LocalDate.now().toString();
+
+        OrderStatisticsResponse legacy = measure("legacy admin statistics",
+                () -> transactionTemplate.execute(status -> legacyAdminStatistics(
+                        LocalDate.parse(start).atStartOfDay(), LocalDate.parse(end).atTime(23, 59, 59))));
+        OrderStatisticsResponse aggregated = measure("aggregated admin statistics",
+                () -> orderService.getOrderStatisticsForAdmin(start, end));
+
+        assertTrue(legacy.totalOrders() >= ORDER_COUNT);
+        assertEquals(legacy.totalOrders(), aggregated.totalOrders());
+        assertEquals(legacy.pendingOrders(), aggregated.pendingOrders());
+        assertEquals(legacy.approvedOrders(), aggregated.approvedOrders());
+        assertEquals(legacy.completedOrders(), aggregated.completedOrders());
+        assertEquals(legacy.cancelledOrders(), aggregated.cancelledOrders());
+        assertEquals(legacy.rejectedOrders(), aggregated.rejectedOrders());
+        assertAmountEquals(legacy.totalRevenue(), aggregated.totalRevenue());
+        assertAmountEquals(legacy.pendingRevenue(), aggregated.pendingRevenue());
+    }
+
+    /**
+     * Günlük/aylık raporların beslendiği gruplamalar. OrderDailyReportResponse/OrderMonthlyReportResponse.create()
+     * durumları displayName ile valueOf'a verdiği için (önceden de var olan hata) raporlar sipariş varken
+     * oluşturulamıyor; bu yüzden karşılaştırma factory'lerin girdisi olan sorgu sonuçlarında yapılır.
+     */
+    @Test
+    void dailyAndMonthlyGroupingsMatchEntityStreamingPath() {
+        LocalDateTime start = LocalDate.now().minusDays(DAYS).atStartOfDay();
+        LocalDateTime end = LocalDate.now().atTime(23, 59, 59);
+
+        List<Order> legacyOrders = transactionTemplate.execute(status ->
+                orderRepository.findByUserIdAndOrderDateBetween(user.getId(), start, end));
+
+        Map<LocalDate, Long> legacyDaily = legacyOrders.stream()
+                .collect(Collectors.groupingBy(o -> o.getOrderDate().toLocalDate(), Collectors.counting()));
+        Map<LocalDate, Long> aggregatedDaily = new HashMap<>();
+        for (Object[] row : orderRepository.countByDayForUserInDateRange(user.getId(), start, end)) {
+            aggregatedDaily.put((LocalDate) row[0], (Long) row[1]);
+        }
+        assertEquals(ORDER_COUNT, legacyOrders.size());
+        assertEquals(legacyDaily, aggregatedDaily);
+
+        Map<OrderStatus, Long> legacyCounts = legacyOrders.stream()
+                .collect(Collectors.groupingBy(Order::getOrderStatus, Collectors.counting()));
+        Map<OrderStatus, BigDecimal> legacyAmounts = legacyOrders.stream()
+                .collect(Collectors.groupingBy(Order::getOrderStatus,
+                        Collectors.reducing(BigDecimal.ZERO, Order::getTotalAmount, BigDecimal::add)));
+
+        List<Object[]> rows = orderRepository.sumByStatusForUserInDateRange(user.getId(), start, end);
+        assertEquals(legacyCounts.size(), rows.size());
+        for (Object[] row : rows) {
+            OrderStatus status = (OrderStatus) row[0];
+            assertEquals(legacyCounts.get(status), row[1], "count for " + status);
+            assertAmountEquals(legacyAmounts.get(status), (BigDecimal) row[2]);
+        }
+    }
+
+    @Test
+    void dealerPerformanceMatchesEntityStreamingPath() {
+        String start = LocalDate.now().minusDays(30).toString();
+        String end = LocalDate.now().toString();
+
+        DealerPerformanceData legacy = measure("legacy dealer performance",
+                () -> transactionTemplate.execute(status -> legacyDealerPerformance(dealer.getId(),
+                        LocalDate.parse(start).atStartOfDay(), LocalDate.parse(end).atTime(23, 59, 59))));
+        DealerPerformanceReportResponse forDealer = measure("aggregated dealer performance",
+                () -> orderService.getDealerPerformanceReport(start, end, dealer.getId()));
+        DealerPerformanceReportResponse forAllDealers = orderService.getDealerPerformanceReport(start, end, null);
+
+        assertEquals(Set.of(dealer.getId()), forDealer.dealerPerformances().keySet());
+        assertDealerPerformanceEquals(legacy, forDealer.dealerPerformances().get(dealer.getId()));
+        assertDealerPerformanceEquals(legacy, forAllDealers.dealerPerformances().get(dealer.getId()));
+    }
+
+    @Test
+    void aggregatedSummaryStatementCountDoesNotDependOnOrderCount() {
+        long statements = countStatements(() -> orderService.getOrderSummaryByUser(user.getId()));
+
+        assertTrue(statements >= 1 && statements <= 2, "Summary should need at most 2 statements, was " + statements);
+    }
+
+    private static void assertDealerPerformanceEquals(DealerPerformanceData expected, DealerPerformanceData actual) {
+        assertNotNull(actual);
+        assertEquals(expected.dealerId(), actual.dealerId());
+        assertEquals(expected.dealerName(), actual.dealerName());
+        assertEquals(expected.totalOrders(), actual.totalOrders());
+        assertEquals(expected.completedOrders(), actual.completedOrders());
+        assertEquals(expected.cancelledOrders(), actual.cancelledOrders());
+        assertAmountEquals(expected.totalRevenue(), actual.totalRevenue());
+        assertAmountEquals(expected.avgOrderValue(), actual.avgOrderValue());
+        assertEquals(expected.completionRate(), actual.completionRate(), 0.0001);
+        assertEquals(expected.cancellationRate(), actual.cancellationRate(), 0.0001);
+        assertEquals(expected.ranking(), actual.ranking());
+    }
+
+    private static void assertAmountEquals(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+
+    // ==================== ESKİ YOL (REFERANS) ====================
+
+    private OrderSummaryResponse legacyUserSummary(Long userId) {
+        List<Order> userOrders = orderRepository.findByUserId(userId);
+
+        Map<String, Long> productCounts = userOrders.stream()
+                .filter(o -> o.getOrderStatus() == OrderStatus.COMPLETED)
+                .flatMap(o -> o.getItems().stream())
+                .collect(Collectors.groupingBy(item -> item.getProduct().getName(),
+                        Collectors.summingLong(OrderItem::getQuantity)));
+
+        return new OrderSummaryResponse(
+                (long) userOrders.size(),
+                countStatus(userOrders, OrderStatus.PENDING),
+                countStatus(userOrders, OrderStatus.APPROVED),
+                countStatus(userOrders, OrderStatus.COMPLETED),
+                countStatus(userOrders, OrderStatus.CANCELLED),
+                countStatus(userOrders, OrderStatus.REJECTED),
+                sumStatus(userOrders, OrderStatus.COMPLETED),
+                sumStatus(userOrders, OrderStatus.PENDING).add(sumStatus(userOrders, OrderStatus.APPROVED)),
+                userOrders.stream().map(Order::getOrderDate).max(LocalDateTime::compareTo).orElse(null),
+                productCounts.entrySet().stream().max(Map.Entry.comparingByValue())
+                        .map(Map.Entry::getKey).orElse("Henüz tamamlanmış sipariş yok"));
+    }
+
+    private OrderStatisticsResponse legacyAdminStatistics(LocalDateTime start, LocalDateTime end) {
+        List<Order> orders = orderRepository.findOrdersInDateRange(start, end);
+
+        return new OrderStatisticsResponse(
+                (long) orders.size(),
+                countStatus(orders, OrderStatus.PENDING),
+                countStatus(orders, OrderStatus.APPROVED),
+                countStatus(orders, OrderStatus.COMPLETED),
+                countStatus(orders, OrderStatus.CANCELLED),
+                countStatus(orders, OrderStatus.REJECTED),
+                sumStatus(orders, OrderStatus.COMPLETED),
+                sumStatus(orders, OrderStatus.PENDING).add(sumStatus(orders, OrderStatus.APPROVED)));
+    }
+
+    private DealerPerformanceData legacyDealerPerformance(Long dealerId, LocalDateTime start, LocalDateTime end) {
+        List<Order> dealerOrders = orderRepository.findByUserDealerIdAndOrderDateBetween(dealerId, start, end);
+
+        long totalOrders = dealerOrders.size();
+        BigDecimal totalRevenue = sumStatus(dealerOrders, OrderStatus.COMPLETED);
+        long completed = countStatus(dealerOrders, OrderStatus.COMPLETED);
+        long cancelled = countStatus(dealerOrders, OrderStatus.CANCELLED);
+
+        return new DealerPerformanceData(
+                dealerId,
+                dealerOrders.get(0).getUser().getDealer().getName(),
+                totalOrders, completed, cancelled, totalRevenue,
+                totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP),
+                (double) completed / totalOrders * 100,
+                (double) cancelled / totalOrders * 100,
+                0);
+    }
+
+    private static long countStatus(List<Order> orders, OrderStatus status) {
+        return orders.stream().filter(o -> o.getOrderStatus() == status).count();
+    }
+
+    private static BigDecimal sumStatus(List<Order> orders, OrderStatus status) {
+        return orders.stream()
+                .filter(o -> o.getOrderStatus() == status)
+                .map(Order::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    // ==================== ÖLÇÜM ====================
+
+    private <T> T measure(String label, Supplier<T> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        T result = action.get();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        logger.info("📊 " + label + ": " + elapsedMs + " ms, " + statistics.getPrepareStatementCount() +
+                " statements, " + statistics.getEntityLoadCount() + " entities loaded (" + ORDER_COUNT + " orders)");
+        return result;
+    }
+
+    // Global istatistik yerine test thread'i: aynı context'teki arka plan job'ları sayıma karışmasın
+    private long countStatements(Runnable action) {
+        return ThreadStatementCounter.count(action);
+    }
+}
@@ -0,0 +1,163 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.product.ProductSimple;
+import com.maxx_global.dto.product.ProductSimpleVariant;
+import com.maxx_global.dto.product.ProductSummary;
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.repository.ProductImageRepository;
+import com.maxx_global.repository.ProductRepository;
+import com.maxx_global.repository.ProductVariantRepository;
+import com.maxx_global.support.TestDataFixture;
+import com.maxx_global.support.ThreadStatementCounter;
+import com.maxx_global.support.ThreadStatementCounter.Counts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dropdown ve düşük stok listelerinin entity yüklemeden (okuma modeliyle) doldurulduğunu ve her alanın
+ * entity yolunun ürettiğiyle aynı olduğunu doğrular: ana resim is_primary'ye göre SQL'de seçilir,
+ * yalnızca aktif varyantlar varsayılan önce sırasıyla döner.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.integrator_provider=com.maxx_global.support.ThreadStatementCounter$Listeners")
+@Import(TestDataFixture.class)
+class ProductCatalogReadModelTest {
+
+    private static final int PRODUCT_COUNT = 10;
+    // Test ürünleri gerçek katalogdaki düşük stoklu ürünlerin arasına karışmasın diye negatif stok
+    private static final int LOW_STOCK = -1_000_000;
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = fixture.product(i);
+            product.setStockQuantity(LOW_STOCK);
+            product = productRepository.save(product);
+
+            // Varsayılan olmayan varyant önce kaydedilir ki sıralama ID'ye değil varsayılan bayrağına dayansın
+            fixture.variant(product, "XL", 2);
+
+            ProductVariant defaultVariant = fixture.variant(product, "STD", 5);
+            defaultVariant.setIsDefault(true);
+            productVariantRepository.save(defaultVariant);
+
+            ProductVariant deleted = fixture.variant(product, "OLD", 0);
+            deleted.setStatus(EntityStatus.DELETED);
+            productVariantRepository.save(deleted);
+
+            productImageRepository.save(image(product, "secondary-" + i + ".jpg", false));
+            productImageRepository.save(image(product, "primary-" + i + ".jpg", true));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void simpleListIsBuiltWithoutLoadingEntities() {
+        ThreadStatementCounter.Measured<List<ProductSimple>> measured =
+                ThreadStatementCounter.measure(productService::getSimpleProducts);
+        List<ProductSimple> simple = measured.result().stream()
+                .filter(product -> product.code().startsWith(fixture.prefix()))
+                .toList();
+
+        Counts counts = measured.counts();
+        assertEquals(0, counts.entityLoads(), "List must not hydrate entities");
+        assertEquals(0, counts.collectionFetches(), "List must not touch lazy collections");
+        assertEquals(PRODUCT_COUNT, simple.size());
+        // Sayaç gerçekten bağlı: entity yolu yükleme ve lazy koleksiyon üretir
+        Counts legacyCounts = ThreadStatementCounter.measure(() -> legacySimple(simple.get(0).id())).counts();
+        assertTrue(legacyCounts.entityLoads() > 0 && legacyCounts.collectionFetches() > 0);
+
+        simple.forEach(product -> {
+            assertTrue(product.imageUrl().contains("/primary-"), "Primary image expected: " + product.imageUrl());
+            assertEquals(List.of("STD", "XL"), product.variants().stream().map(ProductSimpleVariant::size).toList(),
+                    "Only active variants, default first");
+            assertEquals(legacySimple(product.id()), product);
+        });
+    }
+
+    @Test
+    void lowStockSummariesMatchEntityMapping() {
+        ThreadStatementCounter.Measured<List<ProductSummary>> measured =
+                ThreadStatementCounter.measure(() -> productService.getLowStockProducts(LOW_STOCK));
+        List<ProductSummary> lowStock = measured.result().stream()
+                .filter(product -> product.code().startsWith(fixture.prefix()))
+                .toList();
+
+        assertEquals(0, measured.counts().entityLoads());
+        assertEquals(PRODUCT_COUNT, lowStock.size());
+
+        lowStock.forEach(summary -> {
+            assertTrue(summary.primaryThumbnailUrl().contains("/primary-"));
+            assertTrue(summary.isInStock(), "Stock comes from variants when they exist");
+            // getProductSummary entity'yi yükleyip ProductMapper ile eşler
+            assertEquals(productService.getProductSummary(summary.id()), summary);
+        });
+    }
+
+    /**
+     * Okuma modelinden önceki getSimpleProducts gövdesi (entity ve lazy koleksiyonlar üzerinden)
+     */
+    private ProductSimple legacySimple(Long productId) {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            String primaryImageUrl = product.getImages().stream()
+                    .filter(img -> Boolean.TRUE.equals(img.getIsPrimary()))
+                    .findFirst()
+                    .or(() -> product.getImages().stream().findFirst())
+                    .map(ProductImage::getImageUrl)
+                    .orElse(null);
+
+            List<ProductSimpleVariant> variants = product.getVariants().stream()
+                    .filter(variant -> variant.getStatus() == null || EntityStatus.ACTIVE.equals(variant.getStatus()))
+                    .sorted(Comparator
+                            .comparing(ProductVariant::getIsDefault, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(ProductVariant::getId, Comparator.nullsLast(Long::compareTo)))
+                    .map(variant -> new ProductSimpleVariant(variant.getId(), variant.getSize(), variant.getSku(),
+                            variant.getStockQuantity(), variant.getIsDefault()))
+                    .toList();
+
+            return new ProductSimple(product.getId(), product.getName(), product.getCode(), primaryImageUrl, variants);
+        });
+    }
+
+    private ProductImage image(Product product, String fileName, boolean primary) {
+        ProductImage image = new ProductImage();
+        image.setProduct(product);
+        image.setImageUrl("http://localhost/uploads/products/test/" + fileName);
+        image.setIsPrimary(primary);
+        return image;
+    }
+}
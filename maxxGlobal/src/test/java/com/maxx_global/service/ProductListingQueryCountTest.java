@@ -0,0 +1,139 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.product.ProductDealerSearchRequest;
+import com.maxx_global.dto.product.ProductListItemResponse;
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.repository.*;
+import com.maxx_global.support.ThreadStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bayi fiyatlı ürün listelemesinde sayfa başına SQL sayısının sayfa boyutundan bağımsız kaldığını doğrular.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.maxx_global.support.ThreadStatementCounter"
+})
+class ProductListingQueryCountTest {
+
+    private static final int PRODUCT_COUNT = 25;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DealerRepository dealerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private ProductPriceRepository productPriceRepository;
+
+    @Autowired
+    private DealerPriceBookCache dealerPriceBookCache;
+
+    private String searchPrefix;
+    private Dealer dealer;
+    private Category category;
+    private final List<Product> products = new ArrayList<>();
+    private final List<ProductVariant> variants = new ArrayList<>();
+    private final List<ProductPrice> prices = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        searchPrefix = "QCOUNT" + System.nanoTime();
+
+        dealer = new Dealer();
+        dealer.setName(searchPrefix + " Dealer");
+        dealer.setEmail(searchPrefix.toLowerCase() + "@example.com");
+        dealer.setPreferredCurrency(CurrencyType.TRY);
+        dealer = dealerRepository.save(dealer);
+
+        category = new Category();
+        category.setName(searchPrefix + " Category");
+        category.setLeaf(true);
+        category = categoryRepository.save(category);
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName(searchPrefix + " Product " + i);
+            product.setCode(searchPrefix + "-" + i);
+            product.setLotNumber("LOT-" + i);
+            product.setSingleUse(true);
+            product.setCategory(category);
+            products.add(productRepository.save(product));
+
+            ProductVariant variant = new ProductVariant(product, "STD", searchPrefix + "-SKU-" + i);
+            variant.setStockQuantity(10);
+            variant.setIsDefault(true);
+            variants.add(productVariantRepository.save(variant));
+
+            prices.add(productPriceRepository.save(
+                    new ProductPrice(variant, dealer, CurrencyType.TRY, BigDecimal.valueOf(100 + i))));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        productPriceRepository.deleteAll(prices);
+        productVariantRepository.deleteAll(variants);
+        productRepository.deleteAll(products);
+        categoryRepository.delete(category);
+        dealerRepository.delete(dealer);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        long smallPageStatements = countStatementsForPage(5);
+        long largePageStatements = countStatementsForPage(PRODUCT_COUNT);
+
+        assertEquals(smallPageStatements, largePageStatements,
+                "SQL statements per page must not depend on page size");
+    }
+
+    @Test
+    void everyListedProductHasItsDealerPrice() {
+        Page<ProductListItemResponse> page = search(PRODUCT_COUNT);
+
+        assertEquals(PRODUCT_COUNT, page.getContent().size());
+        page.getContent().forEach(item -> assertNotNull(item.dealerPrice(), "Missing price for " + item.code()));
+    }
+
+    private long countStatementsForPage(int pageSize) {
+        // Her ölçüm fiyat defterini yeniden yükler, böylece iki sayfa boyutu aynı koşulda karşılaştırılır
+        dealerPriceBookCache.evictAll();
+
+        // Sadece test thread'i sayılır; arka plan job'larının sorguları karşılaştırmayı bozmasın
+        long[] pageSizeSeen = {0};
+        long statements = ThreadStatementCounter.count(() -> pageSizeSeen[0] = search(pageSize).getContent().size());
+        assertEquals(pageSize, pageSizeSeen[0]);
+
+        return statements;
+    }
+
+    private Page<ProductListItemResponse> search(int pageSize) {
+        ProductDealerSearchRequest request = new ProductDealerSearchRequest(
+                dealer.getId(), searchPrefix, List.of(category.getId()), CurrencyType.TRY,
+                null, null, false, false, false);
+        return productService.searchProductsWithDealer(request, 0, pageSize, "name", "asc");
+    }
+}
@@ -0,0 +1,238 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.excelImport.ExcelImportJobResponse;
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.ExcelImportJobStatus;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.enums.StockMovementType;
+import com.maxx_global.event.ExcelImportJobEventListener;
+import com.maxx_global.job.ExcelImportJobRunner;
+import com.maxx_global.repository.OrderRepository;
+import com.maxx_global.repository.StockMovementRepository;
+import com.maxx_global.support.TestDataFixture;
+import com.maxx_global.support.ThreadStatementCounter;
+import com.maxx_global.support.ThreadStatementCounter.Counts;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sipariş oluşturma ve 10 bin satırlık gerçek Excel ürün import'unda (ExcelImportJobRunner) SQL sayısını ölçer.
+ * Sequence ID'li tablolar (order_items, product_variants, stock_movements) JDBC batch'leriyle yazılmalı;
+ * IDENTITY'de her satır ayrı bir INSERT olurdu, loglanan "önce" değeri yazılan satır sayısıdır.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.maxx_global.support.ThreadStatementCounter",
+        "spring.jpa.properties.hibernate.integrator_provider=com.maxx_global.support.ThreadStatementCounter$Listeners"
+})
+@Import(TestDataFixture.class)
+class SequenceIdBatchingBenchmarkTest {
+
+    private static final Logger logger = Logger.getLogger(SequenceIdBatchingBenchmarkTest.class.getName());
+
+    private static final int ORDER_ITEMS = 20;
+    private static final int IMPORT_PRODUCTS = 100;
+    private static final int VARIANTS_PER_PRODUCT = 100;
+    private static final int IMPORT_ROWS = IMPORT_PRODUCTS * VARIANTS_PER_PRODUCT;
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.excel.import-dir", () -> importDirectory.toString());
+    }
+
+    // Job test thread'inde senkron çalıştırılır; commit sonrası async runner devreye girmesin
+    @MockitoBean
+    private ExcelImportJobEventListener excelImportJobEventListener;
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private ExcelImportJobService excelImportJobService;
+
+    @Autowired
+    private ExcelImportJobRunner excelImportJobRunner;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private ProductVariant variant;
+
+    @BeforeEach
+    void setUp() {
+        // Kullanıcı ölçümden önce oluşsun; sayılan INSERT'lere karışmasın
+        fixture.user();
+        product = fixture.product(0);
+        variant = fixture.variant(product, "STD", 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void orderCreationInsertsItemsAndMovementsInBatches() {
+        Counts counts = ThreadStatementCounter.measure(() -> transactionTemplate.execute(status -> {
+            Order newOrder = fixture.order("ORDER", OrderStatus.PENDING, LocalDateTime.now(),
+                    BigDecimal.valueOf(ORDER_ITEMS * 100L));
+
+            Set<OrderItem> items = new LinkedHashSet<>();
+            for (int i = 0; i < ORDER_ITEMS; i++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(newOrder);
+                item.setProduct(product);
+                item.setProductVariant(variant);
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.valueOf(100));
+                item.setTotalPrice(BigDecimal.valueOf(100));
+                items.add(item);
+            }
+            newOrder.setItems(items);
+            orderRepository.save(newOrder);
+
+            List<StockMovement> movements = new ArrayList<>();
+            for (int i = 0; i < ORDER_ITEMS; i++) {
+                movements.add(movement(i));
+            }
+            stockMovementRepository.saveAll(movements);
+            return null;
+        })).counts();
+
+        long rows = 1 + 2L * ORDER_ITEMS;
+        long statements = counts.statements();
+        logger.info("Order creation (" + ORDER_ITEMS + " items + " + ORDER_ITEMS + " stock movements): " + statements +
+                " statements, " + counts.entityInserts() + " rows - with IDENTITY every row was its own INSERT (" +
+                rows + " statements)");
+
+        assertEquals(rows, counts.entityInserts());
+        assertTrue(statements < rows / 2, "Items and movements should be batched, got " + statements + " statements");
+    }
+
+    @Test
+    void tenThousandRowProductImportIsBatched() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", fixture.prefix() + ".xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", productWorkbook());
+        ExcelImportJobResponse submitted = excelImportJobService.submitProductImport(file, false, false, fixture.user());
+
+        long started = System.nanoTime();
+        Counts counts = ThreadStatementCounter.measure(() -> {
+            excelImportJobRunner.run(submitted.id());
+            return null;
+        }).counts();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        long statements = counts.statements();
+        long insertedRows = counts.entityInserts();
+        ExcelImportJobResponse job = excelImportJobService.getJob(submitted.id());
+
+        logger.info(String.format("%d-row product import (%d products, %d chunks): %d statements for %d inserted rows in %d ms" +
+                        " - with IDENTITY every inserted row was its own INSERT (%d statements for the rows alone)",
+                IMPORT_ROWS, IMPORT_PRODUCTS, job.totalChunks(), statements, insertedRows, elapsedMs, insertedRows));
+
+        assertEquals(ExcelImportJobStatus.COMPLETED, job.status(), job.lastError());
+        assertEquals(IMPORT_ROWS, job.successCount().intValue());
+        assertEquals(IMPORT_ROWS, countImported("product_variants"));
+        assertEquals(IMPORT_ROWS, countImportMovements());
+
+        // Ürün + varyant + stok hareketi; her varyantın stoğu olduğu için her satır bir hareket üretir
+        assertTrue(insertedRows >= IMPORT_PRODUCTS + 2L * IMPORT_ROWS);
+        // products IDENTITY'de kalır (ürün başına bir INSERT); varyant ve hareketler 100'lük batch'lerle gitmeli
+        assertTrue(statements < IMPORT_ROWS / 2,
+                "Variants and stock movements should be batched, got " + statements + " statements");
+    }
+
+    /**
+     * ProductExcelService'in okuduğu düzende, IMPORT_PRODUCTS ürün x VARIANTS_PER_PRODUCT varyantlık dosya
+     */
+    private byte[] productWorkbook() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Ürünler");
+            sheet.createRow(0).createCell(0).setCellValue("Ürün Kodu");
+
+            String categoryName = fixture.category().getName();
+            int rowIndex = 1;
+            for (int p = 0; p < IMPORT_PRODUCTS; p++) {
+                String code = fixture.prefix() + "-IMP" + p;
+                for (int v = 0; v < VARIANTS_PER_PRODUCT; v++) {
+                    Row row = sheet.createRow(rowIndex++);
+                    row.createCell(0).setCellValue(code);
+                    row.createCell(1).setCellValue("İmport ürünü " + p);
+                    row.createCell(5).setCellValue(categoryName);
+                    row.createCell(7).setCellValue("S" + v);
+                    row.createCell(8).setCellValue(code + "-S" + v);
+                    row.createCell(26).setCellValue("LOT-" + p);
+                    row.createCell(27).setCellValue(10 + v);
+                }
+            }
+            workbook.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private int countImported(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " t JOIN products p ON p.id = t.product_id " +
+                "WHERE p.product_code LIKE ?", Integer.class, fixture.prefix() + "-IMP%");
+    }
+
+    private int countImportMovements() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_movements m JOIN products p ON p.id = m.product_id " +
+                        "WHERE p.product_code LIKE ? AND m.movement_type = ?", Integer.class,
+                fixture.prefix() + "-IMP%", StockMovementType.EXCEL_IMPORT.name());
+    }
+
+    private StockMovement movement(int index) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setProductVariant(variant);
+        movement.setMovementType(StockMovementType.SALE);
+        movement.setQuantity(1);
+        movement.setPreviousStock(1_000_000 - index);
+        movement.setNewStock(1_000_000 - index - 1);
+        movement.setPerformedBy(fixture.user().getId());
+        movement.setMovementDate(LocalDateTime.now());
+        movement.setReferenceType("BENCHMARK");
+        movement.setDocumentNumber(fixture.prefix() + "-" + index);
+        return movement;
+    }
+}
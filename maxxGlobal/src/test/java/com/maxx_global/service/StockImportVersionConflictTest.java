@@ -0,0 +1,115 @@
+package com.maxx_global.service;
+
+import com.maxx_global.dto.productExcel.ExcelProductData;
+import com.maxx_global.entity.AppUser;
+import com.maxx_global.entity.ExcelImportJob;
+import com.maxx_global.entity.Product;
+import com.maxx_global.entity.ProductVariant;
+import com.maxx_global.enums.ExcelImportJobStatus;
+import com.maxx_global.enums.ExcelImportType;
+import com.maxx_global.repository.ExcelImportJobRepository;
+import com.maxx_global.support.TestDataFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Excel stok import'u sırasında varyant satırı başka bir transaction'da (sipariş rezervasyonu) değişirse
+ * parça @Version çakışmasıyla geri alınır ve güncel satırla yeniden denenir; import hata vermeden biter.
+ */
+@SpringBootTest
+@Import(TestDataFixture.class)
+class StockImportVersionConflictTest {
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private ExcelImportJobService excelImportJobService;
+
+    @Autowired
+    private ExcelImportJobRepository excelImportJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private StockTrackerService stockTrackerService;
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void productChunkIsRetriedAfterConcurrentReservation() throws Exception {
+        Product product = fixture.product(0);
+        ProductVariant variant = fixture.variant(product, "STD", 100);
+        AppUser user = fixture.user();
+        ExcelImportJob job = runningJob(user);
+
+        // İlk denemede varyant yüklendikten sonra ayrı bir transaction stoğu düşürüp sürümü artırır
+        AtomicBoolean reserved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (reserved.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                        "UPDATE product_variants SET stock_quantity = stock_quantity - 5, version = version + 1 WHERE id = ?",
+                        variant.getId())).get(10, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(stockTrackerService).trackExcelStockUpdate(
+                any(ProductVariant.class), anyInt(), anyInt(), anyString(), any(), anyString());
+
+        excelImportJobService.applyProductChunk(job.getId(), 0, Map.of(product.getCode(), List.of(row(product, variant))), user);
+
+        verify(stockTrackerService, times(2)).trackExcelStockUpdate(
+                any(ProductVariant.class), anyInt(), anyInt(), anyString(), any(), anyString());
+        assertEquals(40, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM product_variants WHERE id = ?", Integer.class, variant.getId()));
+
+        ExcelImportJob committed = excelImportJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(1, committed.getCommittedChunks());
+        assertEquals(1, committed.getSuccessCount());
+        assertEquals(0, committed.getErrorCount());
+    }
+
+    private ExcelImportJob runningJob(AppUser user) {
+        ExcelImportJob job = new ExcelImportJob();
+        job.setBatchId(fixture.prefix());
+        job.setImportType(ExcelImportType.PRODUCT);
+        job.setJobStatus(ExcelImportJobStatus.RUNNING);
+        job.setFileName(fixture.prefix() + ".xlsx");
+        job.setStoredFilePath("/tmp/" + fixture.prefix() + ".xlsx");
+        job.setChunkSize(100);
+        job.setRequestedByUserId(user.getId());
+        return excelImportJobRepository.save(job);
+    }
+
+    private ExcelProductData row(Product product, ProductVariant variant) {
+        ExcelProductData data = new ExcelProductData(2);
+        data.setProductCode(product.getCode());
+        data.setProductName(product.getName());
+        data.setCategoryName(fixture.category().getName());
+        data.setLotNumber(product.getLotNumber());
+        data.setSize(variant.getSize());
+        data.setSku(variant.getSku());
+        data.setStockQuantity(40);
+        return data;
+    }
+}
@@ -0,0 +1,133 @@
+package com.maxx_global.service;
+
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.EntityStatus;
+import com.maxx_global.enums.StockMovementType;
+import com.maxx_global.repository.ProductVariantRepository;
+import com.maxx_global.repository.StockMovementRepository;
+import com.maxx_global.support.TestDataFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aynı varyanta çok sayıda thread'den eşzamanlı rezervasyon yapıldığında stoğun asla eksiye düşmediğini,
+ * her başarılı rezervasyon için tek stok hareketi yazıldığını ve hareketlerin önceki/yeni stok değerlerinin
+ * rezervasyonların sıralı uygulanmış haliyle birebir örtüştüğünü (kayıp güncelleme olmadığını) doğrular.
+ */
+@SpringBootTest
+@Import(TestDataFixture.class)
+class StockReservationConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+    private static final int QUANTITY_PER_ORDER = 3;
+
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Product product;
+    private ProductVariant variant;
+
+    @BeforeEach
+    void setUp() {
+        product = fixture.product(0);
+        variant = fixture.variant(product, "STD", INITIAL_STOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        AppUser performedBy = new AppUser();
+        performedBy.setId(1L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        AtomicInteger orderSequence = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long orderId = orderSequence.incrementAndGet();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            OrderItem item = new OrderItem();
+                            item.setProduct(product);
+                            item.setProductVariant(variant);
+                            item.setQuantity(QUANTITY_PER_ORDER);
+                            stockReservationService.reserve(Set.of(item), performedBy, "STRESS-" + orderId, orderId);
+                        });
+                        successes.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejections.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        int finalStock = productVariantRepository.findById(variant.getId()).orElseThrow().getStockQuantity();
+        List<StockMovement> movements = stockMovementRepository.findByProductIdAndStatus(product.getId(), EntityStatus.ACTIVE);
+
+        assertTrue(finalStock >= 0, "Stock went negative: " + finalStock);
+        assertEquals(INITIAL_STOCK / QUANTITY_PER_ORDER, successes.get());
+        assertEquals(INITIAL_STOCK - successes.get() * QUANTITY_PER_ORDER, finalStock);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, successes.get() + rejections.get());
+        assertEquals(successes.get(), movements.size());
+
+        // Her rezervasyon bir öncekinin bıraktığı stoktan düşmeli: yeni stok değerleri 97, 94, ..., finalStock
+        List<Integer> newStocks = new ArrayList<>();
+        Set<Long> referenceIds = new HashSet<>();
+        for (StockMovement movement : movements) {
+            assertEquals(StockMovementType.ORDER_RESERVED, movement.getMovementType());
+            assertEquals(variant.getId(), movement.getProductVariant().getId());
+            assertEquals(QUANTITY_PER_ORDER, movement.getQuantity());
+            assertEquals(movement.getNewStock() + QUANTITY_PER_ORDER, movement.getPreviousStock());
+            assertTrue(referenceIds.add(movement.getReferenceId()), "Duplicate movement for order " + movement.getReferenceId());
+            newStocks.add(movement.getNewStock());
+        }
+        newStocks.sort(Comparator.reverseOrder());
+        List<Integer> expectedStocks = new ArrayList<>();
+        for (int stock = INITIAL_STOCK - QUANTITY_PER_ORDER; stock >= finalStock; stock -= QUANTITY_PER_ORDER) {
+            expectedStocks.add(stock);
+        }
+        assertEquals(expectedStocks, newStocks);
+    }
+}
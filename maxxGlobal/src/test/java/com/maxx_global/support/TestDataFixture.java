@@ -0,0 +1,187 @@
+package com.maxx_global.support;
+
+import com.maxx_global.entity.*;
+import com.maxx_global.enums.CurrencyType;
+import com.maxx_global.enums.OrderStatus;
+import com.maxx_global.repository.*;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Commit eden (@Transactional geri alma kullanamayan) entegrasyon testleri için ortak test verisi.
+ * Eşzamanlılık, commit sonrası event ve outbox testleri veriyi gerçekten commit etmek zorundadır; bu sınıf
+ * bayi, kullanıcı, kategori, ürün ve varyantları benzersiz bir önekle oluşturur ve cleanUp() ile bunları,
+ * bağlı sipariş, stok hareketi, fiyat, resim, bildirim alıcısı, import job'ı ve outbox kayıtlarıyla birlikte SQL ile siler.
+ *
+ * Prototype scope: her test örneğine yeni bir fixture enjekte edilir. Kullanım:
+ * {@code @Import(TestDataFixture.class)} + {@code @AfterEach fixture.cleanUp()}.
+ */
+@TestComponent
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class TestDataFixture {
+
+    private final DealerRepository dealerRepository;
+    private final AppUserRepository appUserRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "T" + System.nanoTime();
+
+    private final List<Long> dealerIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+
+    private Dealer dealer;
+    private AppUser user;
+    private Category category;
+
+    public TestDataFixture(DealerRepository dealerRepository,
+                           AppUserRepository appUserRepository,
+                           CategoryRepository categoryRepository,
+                           ProductRepository productRepository,
+                           ProductVariantRepository productVariantRepository,
+                           JdbcTemplate jdbcTemplate) {
+        this.dealerRepository = dealerRepository;
+        this.appUserRepository = appUserRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Bu fixture'ın oluşturduğu isim, kod, e-posta ve sipariş numaralarının ortak öneki
+     */
+    public String prefix() {
+        return prefix;
+    }
+
+    public Dealer dealer() {
+        if (dealer == null) {
+            Dealer newDealer = new Dealer();
+            newDealer.setName(prefix + " Dealer");
+            newDealer.setEmail(prefix.toLowerCase() + "@example.com");
+            newDealer.setPreferredCurrency(CurrencyType.TRY);
+            dealer = dealerRepository.save(newDealer);
+            dealerIds.add(dealer.getId());
+        }
+        return dealer;
+    }
+
+    /**
+     * Fixture bayisine bağlı kullanıcı
+     */
+    public AppUser user() {
+        if (user == null) {
+            AppUser newUser = new AppUser();
+            newUser.setEmail(prefix.toLowerCase() + ".user@example.com");
+            newUser.setPassword("secret");
+            newUser.setFirstName("Test");
+            newUser.setLastName("Kullanıcı");
+            newUser.setPhoneNumber("5550000000");
+            newUser.setAddress("Test adresi");
+            newUser.setDealer(dealer());
+            user = appUserRepository.save(newUser);
+            userIds.add(user.getId());
+        }
+        return user;
+    }
+
+    public Category category() {
+        if (category == null) {
+            Category newCategory = new Category();
+            newCategory.setName(prefix + " Category");
+            newCategory.setLeaf(true);
+            category = categoryRepository.save(newCategory);
+            categoryIds.add(category.getId());
+        }
+        return category;
+    }
+
+    /**
+     * Fixture kategorisinde yeni ürün; kod "önek-index", ad "önek Product index"
+     */
+    public Product product(int index) {
+        Product product = new Product();
+        product.setName(prefix + " Product " + index);
+        product.setCode(prefix + "-" + index);
+        product.setLotNumber("LOT-" + index);
+        product.setSingleUse(true);
+        product.setCategory(category());
+        product = productRepository.save(product);
+        productIds.add(product.getId());
+        return product;
+    }
+
+    public ProductVariant variant(Product product, String size, int stockQuantity) {
+        ProductVariant variant = new ProductVariant(product, size, product.getCode() + "-" + size);
+        variant.setStockQuantity(stockQuantity);
+        return productVariantRepository.save(variant);
+    }
+
+    /**
+     * Fixture kullanıcısına ait, kaydedilmemiş sipariş; numarası "önek-suffix"
+     */
+    public Order order(String suffix, OrderStatus status, LocalDateTime orderDate, BigDecimal totalAmount) {
+        Order order = new Order();
+        order.setUser(user());
+        order.setOrderNumber(prefix + "-" + suffix);
+        order.setOrderStatus(status);
+        order.setOrderDate(orderDate);
+        order.setCurrency(CurrencyType.TRY);
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+
+    /**
+     * Fixture'ın oluşturduğu kayıtları ve bunlara bağlı satırları FK sırasıyla siler
+     */
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM mail_outbox WHERE subject LIKE ?", "%" + prefix + "%");
+
+        for (Long userId : userIds) {
+            String userOrders = "SELECT id FROM orders WHERE user_id = ?";
+            jdbcTemplate.update("DELETE FROM notification_recipients WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM discount_usage WHERE order_id IN (" + userOrders + ")", userId);
+            jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (" + userOrders + ")", userId);
+            jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM excel_import_job_errors WHERE job_id IN " +
+                    "(SELECT id FROM excel_import_jobs WHERE requested_by_user_id = ?)", userId);
+            jdbcTemplate.update("DELETE FROM excel_import_jobs WHERE requested_by_user_id = ?", userId);
+        }
+
+        // Fixture dışında (ör. Excel import ile) oluşturulan önekli ürünler de silinir
+        Set<Long> allProductIds = new LinkedHashSet<>(productIds);
+        allProductIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE product_code LIKE ?", Long.class, prefix + "-%"));
+        for (Long productId : allProductIds) {
+            String productVariants = "SELECT id FROM product_variants WHERE product_id = ?";
+            jdbcTemplate.update("DELETE FROM order_items WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM stock_movements WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product_prices WHERE product_variant_id IN (" + productVariants + ")", productId);
+            jdbcTemplate.update("DELETE FROM product_images WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product_variants WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        }
+
+        categoryIds.forEach(id -> jdbcTemplate.update("DELETE FROM categories WHERE id = ?", id));
+        userIds.forEach(id -> jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", id));
+        for (Long dealerId : dealerIds) {
+            jdbcTemplate.update("DELETE FROM product_prices WHERE dealer_id = ?", dealerId);
+            jdbcTemplate.update("DELETE FROM dealers WHERE id = ?", dealerId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.maxx_global.support;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate'in hazırladığı SQL'leri thread bazında sayar. Global Statistics arka plan job'larının
+ * (açılış backfill'i, outbox, zamanlanmış yenilemeler) sorgularını da saydığından SQL sayısı doğrulayan
+ * testler yalnızca kendi thread'lerini ölçmek için kullanır:
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector=com.maxx_global.support.ThreadStatementCounter
+ * Entity yükleme, lazy koleksiyon ve entity ekleme sayıları için ayrıca
+ * spring.jpa.properties.hibernate.integrator_provider=com.maxx_global.support.ThreadStatementCounter$Listeners
+ */
+public class ThreadStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[4]);
+
+    private static final int STATEMENTS = 0;
+    private static final int ENTITY_LOADS = 1;
+    private static final int COLLECTION_FETCHES = 2;
+    private static final int ENTITY_INSERTS = 3;
+
+    public record Counts(long statements, long entityLoads, long collectionFetches, long entityInserts) {
+    }
+
+    public record Measured<T>(T result, Counts counts) {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[STATEMENTS]++;
+        return sql;
+    }
+
+    /**
+     * action çalışırken bu thread'de hazırlanan SQL sayısı
+     */
+    public static long count(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).counts().statements();
+    }
+
+    /**
+     * action'ın sonucu ve çalışırken bu thread'de yapılan SQL, entity yükleme, koleksiyon yükleme ve entity ekleme sayıları
+     */
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        long[] before = COUNT.get().clone();
+        T result = action.get();
+        long[] after = COUNT.get();
+        return new Measured<>(result, new Counts(
+                after[STATEMENTS] - before[STATEMENTS],
+                after[ENTITY_LOADS] - before[ENTITY_LOADS],
+                after[COLLECTION_FETCHES] - before[COLLECTION_FETCHES],
+                after[ENTITY_INSERTS] - before[ENTITY_INSERTS]));
+    }
+
+    /**
+     * Entity/koleksiyon yüklemelerini ve entity eklemelerini sayan dinleyicileri session factory'ye ekler
+     */
+    public static class Listeners implements IntegratorProvider, Integrator {
+
+        @Override
+        public List<Integrator> getIntegrators() {
+            return List.of(this);
+        }
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) event -> COUNT.get()[ENTITY_LOADS]++);
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> COUNT.get()[COLLECTION_FETCHES]++);
+            registry.appendListeners(EventType.POST_INSERT, new PostInsertEventListener() {
+                @Override
+                public void onPostInsert(PostInsertEvent event) {
+                    COUNT.get()[ENTITY_INSERTS]++;
+                }
+
+                @Override
+                public boolean requiresPostCommitHandling(EntityPersister persister) {
+                    return false;
+                }
+            });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}